@@ -25,6 +25,7 @@ import micdoodle8.mods.galacticraft.annotations.ReplaceWith;
 import micdoodle8.mods.galacticraft.api.prefab.world.gen.BiomeAdaptive;
 import micdoodle8.mods.galacticraft.api.world.AtmosphereInfo;
 import micdoodle8.mods.galacticraft.api.world.BiomeGenBaseGC;
+import micdoodle8.mods.galacticraft.api.world.DimensionEnvironment;
 import micdoodle8.mods.galacticraft.api.world.EnumAtmosphericGas;
 import micdoodle8.mods.galacticraft.api.world.IGalacticraftWorldProvider;
 import micdoodle8.mods.galacticraft.api.world.IMobSpawnBiome;
@@ -164,6 +165,7 @@ public abstract class CelestialBody extends CelestialObject implements Comparabl
     public CelestialBody setAtmosphere(AtmosphereInfo atmos)
     {
         this.atmosphere = atmos;
+        DimensionEnvironment.invalidateAll();
         return this;
     }
 
@@ -178,6 +180,7 @@ public abstract class CelestialBody extends CelestialObject implements Comparabl
         this.providerClass = providerClass;
         this.autoRegisterDimension = autoRegister;
         this.isReachable = true;
+        GalaxyRegistry.invalidateIndex();
         return this;
     }
 
@@ -207,6 +210,7 @@ public abstract class CelestialBody extends CelestialObject implements Comparabl
     public CelestialBody atmosphereComponents(EnumAtmosphericGas... gasses)
     {
         this.atmosphere.composition.addAll(Arrays.asList(gasses));
+        DimensionEnvironment.invalidateAll();
         return this;
     }
 
@@ -216,6 +220,7 @@ public abstract class CelestialBody extends CelestialObject implements Comparabl
     public CelestialBody atmosphereComponents(Collection<EnumAtmosphericGas> collection)
     {
         this.atmosphere.composition.addAll(collection);
+        DimensionEnvironment.invalidateAll();
         return this;
     }
 
@@ -225,6 +230,7 @@ public abstract class CelestialBody extends CelestialObject implements Comparabl
     public CelestialBody atmosphereComponent(EnumAtmosphericGas gas)
     {
         this.atmosphere.composition.add(gas);
+        DimensionEnvironment.invalidateAll();
         return this;
     }
 
@@ -342,6 +348,7 @@ public abstract class CelestialBody extends CelestialObject implements Comparabl
     public void setUnreachable()
     {
         this.isReachable = false;
+        GalaxyRegistry.invalidateIndex();
     }
 
     public String getDimensionSuffix()
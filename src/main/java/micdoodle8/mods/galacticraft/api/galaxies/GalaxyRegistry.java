@@ -8,6 +8,7 @@
 package micdoodle8.mods.galacticraft.api.galaxies;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -23,6 +24,10 @@ import micdoodle8.mods.galacticraft.api.util.stream.CelestialCollector;
 import micdoodle8.mods.galacticraft.core.util.list.CelestialList;
 import micdoodle8.mods.galacticraft.core.util.list.ImmutableCelestialList;
 
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMaps;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+
 public class GalaxyRegistry
 {
 
@@ -34,9 +39,97 @@ public class GalaxyRegistry
     static Map<Planet, CelestialList<Moon>>             moonList        = new HashMap<>();
     static Map<CelestialBody, CelestialList<Satellite>> satelliteList   = new HashMap<>();
     static Map<SolarSystem, CelestialList<Planet>>      solarSystemList = new HashMap<>();
+    // Lookup tables, built again the next time they are used after anything
+    // is registered or a body's dimension changes
+    private static volatile Index                       index;
+
+    /**
+     * Read-only lookup tables of the registered bodies. Where more than one
+     * body matches, each table holds the one the old linear searches found
+     * first.
+     */
+    private static class Index
+    {
+
+        private final Int2ObjectMap<CelestialBody>      bodiesByDimension;
+        private final Int2ObjectMap<CelestialBody>      reachableByDimension;
+        private final Map<String, CelestialBody>        reachableByName;
+        private final Map<String, CelestialBody>        planetsAndMoonsByTranslationKey;
+        private final Map<String, CelestialObject>      objectsByTranslationKey;
+
+        private Index()
+        {
+            Int2ObjectMap<CelestialBody> byDimension = new Int2ObjectOpenHashMap<>();
+            Int2ObjectMap<CelestialBody> reachable = new Int2ObjectOpenHashMap<>();
+            Map<String, CelestialBody> reachableNames = new HashMap<>();
+            Map<String, CelestialBody> bodyKeys = new HashMap<>();
+            Map<String, CelestialObject> objectKeys = new HashMap<>();
+
+            for (Planet planet : planets)
+            {
+                byDimension.putIfAbsent(planet.getDimensionID(), planet);
+                bodyKeys.putIfAbsent(planet.getTranslationKey(), planet);
+            }
+            for (Moon moon : moons)
+            {
+                byDimension.putIfAbsent(moon.getDimensionID(), moon);
+                bodyKeys.putIfAbsent(moon.getTranslationKey(), moon);
+            }
+            for (Satellite satellite : satellites)
+            {
+                byDimension.putIfAbsent(satellite.getDimensionID(), satellite);
+            }
+
+            // As WorldUtil.getReachableCelestialBodiesForDimensionID() and
+            // getReachableCelestialBodiesForName() searched: moons first
+            List<CelestialBody> bodies = new ArrayList<>();
+            bodies.addAll(moons.getRegistered().values());
+            bodies.addAll(planets.getRegistered().values());
+            bodies.addAll(satellites.getRegistered().values());
+            for (CelestialBody body : bodies)
+            {
+                if (body.isReachable())
+                {
+                    reachable.putIfAbsent(body.getDimensionID(), body);
+                    reachableNames.putIfAbsent(body.getName(), body);
+                }
+            }
+
+            for (CelestialObject celestialObject : objects)
+            {
+                objectKeys.putIfAbsent(celestialObject.getTranslationKey(), celestialObject);
+            }
+
+            this.bodiesByDimension = Int2ObjectMaps.unmodifiable(byDimension);
+            this.reachableByDimension = Int2ObjectMaps.unmodifiable(reachable);
+            this.reachableByName = Collections.unmodifiableMap(reachableNames);
+            this.planetsAndMoonsByTranslationKey = Collections.unmodifiableMap(bodyKeys);
+            this.objectsByTranslationKey = Collections.unmodifiableMap(objectKeys);
+        }
+    }
+
+    private static Index index()
+    {
+        Index current = index;
+        if (current == null)
+        {
+            current = new Index();
+            index = current;
+        }
+        return current;
+    }
+
+    /**
+     * Drops the lookup tables, for them to be built again when next used
+     */
+    static void invalidateIndex()
+    {
+        index = null;
+    }
 
     public static void refreshGalaxies()
     {
+        index = new Index();
         moonList.clear();
         satelliteList.clear();
         solarSystemList.clear();
@@ -76,7 +169,7 @@ public class GalaxyRegistry
     }
 
     /**
-     * Returns the CelestialObject that matches the given TranslationKey. Iterates through EVERY registerd object
+     * Returns the CelestialObject that matches the given TranslationKey, out of EVERY registered object
      *
      * @param  translationkey
      *
@@ -84,18 +177,11 @@ public class GalaxyRegistry
      */
     public static CelestialObject getCelestialObjectFromTranslationKey(String translationkey)
     {
-        for (CelestialObject celestialObject : objects)
-        {
-            if (celestialObject.getTranslationKey().equals(translationkey))
-            {
-                return celestialObject;
-            }
-        }
-        return null;
+        return translationkey == null ? null : index().objectsByTranslationKey.get(translationkey);
     }
 
     /**
-     * Returns the CelestialBody of the given DimensionID. Iterates through, Planets, Moons & Satellites only
+     * Returns the CelestialBody of the given DimensionID. Planets, Moons & Satellites only
      *
      * @param  dimensionID the DIM Id of the CelestialBody
      *
@@ -103,28 +189,23 @@ public class GalaxyRegistry
      */
     public static CelestialBody getCelestialBodyFromDimensionID(int dimensionID)
     {
-        for (Planet planet : planets)
-        {
-            if (planet.getDimensionID() == dimensionID)
-            {
-                return planet;
-            }
-        }
-        for (Moon moon : moons)
-        {
-            if (moon.getDimensionID() == dimensionID)
-            {
-                return moon;
-            }
-        }
-        for (Satellite satellite : satellites)
-        {
-            if (satellite.getDimensionID() == dimensionID)
-            {
-                return satellite;
-            }
-        }
-        return null;
+        return index().bodiesByDimension.get(dimensionID);
+    }
+
+    /**
+     * Returns the reachable Planet, Moon or Satellite with the given DimensionID, or null
+     */
+    public static CelestialBody getReachableBodyFromDimensionID(int dimensionID)
+    {
+        return index().reachableByDimension.get(dimensionID);
+    }
+
+    /**
+     * Returns the reachable Planet, Moon or Satellite with the given name, or null
+     */
+    public static CelestialBody getReachableBodyFromName(String name)
+    {
+        return name == null ? null : index().reachableByName.get(name);
     }
 
     public static List<Planet> getPlanetsForSolarSystem(SolarSystem solarSystem)
@@ -156,25 +237,12 @@ public class GalaxyRegistry
 
     public static CelestialBody getPlanetOrMoonFromTranslationkey(String translationKey)
     {
-        for (Planet planet : planets)
-        {
-            if (planet.getTranslationKey().equals(translationKey))
-            {
-                return planet;
-            }
-        }
-        for (Moon moon : moons)
-        {
-            if (moon.getTranslationKey().equals(translationKey))
-            {
-                return moon;
-            }
-        }
-        return null;
+        return translationKey == null ? null : index().planetsAndMoonsByTranslationKey.get(translationKey);
     }
 
     public static void register(Object object)
     {
+        invalidateIndex();
         if (object instanceof SolarSystem)
         {
             SolarSystem solarSystem = (SolarSystem) object;
@@ -9,6 +9,13 @@ package micdoodle8.mods.galacticraft.api.item;
 
 import net.minecraft.entity.player.EntityPlayer;
 
+/**
+ * Armor which changes the Galacticraft gravity felt by the player wearing it.
+ * 
+ * Galacticraft asks each worn piece when the armor worn changes and keeps the
+ * result until it changes again, so the values should depend only on the
+ * item, not on the player's state.
+ */
 public interface IArmorGravity
 {
 
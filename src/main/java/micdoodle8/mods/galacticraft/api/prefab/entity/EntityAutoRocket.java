@@ -31,7 +31,6 @@ import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.text.TextComponentString;
 import net.minecraft.util.text.translation.I18n;
 import net.minecraft.world.World;
-import net.minecraft.world.WorldServer;
 import net.minecraft.world.chunk.Chunk;
 
 import net.minecraftforge.common.MinecraftForge;
@@ -64,6 +63,7 @@ import micdoodle8.mods.galacticraft.core.util.FluidUtil;
 import micdoodle8.mods.galacticraft.core.util.GCCoreUtil;
 import micdoodle8.mods.galacticraft.core.util.RedstoneUtil;
 import micdoodle8.mods.galacticraft.core.util.WorldUtil;
+import micdoodle8.mods.galacticraft.planets.mars.tile.LaunchControllerDirectory;
 import micdoodle8.mods.galacticraft.planets.mars.tile.TileEntityLaunchController;
 
 import io.netty.buffer.ByteBuf;
@@ -93,7 +93,6 @@ public abstract class EntityAutoRocket extends EntitySpaceshipBase implements IL
     private boolean                  waitForPlayer;
     protected ITickable              rocketSoundUpdater;
     private boolean                  rocketSoundToStop    = false;
-    private static Class<?>          controllerClass      = TileEntityLaunchController.class;
 
     public EntityAutoRocket(World world)
     {
@@ -159,27 +158,20 @@ public abstract class EntityAutoRocket extends EntitySpaceshipBase implements IL
         if (this.activeLaunchController != null)
         {
             TileEntity launchController = this.activeLaunchController.getTileEntity(this.world);
-            if (controllerClass.isInstance(launchController))
+            if (launchController instanceof TileEntityLaunchController)
             {
-                try
+                TileEntityLaunchController controller = (TileEntityLaunchController) launchController;
+                if (controller.validFrequency())
                 {
-                    Boolean b = (Boolean) controllerClass.getMethod("validFrequency").invoke(launchController);
+                    int controllerFrequency = controller.destFrequency;
+                    boolean foundPad = this.setTarget(false, controllerFrequency);
 
-                    if (b != null && b)
+                    if (foundPad)
                     {
-                        int controllerFrequency = controllerClass.getField("destFrequency").getInt(launchController);
-                        boolean foundPad = this.setTarget(false, controllerFrequency);
-
-                        if (foundPad)
-                        {
-                            this.destinationFrequency = controllerFrequency;
-                            GalacticraftCore.logger.debug("Rocket under launch control: going to target frequency " + controllerFrequency);
-                            return true;
-                        }
+                        this.destinationFrequency = controllerFrequency;
+                        GalacticraftCore.logger.debug("Rocket under launch control: going to target frequency " + controllerFrequency);
+                        return true;
                     }
-                } catch (Exception e)
-                {
-                    e.printStackTrace();
                 }
             }
         }
@@ -190,75 +182,20 @@ public abstract class EntityAutoRocket extends EntitySpaceshipBase implements IL
 
     protected boolean setTarget(boolean doSet, int destFreq)
     {
-        WorldServer[] servers = GCCoreUtil.getWorldServerList(this.world);
-        for (int i = 0; i < servers.length; i++)
+        LaunchControllerDirectory.Entry controller = LaunchControllerDirectory.get(destFreq);
+        if (controller == null)
         {
-            WorldServer world = servers[i];
-
-            try
-            {
-                for (TileEntity tile : new ArrayList<>(world.loadedTileEntityList))
-                {
-                    if (!controllerClass.isInstance(tile))
-                        continue;
-
-                    tile = world.getTileEntity(tile.getPos());
-                    if (!controllerClass.isInstance(tile))
-                        continue;
-
-                    int controllerFrequency = controllerClass.getField("frequency").getInt(tile);
-
-                    if (destFreq == controllerFrequency)
-                    {
-                        boolean targetSet = false;
-
-                        blockLoop: for (int x = -2; x <= 2; x++)
-                        {
-                            for (int z = -2; z <= 2; z++)
-                            {
-                                BlockPos pos = new BlockPos(tile.getPos().add(x, 0, z));
-                                Block block = world.getBlockState(pos).getBlock();
-
-                                if (block instanceof BlockLandingPadFull)
-                                {
-                                    if (doSet)
-                                    {
-                                        this.targetVec = pos;
-                                    }
-
-                                    targetSet = true;
-                                    break blockLoop;
-                                }
-                            }
-                        }
-
-                        if (doSet)
-                        {
-                            this.targetDimension = tile.getWorld().provider.getDimension();
-                        }
-
-                        if (!targetSet)
-                        {
-                            if (doSet)
-                            {
-                                this.targetVec = null;
-                            }
+            return false;
+        }
 
-                            return false;
-                        }
-                        else
-                        {
-                            return true;
-                        }
-                    }
-                }
-            } catch (Exception e)
-            {
-                e.printStackTrace();
-            }
+        BlockPos pad = controller.getLandingPad();
+        if (doSet)
+        {
+            this.targetVec = pad;
+            this.targetDimension = controller.getDimensionID();
         }
 
-        return false;
+        return pad != null;
     }
 
     @Override
@@ -502,16 +439,9 @@ public abstract class EntityAutoRocket extends EntitySpaceshipBase implements IL
             {
                 TileEntity tile = this.activeLaunchController.getTileEntity(this.world);
 
-                if (controllerClass.isInstance(tile))
+                if (tile instanceof TileEntityLaunchController)
                 {
-                    Boolean autoLaunchEnabled = null;
-                    try
-                    {
-                        autoLaunchEnabled = controllerClass.getField("controlEnabled").getBoolean(tile);
-                    } catch (Exception e)
-                    {}
-
-                    if (autoLaunchEnabled != null && autoLaunchEnabled)
+                    if (((TileEntityLaunchController) tile).controlEnabled)
                     {
                         if (this.fuelTank.getFluidAmount() > this.fuelTank.getCapacity() * 2 / 5)
                             this.ignite();
@@ -600,18 +530,19 @@ public abstract class EntityAutoRocket extends EntitySpaceshipBase implements IL
         {
             for (ILandingPadAttachable updatedTile : connectedTiles)
             {
-                if (controllerClass.isInstance(updatedTile))
+                if (updatedTile instanceof TileEntityLaunchController)
                 {
+                    TileEntityLaunchController controller = (TileEntityLaunchController) updatedTile;
                     // This includes a check for whether it has enough energy to
                     // run (if it doesn't, then a launch would not go to the
                     // destination frequency and the rocket would be lost!)
-                    Boolean autoLaunchEnabled = controllerClass.getField("controlEnabled").getBoolean(updatedTile);
+                    boolean autoLaunchEnabled = controller.controlEnabled;
 
-                    this.activeLaunchController = new BlockVec3((TileEntity) updatedTile);
+                    this.activeLaunchController = new BlockVec3(controller);
 
                     if (autoLaunchEnabled)
                     {
-                        this.autoLaunchSetting = EnumAutoLaunch.values()[controllerClass.getField("launchDropdownSelection").getInt(updatedTile)];
+                        this.autoLaunchSetting = EnumAutoLaunch.values()[controller.launchDropdownSelection];
 
                         switch (this.autoLaunchSetting)
                         {
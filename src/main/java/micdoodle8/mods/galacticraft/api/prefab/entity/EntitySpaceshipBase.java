@@ -17,12 +17,11 @@ import micdoodle8.mods.galacticraft.api.entity.ITelemetry;
 import micdoodle8.mods.galacticraft.api.vector.BlockVec3Dim;
 import micdoodle8.mods.galacticraft.api.world.IExitHeight;
 import micdoodle8.mods.galacticraft.core.Constants;
-import micdoodle8.mods.galacticraft.core.GalacticraftCore;
 import micdoodle8.mods.galacticraft.core.advancement.GCTriggers;
 import micdoodle8.mods.galacticraft.core.client.screen.GameScreenText;
 import micdoodle8.mods.galacticraft.core.entities.player.GCPlayerStats;
 import micdoodle8.mods.galacticraft.core.network.IPacketReceiver;
-import micdoodle8.mods.galacticraft.core.network.PacketDynamic;
+import micdoodle8.mods.galacticraft.core.network.VehicleSync;
 import micdoodle8.mods.galacticraft.core.tile.TileEntityTelemetry;
 import micdoodle8.mods.galacticraft.core.util.ConfigManagerCore;
 import micdoodle8.mods.galacticraft.core.util.DamageSourceGC;
@@ -65,6 +64,7 @@ public abstract class EntitySpaceshipBase extends Entity implements IPacketRecei
     public int launchPhase;
 
     protected long ticks = 0;
+    private final VehicleSync vehicleSync = new VehicleSync();
     protected double dragAir;
     public int timeUntilLaunch;
     public float timeSinceLaunch;
@@ -374,12 +374,10 @@ public abstract class EntitySpaceshipBase extends Entity implements IPacketRecei
         this.prevPosY = this.posY;
         this.prevPosZ = this.posZ;
 
-        if (!this.world.isRemote && this.ticks % 3 == 0)
+        if (!this.world.isRemote)
         {
-            GalacticraftCore.packetPipeline.sendToDimension(new PacketDynamic(this), this.world.provider.getDimension());
-            // PacketDispatcher.sendPacketToAllInDimension(GCCorePacketManager.getPacket(GalacticraftCore.CHANNELENTITIES,
-            // this, this.getNetworkedData(new ArrayList())),
-            // this.world.provider.getDimension());
+            // The position is left to the vanilla entity tracker
+            this.vehicleSync.update(this, this.ticks, false, true);
         }
 
         if (this.launchPhase >= EnumLaunchPhase.LAUNCHED.ordinal())
@@ -12,9 +12,9 @@ import java.util.List;
 import java.util.Random;
 import micdoodle8.mods.galacticraft.api.galaxies.CelestialBody;
 import micdoodle8.mods.galacticraft.api.world.BiomeGenBaseGC;
+import micdoodle8.mods.miccore.IntCache;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.biome.Biome;
-import net.minecraft.world.gen.layer.IntCache;
 
 /**
  * A Biome Provider for Galacticraft planets (and other bodies!) which only have
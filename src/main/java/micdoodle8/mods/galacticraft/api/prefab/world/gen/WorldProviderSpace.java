@@ -12,6 +12,7 @@ import java.lang.reflect.Field;
 import java.util.Arrays;
 import micdoodle8.mods.galacticraft.annotations.ForRemoval;
 import micdoodle8.mods.galacticraft.api.vector.Vector3;
+import micdoodle8.mods.galacticraft.api.world.DimensionEnvironment;
 import micdoodle8.mods.galacticraft.api.world.EnumAtmosphericGas;
 import micdoodle8.mods.galacticraft.api.world.IGalacticraftWorldProvider;
 import micdoodle8.mods.galacticraft.core.util.ConfigManagerCore;
@@ -38,6 +39,7 @@ public abstract class WorldProviderSpace extends WorldProvider implements IGalac
     private long timeCurrentOffset = 0L;
     public long preTickTime = Long.MIN_VALUE;
     private long saveTCO = 0L;
+    private DimensionEnvironment environment;
     static Field tickCounter;
 
     static
@@ -170,6 +172,18 @@ public abstract class WorldProviderSpace extends WorldProvider implements IGalac
         return "DIM" + this.getCelestialBody().getDimensionID();
     }
 
+    @Override
+    public DimensionEnvironment getEnvironment()
+    {
+        DimensionEnvironment environment = this.environment;
+        if (environment == null || !environment.isCurrent())
+        {
+            environment = DimensionEnvironment.of(this);
+            this.environment = environment;
+        }
+        return environment;
+    }
+
     @Override
     public boolean isGasPresent(EnumAtmosphericGas gas)
     {
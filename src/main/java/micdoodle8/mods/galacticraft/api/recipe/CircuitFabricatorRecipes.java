@@ -8,8 +8,13 @@
 package micdoodle8.mods.galacticraft.api.recipe;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
 import micdoodle8.mods.galacticraft.core.util.RecipeUtil;
+import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.util.NonNullList;
 
@@ -21,6 +26,10 @@ public class CircuitFabricatorRecipes
 
     public static ArrayList<ArrayList<ItemStack>> slotValidItems = new ArrayList<>(5);
 
+    // The recipes (indices into recipeInputs) by the item in their last slot,
+    // the recipe item - built on first use
+    private static volatile Map<Item, IntList> recipesByItem;
+
     /**
      * Input list must be array with 5 elements matching the 5 slots in the
      * machine. Use null if no item is used in the slot. Use a List<ItemStack>
@@ -57,6 +66,7 @@ public class CircuitFabricatorRecipes
         CircuitFabricatorRecipes.recipeInputs.add(inputs);
         CircuitFabricatorRecipes.recipeOutputs.add(output);
         validateItems(inputList);
+        CircuitFabricatorRecipes.invalidateIndex();
     }
 
     /**
@@ -132,9 +142,17 @@ public class CircuitFabricatorRecipes
             return ItemStack.EMPTY;
         }
 
-        int count = 0;
-        for (NonNullList<Object> recipe : CircuitFabricatorRecipes.recipeInputs)
+        // Only the recipes taking this recipe item can match
+        IntList candidates = CircuitFabricatorRecipes.getIndex().get(inputList.get(4).getItem());
+        if (candidates == null)
+        {
+            return ItemStack.EMPTY;
+        }
+
+        for (int c = 0; c < candidates.size(); c++)
         {
+            int count = candidates.getInt(c);
+            NonNullList<Object> recipe = CircuitFabricatorRecipes.recipeInputs.get(count);
             boolean found = true;
             for (int i = 0; i < 5; i++)
             {
@@ -179,13 +197,82 @@ public class CircuitFabricatorRecipes
             {
                 return recipeOutputs.get(count);
             }
-
-            count++;
         }
 
         return ItemStack.EMPTY;
     }
 
+    /**
+     * As getOutputForInput(), but does not look again for inputs which the
+     * machine's missCache says matched nothing last time
+     */
+    public static ItemStack getOutputForInput(List<ItemStack> inputList, RecipeMissCache missCache)
+    {
+        if (missCache.isKnownMiss(inputList))
+        {
+            return ItemStack.EMPTY;
+        }
+
+        ItemStack result = CircuitFabricatorRecipes.getOutputForInput(inputList);
+        if (result.isEmpty())
+        {
+            missCache.recordMiss(inputList);
+        }
+        return result;
+    }
+
+    private static Map<Item, IntList> getIndex()
+    {
+        Map<Item, IntList> index = CircuitFabricatorRecipes.recipesByItem;
+        return index != null ? index : CircuitFabricatorRecipes.buildIndex();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static synchronized Map<Item, IntList> buildIndex()
+    {
+        if (CircuitFabricatorRecipes.recipesByItem == null)
+        {
+            Map<Item, IntList> index = new HashMap<>();
+            for (int i = 0; i < CircuitFabricatorRecipes.recipeInputs.size(); i++)
+            {
+                // An empty recipe item is indexed under air, as empty inputs are
+                Object recipeItem = CircuitFabricatorRecipes.recipeInputs.get(i).get(4);
+                if (recipeItem instanceof ItemStack)
+                {
+                    CircuitFabricatorRecipes.addToIndex(index, ((ItemStack) recipeItem).getItem(), i);
+                } else if (recipeItem instanceof List<?>)
+                {
+                    for (ItemStack stack : (List<ItemStack>) recipeItem)
+                    {
+                        CircuitFabricatorRecipes.addToIndex(index, stack.getItem(), i);
+                    }
+                }
+            }
+            CircuitFabricatorRecipes.recipesByItem = index;
+        }
+        return CircuitFabricatorRecipes.recipesByItem;
+    }
+
+    private static void addToIndex(Map<Item, IntList> index, Item item, int recipe)
+    {
+        IntList list = index.computeIfAbsent(item, k -> new IntArrayList(2));
+        // A list may hold the same item twice
+        if (list.isEmpty() || list.getInt(list.size() - 1) != recipe)
+        {
+            list.add(recipe);
+        }
+    }
+
+    /**
+     * Drops the recipe index (and machines' cached misses), after the
+     * recipes or their ingredients have changed
+     */
+    private static synchronized void invalidateIndex()
+    {
+        CircuitFabricatorRecipes.recipesByItem = null;
+        RecipeMissCache.invalidateAll();
+    }
+
     public static List<NonNullList<Object>> getRecipes()
     {
         return recipeInputs;
@@ -213,6 +300,7 @@ public class CircuitFabricatorRecipes
             } else
                 count++;
         }
+        CircuitFabricatorRecipes.invalidateIndex();
     }
 
     @SuppressWarnings("unchecked")
@@ -255,5 +343,6 @@ public class CircuitFabricatorRecipes
 
             CircuitFabricatorRecipes.validateItems(recipe);
         }
+        CircuitFabricatorRecipes.invalidateIndex();
     }
 }
@@ -9,7 +9,10 @@ package micdoodle8.mods.galacticraft.api.recipe;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import micdoodle8.mods.galacticraft.api.GalacticraftConfigAccess;
 import micdoodle8.mods.galacticraft.core.GCItems;
 import net.minecraft.block.Block;
@@ -30,6 +33,66 @@ public class CompressorRecipes
     //private static boolean flagNotCached = true;
     public static boolean steelIngotsPresent = false;
     public static List<ItemStack> steelRecipeGC;
+    // Built on first use, see getIndex()
+    private static Index index;
+
+    /**
+     * The recipes in use in the current modes, and those recipes by each item
+     * they take - so a lookup only tries the few recipes which could match
+     */
+    private static class Index
+    {
+
+        // 0: normal, 1: challenge recipes, 2: hard mode without the GC steel
+        // recipe
+        private final int modes;
+        private final List<IRecipe> recipes;
+        private final Map<Item, List<IRecipe>> byInput = new HashMap<>();
+
+        @SuppressWarnings("unchecked")
+        private Index(int modes, List<IRecipe> recipes)
+        {
+            this.modes = modes;
+            this.recipes = recipes;
+
+            Set<Item> items = new HashSet<>();
+            for (IRecipe recipe : recipes)
+            {
+                items.clear();
+                if (recipe instanceof ShapedRecipesGC)
+                {
+                    for (ItemStack stack : ((ShapedRecipesGC) recipe).recipeItems)
+                    {
+                        if (stack != null && !stack.isEmpty())
+                        {
+                            items.add(stack.getItem());
+                        }
+                    }
+                } else if (recipe instanceof ShapelessOreRecipeGC)
+                {
+                    for (Object input : ((ShapelessOreRecipeGC) recipe).getInput())
+                    {
+                        if (input instanceof ItemStack)
+                        {
+                            items.add(((ItemStack) input).getItem());
+                        } else if (input instanceof List<?>)
+                        {
+                            for (ItemStack stack : (List<ItemStack>) input)
+                            {
+                                items.add(stack.getItem());
+                            }
+                        }
+                    }
+                }
+
+                // In list order, so the first match is the same as before
+                for (Item item : items)
+                {
+                    this.byInput.computeIfAbsent(item, k -> new ArrayList<>(2)).add(recipe);
+                }
+            }
+        }
+    }
 
     public static ShapedRecipesGC addRecipe(ItemStack output, Object... inputList)
     {
@@ -99,6 +162,7 @@ public class CompressorRecipes
         if (!adventureOnly)
             CompressorRecipes.recipes.add(shapedRecipes);
         CompressorRecipes.recipesAdventure.add(shapedRecipes);
+        CompressorRecipes.invalidateIndex();
         return shapedRecipes;
     }
 
@@ -132,6 +196,7 @@ public class CompressorRecipes
         if (!adventureOnly)
             CompressorRecipes.recipes.add(toAdd);
         CompressorRecipes.recipesAdventure.add(toAdd);
+        CompressorRecipes.invalidateIndex();
     }
 
     public static ShapedRecipesGC addRecipeAdventure(ItemStack output, Object... inputList)
@@ -192,16 +257,23 @@ public class CompressorRecipes
             return new ItemStack(itemstack.getItem(), 1, j1);
         } else
         {
-            List<IRecipe> theRecipes = CompressorRecipes.getRecipeList();
+            if (i == 0)
+            {
+                return ItemStack.EMPTY;
+            }
+
+            // Only the recipes which take the first item can match
+            List<IRecipe> theRecipes = CompressorRecipes.getIndex().byInput.get(itemstack.getItem());
+            if (theRecipes == null)
+            {
+                return ItemStack.EMPTY;
+            }
 
             for (j = 0; j < theRecipes.size(); ++j)
             {
                 IRecipe irecipe = theRecipes.get(j);
 
-                if (irecipe instanceof ShapedRecipesGC && irecipe.matches(inventory, par2World))
-                {
-                    return irecipe.getRecipeOutput().copy();
-                } else if (irecipe instanceof ShapelessOreRecipeGC && irecipe.matches(inventory, par2World))
+                if (irecipe.matches(inventory, par2World))
                 {
                     return irecipe.getRecipeOutput().copy();
                 }
@@ -211,6 +283,27 @@ public class CompressorRecipes
         }
     }
 
+    /**
+     * As findMatchingRecipe(), but does not look again for inputs which the
+     * machine's missCache says matched nothing last time
+     */
+    public static ItemStack findMatchingRecipe(InventoryCrafting inventory, World world, RecipeMissCache missCache)
+    {
+        // Brings the index up to date with the current modes first
+        CompressorRecipes.getIndex();
+        if (missCache.isKnownMiss(inventory))
+        {
+            return ItemStack.EMPTY;
+        }
+
+        ItemStack result = CompressorRecipes.findMatchingRecipe(inventory, world);
+        if (result.isEmpty())
+        {
+            missCache.recordMiss(inventory);
+        }
+        return result;
+    }
+
     public static List<IRecipe> getRecipeListAll()
     {
         List<IRecipe> result = new ArrayList<>(CompressorRecipes.recipesAdventure);
@@ -266,13 +359,44 @@ public class CompressorRecipes
 
     public static List<IRecipe> getRecipeList()
     {
+        return CompressorRecipes.getIndex().recipes;
+    }
+
+    private static Index getIndex()
+    {
+        int modes = 0;
         if (GalacticraftConfigAccess.getChallengeRecipes())
-            return CompressorRecipes.recipesAdventure;
+        {
+            modes = 1;
+        } else if (steelIngotsPresent && GalacticraftConfigAccess.getHardMode())
+        {
+            modes = 2;
+        }
+
+        Index current = CompressorRecipes.index;
+        if (current == null || current.modes != modes)
+        {
+            current = CompressorRecipes.buildIndex(modes);
+        }
+        return current;
+    }
+
+    private static synchronized Index buildIndex(int modes)
+    {
+        Index current = CompressorRecipes.index;
+        if (current != null && current.modes == modes)
+        {
+            return current;
+        }
 
-        // Filter out the GC steel recipe in Hard Mode
-        if (steelIngotsPresent && GalacticraftConfigAccess.getHardMode())
+        List<IRecipe> theRecipes;
+        if (modes == 1)
         {
-            List<IRecipe> resultSteelless = new ArrayList<>(CompressorRecipes.recipes.size());
+            theRecipes = CompressorRecipes.recipesAdventure;
+        } else if (modes == 2)
+        {
+            // Filter out the GC steel recipe in Hard Mode
+            theRecipes = new ArrayList<>(CompressorRecipes.recipes.size());
             for (IRecipe recipe : CompressorRecipes.recipes)
             {
                 ItemStack output = recipe.getRecipeOutput();
@@ -285,12 +409,28 @@ public class CompressorRecipes
                         continue;
                     }
                 }
-                resultSteelless.add(recipe);
+                theRecipes.add(recipe);
             }
-            return resultSteelless;
+        } else
+        {
+            theRecipes = CompressorRecipes.recipes;
         }
 
-        return CompressorRecipes.recipes;
+        current = new Index(modes, theRecipes);
+        CompressorRecipes.index = current;
+        // Machines' misses may be recipes in the new modes
+        RecipeMissCache.invalidateAll();
+        return current;
+    }
+
+    /**
+     * Drops the recipe index (and machines' cached misses), after the
+     * recipes or their ingredients have changed
+     */
+    private static synchronized void invalidateIndex()
+    {
+        CompressorRecipes.index = null;
+        RecipeMissCache.invalidateAll();
     }
 
     public static List<IRecipe> getRecipes(ItemStack match)
@@ -308,6 +448,7 @@ public class CompressorRecipes
     {
         CompressorRecipes.recipes.removeIf(irecipe -> ItemStack.areItemStacksEqual(match, irecipe.getRecipeOutput()));
         CompressorRecipes.recipesAdventure.removeIf(irecipe -> ItemStack.areItemStacksEqual(match, irecipe.getRecipeOutput()));
+        CompressorRecipes.invalidateIndex();
     }
 
     public static void replaceRecipeIngredient(ItemStack ingredient, List<ItemStack> replacement)
@@ -322,6 +463,7 @@ public class CompressorRecipes
                 ((IRecipeUpdatable) recipe).replaceInput(ingredient, replacement);
             }
         }
+        CompressorRecipes.invalidateIndex();
     }
 
     public static void replaceRecipeIngredient(ItemStack ingredient)
@@ -336,5 +478,6 @@ public class CompressorRecipes
                 ((IRecipeUpdatable) recipe).replaceInput(ingredient);
             }
         }
+        CompressorRecipes.invalidateIndex();
     }
 }
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2023 Team Galacticraft
+ *
+ * Licensed under the MIT license.
+ * See LICENSE file in the project root for details.
+ */
+
+package micdoodle8.mods.galacticraft.api.recipe;
+
+import java.util.ArrayList;
+import java.util.List;
+import net.minecraft.inventory.IInventory;
+import net.minecraft.item.ItemStack;
+
+/**
+ * One machine's memory of the last inputs which matched no recipe - so a
+ * machine with unusable items in it, which looks for a recipe every tick or
+ * on every inventory change, does not search the recipes again until its
+ * inputs change.
+ *
+ * Every cache forgets its inputs when the recipes change (see
+ * invalidateAll()).
+ */
+public class RecipeMissCache
+{
+
+    private static volatile int generation;
+
+    private List<ItemStack> missed;
+    private int missedGeneration;
+
+    /**
+     * Makes every machine look up its recipe again
+     */
+    public static void invalidateAll()
+    {
+        RecipeMissCache.generation++;
+    }
+
+    /**
+     * @return true if these inputs (item, metadata, count and NBT of each
+     *         slot) were last recorded as matching no recipe
+     */
+    public boolean isKnownMiss(List<ItemStack> inputs)
+    {
+        if (this.missed == null || this.missedGeneration != RecipeMissCache.generation || this.missed.size() != inputs.size())
+        {
+            return false;
+        }
+
+        for (int i = 0; i < inputs.size(); i++)
+        {
+            if (!RecipeMissCache.isSame(this.missed.get(i), inputs.get(i)))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean isKnownMiss(IInventory inventory)
+    {
+        if (this.missed == null || this.missedGeneration != RecipeMissCache.generation || this.missed.size() != inventory.getSizeInventory())
+        {
+            return false;
+        }
+
+        for (int i = 0; i < inventory.getSizeInventory(); i++)
+        {
+            if (!RecipeMissCache.isSame(this.missed.get(i), inventory.getStackInSlot(i)))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void recordMiss(List<ItemStack> inputs)
+    {
+        List<ItemStack> copy = new ArrayList<>(inputs.size());
+        for (ItemStack stack : inputs)
+        {
+            copy.add(stack.copy());
+        }
+        this.missed = copy;
+        this.missedGeneration = RecipeMissCache.generation;
+    }
+
+    public void recordMiss(IInventory inventory)
+    {
+        List<ItemStack> copy = new ArrayList<>(inventory.getSizeInventory());
+        for (int i = 0; i < inventory.getSizeInventory(); i++)
+        {
+            copy.add(inventory.getStackInSlot(i).copy());
+        }
+        this.missed = copy;
+        this.missedGeneration = RecipeMissCache.generation;
+    }
+
+    private static boolean isSame(ItemStack a, ItemStack b)
+    {
+        if (a.isEmpty() || b.isEmpty())
+        {
+            return a.isEmpty() && b.isEmpty();
+        }
+        return a.getItem() == b.getItem() && a.getItemDamage() == b.getItemDamage() && a.getCount() == b.getCount() && ItemStack.areItemStackTagsEqual(a, b);
+    }
+}
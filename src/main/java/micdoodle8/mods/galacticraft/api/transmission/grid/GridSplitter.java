@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2023 Team Galacticraft
+ *
+ * Licensed under the MIT license.
+ * See LICENSE file in the project root for details.
+ */
+
+package micdoodle8.mods.galacticraft.api.transmission.grid;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import micdoodle8.mods.galacticraft.api.transmission.NetworkType;
+import micdoodle8.mods.galacticraft.api.transmission.tile.ITransmitter;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+/**
+ * Works out which parts of a grid network are cut off when one transmitter is
+ * removed.
+ *
+ * A search is started from each transmitter next to the removed one, and the
+ * searches take one step each in turn. Searches which meet are joined
+ * (union-find over the searches). A group of searches which runs out of
+ * transmitters to visit is a whole part of the network, cut off from the
+ * rest; the search stops as soon as only one group is still going, and that
+ * group keeps the original network.
+ *
+ * So breaking a wire in a loop costs about the size of the loop, and cutting
+ * off a branch about the size of the branch - not the size of the whole
+ * network.
+ */
+public class GridSplitter
+{
+
+    private final World world;
+    private final NetworkType networkType;
+    private final int count;
+
+    private final Map<BlockPos, Integer> owner = new HashMap<BlockPos, Integer>();
+    private final List<ArrayDeque<BlockPos>> frontiers = new ArrayList<ArrayDeque<BlockPos>>();
+    private final List<List<TileEntity>> found = new ArrayList<List<TileEntity>>();
+    private final int[] parent;
+    private final boolean[] finished;
+
+    private GridSplitter(World world, BlockPos removed, List<TileEntity> neighbours, NetworkType networkType)
+    {
+        this.world = world;
+        this.networkType = networkType;
+        this.count = neighbours.size();
+        this.parent = new int[this.count];
+        this.finished = new boolean[this.count];
+        this.owner.put(removed, -1);
+
+        for (int i = 0; i < this.count; i++)
+        {
+            TileEntity tile = neighbours.get(i);
+            this.parent[i] = i;
+            this.frontiers.add(new ArrayDeque<BlockPos>());
+            this.found.add(new ArrayList<TileEntity>());
+            if (this.owner.putIfAbsent(tile.getPos(), i) == null)
+            {
+                this.frontiers.get(i).add(tile.getPos());
+                this.found.get(i).add(tile);
+            }
+        }
+    }
+
+    /**
+     * @param world       the world of the network
+     * @param removed     the position of the transmitter removed
+     * @param neighbours  the transmitters which were connected to it
+     * @param networkType the type of network
+     * @return the parts of the network which are no longer connected to the
+     *         rest: each should be given a new network. The transmitters not
+     *         in any of these stay in the original network.
+     */
+    public static List<List<TileEntity>> findSplitParts(World world, BlockPos removed, List<TileEntity> neighbours, NetworkType networkType)
+    {
+        if (neighbours.size() < 2)
+        {
+            // Removing the end of a line never splits a network
+            return Collections.emptyList();
+        }
+
+        return new GridSplitter(world, removed, neighbours, networkType).search();
+    }
+
+    private List<List<TileEntity>> search()
+    {
+        List<List<TileEntity>> parts = new ArrayList<List<TileEntity>>();
+        int running = this.count;
+
+        while (running > 1)
+        {
+            for (int i = 0; i < this.count; i++)
+            {
+                ArrayDeque<BlockPos> frontier = this.frontiers.get(i);
+                if (!frontier.isEmpty())
+                {
+                    running -= this.step(i, frontier.poll());
+                }
+            }
+
+            for (int i = 0; i < this.count; i++)
+            {
+                if (this.parent[i] == i && !this.finished[i] && this.groupDone(i))
+                {
+                    this.finished[i] = true;
+                    running--;
+                    List<TileEntity> part = this.collect(i);
+                    if (!part.isEmpty())
+                    {
+                        parts.add(part);
+                    }
+                }
+            }
+        }
+
+        if (running == 0 && !parts.isEmpty())
+        {
+            // Everything was searched: the largest part keeps the original
+            // network
+            List<TileEntity> largest = parts.get(0);
+            for (List<TileEntity> part : parts)
+            {
+                if (part.size() > largest.size())
+                {
+                    largest = part;
+                }
+            }
+            parts.remove(largest);
+        }
+
+        return parts;
+    }
+
+    /**
+     * Visits the transmitters next to pos for search i
+     *
+     * @return the number of groups of searches joined with this one
+     */
+    private int step(int i, BlockPos pos)
+    {
+        int joined = 0;
+        for (EnumFacing side : EnumFacing.VALUES)
+        {
+            BlockPos next = pos.offset(side);
+            Integer other = this.owner.get(next);
+            if (other != null && (other < 0 || this.find(other) == this.find(i)))
+            {
+                continue;
+            }
+
+            TileEntity tile = this.world.getTileEntity(next);
+            if (!(tile instanceof ITransmitter) || !((ITransmitter) tile).canConnect(side.getOpposite(), this.networkType))
+            {
+                continue;
+            }
+
+            if (other == null)
+            {
+                this.owner.put(next, i);
+                this.frontiers.get(i).add(next);
+                this.found.get(i).add(tile);
+            } else if (!this.finished[this.find(other)])
+            {
+                this.parent[this.find(other)] = this.find(i);
+                joined++;
+            }
+        }
+        return joined;
+    }
+
+    private int find(int i)
+    {
+        while (this.parent[i] != i)
+        {
+            this.parent[i] = this.parent[this.parent[i]];
+            i = this.parent[i];
+        }
+        return i;
+    }
+
+    private boolean groupDone(int root)
+    {
+        for (int j = 0; j < this.count; j++)
+        {
+            if (!this.frontiers.get(j).isEmpty() && this.find(j) == root)
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private List<TileEntity> collect(int root)
+    {
+        List<TileEntity> part = new ArrayList<TileEntity>();
+        for (int j = 0; j < this.count; j++)
+        {
+            if (this.find(j) == root)
+            {
+                part.addAll(this.found.get(j));
+            }
+        }
+        return part;
+    }
+}
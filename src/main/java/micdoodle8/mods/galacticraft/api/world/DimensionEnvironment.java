@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2023 Team Galacticraft
+ *
+ * Licensed under the MIT license.
+ * See LICENSE file in the project root for details.
+ */
+
+package micdoodle8.mods.galacticraft.api.world;
+
+import net.minecraft.util.math.MathHelper;
+
+/**
+ * A snapshot of the gravity, atmosphere and thermal values of an
+ * IGalacticraftWorldProvider, for the entity and player ticks which ask for
+ * them many times per tick.
+ *
+ * WorldProviderSpace keeps one, and builds it again after invalidateAll() -
+ * called when configs are reloaded or a celestial body's atmosphere changes.
+ * Addons changing a dimension's environment some other way should call it
+ * too.
+ */
+public final class DimensionEnvironment
+{
+
+    private static volatile int generation;
+
+    private final int builtGeneration;
+    private final float gravity;
+    private final float gravityFactor;
+    private final float arrowGravity;
+    private final double itemGravity;
+    private final float fallDamageModifier;
+    private final float thermalLevelModifier;
+    private final float windLevel;
+    private final float soundVolReductionAmount;
+    private final double meteorFrequency;
+    private final boolean noAtmosphere;
+    private final boolean breathableAtmosphere;
+    private final boolean oxygenPresent;
+    private final boolean corrodesArmor;
+
+    private DimensionEnvironment(IGalacticraftWorldProvider provider)
+    {
+        this.builtGeneration = DimensionEnvironment.generation;
+        this.gravity = provider.getGravity();
+        this.gravityFactor = MathHelper.clamp(MathHelper.sqrt(0.08F / (0.08F - this.gravity)), 0.75F, 2.5F);
+        this.arrowGravity = provider.getArrowGravity();
+        this.itemGravity = Math.max(0.002D, 0.03999999910593033D - (provider instanceof IOrbitDimension ? 0.05999999910593033D : this.gravity) / 1.75D);
+        this.fallDamageModifier = provider.getFallDamageModifier();
+        this.thermalLevelModifier = provider.getThermalLevelModifier();
+        this.windLevel = provider.getWindLevel();
+        this.soundVolReductionAmount = provider.getSoundVolReductionAmount();
+        this.meteorFrequency = provider.getMeteorFrequency();
+        this.noAtmosphere = provider.hasNoAtmosphere();
+        this.breathableAtmosphere = provider.hasBreathableAtmosphere();
+        this.oxygenPresent = provider.isGasPresent(EnumAtmosphericGas.OXYGEN);
+        this.corrodesArmor = provider.shouldCorrodeArmor();
+    }
+
+    public static DimensionEnvironment of(IGalacticraftWorldProvider provider)
+    {
+        return new DimensionEnvironment(provider);
+    }
+
+    /**
+     * Makes every cached DimensionEnvironment out of date
+     */
+    public static void invalidateAll()
+    {
+        DimensionEnvironment.generation++;
+    }
+
+    /**
+     * @return false if invalidateAll() has been called since this was built
+     */
+    public boolean isCurrent()
+    {
+        return this.builtGeneration == DimensionEnvironment.generation;
+    }
+
+    public float getGravity()
+    {
+        return this.gravity;
+    }
+
+    /**
+     * @return see WorldUtil.getGravityFactor()
+     */
+    public float getGravityFactor()
+    {
+        return this.gravityFactor;
+    }
+
+    public float getArrowGravity()
+    {
+        return this.arrowGravity;
+    }
+
+    /**
+     * @return the downward acceleration of item entities
+     */
+    public double getItemGravity()
+    {
+        return this.itemGravity;
+    }
+
+    public float getFallDamageModifier()
+    {
+        return this.fallDamageModifier;
+    }
+
+    public float getThermalLevelModifier()
+    {
+        return this.thermalLevelModifier;
+    }
+
+    public float getWindLevel()
+    {
+        return this.windLevel;
+    }
+
+    public float getSoundVolReductionAmount()
+    {
+        return this.soundVolReductionAmount;
+    }
+
+    public double getMeteorFrequency()
+    {
+        return this.meteorFrequency;
+    }
+
+    public boolean hasNoAtmosphere()
+    {
+        return this.noAtmosphere;
+    }
+
+    public boolean hasBreathableAtmosphere()
+    {
+        return this.breathableAtmosphere;
+    }
+
+    public boolean isOxygenPresent()
+    {
+        return this.oxygenPresent;
+    }
+
+    /**
+     * @return true if fire cannot burn here (outside oxygen bubbles), see
+     *         OxygenUtil.noAtmosphericCombustion()
+     */
+    public boolean hasNoAtmosphericCombustion()
+    {
+        return !this.oxygenPresent && !this.breathableAtmosphere;
+    }
+
+    public boolean shouldCorrodeArmor()
+    {
+        return this.corrodesArmor;
+    }
+}
@@ -170,4 +170,16 @@ public interface IGalacticraftWorldProvider
     ResourceLocation getDungeonChestType();
 
     List<Block> getSurfaceBlocks();
+
+    /**
+     * The gravity, atmosphere and thermal values of this world in one object,
+     * for code which asks for several of them every tick. WorldProviderSpace
+     * caches it; the default here builds it each time.
+     *
+     * @return the current values of the methods above
+     */
+    default DimensionEnvironment getEnvironment()
+    {
+        return DimensionEnvironment.of(this);
+    }
 }
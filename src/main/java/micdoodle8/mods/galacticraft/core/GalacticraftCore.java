@@ -198,8 +198,10 @@ import micdoodle8.mods.galacticraft.core.util.CreativeTabGC;
 import micdoodle8.mods.galacticraft.core.util.GCCoreUtil;
 import micdoodle8.mods.galacticraft.core.util.GalacticLog;
 import micdoodle8.mods.galacticraft.core.util.MapUtil;
+import micdoodle8.mods.galacticraft.core.util.SavedDataWriter;
 import micdoodle8.mods.galacticraft.core.util.WorldUtil;
 import micdoodle8.mods.galacticraft.core.world.ChunkLoadingCallback;
+import micdoodle8.mods.galacticraft.core.world.FootprintTracker;
 import micdoodle8.mods.galacticraft.core.world.gen.BiomeMoon;
 import micdoodle8.mods.galacticraft.core.world.gen.BiomeOrbit;
 import micdoodle8.mods.galacticraft.core.world.gen.OreGenOtherMods;
@@ -382,6 +384,7 @@ public class GalacticraftCore
         SchematicRegistry.registerSchematicRecipe(new SchematicMoonBuggy());
         SchematicRegistry.registerSchematicRecipe(new SchematicAdd());
         ChunkPowerHandler.initiate();
+        FootprintTracker.initiate();
         EnergyConfigHandler.initGas();
         LootHandlerGC.registerAll();
 
@@ -714,6 +717,7 @@ public class GalacticraftCore
         WorldUtil.unregisterPlanets();
         WorldUtil.unregisterSpaceStations();
         GCCoreUtil.notifyStarted(null);
+        SavedDataWriter.restart();
     }
 
     private static void registerCoreGameScreens()
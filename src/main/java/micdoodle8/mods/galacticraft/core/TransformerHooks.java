@@ -56,10 +56,8 @@ import net.minecraftforge.fml.relauncher.SideOnly;
 
 import micdoodle8.mods.galacticraft.api.entity.IAntiGrav;
 import micdoodle8.mods.galacticraft.api.entity.ICameraZoomEntity;
-import micdoodle8.mods.galacticraft.api.item.IArmorGravity;
 import micdoodle8.mods.galacticraft.api.prefab.entity.EntitySpaceshipBase;
 import micdoodle8.mods.galacticraft.api.world.IGalacticraftWorldProvider;
-import micdoodle8.mods.galacticraft.api.world.IOrbitDimension;
 import micdoodle8.mods.galacticraft.api.world.IWeatherProvider;
 import micdoodle8.mods.galacticraft.api.world.IZeroGDimension;
 import micdoodle8.mods.galacticraft.core.blocks.BlockGrating;
@@ -75,6 +73,7 @@ import micdoodle8.mods.galacticraft.core.proxy.ClientProxyCore;
 import micdoodle8.mods.galacticraft.core.util.ConfigManagerCore;
 import micdoodle8.mods.galacticraft.core.util.FluidUtil;
 import micdoodle8.mods.galacticraft.core.util.GCCoreUtil;
+import micdoodle8.mods.galacticraft.core.util.GravityCache;
 import micdoodle8.mods.galacticraft.core.util.OxygenUtil;
 import micdoodle8.mods.galacticraft.core.util.WorldUtil;
 import micdoodle8.mods.galacticraft.planets.venus.VenusItems;
@@ -103,51 +102,21 @@ public class TransformerHooks
     {
         if (entity.world.provider instanceof IGalacticraftWorldProvider)
         {
-            if (entity instanceof EntityChicken && !OxygenUtil.isAABBInBreathableAirBlock(entity.world, entity.getEntityBoundingBox()))
+            if (entity instanceof EntityChicken && !GravityCache.isInBreathableAir(entity))
             {
                 return 0.08D;
             }
 
-            final IGalacticraftWorldProvider customProvider = (IGalacticraftWorldProvider) entity.world.provider;
+            final float gravity = ((IGalacticraftWorldProvider) entity.world.provider).getEnvironment().getGravity();
             if (entity instanceof EntityPlayer)
             {
                 EntityPlayer player = (EntityPlayer) entity;
                 if (player.inventory != null)
                 {
-                    int armorModLowGrav = 100;
-                    int armorModHighGrav = 100;
-                    for (ItemStack armorPiece : player.getArmorInventoryList())
-                    {
-                        if (armorPiece != null && armorPiece.getItem() instanceof IArmorGravity)
-                        {
-                            armorModLowGrav -= ((IArmorGravity) armorPiece.getItem()).gravityOverrideIfLow(player);
-                            armorModHighGrav -= ((IArmorGravity) armorPiece.getItem()).gravityOverrideIfHigh(player);
-                        }
-                    }
-                    if (armorModLowGrav > 100)
-                    {
-                        armorModLowGrav = 100;
-                    }
-                    if (armorModHighGrav > 100)
-                    {
-                        armorModHighGrav = 100;
-                    }
-                    if (armorModLowGrav < 0)
-                    {
-                        armorModLowGrav = 0;
-                    }
-                    if (armorModHighGrav < 0)
-                    {
-                        armorModHighGrav = 0;
-                    }
-                    if (customProvider.getGravity() > 0)
-                    {
-                        return 0.08D - (customProvider.getGravity() * armorModLowGrav) / 100;
-                    }
-                    return 0.08D - (customProvider.getGravity() * armorModHighGrav) / 100;
+                    return 0.08D - (gravity * GravityCache.getArmorGravityMod(player, gravity > 0)) / 100;
                 }
             }
-            return 0.08D - customProvider.getGravity();
+            return 0.08D - gravity;
         } else if (entity instanceof IAntiGrav)
         {
             return 0;
@@ -161,8 +130,7 @@ public class TransformerHooks
     {
         if (e.world.provider instanceof IGalacticraftWorldProvider)
         {
-            final IGalacticraftWorldProvider customProvider = (IGalacticraftWorldProvider) e.world.provider;
-            return Math.max(0.002D, 0.03999999910593033D - (customProvider instanceof IOrbitDimension ? 0.05999999910593033D : customProvider.getGravity()) / 1.75D);
+            return ((IGalacticraftWorldProvider) e.world.provider).getEnvironment().getItemGravity();
         } else
         {
             return 0.03999999910593033D;
@@ -173,7 +141,7 @@ public class TransformerHooks
     {
         if (e.world.provider instanceof IGalacticraftWorldProvider)
         {
-            return ((IGalacticraftWorldProvider) e.world.provider).getArrowGravity();
+            return ((IGalacticraftWorldProvider) e.world.provider).getEnvironment().getArrowGravity();
         } else
         {
             return 0.05F;
@@ -7,9 +7,6 @@
 
 package micdoodle8.mods.galacticraft.core.blocks;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
 import java.util.Random;
 
 import net.minecraft.block.Block;
@@ -27,7 +24,6 @@ import net.minecraft.util.EnumFacing;
 import net.minecraft.util.IStringSerializable;
 import net.minecraft.util.NonNullList;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.util.math.ChunkPos;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.math.RayTraceResult;
 import net.minecraft.world.Explosion;
@@ -47,7 +43,7 @@ import micdoodle8.mods.galacticraft.core.GalacticraftCore;
 import micdoodle8.mods.galacticraft.core.tick.TickHandlerServer;
 import micdoodle8.mods.galacticraft.core.util.EnumSortCategoryBlock;
 import micdoodle8.mods.galacticraft.core.util.GCCoreUtil;
-import micdoodle8.mods.galacticraft.core.wrappers.Footprint;
+import micdoodle8.mods.galacticraft.core.world.FootprintTracker;
 
 import com.google.common.base.Predicate;
 
@@ -310,32 +306,7 @@ public class BlockBasicMoon extends Block implements IDetectableResource, IPlant
 
         if (!worldIn.isRemote && type == EnumBlockBasicMoon.MOON_TURF)
         {
-            Map<Long, List<Footprint>> footprintChunkMap = TickHandlerServer.serverFootprintMap.get(GCCoreUtil.getDimensionID(worldIn));
-
-            if (footprintChunkMap != null)
-            {
-                long chunkKey = ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4);
-                List<Footprint> footprintList = footprintChunkMap.get(chunkKey);
-
-                if (footprintList != null && !footprintList.isEmpty())
-                {
-                    List<Footprint> toRemove = new ArrayList<Footprint>();
-
-                    for (Footprint footprint : footprintList)
-                    {
-                        if (footprint.position.x > pos.getX() && footprint.position.x < pos.getX() + 1 && footprint.position.z > pos.getZ() && footprint.position.z < pos.getZ() + 1)
-                        {
-                            toRemove.add(footprint);
-                        }
-                    }
-
-                    if (!toRemove.isEmpty())
-                    {
-                        footprintList.removeAll(toRemove);
-                    }
-                }
-            }
-
+            FootprintTracker.removeInBlock(worldIn, pos);
             TickHandlerServer.footprintBlockChanges.add(new BlockVec3Dim(pos, GCCoreUtil.getDimensionID(worldIn)));
         }
     }
@@ -155,7 +155,11 @@ public class FootprintRenderer
         addFootprint(chunkKey, new Footprint(dimension, position, rotation, owner, lightmapVal));
     }
 
-    public static void setFootprints(long chunkKey, List<Footprint> prints)
+    /**
+     * Applies the server's changes to the prints in one chunk: if full, added
+     * is every print and replaces the other players' prints already there
+     */
+    public static void updateFootprints(long chunkKey, boolean full, List<Footprint> added, int[] removed)
     {
         List<Footprint> footprintList = footprints.get(chunkKey);
 
@@ -164,17 +168,33 @@ public class FootprintRenderer
             footprintList = new ArrayList<Footprint>();
         }
 
-        Iterator<Footprint> i = footprintList.iterator();
-        while (i.hasNext())
+        if (full || removed.length > 0)
         {
-            Footprint print = i.next();
-            if (!print.owner.equals(FMLClientHandler.instance().getClient().player.getName()))
+            Iterator<Footprint> i = footprintList.iterator();
+            while (i.hasNext())
             {
-                i.remove();
+                Footprint print = i.next();
+                // The player's own prints have no id
+                if (print.id != 0 && (full || FootprintRenderer.contains(removed, print.id)))
+                {
+                    i.remove();
+                }
             }
         }
 
-        footprintList.addAll(prints);
+        footprintList.addAll(added);
         footprints.put(chunkKey, footprintList);
     }
+
+    private static boolean contains(int[] ids, int id)
+    {
+        for (int other : ids)
+        {
+            if (other == id)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
 }
@@ -26,6 +26,7 @@ import net.minecraft.world.World;
 
 import micdoodle8.mods.galacticraft.core.entities.player.GCPlayerStats;
 import micdoodle8.mods.galacticraft.core.inventory.InventoryExtended;
+import micdoodle8.mods.galacticraft.core.util.AsyncSavedData;
 import micdoodle8.mods.galacticraft.core.util.PlayerUtil;
 import micdoodle8.mods.galacticraft.core.util.WorldUtil;
 
@@ -208,11 +209,11 @@ public class CommandGCInv extends CommandBase
         {
             return;
         }
-        CommandGCInv.savefile = (GCInvSaveData) world0.loadData(GCInvSaveData.class, GCInvSaveData.SAVE_ID);
+        CommandGCInv.savefile = AsyncSavedData.load(world0.getMapStorage(), GCInvSaveData.class, GCInvSaveData.SAVE_ID);
         if (CommandGCInv.savefile == null)
         {
             CommandGCInv.savefile = new GCInvSaveData();
-            world0.setData(GCInvSaveData.SAVE_ID, CommandGCInv.savefile);
+            AsyncSavedData.store(world0.getMapStorage(), GCInvSaveData.SAVE_ID, CommandGCInv.savefile);
         }
     }
 
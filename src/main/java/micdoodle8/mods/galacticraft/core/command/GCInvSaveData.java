@@ -10,11 +10,11 @@ package micdoodle8.mods.galacticraft.core.command;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
-import net.minecraft.world.storage.WorldSavedData;
 
 import micdoodle8.mods.galacticraft.core.Constants;
+import micdoodle8.mods.galacticraft.core.util.AsyncSavedData;
 
-public class GCInvSaveData extends WorldSavedData
+public class GCInvSaveData extends AsyncSavedData
 {
 
     public static final String SAVE_ID = Constants.GCDATAFOLDER + "GCInv_savefile";
@@ -9,18 +9,20 @@ package micdoodle8.mods.galacticraft.core.dimension;
 
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.world.World;
-import net.minecraft.world.storage.WorldSavedData;
 
 import micdoodle8.mods.galacticraft.core.Constants;
+import micdoodle8.mods.galacticraft.core.util.AsyncSavedData;
 import micdoodle8.mods.galacticraft.core.util.GCCoreUtil;
 
-public class OrbitSpinSaveData extends WorldSavedData
+public class OrbitSpinSaveData extends AsyncSavedData
 {
 
     public static final String saveDataID = Constants.GCDATAFOLDER + "GCSpinData";
     public NBTTagCompound datacompound;
     private NBTTagCompound alldata;
     private int dim = 0;
+    // Written into datacompound when saving, see SpinManager.updateSpin()
+    private SpinManager spinManager;
 
     public OrbitSpinSaveData(String s)
     {
@@ -41,6 +43,10 @@ public class OrbitSpinSaveData extends WorldSavedData
     {
         if (this.dim != 0)
         {
+            if (this.spinManager != null)
+            {
+                this.spinManager.writeToNBT(this.datacompound);
+            }
             nbt.setTag("" + this.dim, this.datacompound);
         }
 
@@ -49,21 +55,23 @@ public class OrbitSpinSaveData extends WorldSavedData
 
     public static OrbitSpinSaveData initWorldData(World world)
     {
-        OrbitSpinSaveData worldData = (OrbitSpinSaveData) world.loadData(OrbitSpinSaveData.class, OrbitSpinSaveData.saveDataID);
+        OrbitSpinSaveData worldData = AsyncSavedData.load(world.getMapStorage(), OrbitSpinSaveData.class, OrbitSpinSaveData.saveDataID);
 
         if (worldData == null)
         {
             worldData = new OrbitSpinSaveData("");
-            world.setData(OrbitSpinSaveData.saveDataID, worldData);
+            AsyncSavedData.store(world.getMapStorage(), OrbitSpinSaveData.saveDataID, worldData);
             if (world.provider instanceof WorldProviderSpaceStation)
             {
                 worldData.dim = GCCoreUtil.getDimensionID(world);
-                ((WorldProviderSpaceStation) world.provider).getSpinManager().writeToNBT(worldData.datacompound);
+                worldData.spinManager = ((WorldProviderSpaceStation) world.provider).getSpinManager();
+                worldData.spinManager.writeToNBT(worldData.datacompound);
             }
             worldData.markDirty();
         } else if (world.provider instanceof WorldProviderSpaceStation)
         {
             worldData.dim = GCCoreUtil.getDimensionID(world);
+            worldData.spinManager = ((WorldProviderSpaceStation) world.provider).getSpinManager();
 
             worldData.datacompound = null;
             if (worldData.alldata != null)
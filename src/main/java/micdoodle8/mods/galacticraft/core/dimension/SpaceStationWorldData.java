@@ -15,7 +15,6 @@ import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
 import net.minecraft.world.DimensionType;
 import net.minecraft.world.World;
-import net.minecraft.world.storage.WorldSavedData;
 
 import net.minecraftforge.common.DimensionManager;
 
@@ -24,11 +23,12 @@ import micdoodle8.mods.galacticraft.api.galaxies.Satellite;
 import micdoodle8.mods.galacticraft.core.Constants;
 import micdoodle8.mods.galacticraft.core.GalacticraftCore;
 import micdoodle8.mods.galacticraft.core.entities.player.GCPlayerStats;
+import micdoodle8.mods.galacticraft.core.util.AsyncSavedData;
 import micdoodle8.mods.galacticraft.core.util.ConfigManagerCore;
 import micdoodle8.mods.galacticraft.core.util.PlayerUtil;
 import micdoodle8.mods.galacticraft.core.util.WorldUtil;
 
-public class SpaceStationWorldData extends WorldSavedData
+public class SpaceStationWorldData extends AsyncSavedData
 {
 
     private String spaceStationName = "NoName";
@@ -109,6 +109,18 @@ public class SpaceStationWorldData extends WorldSavedData
     public void setSpaceStationName(String string)
     {
         this.spaceStationName = string;
+        WorldUtil.markPlanetListChanged();
+    }
+
+    @Override
+    public void setDirty(boolean isDirty)
+    {
+        super.setDirty(isDirty);
+        if (isDirty)
+        {
+            // The owner and allowed players are in players' planet lists
+            WorldUtil.markPlanetListChanged();
+        }
     }
 
     public int getDimensionIdStatic()
@@ -254,12 +266,12 @@ public class SpaceStationWorldData extends WorldSavedData
         } else
         {
             final String stationIdentifier = SpaceStationWorldData.getSpaceStationID(stationID);
-            SpaceStationWorldData stationData = (SpaceStationWorldData) world.loadData(SpaceStationWorldData.class, Constants.GCDATAFOLDER + stationIdentifier);
+            SpaceStationWorldData stationData = AsyncSavedData.load(world.getMapStorage(), SpaceStationWorldData.class, Constants.GCDATAFOLDER + stationIdentifier);
 
             if (stationData == null)
             {
                 stationData = new SpaceStationWorldData(stationIdentifier);
-                world.setData(Constants.GCDATAFOLDER + stationIdentifier, stationData);
+                AsyncSavedData.store(world.getMapStorage(), Constants.GCDATAFOLDER + stationIdentifier, stationData);
                 stationData.dataCompound = new NBTTagCompound();
 
                 if (owner != null)
@@ -315,7 +327,7 @@ public class SpaceStationWorldData extends WorldSavedData
 
         if (var0 != null)
         {
-            var3 = (SpaceStationWorldData) var0.loadData(SpaceStationWorldData.class, Constants.GCDATAFOLDER + var2);
+            var3 = AsyncSavedData.load(var0.getMapStorage(), SpaceStationWorldData.class, Constants.GCDATAFOLDER + var2);
         } else
         {
             GalacticraftCore.logger.error("No world for dimension 0?  That should be unpossible!  Please report at https://github.com/micdoodle8/Galacticraft/issues/2617");
@@ -324,7 +336,7 @@ public class SpaceStationWorldData extends WorldSavedData
         if (var3 == null)
         {
             var3 = new SpaceStationWorldData(var2);
-            var0.setData(Constants.GCDATAFOLDER + var2, var3);
+            AsyncSavedData.store(var0.getMapStorage(), Constants.GCDATAFOLDER + var2, var3);
             var3.dataCompound = new NBTTagCompound();
 
             if (player != null)
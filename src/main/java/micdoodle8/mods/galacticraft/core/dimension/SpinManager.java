@@ -8,7 +8,6 @@
 package micdoodle8.mods.galacticraft.core.dimension;
 
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -41,6 +40,7 @@ import micdoodle8.mods.galacticraft.core.entities.ITumblable;
 import micdoodle8.mods.galacticraft.core.entities.player.FreefallHandler;
 import micdoodle8.mods.galacticraft.core.network.PacketSimple;
 import micdoodle8.mods.galacticraft.core.util.ConfigManagerCore;
+import micdoodle8.mods.galacticraft.core.util.FloodFill;
 import micdoodle8.mods.galacticraft.core.util.GCCoreUtil;
 import micdoodle8.mods.galacticraft.core.util.RedstoneUtil;
 
@@ -75,7 +75,7 @@ public class SpinManager
     private BlockPos oneSSBlock;
     // private HashSet<BlockPos> stationBlocks = new HashSet<>();
 
-    private HashSet<BlockVec3> checked = new HashSet<BlockVec3>();
+    private final FloodFill checked = new FloodFill();
 
     private float artificialG;
     // Used to make continuous particles + thrust sounds at the spin thrusters
@@ -85,7 +85,7 @@ public class SpinManager
     // see: BlockSpinThruster.randomDisplayTick()
     public boolean thrustersFiring = false;
     private boolean dataNotLoaded = true;
-    private List<Entity> loadedEntities = Lists.newLinkedList();
+    private final BlockPos.MutableBlockPos entityPos = new BlockPos.MutableBlockPos();
 
     private WorldProviderSpaceStation worldProvider;
     private boolean clientSide = true;
@@ -204,13 +204,14 @@ public class SpinManager
         }
 
         // Find contiguous blocks using an algorithm like the oxygen sealer one
-        List<BlockVec3> currentLayer = new LinkedList<BlockVec3>();
-        List<BlockVec3> nextLayer = new LinkedList<BlockVec3>();
         final List<BlockPos> foundThrusters = new LinkedList<BlockPos>();
+        FloodFill checked = this.checked;
+        BlockVec3 vec = new BlockVec3();
+        BlockVec3 sideVec = new BlockVec3();
+        BlockPos.MutableBlockPos sidePos = new BlockPos.MutableBlockPos();
 
-        this.checked.clear();
-        currentLayer.add(new BlockVec3(this.oneSSBlock));
-        this.checked.add(new BlockVec3(this.oneSSBlock));
+        checked.reset();
+        checked.offer(this.oneSSBlock.toLong(), 0);
         IBlockState bsStart = this.worldProvider.world.getBlockState(this.oneSSBlock);
         Block bStart = bsStart.getBlock();
         if (bStart instanceof BlockSpinThruster)
@@ -230,12 +231,16 @@ public class SpinManager
         float thismassCentreZ = 0.1F * thisssBoundsMaxZ;
         float thismoment = 0F;
 
-        while (currentLayer.size() > 0)
+        while (checked.nextLayer())
         {
             int bits;
-            for (BlockVec3 vec : currentLayer)
+            while (checked.hasNext())
             {
-                bits = vec.sideDoneBits;
+                long pos = checked.next();
+                vec.x = FloodFill.getX(pos);
+                vec.y = FloodFill.getY(pos);
+                vec.z = FloodFill.getZ(pos);
+                bits = checked.tag();
                 if (vec.x < thisssBoundsMinX)
                 {
                     thisssBoundsMinX = vec.x;
@@ -267,20 +272,23 @@ public class SpinManager
                     {
                         continue;
                     }
-                    BlockVec3 sideVec = vec.newVecSide(side);
+                    long sideKey = FloodFill.offset(pos, side);
 
-                    if (sideVec != null && !this.checked.contains(sideVec))
+                    if (checked.markVisited(sideKey))
                     {
-                        this.checked.add(sideVec);
+                        sideVec.x = FloodFill.getX(sideKey);
+                        sideVec.y = FloodFill.getY(sideKey);
+                        sideVec.z = FloodFill.getZ(sideKey);
                         IBlockState state = sideVec.getBlockState(this.worldProvider.world);
                         if (state == null)
                         {
                             continue;
                         }
+                        sidePos.setPos(sideVec.x, sideVec.y, sideVec.z);
                         Block b = state.getBlock();
-                        if (b != null && !b.isAir(state, this.worldProvider.world, sideVec.toBlockPos()) && !(b instanceof BlockDynamicLiquid))
+                        if (b != null && !b.isAir(state, this.worldProvider.world, sidePos) && !(b instanceof BlockDynamicLiquid))
                         {
-                            nextLayer.add(sideVec);
+                            checked.push(sideKey, (1 << (side ^ 1)) + (side << 6));
                             if (bStart.isAir(bsStart, this.worldProvider.world, this.oneSSBlock))
                             {
                                 this.oneSSBlock = sideVec.toBlockPos();
@@ -293,7 +301,7 @@ public class SpinManager
                             {
                                 // For most blocks, hardness gives a good idea
                                 // of mass
-                                m = b.getBlockHardness(state, this.worldProvider.world, sideVec.toBlockPos());
+                                m = b.getBlockHardness(state, this.worldProvider.world, sidePos);
                                 if (m < 0.1F)
                                 {
                                     m = 0.1F;
@@ -318,7 +326,7 @@ public class SpinManager
                             thismassCentreZ += m * sideVec.z;
                             thismass += m;
                             thismoment += m * (sideVec.x * sideVec.x + sideVec.z * sideVec.z);
-                            if (b instanceof BlockSpinThruster && !RedstoneUtil.isBlockReceivingRedstone(this.worldProvider.world, sideVec.toBlockPos()))
+                            if (b instanceof BlockSpinThruster && !RedstoneUtil.isBlockReceivingRedstone(this.worldProvider.world, sidePos))
                             {
                                 foundThrusters.add(sideVec.toBlockPos());
                             }
@@ -326,12 +334,9 @@ public class SpinManager
                     }
                 }
             }
-
-            currentLayer = nextLayer;
-            nextLayer = new LinkedList<BlockVec3>();
         }
 
-        if (placingThruster && !this.checked.contains(new BlockVec3(baseBlock)))
+        if (placingThruster && !checked.isVisited(baseBlock.toLong()))
         {
             if (foundThrusters.size() > 0)
             {
@@ -554,7 +559,7 @@ public class SpinManager
 
                 if (updateNeeded)
                 {
-                    this.writeToNBT(this.savefile.datacompound);
+                    // The spin is written into the save file when it is saved
                     this.savefile.markDirty();
                     List<Object> objList = new ArrayList<Object>();
                     objList.add(Float.valueOf(this.angularVelocityRadians));
@@ -564,11 +569,12 @@ public class SpinManager
                 }
             }
 
-            // Update entity positions if in freefall
-            this.loadedEntities.clear();
-            this.loadedEntities.addAll(this.worldProvider.world.loadedEntityList);
-            for (Entity e : this.loadedEntities)
+            // Update entity positions if in freefall - by index, as an event
+            // handler might spawn an entity (that is added to the end)
+            List<Entity> loadedEntities = this.worldProvider.world.loadedEntityList;
+            for (int i = 0; i < loadedEntities.size(); i++)
             {
+                Entity e = loadedEntities.get(i);
                 // TODO: What about vehicles from GC (buggies) and other mods?
                 if ((e instanceof EntityItem || e instanceof EntityLivingBase && !(e instanceof EntityPlayer) || e instanceof EntityTNTPrimed || e instanceof EntityFallingBlock) && !e.onGround)
                 {
@@ -630,7 +636,7 @@ public class SpinManager
 
             // Rotated into an unloaded chunk (probably also drifted out to
             // there): byebye
-            if (!e.world.isBlockLoaded(new BlockPos(MathHelper.floor(e.posX), 64, MathHelper.floor(e.posZ))))
+            if (!e.world.isBlockLoaded(this.entityPos.setPos(MathHelper.floor(e.posX), 64, MathHelper.floor(e.posZ))))
             {
                 e.setDead();
                 return;
@@ -9,11 +9,11 @@ package micdoodle8.mods.galacticraft.core.dimension;
 
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.world.World;
-import net.minecraft.world.storage.WorldSavedData;
 
 import micdoodle8.mods.galacticraft.core.Constants;
+import micdoodle8.mods.galacticraft.core.util.AsyncSavedData;
 
-public class WorldDataSpaceRaces extends WorldSavedData
+public class WorldDataSpaceRaces extends AsyncSavedData
 {
 
     public static final String saveDataID = Constants.GCDATAFOLDER + "GCSpaceRaceData";
@@ -38,12 +38,12 @@ public class WorldDataSpaceRaces extends WorldSavedData
 
     public static WorldDataSpaceRaces initWorldData(World world)
     {
-        WorldDataSpaceRaces worldData = (WorldDataSpaceRaces) world.loadData(WorldDataSpaceRaces.class, WorldDataSpaceRaces.saveDataID);
+        WorldDataSpaceRaces worldData = AsyncSavedData.load(world.getMapStorage(), WorldDataSpaceRaces.class, WorldDataSpaceRaces.saveDataID);
 
         if (worldData == null)
         {
             worldData = new WorldDataSpaceRaces(WorldDataSpaceRaces.saveDataID);
-            world.setData(WorldDataSpaceRaces.saveDataID, worldData);
+            AsyncSavedData.store(world.getMapStorage(), WorldDataSpaceRaces.saveDataID, worldData);
             worldData.dataCompound = new NBTTagCompound();
             worldData.markDirty();
         }
@@ -52,7 +52,7 @@ public class WorldDataSpaceRaces extends WorldSavedData
     }
 
     @Override
-    public boolean isDirty()
+    public boolean needsSaving()
     {
         return true;
     }
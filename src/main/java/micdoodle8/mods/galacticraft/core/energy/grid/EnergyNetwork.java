@@ -10,6 +10,7 @@ package micdoodle8.mods.galacticraft.core.energy.grid;
 import buildcraft.api.mj.IMjReceiver;
 import cofh.redstoneflux.api.IEnergyReceiver;
 import ic2.api.energy.tile.IEnergySink;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -20,10 +21,10 @@ import java.util.Map;
 import java.util.Set;
 import mekanism.api.energy.IStrictEnergyAcceptor;
 import micdoodle8.mods.galacticraft.api.transmission.NetworkType;
+import micdoodle8.mods.galacticraft.api.transmission.grid.GridSplitter;
 import micdoodle8.mods.galacticraft.api.transmission.grid.IElectricityNetwork;
 import micdoodle8.mods.galacticraft.api.transmission.tile.IConductor;
 import micdoodle8.mods.galacticraft.api.transmission.tile.IElectrical;
-import micdoodle8.mods.galacticraft.api.vector.BlockVec3;
 import micdoodle8.mods.galacticraft.core.GalacticraftCore;
 import micdoodle8.mods.galacticraft.core.energy.EnergyConfigHandler;
 import micdoodle8.mods.galacticraft.core.energy.EnergyUtil;
@@ -72,27 +73,47 @@ public class EnergyNetwork implements IElectricityNetwork
     private int producersTierGC = 1;
 
     /*
-     * connectedAcceptors is all the acceptors connected to this network
-     * connectedDirections is the directions of those connections (from the
-     * point of view of the acceptor tile) Note: each position in those two
-     * linked lists matches so, an acceptor connected on two sides will be in
-     * connectedAcceptors twice
+     * Grid statistics, logged once a minute in debug mode: gridsTicked is
+     * how many times a grid polled its acceptors' requests, gridsSkipped how
+     * many times a grid with no acceptors skipped that, and acceptorRebuilds
+     * how many times a grid had to look for its acceptors again
      */
-    private List<Object> connectedAcceptors = new LinkedList<>();
-    private List<EnumFacing> connectedDirections = new LinkedList<>();
+    public static int gridsTicked = 0;
+    public static int gridsSkipped = 0;
+    public static int acceptorRebuilds = 0;
+
+    // Even with no refresh, look for acceptors again this often in case one
+    // has changed which sides it connects on without a block update
+    private final static int ACCEPTOR_RECHECK_TICKS = 20;
+
+    /*
+     * acceptors is all the acceptors connected to this network, acceptorSides
+     * the directions of those connections (from the point of view of the
+     * acceptor tile). An acceptor connected on two sides is in acceptors
+     * twice: acceptorFirst gives the index of its first entry, which is where
+     * its request and the side it will receive from are kept (there is no
+     * point trying to put power into a machine twice from two different
+     * sides).
+     *
+     * These are only rebuilt when the network is refreshed, or an acceptor is
+     * invalidated - not every tick.
+     */
+    private Object[] acceptors = new Object[0];
+    private EnumFacing[] acceptorSides = new EnumFacing[0];
+    private int[] acceptorFirst = new int[0];
+    private int acceptorCount = 0;
+    private boolean acceptorsDirty = true;
+    private int acceptorsBuiltTick = 0;
 
     /*
-     * availableAcceptors is the acceptors which can receive energy (this tick)
-     * availableconnectedDirections is a map of those acceptors and the
-     * directions they will receive from (from the point of view of the acceptor
-     * tile) Note: each acceptor will only be included once in these collections
-     * (there is no point trying to put power into a machine twice from two
-     * different sides)
+     * energyRequests is the energy each acceptor can receive this tick (zero
+     * if it is not available) and requestSides the side it will receive it
+     * from, both indexed by the acceptor's first entry in acceptors
      */
-    private Set<Object> availableAcceptors = new HashSet<>();
-    private Map<Object, EnumFacing> availableconnectedDirections = new HashMap<>();
+    private float[] energyRequests = new float[0];
+    private EnumFacing[] requestSides = new EnumFacing[0];
+    private int availableCount = 0;
 
-    private Map<Object, Float> energyRequests = new HashMap<>();
     private List<TileEntity> ignoreAcceptors = new LinkedList<>();
 
     private final Set<IConductor> conductors = new HashSet<>();
@@ -260,90 +281,95 @@ public class EnergyNetwork implements IElectricityNetwork
             return;
         }
 
-        this.loopPrevention = true;
-
-        this.availableAcceptors.clear();
-        this.availableconnectedDirections.clear();
-        this.energyRequests.clear();
+        this.availableCount = 0;
         this.totalRequested = 0.0F;
         this.totalStorageExcess = 0F;
 
-        if (!this.connectedAcceptors.isEmpty())
+        if (this.acceptorCount == 0)
         {
-            float e;
-            final Iterator<EnumFacing> acceptorDirection = this.connectedDirections.iterator();
-            for (Object acceptor : this.connectedAcceptors)
+            // Nothing to poll: a dormant grid, until it is refreshed
+            EnergyNetwork.gridsSkipped++;
+            return;
+        }
+
+        EnergyNetwork.gridsTicked++;
+        this.loopPrevention = true;
+        Arrays.fill(this.energyRequests, 0, this.acceptorCount, 0F);
+
+        float e;
+        for (int i = 0; i < this.acceptorCount; i++)
+        {
+            Object acceptor = this.acceptors[i];
+            // This tries all sides of the acceptor which are connected (see
+            // refreshAcceptors())
+            EnumFacing sideFrom = this.acceptorSides[i];
+            int first = this.acceptorFirst[i];
+
+            // But the grid will only put energy into the acceptor from one
+            // side - once it has a request
+            if (this.energyRequests[first] == 0.0F && !this.ignoreAcceptors.contains(acceptor))
             {
-                // This tries all sides of the acceptor which are connected (see
-                // refreshAcceptors())
-                EnumFacing sideFrom = acceptorDirection.next();
+                e = 0.0F;
 
-                // But the grid will only put energy into the acceptor from one
-                // side - once it's in availableAcceptors
-                if (!this.ignoreAcceptors.contains(acceptor) && !this.availableAcceptors.contains(acceptor))
+                if (acceptor instanceof IElectrical)
                 {
-                    e = 0.0F;
-
-                    if (acceptor instanceof IElectrical)
-                    {
-                        e = ((IElectrical) acceptor).getRequest(sideFrom);
-                    } else if (isMekLoaded && acceptor instanceof IStrictEnergyAcceptor)
+                    e = ((IElectrical) acceptor).getRequest(sideFrom);
+                } else if (isMekLoaded && acceptor instanceof IStrictEnergyAcceptor)
+                {
+                    e = (float) (((IStrictEnergyAcceptor) acceptor).acceptEnergy(sideFrom, 1000000D, true) / EnergyConfigHandler.TO_MEKANISM_RATIO);
+                } else if (isIC2Loaded && acceptor instanceof IEnergySink)
+                {
+                    double result = 0;
+                    try
                     {
-                        e = (float) (((IStrictEnergyAcceptor) acceptor).acceptEnergy(sideFrom, 1000000D, true) / EnergyConfigHandler.TO_MEKANISM_RATIO);
-                    } else if (isIC2Loaded && acceptor instanceof IEnergySink)
+                        result = (Double) EnergyUtil.demandedEnergyIC2.invoke(acceptor);
+                    } catch (Exception ex)
                     {
-                        double result = 0;
-                        try
+                        if (ConfigManagerCore.enableDebug)
                         {
-                            result = (Double) EnergyUtil.demandedEnergyIC2.invoke(acceptor);
-                        } catch (Exception ex)
-                        {
-                            if (ConfigManagerCore.enableDebug)
-                            {
-                                ex.printStackTrace();
-                            }
+                            ex.printStackTrace();
                         }
-                        // Cap IC2 power transfer at 128EU/t for standard Alu
-                        // wire, 256EU/t for heavy Alu wire
-                        result = Math.min(result, this.networkTierGC * 128D);
-                        e = (float) result / EnergyConfigHandler.TO_IC2_RATIO;
-                    } else if (isBCLoaded && acceptor instanceof IMjReceiver)
-                    {
-                        long bcDemand = ((IMjReceiver) acceptor).getPowerRequested();
-                        bcDemand = Math.min(bcDemand, this.networkTierGC * this.networkTierGC * 16000000L); // Capped
-                        // at
-                        // 16
-                        // MJ/tick
-                        // for
-                        // standard
-                        // Alu
-                        // wire,
-                        // 64
-                        // for
-                        // heavy.
-                        e = bcDemand / EnergyConfigHandler.TO_BC_RATIO;
-                    } else if (isRF2Loaded && acceptor instanceof IEnergyReceiver)
-                    {
-                        e = ((IEnergyReceiver) acceptor).receiveEnergy(sideFrom, Integer.MAX_VALUE, true) / EnergyConfigHandler.TO_RF_RATIO;
-                    } else if (isFELoaded && acceptor instanceof net.minecraftforge.energy.IEnergyStorage)
+                    }
+                    // Cap IC2 power transfer at 128EU/t for standard Alu
+                    // wire, 256EU/t for heavy Alu wire
+                    result = Math.min(result, this.networkTierGC * 128D);
+                    e = (float) result / EnergyConfigHandler.TO_IC2_RATIO;
+                } else if (isBCLoaded && acceptor instanceof IMjReceiver)
+                {
+                    long bcDemand = ((IMjReceiver) acceptor).getPowerRequested();
+                    bcDemand = Math.min(bcDemand, this.networkTierGC * this.networkTierGC * 16000000L); // Capped
+                    // at
+                    // 16
+                    // MJ/tick
+                    // for
+                    // standard
+                    // Alu
+                    // wire,
+                    // 64
+                    // for
+                    // heavy.
+                    e = bcDemand / EnergyConfigHandler.TO_BC_RATIO;
+                } else if (isRF2Loaded && acceptor instanceof IEnergyReceiver)
+                {
+                    e = ((IEnergyReceiver) acceptor).receiveEnergy(sideFrom, Integer.MAX_VALUE, true) / EnergyConfigHandler.TO_RF_RATIO;
+                } else if (isFELoaded && acceptor instanceof net.minecraftforge.energy.IEnergyStorage)
+                {
+                    net.minecraftforge.energy.IEnergyStorage forgeEnergy = (net.minecraftforge.energy.IEnergyStorage) acceptor;
+                    if (forgeEnergy.canReceive())
                     {
-                        net.minecraftforge.energy.IEnergyStorage forgeEnergy = (net.minecraftforge.energy.IEnergyStorage) acceptor;
-                        if (forgeEnergy.canReceive())
-                        {
-                            e = forgeEnergy.receiveEnergy(Integer.MAX_VALUE, true) / EnergyConfigHandler.TO_RF_RATIO;
-                        }
+                        e = forgeEnergy.receiveEnergy(Integer.MAX_VALUE, true) / EnergyConfigHandler.TO_RF_RATIO;
                     }
+                }
 
-                    if (e > 0.0F)
+                if (e > 0.0F)
+                {
+                    this.availableCount++;
+                    this.energyRequests[first] = e;
+                    this.requestSides[first] = sideFrom;
+                    this.totalRequested += e;
+                    if (e > EnergyNetwork.ENERGY_STORAGE_LEVEL)
                     {
-                        this.availableAcceptors.add(acceptor);
-                        this.availableconnectedDirections.put(acceptor, sideFrom);
-                        this.energyRequests.put(acceptor, e);
-                        this.totalRequested += e;
-                        if (e > EnergyNetwork.ENERGY_STORAGE_LEVEL)
-                        {
-                            this.totalStorageExcess += e - EnergyNetwork.ENERGY_STORAGE_LEVEL;
-                        }
+                        this.totalStorageExcess += e - EnergyNetwork.ENERGY_STORAGE_LEVEL;
                     }
                 }
             }
@@ -361,7 +387,7 @@ public class EnergyNetwork implements IElectricityNetwork
     {
         float sent = 0.0F;
 
-        if (!this.availableAcceptors.isEmpty())
+        if (this.availableCount > 0)
         {
             float energyNeeded = this.totalRequested;
             float energyAvailable = this.totalEnergy;
@@ -396,8 +422,19 @@ public class EnergyNetwork implements IElectricityNetwork
             Object debugTE = null;
             try
             {
-                for (Object tileEntity : this.availableAcceptors)
+                for (int i = 0; i < this.acceptorCount; i++)
                 {
+                    // The base case is to give each acceptor what it is
+                    // requesting
+                    currentSending = this.energyRequests[i];
+                    if (currentSending <= 0.0F)
+                    {
+                        // Not available, or a repeat entry for an acceptor
+                        // connected on more than one side
+                        continue;
+                    }
+
+                    Object tileEntity = this.acceptors[i];
                     debugTE = tileEntity;
                     // Exit the loop if there is no energy left at all (should
                     // normally not happen, should be some even for the last
@@ -407,10 +444,6 @@ public class EnergyNetwork implements IElectricityNetwork
                         break;
                     }
 
-                    // The base case is to give each acceptor what it is
-                    // requesting
-                    currentSending = this.energyRequests.get(tileEntity);
-
                     // If it's an energy store, we may need to damp it down if
                     // energyStorageReducor is less than 1
                     if (currentSending > EnergyNetwork.ENERGY_STORAGE_LEVEL)
@@ -427,7 +460,7 @@ public class EnergyNetwork implements IElectricityNetwork
                         currentSending = energyAvailable - sent;
                     }
 
-                    EnumFacing sideFrom = this.availableconnectedDirections.get(tileEntity);
+                    EnumFacing sideFrom = this.requestSides[i];
 
                     if (tileEntity instanceof IElectrical)
                     {
@@ -578,78 +611,109 @@ public class EnergyNetwork implements IElectricityNetwork
         this.networkTierGC = tierfound;
     }
 
+    /**
+     * Called when a conductor's neighbours change: the conductors and
+     * acceptors are checked again (see refreshWithChecks()) the next time the
+     * network ticks, so a chunk full of wires loading does not go through the
+     * whole network once for each wire
+     */
     @Override
     public void refresh()
     {
-        int tierfound = Integer.MAX_VALUE;
-        Iterator<IConductor> it = this.conductors.iterator();
-        while (it.hasNext())
-        {
-            IConductor conductor = it.next();
-
-            if (conductor == null)
-            {
-                it.remove();
-                continue;
-            }
-
-            TileEntity tile = (TileEntity) conductor;
-            World world = tile.getWorld();
-            // Remove any conductors in unloaded chunks
-            if (tile.isInvalid() || world == null)
-            {
-                it.remove();
-                continue;
-            }
-
-            if (conductor.getTierGC() < tierfound)
-            {
-                tierfound = conductor.getTierGC();
-            }
-
-            if (conductor.getNetwork() != this)
-            {
-                conductor.setNetwork(this);
-                conductor.onNetworkChanged();
-            }
-        }
-
-        // This will set the network tier to 2 if all the conductors are tier 2,
-        // etc
-        if (tierfound == Integer.MAX_VALUE)
-        {
-            tierfound = 1;
-        }
-        this.networkTierGC = tierfound;
+        this.acceptorsDirty = true;
     }
 
     /**
-     * Refresh all energy acceptors in the network
+     * Refresh all energy acceptors in the network, if the network has changed
+     * since they were last found
      */
     private void refreshAcceptors()
     {
-        this.connectedAcceptors.clear();
-        this.connectedDirections.clear();
+        if (!this.acceptorsDirty && EnergyNetwork.tickCount - this.acceptorsBuiltTick < EnergyNetwork.ACCEPTOR_RECHECK_TICKS && this.acceptorsValid())
+        {
+            return;
+        }
+
+        this.acceptorsDirty = false;
+        this.acceptorsBuiltTick = EnergyNetwork.tickCount;
+        EnergyNetwork.acceptorRebuilds++;
+
+        List<Object> connectedAcceptors = new ArrayList<>();
+        List<EnumFacing> connectedDirections = new ArrayList<>();
 
         this.refreshWithChecks();
 
         try
         {
-            LinkedList<IConductor> conductorsCopy = new LinkedList<>();
-            conductorsCopy.addAll(this.conductors);
+            List<IConductor> conductorsCopy = new ArrayList<>(this.conductors);
             // This prevents concurrent modifications if something in the loop
             // causes chunk loading
             // (Chunk loading can change the network if new conductors are
             // found)
             for (IConductor conductor : conductorsCopy)
             {
-                EnergyUtil.setAdjacentPowerConnections((TileEntity) conductor, this.connectedAcceptors, this.connectedDirections);
+                EnergyUtil.setAdjacentPowerConnections((TileEntity) conductor, connectedAcceptors, connectedDirections);
             }
         } catch (Exception e)
         {
             GalacticraftCore.logger.error("GC Aluminium Wire: Error when testing whether another mod's tileEntity can accept energy.");
             e.printStackTrace();
         }
+
+        int count = Math.min(connectedAcceptors.size(), connectedDirections.size());
+        if (this.acceptors.length < count)
+        {
+            int size = Math.max(count, this.acceptors.length * 2);
+            this.acceptors = new Object[size];
+            this.acceptorSides = new EnumFacing[size];
+            this.acceptorFirst = new int[size];
+            this.energyRequests = new float[size];
+            this.requestSides = new EnumFacing[size];
+        } else
+        {
+            Arrays.fill(this.acceptors, count, this.acceptors.length, null);
+        }
+
+        Map<Object, Integer> firstIndex = new HashMap<>();
+        for (int i = 0; i < count; i++)
+        {
+            Object acceptor = connectedAcceptors.get(i);
+            this.acceptors[i] = acceptor;
+            this.acceptorSides[i] = connectedDirections.get(i);
+            Integer first = firstIndex.putIfAbsent(acceptor, i);
+            this.acceptorFirst[i] = first == null ? i : first;
+        }
+        this.acceptorCount = count;
+        this.availableCount = 0;
+    }
+
+    /**
+     * @return false if any acceptor tile found last time has since been
+     *         invalidated (broken, or its chunk unloaded)
+     */
+    private boolean acceptorsValid()
+    {
+        for (int i = 0; i < this.acceptorCount; i++)
+        {
+            Object acceptor = this.acceptors[i];
+            if (acceptor instanceof TileEntity && ((TileEntity) acceptor).isInvalid())
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Logs and resets the grid statistics - called once a minute in debug mode
+     */
+    public static void logStatistics()
+    {
+        GalacticraftCore.logger.info("Energy networks in the last minute: " + EnergyNetwork.gridsTicked + " grid ticks, " + EnergyNetwork.gridsSkipped + " skipped with no acceptors, "
+            + EnergyNetwork.acceptorRebuilds + " acceptor rebuilds");
+        EnergyNetwork.gridsTicked = 0;
+        EnergyNetwork.gridsSkipped = 0;
+        EnergyNetwork.acceptorRebuilds = 0;
     }
 
     /**
@@ -663,6 +727,20 @@ public class EnergyNetwork implements IElectricityNetwork
     {
         if (network != null && network != this)
         {
+            if (network instanceof EnergyNetwork)
+            {
+                // Union by size: only the conductors of the smaller network
+                // have to be moved
+                EnergyNetwork that = (EnergyNetwork) network;
+                if (this.conductors.size() < that.conductors.size())
+                {
+                    that.absorb(this);
+                    return that;
+                }
+                this.absorb(that);
+                return this;
+            }
+
             Set<IConductor> thisNetwork = this.conductors;
             Set<IConductor> thatNetwork = network.getTransmitters();
             if (thisNetwork.size() < thatNetwork.size())
@@ -673,27 +751,49 @@ public class EnergyNetwork implements IElectricityNetwork
                 return network;
             }
             thisNetwork.addAll(thatNetwork);
-            this.refresh();
-            if (network instanceof EnergyNetwork)
-            {
-                ((EnergyNetwork) network).destroy();
-            }
+            this.refreshWithChecks();
         }
 
         return this;
     }
 
+    /**
+     * Moves all the conductors of the other network into this one
+     */
+    private void absorb(EnergyNetwork other)
+    {
+        int tierfound = this.networkTierGC;
+        for (IConductor conductor : other.conductors)
+        {
+            if (conductor == null || this.conductors.contains(conductor))
+            {
+                continue;
+            }
+
+            this.conductors.add(conductor);
+            if (conductor.getTierGC() < tierfound)
+            {
+                tierfound = conductor.getTierGC();
+            }
+            conductor.setNetwork(this);
+            conductor.onNetworkChanged();
+        }
+        this.networkTierGC = tierfound;
+        this.acceptorsDirty = true;
+        other.destroy();
+    }
+
     private void destroy()
     {
         this.conductors.clear();
-        this.connectedAcceptors.clear();
-        this.availableAcceptors.clear();
+        Arrays.fill(this.acceptors, null);
+        this.acceptorCount = 0;
+        this.availableCount = 0;
         this.totalEnergy = 0F;
         this.totalRequested = 0F;
         TickHandlerServer.removeNetworkTick(this);
     }
 
-    @SuppressWarnings("unlikely-arg-type")
     @Override
     public void split(IConductor splitPoint)
     {
@@ -701,91 +801,37 @@ public class EnergyNetwork implements IElectricityNetwork
         {
             this.getTransmitters().remove(splitPoint);
             splitPoint.setNetwork(null);
+            this.acceptorsDirty = true;
 
             // If the size of the residual network is 1, it should simply be
             // preserved
             if (this.getTransmitters().size() > 1)
             {
                 World world = ((TileEntity) splitPoint).getWorld();
+                BlockPos pos = ((TileEntity) splitPoint).getPos();
+                List<TileEntity> neighbours = new ArrayList<>(6);
 
-                if (this.getTransmitters().size() > 0)
+                for (EnumFacing side : EnumFacing.VALUES)
                 {
-                    TileEntity[] nextToSplit = new TileEntity[6];
-                    boolean[] toDo =
-                    {true, true, true, true, true, true};
-                    TileEntity tileEntity;
+                    TileEntity tileEntity = world.getTileEntity(pos.offset(side));
 
-                    BlockPos pos = ((TileEntity) splitPoint).getPos();
-
-                    for (int j = 0; j < 6; j++)
+                    if (tileEntity instanceof IConductor && ((IConductor) tileEntity).canConnect(side.getOpposite(), NetworkType.POWER))
                     {
-                        switch (j)
-                        {
-                            case 0:
-                                tileEntity = world.getTileEntity(pos.down());
-                                break;
-                            case 1:
-                                tileEntity = world.getTileEntity(pos.up());
-                                break;
-                            case 2:
-                                tileEntity = world.getTileEntity(pos.north());
-                                break;
-                            case 3:
-                                tileEntity = world.getTileEntity(pos.south());
-                                break;
-                            case 4:
-                                tileEntity = world.getTileEntity(pos.west());
-                                break;
-                            case 5:
-                                tileEntity = world.getTileEntity(pos.east());
-                                break;
-                            default:
-                                // Not reachable, only to prevent uninitiated
-                                // compile errors
-                                tileEntity = null;
-                                break;
-                        }
-
-                        if (tileEntity instanceof IConductor && ((IConductor) tileEntity).canConnect(EnumFacing.byIndex(j ^ 1), NetworkType.POWER))
-                        {
-                            nextToSplit[j] = tileEntity;
-                        } else
-                        {
-                            toDo[j] = false;
-                        }
+                        neighbours.add(tileEntity);
                     }
+                }
 
-                    for (int i1 = 0; i1 < 6; i1++)
+                // Only the parts cut off from the rest get new networks: the
+                // rest stays in this one
+                for (List<TileEntity> partNetwork : GridSplitter.findSplitParts(world, pos, neighbours, NetworkType.POWER))
+                {
+                    EnergyNetwork newNetwork = new EnergyNetwork();
+                    for (TileEntity tile : partNetwork)
                     {
-                        if (toDo[i1])
-                        {
-                            TileEntity connectedBlockA = nextToSplit[i1];
-                            NetworkFinder finder = new NetworkFinder(world, new BlockVec3(connectedBlockA), new BlockVec3(pos));
-                            List<IConductor> partNetwork = finder.exploreNetwork();
-
-                            // Mark any others still to do in the nextToSplit
-                            // array which are connected to this, as dealt with
-                            for (int i2 = i1 + 1; i2 < 6; i2++)
-                            {
-                                TileEntity connectedBlockB = nextToSplit[i2];
-
-                                if (toDo[i2])
-                                {
-                                    if (partNetwork.contains(connectedBlockB))
-                                    {
-                                        toDo[i2] = false;
-                                    }
-                                }
-                            }
-
-                            // Now make the new network from partNetwork
-                            EnergyNetwork newNetwork = new EnergyNetwork();
-                            newNetwork.getTransmitters().addAll(partNetwork);
-                            newNetwork.refreshWithChecks();
-                        }
+                        this.conductors.remove(tile);
+                        newNetwork.getTransmitters().add((IConductor) tile);
                     }
-
-                    this.destroy();
+                    newNetwork.refreshWithChecks();
                 }
             }
             // Splitting a 1-block network leaves nothing
@@ -799,6 +845,6 @@ public class EnergyNetwork implements IElectricityNetwork
     @Override
     public String toString()
     {
-        return "EnergyNetwork[" + this.hashCode() + "|Wires:" + this.getTransmitters().size() + "|Acceptors:" + this.connectedAcceptors.size() + "]";
+        return "EnergyNetwork[" + this.hashCode() + "|Wires:" + this.getTransmitters().size() + "|Acceptors:" + this.acceptorCount + "]";
     }
 }
@@ -7,12 +7,7 @@
 
 package micdoodle8.mods.galacticraft.core.entities;
 
-import java.lang.reflect.Field;
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.LinkedHashSet;
-import java.util.Map;
-import java.util.Set;
 
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.player.EntityPlayer;
@@ -21,11 +16,9 @@ import net.minecraft.world.World;
 import net.minecraftforge.fml.common.network.NetworkRegistry.TargetPoint;
 import net.minecraftforge.fml.relauncher.Side;
 
-import micdoodle8.mods.miccore.Annotations.NetworkedField;
-
 import micdoodle8.mods.galacticraft.core.GalacticraftCore;
 import micdoodle8.mods.galacticraft.core.network.IPacketReceiver;
-import micdoodle8.mods.galacticraft.core.network.NetworkUtil;
+import micdoodle8.mods.galacticraft.core.network.NetworkedFieldSchema;
 import micdoodle8.mods.galacticraft.core.network.PacketDynamic;
 import micdoodle8.mods.galacticraft.core.util.GCCoreUtil;
 
@@ -35,9 +28,8 @@ public abstract class EntityAdvanced extends Entity implements IPacketReceiver
 {
 
     protected long ticks = 0;
-    private LinkedHashSet<Field> fieldCacheClient;
-    private LinkedHashSet<Field> fieldCacheServer;
-    private Map<Field, Object> lastSentData = new HashMap<Field, Object>();
+    private NetworkedFieldSchema fieldSchema;
+    private NetworkedFieldSchema.State lastSentData;
     private boolean networkDataChanged = false;
 
     public EntityAdvanced(World world)
@@ -47,8 +39,8 @@ public abstract class EntityAdvanced extends Entity implements IPacketReceiver
         if (world != null && world.isRemote)
         {
             // Empty packet client->server just to kickstart the server into
-            // sending this client an initial packet
-            this.fieldCacheServer = new LinkedHashSet<Field>();
+            // sending this client an initial packet (the field schema is
+            // not set yet, so no fields are sent)
             GalacticraftCore.packetPipeline.sendToServer(new PacketDynamic(this));
         }
     }
@@ -123,15 +115,9 @@ public abstract class EntityAdvanced extends Entity implements IPacketReceiver
         {
             if (!this.world.isRemote && this.ticks % this.getPacketCooldown(Side.CLIENT) == 0)
             {
-                if (this.fieldCacheClient == null)
+                if (this.fieldSchema == null)
                 {
-                    try
-                    {
-                        this.initFieldCache();
-                    } catch (Exception e)
-                    {
-                        e.printStackTrace();
-                    }
+                    this.initFieldCache();
                 }
 
                 PacketDynamic packet = new PacketDynamic(this);
@@ -143,17 +129,9 @@ public abstract class EntityAdvanced extends Entity implements IPacketReceiver
 
             if (this.world.isRemote && this.ticks % this.getPacketCooldown(Side.SERVER) == 0)
             {
-                if (this.fieldCacheClient == null) // The target server cache
-                                                   // may have been initialised
-                                                   // to an empty set
+                if (this.fieldSchema == null)
                 {
-                    try
-                    {
-                        this.initFieldCache();
-                    } catch (Exception e)
-                    {
-                        e.printStackTrace();
-                    }
+                    this.initFieldCache();
                 }
 
                 PacketDynamic packet = new PacketDynamic(this);
@@ -165,69 +143,34 @@ public abstract class EntityAdvanced extends Entity implements IPacketReceiver
         }
     }
 
-    private void initFieldCache() throws IllegalArgumentException, IllegalAccessException
+    private void initFieldCache()
     {
-        this.fieldCacheClient = new LinkedHashSet<Field>();
-        this.fieldCacheServer = new LinkedHashSet<Field>();
-
-        for (Field field : this.getClass().getFields())
-        {
-            if (field.isAnnotationPresent(NetworkedField.class))
-            {
-                NetworkedField f = field.getAnnotation(NetworkedField.class);
-
-                if (f.targetSide() == Side.CLIENT)
-                {
-                    this.fieldCacheClient.add(field);
-                } else
-                {
-                    this.fieldCacheServer.add(field);
-                }
-            }
-        }
+        // The schema is built once per class and shared by every instance
+        this.fieldSchema = NetworkedFieldSchema.get(this.getClass());
     }
 
     @Override
     public void getNetworkedData(ArrayList<Object> sendData)
     {
-        Set<Field> fieldList = null;
-        boolean changed = false;
-
-        if (this.world.isRemote)
-        {
-            fieldList = this.fieldCacheServer;
-        } else
-        {
-            fieldList = this.fieldCacheClient;
-        }
-
-        for (Field f : fieldList)
+        if (this.fieldSchema == null)
         {
-            boolean fieldChanged = false;
-            try
+            if (this.world.isRemote)
             {
-                Object data = f.get(this);
-                Object lastData = lastSentData.get(f);
-
-                if (!NetworkUtil.fuzzyEquals(lastData, data))
-                {
-                    fieldChanged = true;
-                }
-
-                sendData.add(data);
-
-                if (fieldChanged)
-                {
-                    lastSentData.put(f, NetworkUtil.cloneNetworkedObject(data));
-                }
-            } catch (Exception e)
-            {
-                e.printStackTrace();
+                // Called from the constructor, for the kickstart packet
+                networkDataChanged = false;
+                return;
             }
+            this.initFieldCache();
+        }
 
-            changed |= fieldChanged;
+        Side target = this.world.isRemote ? Side.SERVER : Side.CLIENT;
+        if (this.lastSentData == null)
+        {
+            this.lastSentData = this.fieldSchema.createState(target);
         }
 
+        boolean changed = this.fieldSchema.collect(this, target, this.lastSentData, sendData);
+
 //Currently unused as there is no entity in Galacticraft with extraNetworkedData
 
 //        if (changed)
@@ -252,15 +195,9 @@ public abstract class EntityAdvanced extends Entity implements IPacketReceiver
     @Override
     public void decodePacketdata(ByteBuf buffer)
     {
-        if (this.fieldCacheClient == null || this.fieldCacheServer == null)
+        if (this.fieldSchema == null)
         {
-            try
-            {
-                this.initFieldCache();
-            } catch (Exception e)
-            {
-                e.printStackTrace();
-            }
+            this.initFieldCache();
         }
 
 //        if (this.world.isRemote && this.fieldCacheClient.size() == 0)
@@ -272,27 +209,7 @@ public abstract class EntityAdvanced extends Entity implements IPacketReceiver
 //            return;
 //        }
 
-        Set<Field> fieldSet = null;
-
-        if (this.world.isRemote)
-        {
-            fieldSet = this.fieldCacheClient;
-        } else
-        {
-            fieldSet = this.fieldCacheServer;
-        }
-
-        for (Field field : fieldSet)
-        {
-            try
-            {
-                Object obj = NetworkUtil.getFieldValueFromStream(field, buffer, this.world);
-                field.set(this, obj);
-            } catch (Exception e)
-            {
-                e.printStackTrace();
-            }
-        }
+        this.fieldSchema.read(this, this.world.isRemote ? Side.CLIENT : Side.SERVER, buffer, this.world);
 
 //        this.readExtraNetworkedData(buffer);
     }
@@ -25,7 +25,6 @@ import net.minecraft.util.math.MathHelper;
 import net.minecraft.world.World;
 
 import net.minecraftforge.fml.client.FMLClientHandler;
-import net.minecraftforge.fml.common.network.NetworkRegistry.TargetPoint;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
@@ -34,14 +33,15 @@ import micdoodle8.mods.galacticraft.core.Constants;
 import micdoodle8.mods.galacticraft.core.GalacticraftCore;
 import micdoodle8.mods.galacticraft.core.network.PacketEntityUpdate;
 import micdoodle8.mods.galacticraft.core.network.PacketEntityUpdate.IEntityFullSync;
-import micdoodle8.mods.galacticraft.core.util.GCCoreUtil;
+import micdoodle8.mods.galacticraft.core.network.VehicleSync;
 
 import io.netty.buffer.ByteBuf;
 
-public abstract class EntityAdvancedMotion extends InventoryEntity implements IControllableEntity, IEntityFullSync
+public abstract class EntityAdvancedMotion extends InventoryEntity implements IControllableEntity, IEntityFullSync, VehicleSync.IVehicle
 {
 
     protected long ticks = 0;
+    private final VehicleSync vehicleSync = new VehicleSync();
 
     public float currentDamage;
     public int timeSinceHit;
@@ -138,6 +138,12 @@ public abstract class EntityAdvancedMotion extends InventoryEntity implements IC
         }
     }
 
+    @Override
+    public VehicleSync getVehicleSync()
+    {
+        return this.vehicleSync;
+    }
+
     protected boolean forceGroundUpdate()
     {
         return true;
@@ -370,9 +376,10 @@ public abstract class EntityAdvancedMotion extends InventoryEntity implements IC
                 GalacticraftCore.packetPipeline.sendToServer(new PacketEntityUpdate(this));
             }
 
-            if (!this.world.isRemote && this.ticks % 5 == 0)
+            if (!this.world.isRemote)
             {
-                GalacticraftCore.packetPipeline.sendToAllAround(new PacketEntityUpdate(this), new TargetPoint(GCCoreUtil.getDimensionID(this.world), this.posX, this.posY, this.posZ, 50.0D));
+                // Networked data is sent by NetworkedEntity
+                this.vehicleSync.update(this, this.ticks, true, false);
             }
         }
 
@@ -40,7 +40,6 @@ import net.minecraft.world.World;
 import net.minecraftforge.fluids.FluidStack;
 import net.minecraftforge.fluids.FluidTank;
 import net.minecraftforge.fml.client.FMLClientHandler;
-import net.minecraftforge.fml.common.network.NetworkRegistry.TargetPoint;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
@@ -56,6 +55,7 @@ import micdoodle8.mods.galacticraft.core.network.PacketDynamic;
 import micdoodle8.mods.galacticraft.core.network.PacketEntityUpdate;
 import micdoodle8.mods.galacticraft.core.network.PacketEntityUpdate.IEntityFullSync;
 import micdoodle8.mods.galacticraft.core.network.PacketSimple;
+import micdoodle8.mods.galacticraft.core.network.VehicleSync;
 import micdoodle8.mods.galacticraft.core.tick.KeyHandlerClient;
 import micdoodle8.mods.galacticraft.core.tile.TileEntityBuggyFueler;
 import micdoodle8.mods.galacticraft.core.util.FluidUtil;
@@ -63,7 +63,7 @@ import micdoodle8.mods.galacticraft.core.util.GCCoreUtil;
 
 import io.netty.buffer.ByteBuf;
 
-public class EntityBuggy extends Entity implements IInventory, IPacketReceiver, IDockable, IControllableEntity, IEntityFullSync
+public class EntityBuggy extends Entity implements IInventory, IPacketReceiver, IDockable, IControllableEntity, IEntityFullSync, VehicleSync.IVehicle
 {
 
     private static final DataParameter<Integer> CURRENT_DAMAGE = EntityDataManager.createKey(EntityBuggy.class, DataSerializers.VARINT);
@@ -72,6 +72,7 @@ public class EntityBuggy extends Entity implements IInventory, IPacketReceiver,
     public static final int tankCapacity = 1000;
     public FluidTank buggyFuelTank = new FluidTank(EntityBuggy.tankCapacity);
     protected long ticks = 0;
+    private final VehicleSync vehicleSync = new VehicleSync();
     public int buggyType;
     public int currentDamage;
     public int timeSinceHit;
@@ -212,6 +213,12 @@ public class EntityBuggy extends Entity implements IInventory, IPacketReceiver,
         }
     }
 
+    @Override
+    public VehicleSync getVehicleSync()
+    {
+        return this.vehicleSync;
+    }
+
     @Override
     public void performHurtAnimation()
     {
@@ -457,10 +464,9 @@ public class EntityBuggy extends Entity implements IInventory, IPacketReceiver,
         if (this.world.isRemote)
         {
             GalacticraftCore.packetPipeline.sendToServer(new PacketEntityUpdate(this));
-        } else if (this.ticks % 5 == 0)
+        } else
         {
-            GalacticraftCore.packetPipeline.sendToAllAround(new PacketEntityUpdate(this), new TargetPoint(GCCoreUtil.getDimensionID(this.world), this.posX, this.posY, this.posZ, 50.0D));
-            GalacticraftCore.packetPipeline.sendToAllAround(new PacketDynamic(this), new TargetPoint(GCCoreUtil.getDimensionID(this.world), this.posX, this.posY, this.posZ, 50.0D));
+            this.vehicleSync.update(this, this.ticks, true, true);
         }
     }
 
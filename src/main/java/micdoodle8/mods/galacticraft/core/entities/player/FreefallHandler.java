@@ -35,6 +35,9 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.world.World;
 import net.minecraft.world.WorldProvider;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.IChunkProvider;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
@@ -542,16 +545,27 @@ public class FreefallHandler
         if (yy > 255)
             yy = 255;
 
+        // Read straight from the chunk sections: a section which is all air
+        // (as most of space is) is passed over in one go
+        IChunkProvider chunkProvider = worldObj.getChunkProvider();
         for (int x = MathHelper.floor(entityBoundingBox.minX - 0.2D); x <= xmx; x++)
         {
             for (int z = zm; z <= zz; z++)
             {
-                if (!worldObj.isBlockLoaded(new BlockPos(x, 0, z), false))
+                Chunk chunk = chunkProvider.getLoadedChunk(x >> 4, z >> 4);
+                if (chunk == null || chunk.isEmpty())
                     continue;
 
+                ExtendedBlockStorage[] storageArray = chunk.getBlockStorageArray();
                 for (int y = ym; y <= yy; y++)
                 {
-                    if (Blocks.AIR != worldObj.getBlockState(new BlockPos(x, y, z)).getBlock())
+                    ExtendedBlockStorage storage = storageArray[y >> 4];
+                    if (storage == Chunk.NULL_BLOCK_STORAGE || storage.isEmpty())
+                    {
+                        y |= 15;
+                        continue;
+                    }
+                    if (Blocks.AIR != storage.get(x & 15, y & 15, z & 15).getBlock())
                     {
                         return false;
                     }
@@ -43,6 +43,7 @@ import net.minecraftforge.event.AttachCapabilitiesEvent;
 import net.minecraftforge.event.entity.player.PlayerEvent;
 import net.minecraftforge.fml.common.eventhandler.Event;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.PlayerEvent.PlayerChangedDimensionEvent;
 import net.minecraftforge.fml.common.gameevent.PlayerEvent.PlayerLoggedInEvent;
 import net.minecraftforge.fml.common.network.NetworkRegistry.TargetPoint;
 import net.minecraftforge.fml.relauncher.Side;
@@ -79,7 +80,6 @@ import micdoodle8.mods.galacticraft.core.entities.EntityParachest;
 import micdoodle8.mods.galacticraft.core.items.ItemParaChute;
 import micdoodle8.mods.galacticraft.core.network.PacketSimple;
 import micdoodle8.mods.galacticraft.core.network.PacketSimple.EnumSimplePacket;
-import micdoodle8.mods.galacticraft.core.tick.TickHandlerServer;
 import micdoodle8.mods.galacticraft.core.tile.TileEntityTelemetry;
 import micdoodle8.mods.galacticraft.core.util.ColorUtil;
 import micdoodle8.mods.galacticraft.core.util.CompatibilityManager;
@@ -90,8 +90,8 @@ import micdoodle8.mods.galacticraft.core.util.GCCoreUtil;
 import micdoodle8.mods.galacticraft.core.util.OxygenUtil;
 import micdoodle8.mods.galacticraft.core.util.PlayerUtil;
 import micdoodle8.mods.galacticraft.core.util.WorldUtil;
+import micdoodle8.mods.galacticraft.core.world.FootprintTracker;
 import micdoodle8.mods.galacticraft.core.world.gen.dungeon.MapGenDungeon;
-import micdoodle8.mods.galacticraft.core.wrappers.Footprint;
 import micdoodle8.mods.galacticraft.planets.asteroids.dimension.WorldProviderAsteroids;
 import micdoodle8.mods.galacticraft.planets.asteroids.items.ItemArmorAsteroids;
 import micdoodle8.mods.galacticraft.planets.venus.VenusItems;
@@ -117,6 +117,17 @@ public class GCPlayerHandler
         }
     }
 
+    @SubscribeEvent
+    public void onPlayerChangedDimension(PlayerChangedDimensionEvent event)
+    {
+        // The client's stats are new after changing dimension: send the
+        // schematics list again
+        if (event.player instanceof EntityPlayerMP)
+        {
+            GCPlayerStats.get(event.player).setSentSchematicsCount(-1);
+        }
+    }
+
     @SubscribeEvent
     public void onPlayerCloned(PlayerEvent.Clone event)
     {
@@ -589,7 +600,7 @@ public class GCPlayerHandler
             }
 
             IGalacticraftWorldProvider provider = (IGalacticraftWorldProvider) player.world.provider;
-            float thermalLevelMod = provider.getThermalLevelModifier();
+            float thermalLevelMod = provider.getEnvironment().getThermalLevelModifier();
             float absThermalLevelMod = Math.abs(thermalLevelMod);
 
             if (absThermalLevelMod > 0D)
@@ -738,7 +749,7 @@ public class GCPlayerHandler
     {
         if (playerMP.ticksExisted % 20 == 0 && playerMP.world.provider instanceof IGalacticraftWorldProvider)
         {
-            if (((IGalacticraftWorldProvider) playerMP.world.provider).shouldCorrodeArmor())
+            if (((IGalacticraftWorldProvider) playerMP.world.provider).getEnvironment().shouldCorrodeArmor())
             {
                 ItemStack shieldController = playerStats.getExtendedInventory().getStackInSlot(10);
                 boolean valid = false;
@@ -769,7 +780,7 @@ public class GCPlayerHandler
 
     protected void checkOxygen(EntityPlayerMP player, GCPlayerStats stats)
     {
-        if ((player.dimension == 0 || player.world.provider instanceof IGalacticraftWorldProvider) && (((player.dimension != 0) && !((IGalacticraftWorldProvider) player.world.provider).hasBreathableAtmosphere()) || player.posY > GCPlayerHandler.OXYGENHEIGHTLIMIT) && !player.capabilities.isCreativeMode && !(player.getRidingEntity() instanceof EntityLanderBase) && !(player.getRidingEntity() instanceof EntityAutoRocket) && !(player.getRidingEntity() instanceof EntityCelestialFake) && !CompatibilityManager.isAndroid(player))
+        if ((player.dimension == 0 || player.world.provider instanceof IGalacticraftWorldProvider) && (((player.dimension != 0) && !((IGalacticraftWorldProvider) player.world.provider).getEnvironment().hasBreathableAtmosphere()) || player.posY > GCPlayerHandler.OXYGENHEIGHTLIMIT) && !player.capabilities.isCreativeMode && !(player.getRidingEntity() instanceof EntityLanderBase) && !(player.getRidingEntity() instanceof EntityAutoRocket) && !(player.getRidingEntity() instanceof EntityCelestialFake) && !CompatibilityManager.isAndroid(player))
         {
             final ItemStack tankInSlot = stats.getExtendedInventory().getStackInSlot(2);
             final ItemStack tankInSlot2 = stats.getExtendedInventory().getStackInSlot(3);
@@ -907,9 +918,9 @@ public class GCPlayerHandler
         World world = player.world;
         if (world.provider instanceof IGalacticraftWorldProvider && !world.isRemote)
         {
-            if (((IGalacticraftWorldProvider) world.provider).getMeteorFrequency() > 0 && ConfigManagerCore.meteorSpawnMod > 0.0)
+            if (((IGalacticraftWorldProvider) world.provider).getEnvironment().getMeteorFrequency() > 0 && ConfigManagerCore.meteorSpawnMod > 0.0)
             {
-                final int f = (int) (((IGalacticraftWorldProvider) world.provider).getMeteorFrequency() * 750D * (1.0 / ConfigManagerCore.meteorSpawnMod));
+                final int f = (int) (((IGalacticraftWorldProvider) world.provider).getEnvironment().getMeteorFrequency() * 750D * (1.0 / ConfigManagerCore.meteorSpawnMod));
 
                 if (world.rand.nextInt(f) == 0)
                 {
@@ -1142,9 +1153,7 @@ public class GCPlayerHandler
 
                         float rotation = player.rotationYaw - 180;
                         pos = WorldUtil.getFootprintPosition(player.world, rotation, pos, new BlockVec3(player));
-
-                        long chunkKey = ChunkPos.asLong(pos.intX() >> 4, pos.intZ() >> 4);
-                        TickHandlerServer.addFootprint(chunkKey, new Footprint(GCCoreUtil.getDimensionID(player.world), pos, rotation, player.getName(), -1), GCCoreUtil.getDimensionID(player.world));
+                        FootprintTracker.addFootprint(player.world, pos, rotation, player.getName());
 
                         // Increment and cap step counter at 1
                         stats.setLastStep((stats.getLastStep() + 1) % 2);
@@ -1161,26 +1170,33 @@ public class GCPlayerHandler
 
     protected void updateSchematics(EntityPlayerMP player, GCPlayerStats stats)
     {
+        // Schematics are only ever added, and EventHandlerGC.schematicUnlocked()
+        // sends the list when they are: so this only has anything to do when
+        // the client has not had the list yet - after logging in, respawning or
+        // changing dimension
+        if (player.connection == null || stats.getSentSchematicsCount() == stats.getUnlockedSchematics().size())
+        {
+            return;
+        }
+
         SchematicRegistry.addUnlockedPage(player, SchematicRegistry.getMatchingRecipeForID(0));
         SchematicRegistry.addUnlockedPage(player, SchematicRegistry.getMatchingRecipeForID(Integer.MAX_VALUE));
 
         Collections.sort(stats.getUnlockedSchematics());
 
-        if (player.connection != null && (stats.getUnlockedSchematics().size() != stats.getLastUnlockedSchematics().size() || (player.ticksExisted - 1) % 100 == 0))
-        {
-            Integer[] iArray = new Integer[stats.getUnlockedSchematics().size()];
+        Integer[] iArray = new Integer[stats.getUnlockedSchematics().size()];
 
-            for (int i = 0; i < iArray.length; i++)
-            {
-                ISchematicPage page = stats.getUnlockedSchematics().get(i);
-                iArray[i] = page == null ? -2 : page.getPageID();
-            }
+        for (int i = 0; i < iArray.length; i++)
+        {
+            ISchematicPage page = stats.getUnlockedSchematics().get(i);
+            iArray[i] = page == null ? -2 : page.getPageID();
+        }
 
-            List<Object> objList = new ArrayList<>();
-            objList.add(iArray);
+        List<Object> objList = new ArrayList<>();
+        objList.add(iArray);
 
-            GalacticraftCore.packetPipeline.sendTo(new PacketSimple(EnumSimplePacket.C_UPDATE_SCHEMATIC_LIST, GCCoreUtil.getDimensionID(player.world), objList), player);
-        }
+        GalacticraftCore.packetPipeline.sendTo(new PacketSimple(EnumSimplePacket.C_UPDATE_SCHEMATIC_LIST, GCCoreUtil.getDimensionID(player.world), objList), player);
+        stats.setSentSchematicsCount(iArray.length);
     }
 
     public static class ThermalArmorEvent extends Event
@@ -1209,34 +1225,34 @@ public class GCPlayerHandler
 
     protected void sendPlanetList(EntityPlayerMP player, GCPlayerStats stats)
     {
-        HashMap<String, Integer> map;
-        if (player.ticksExisted % 50 == 0)
-        // Check for genuine update - e.g. maybe some other player created a
-        // space station or changed permissions
-        // CAUTION: possible server load due to dimension loading, if any
-        // planets or moons were (contrary to GC default) set to hotload
+        // The list is only built again if something in it may have changed -
+        // e.g. maybe some other player created a space station or changed
+        // permissions (see WorldUtil.markPlanetListChanged()), or the rocket
+        // tier changed. Permission to create stations has no event, so it is
+        // checked now and then.
+        int version = WorldUtil.getPlanetListVersion();
+        boolean listChanged = version != stats.getSavedPlanetListVersion() || stats.getSpaceshipTier() != stats.getSavedPlanetListTier();
+        if (!listChanged && player.ticksExisted % 50 != 0)
         {
-            map = WorldUtil.getArrayOfPossibleDimensions(stats.getSpaceshipTier(), player);
+            return;
         }
-        else
-        {
-            map = WorldUtil.getArrayOfPossibleDimensionsAgain(stats.getSpaceshipTier(), player);
-        }
-
-        String temp = "";
-        int count = 0;
 
-        for (Entry<String, Integer> entry : map.entrySet())
+        String temp = stats.getSavedPlanetList();
+        if (listChanged)
         {
-            temp = temp.concat(entry.getKey() + (count < map.entrySet().size() - 1 ? "?" : ""));
-            count++;
+            // CAUTION: possible server load due to dimension loading, if any
+            // planets or moons were (contrary to GC default) set to hotload
+            temp = WorldUtil.planetListToString(WorldUtil.getArrayOfPossibleDimensions(stats.getSpaceshipTier(), player));
+            stats.setSavedPlanetListVersion(version);
+            stats.setSavedPlanetListTier(stats.getSpaceshipTier());
         }
 
-        if (!temp.equals(stats.getSavedPlanetList()) || (player.ticksExisted % 100 == 0))
+        boolean canCreateStations = PermissionAPI.hasPermission(player, Constants.PERMISSION_CREATE_STATION);
+        if (!temp.equals(stats.getSavedPlanetList()) || canCreateStations != stats.getSavedCanCreateStations())
         {
-            boolean canCreateStations = PermissionAPI.hasPermission(player, Constants.PERMISSION_CREATE_STATION);
             GalacticraftCore.packetPipeline.sendTo(new PacketSimple(EnumSimplePacket.C_UPDATE_DIMENSION_LIST, GCCoreUtil.getDimensionID(player.world), new Object[] {PlayerUtil.getName(player), temp, canCreateStations}), player);
             stats.setSavedPlanetList(temp);
+            stats.setSavedCanCreateStations(canCreateStations);
             // GalacticraftCore.logger.debug("Sending to " + PlayerUtil.getName(player) + ": " +
             // temp);
         }
@@ -1409,9 +1425,7 @@ public class GCPlayerHandler
 
         if (stats.isUsingPlanetSelectionGui())
         {
-            // This sends the planets list again periodically (forcing the
-            // Celestial Selection screen to open) in case of server/client lag
-            // #PACKETSPAM
+            // This sends the planets list again if it changes
             this.sendPlanetList(player, stats);
         }
 
@@ -1550,7 +1564,7 @@ public class GCPlayerHandler
 
         this.updateSchematics(player, stats);
 
-        if (tick % 250 == 0 && stats.getFrequencyModuleInSlot().isEmpty() && !stats.hasReceivedSoundWarning() && isInGCDimension && player.onGround && tick > 0 && ((IGalacticraftWorldProvider) player.world.provider).getSoundVolReductionAmount() > 1.0F)
+        if (tick % 250 == 0 && stats.getFrequencyModuleInSlot().isEmpty() && !stats.hasReceivedSoundWarning() && isInGCDimension && player.onGround && tick > 0 && ((IGalacticraftWorldProvider) player.world.provider).getEnvironment().getSoundVolReductionAmount() > 1.0F)
         {
             String[] string2 = GCCoreUtil.translate("gui.frequencymodule.warning1").split(" ");
             StringBuilder sb = new StringBuilder();
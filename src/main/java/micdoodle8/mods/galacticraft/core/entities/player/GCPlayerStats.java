@@ -202,6 +202,22 @@ public abstract class GCPlayerStats
 
     public abstract void setSavedPlanetList(String savedPlanetList);
 
+    public abstract int getSavedPlanetListVersion();
+
+    public abstract void setSavedPlanetListVersion(int savedPlanetListVersion);
+
+    public abstract int getSavedPlanetListTier();
+
+    public abstract void setSavedPlanetListTier(int savedPlanetListTier);
+
+    public abstract boolean getSavedCanCreateStations();
+
+    public abstract void setSavedCanCreateStations(boolean savedCanCreateStations);
+
+    public abstract int getSentSchematicsCount();
+
+    public abstract void setSentSchematicsCount(int sentSchematicsCount);
+
     public abstract int getOpenPlanetSelectionGuiCooldown();
 
     public abstract void setOpenPlanetSelectionGuiCooldown(int openPlanetSelectionGuiCooldown);
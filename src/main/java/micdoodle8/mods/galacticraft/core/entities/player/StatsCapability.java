@@ -110,6 +110,10 @@ public class StatsCapability extends GCPlayerStats
 
     public boolean usingPlanetSelectionGui;
     public String savedPlanetList = "";
+    // What savedPlanetList was built from: see GCPlayerHandler.sendPlanetList()
+    public int savedPlanetListVersion = -1;
+    public int savedPlanetListTier = -1;
+    public boolean savedCanCreateStations;
     public int openPlanetSelectionGuiCooldown;
     public boolean hasOpenedPlanetSelectionGui = false;
 
@@ -138,6 +142,8 @@ public class StatsCapability extends GCPlayerStats
 
     public List<ISchematicPage> unlockedSchematics = new LinkedList<>();
     public List<ISchematicPage> lastUnlockedSchematics = new LinkedList<>();
+    // -1 until this player's client has been sent the whole list
+    public int sentSchematicsCount = -1;
 
     public int cryogenicChamberCooldown;
 
@@ -660,6 +666,54 @@ public class StatsCapability extends GCPlayerStats
         this.savedPlanetList = savedPlanetList;
     }
 
+    @Override
+    public int getSavedPlanetListVersion()
+    {
+        return savedPlanetListVersion;
+    }
+
+    @Override
+    public void setSavedPlanetListVersion(int savedPlanetListVersion)
+    {
+        this.savedPlanetListVersion = savedPlanetListVersion;
+    }
+
+    @Override
+    public int getSavedPlanetListTier()
+    {
+        return savedPlanetListTier;
+    }
+
+    @Override
+    public void setSavedPlanetListTier(int savedPlanetListTier)
+    {
+        this.savedPlanetListTier = savedPlanetListTier;
+    }
+
+    @Override
+    public boolean getSavedCanCreateStations()
+    {
+        return savedCanCreateStations;
+    }
+
+    @Override
+    public void setSavedCanCreateStations(boolean savedCanCreateStations)
+    {
+        this.savedCanCreateStations = savedCanCreateStations;
+    }
+
+    @Override
+    public int getSentSchematicsCount()
+    {
+        return sentSchematicsCount;
+    }
+
+    @Override
+    public void setSentSchematicsCount(int sentSchematicsCount)
+    {
+        this.sentSchematicsCount = sentSchematicsCount;
+    }
+
     @Override
     public int getOpenPlanetSelectionGuiCooldown()
     {
@@ -118,6 +118,7 @@ import micdoodle8.mods.galacticraft.core.util.ConfigManagerCore;
 import micdoodle8.mods.galacticraft.core.util.GCCoreUtil;
 import micdoodle8.mods.galacticraft.core.util.OxygenUtil;
 import micdoodle8.mods.galacticraft.core.util.PlayerUtil;
+import micdoodle8.mods.galacticraft.core.util.SavedDataWriter;
 import micdoodle8.mods.galacticraft.core.world.ChunkLoadingCallback;
 import micdoodle8.mods.galacticraft.core.wrappers.PlayerGearData;
 import micdoodle8.mods.galacticraft.planets.asteroids.AsteroidsModule;
@@ -133,6 +134,12 @@ public class EventHandlerGC
     public void onWorldSave(Save event)
     {
         ChunkLoadingCallback.save((WorldServer) event.getWorld());
+        // The overworld's save writes the map storage, which holds all of
+        // Galacticraft's saved data
+        if (GCCoreUtil.getDimensionID(event.getWorld()) == 0)
+        {
+            SavedDataWriter.save(event.getWorld());
+        }
     }
 
     @SubscribeEvent
@@ -701,6 +708,7 @@ public class EventHandlerGC
                 objList.add(iArray);
 
                 GalacticraftCore.packetPipeline.sendTo(new PacketSimple(EnumSimplePacket.C_UPDATE_SCHEMATIC_LIST, GCCoreUtil.getDimensionID(event.player.world), objList), event.player);
+                stats.setSentSchematicsCount(iArray.length);
             }
         }
     }
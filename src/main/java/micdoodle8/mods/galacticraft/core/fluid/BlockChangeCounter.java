@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2023 Team Galacticraft
+ *
+ * Licensed under the MIT license.
+ * See LICENSE file in the project root for details.
+ */
+
+package micdoodle8.mods.galacticraft.core.fluid;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.SoundCategory;
+import net.minecraft.util.SoundEvent;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.IWorldEventListener;
+import net.minecraft.world.World;
+
+import micdoodle8.mods.galacticraft.api.block.IPartialSealableBlock;
+import micdoodle8.mods.galacticraft.core.util.GCCoreUtil;
+
+/**
+ * Counts the block changes in each dimension, so that an Oxygen Sealer check
+ * run on a worker against a SealerSnapshot can tell, before its result is
+ * applied, whether any block in the snapshot's area changed while it ran.
+ *
+ * Each change is recorded against its chunk column in a fixed-size table.
+ * Columns 64 chunks apart share a slot, which can only make a check look out
+ * of date when it is not (it is then run again) - never the other way round.
+ *
+ * Server thread only.
+ */
+public class BlockChangeCounter
+{
+
+    private static final int SLOTS = 64 * 64;
+
+    private static final Map<Integer, Counter> counters = new HashMap<>();
+
+    private static class Counter
+    {
+
+        private long count;
+        // The count at the last change in each slot's chunk columns
+        private final long[] lastChange = new long[BlockChangeCounter.SLOTS];
+    }
+
+    private static Counter get(World world)
+    {
+        return BlockChangeCounter.counters.computeIfAbsent(GCCoreUtil.getDimensionID(world), k -> new Counter());
+    }
+
+    private static int slot(int chunkX, int chunkZ)
+    {
+        return (chunkX & 63) << 6 | (chunkZ & 63);
+    }
+
+    public static void onBlockChanged(World world, BlockPos pos)
+    {
+        Counter counter = BlockChangeCounter.get(world);
+        counter.lastChange[BlockChangeCounter.slot(pos.getX() >> 4, pos.getZ() >> 4)] = ++counter.count;
+    }
+
+    /**
+     * @return the dimension's count now, to be passed to changedSince() later
+     */
+    public static long getCount(World world)
+    {
+        return BlockChangeCounter.get(world).count;
+    }
+
+    /**
+     * @return true if a block in the given chunk columns may have changed
+     *         since getCount() returned count
+     */
+    public static boolean changedSince(World world, int minChunkX, int minChunkZ, int maxChunkX, int maxChunkZ, long count)
+    {
+        Counter counter = BlockChangeCounter.get(world);
+        if (counter.count == count)
+        {
+            return false;
+        }
+
+        for (int cx = minChunkX; cx <= maxChunkX; cx++)
+        {
+            for (int cz = minChunkZ; cz <= maxChunkZ; cz++)
+            {
+                if (counter.lastChange[BlockChangeCounter.slot(cx, cz)] > count)
+                {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Used on server stop, after SealerWorkerPool.restart() has dropped any
+     * checks still waiting
+     */
+    public static void clear()
+    {
+        BlockChangeCounter.counters.clear();
+    }
+
+    /**
+     * Added to each server world on load: hears every block change made with
+     * block update flag 2, which covers players, explosions, doors and most
+     * machines. The sealers' own air changes (flag 0) are not counted - they
+     * only swap one kind of air for another.
+     */
+    public static class Listener implements IWorldEventListener
+    {
+
+        @Override
+        public void notifyBlockUpdate(World worldIn, BlockPos pos, IBlockState oldState, IBlockState newState, int flags)
+        {
+            // Also sent, with the same state, when a tile entity syncs - which
+            // can change how a partially sealable block seals
+            if (oldState != newState || newState.getBlock() instanceof IPartialSealableBlock)
+            {
+                BlockChangeCounter.onBlockChanged(worldIn, pos);
+            }
+        }
+
+        @Override
+        public void notifyLightSet(BlockPos pos)
+        {
+        }
+
+        @Override
+        public void markBlockRangeForRenderUpdate(int x1, int y1, int z1, int x2, int y2, int z2)
+        {
+        }
+
+        @Override
+        public void playSoundToAllNearExcept(@Nullable EntityPlayer player, SoundEvent soundIn, SoundCategory category, double x, double y, double z, float volume, float pitch)
+        {
+        }
+
+        @Override
+        public void playRecord(SoundEvent soundIn, BlockPos pos)
+        {
+        }
+
+        @Override
+        public void spawnParticle(int particleID, boolean ignoreRange, double xCoord, double yCoord, double zCoord, double xSpeed, double ySpeed, double zSpeed, int... parameters)
+        {
+        }
+
+        @Override
+        public void spawnParticle(int id, boolean ignoreRange, boolean minimiseParticleLevel, double x, double y, double z, double xSpeed, double ySpeed, double zSpeed, int... parameters)
+        {
+        }
+
+        @Override
+        public void onEntityAdded(Entity entityIn)
+        {
+        }
+
+        @Override
+        public void onEntityRemoved(Entity entityIn)
+        {
+        }
+
+        @Override
+        public void broadcastSound(int soundID, BlockPos pos, int data)
+        {
+        }
+
+        @Override
+        public void playEvent(EntityPlayer player, int type, BlockPos blockPosIn, int data)
+        {
+        }
+
+        @Override
+        public void sendBlockBreakProgress(int breakerId, BlockPos pos, int progress)
+        {
+        }
+    }
+}
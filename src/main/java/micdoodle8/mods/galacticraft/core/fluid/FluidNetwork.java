@@ -31,21 +31,16 @@ import net.minecraftforge.fml.common.network.NetworkRegistry;
 import net.minecraftforge.fml.relauncher.Side;
 
 import micdoodle8.mods.galacticraft.api.transmission.NetworkType;
+import micdoodle8.mods.galacticraft.api.transmission.grid.GridSplitter;
 import micdoodle8.mods.galacticraft.api.transmission.grid.IGridNetwork;
-import micdoodle8.mods.galacticraft.api.transmission.grid.Pathfinder;
-import micdoodle8.mods.galacticraft.api.transmission.grid.PathfinderChecker;
 import micdoodle8.mods.galacticraft.api.transmission.tile.IBufferTransmitter;
-import micdoodle8.mods.galacticraft.api.transmission.tile.INetworkConnection;
-import micdoodle8.mods.galacticraft.api.transmission.tile.INetworkProvider;
 import micdoodle8.mods.galacticraft.api.transmission.tile.ITransmitter;
-import micdoodle8.mods.galacticraft.api.vector.BlockVec3;
 import micdoodle8.mods.galacticraft.core.GalacticraftCore;
 import micdoodle8.mods.galacticraft.core.network.IPacket;
 import micdoodle8.mods.galacticraft.core.network.PacketFluidNetworkUpdate;
 import micdoodle8.mods.galacticraft.core.util.GCCoreUtil;
 
 import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 
@@ -88,25 +83,7 @@ public class FluidNetwork implements IGridNetwork<FluidNetwork, IBufferTransmitt
         {
             if (network != null)
             {
-                if (network.buffer != null)
-                {
-                    if (this.buffer == null)
-                    {
-                        this.buffer = network.buffer.copy();
-                    } else
-                    {
-                        if (buffer.getFluid() == network.buffer.getFluid())
-                        {
-                            buffer.amount += network.buffer.amount;
-                        } else if (network.buffer.amount > buffer.amount)
-                        {
-                            this.buffer = network.buffer.copy();
-                        }
-                    }
-
-                    network.buffer = null;
-                }
-
+                this.adoptBuffer(network);
                 this.adoptNetwork(network);
                 network.unregister();
             }
@@ -115,16 +92,46 @@ public class FluidNetwork implements IGridNetwork<FluidNetwork, IBufferTransmitt
         this.register();
     }
 
+    private void adoptBuffer(FluidNetwork network)
+    {
+        if (network.buffer != null)
+        {
+            if (this.buffer == null)
+            {
+                this.buffer = network.buffer.copy();
+            } else
+            {
+                if (buffer.getFluid() == network.buffer.getFluid())
+                {
+                    buffer.amount += network.buffer.amount;
+                } else if (network.buffer.amount > buffer.amount)
+                {
+                    this.buffer = network.buffer.copy();
+                }
+            }
+
+            network.buffer = null;
+        }
+    }
+
     public void adoptNetwork(FluidNetwork network)
     {
         for (IBufferTransmitter<FluidStack> transmitter : network.pipes)
         {
+            if (this.pipes.add(transmitter))
+            {
+                this.capacity += transmitter.getCapacity();
+            }
             transmitter.setNetwork(this);
-            this.pipes.add(transmitter);
             this.pipesAdded.add(transmitter);
             this.updateDelay = this.firstUpdate ? 3 : 1;
         }
 
+        if (this.world == null)
+        {
+            this.world = network.world;
+        }
+
         this.acceptors.putAll(network.acceptors);
 
         for (Map.Entry<BlockPos, EnumSet<EnumFacing>> e : network.acceptorDirections.entrySet())
@@ -608,97 +615,85 @@ public class FluidNetwork implements IGridNetwork<FluidNetwork, IBufferTransmitt
     {
         if (network != null && network != this)
         {
-            FluidNetwork newNetwork = new FluidNetwork(Lists.newArrayList(this, network));
-            newNetwork.refresh();
-            return newNetwork;
+            // Union by size: only the pipes of the smaller network have to be
+            // moved
+            FluidNetwork larger = this.pipes.size() < network.pipes.size() ? network : this;
+            FluidNetwork smaller = larger == this ? network : this;
+            larger.adoptBuffer(smaller);
+            larger.adoptNetwork(smaller);
+            smaller.unregister();
+            for (IBufferTransmitter<FluidStack> transmitter : smaller.pipes)
+            {
+                transmitter.onNetworkChanged();
+            }
+            smaller.pipes.clear();
+            larger.clamp();
+            return larger;
         }
 
         return this;
     }
 
-    @SuppressWarnings({"unchecked", "unlikely-arg-type"})
+    @SuppressWarnings("unchecked")
     @Override
     public void split(IBufferTransmitter<FluidStack> splitPoint)
     {
         if (splitPoint instanceof TileEntity)
         {
-            this.pipes.remove(splitPoint);
+            if (this.pipes.remove(splitPoint))
+            {
+                this.capacity -= splitPoint.getCapacity();
+            }
+
+            World world = ((TileEntity) splitPoint).getWorld();
+            BlockPos pos = ((TileEntity) splitPoint).getPos();
+            List<TileEntity> neighbours = new ArrayList<>(6);
+
+            for (EnumFacing side : EnumFacing.VALUES)
+            {
+                TileEntity tileEntity = world.getTileEntity(pos.offset(side));
+
+                if (tileEntity instanceof ITransmitter && ((ITransmitter) tileEntity).canConnect(side.getOpposite(), NetworkType.FLUID))
+                {
+                    neighbours.add(tileEntity);
+                }
+            }
 
             /**
-             * Loop through the connected blocks and attempt to see if there are
-             * connections between the two points elsewhere.
+             * Only the parts no longer connected to the rest of the network
+             * are given a new network: the rest stays in this one.
              */
-            TileEntity[] connectedBlocks = splitPoint.getAdjacentConnections();
-
-            for (TileEntity connectedBlockA : connectedBlocks)
+            List<List<TileEntity>> parts = GridSplitter.findSplitParts(world, pos, neighbours, NetworkType.FLUID);
+            for (List<TileEntity> partNetwork : parts)
             {
-                if (connectedBlockA instanceof INetworkConnection)
+                FluidNetwork newNetwork = new FluidNetwork();
+
+                for (TileEntity nodeTile : partNetwork)
                 {
-                    for (final TileEntity connectedBlockB : connectedBlocks)
+                    if (nodeTile instanceof IBufferTransmitter)
                     {
-                        if (connectedBlockA != connectedBlockB && connectedBlockB instanceof INetworkConnection)
+                        IBufferTransmitter<FluidStack> pipe = (IBufferTransmitter<FluidStack>) nodeTile;
+                        newNetwork.pipes.add(pipe);
+                        newNetwork.pipesAdded.add(pipe);
+                        newNetwork.onTransmitterAdded(pipe);
+                        if (this.pipes.remove(pipe))
                         {
-                            Pathfinder finder = new PathfinderChecker(((TileEntity) splitPoint).getWorld(), (INetworkConnection) connectedBlockB, NetworkType.FLUID, splitPoint);
-                            finder.init(new BlockVec3(connectedBlockA));
-
-                            if (finder.results.size() > 0)
-                            {
-                                /**
-                                 * The connections A and B are still intact
-                                 * elsewhere. Set all references of wire
-                                 * connection into one network.
-                                 */
-
-                                for (BlockVec3 node : finder.closedSet)
-                                {
-                                    TileEntity nodeTile = node.getTileEntity(((TileEntity) splitPoint).getWorld());
-
-                                    if (nodeTile instanceof INetworkProvider)
-                                    {
-                                        if (nodeTile != splitPoint)
-                                        {
-                                            ((INetworkProvider) nodeTile).setNetwork(this);
-                                        }
-                                    }
-                                }
-                            } else
-                            {
-                                /**
-                                 * The connections A and B are not connected
-                                 * anymore. Give both of them a new network.
-                                 */
-                                FluidNetwork newNetwork = new FluidNetwork();
-
-                                for (BlockVec3 node : finder.closedSet)
-                                {
-                                    TileEntity nodeTile = node.getTileEntity(((TileEntity) splitPoint).getWorld());
-
-                                    if (nodeTile instanceof IBufferTransmitter)
-                                    {
-                                        if (nodeTile != splitPoint)
-                                        {
-                                            newNetwork.pipes.add((IBufferTransmitter<FluidStack>) nodeTile);
-                                            newNetwork.pipesAdded.add((IBufferTransmitter<FluidStack>) nodeTile);
-                                            newNetwork.onTransmitterAdded((IBufferTransmitter<FluidStack>) nodeTile);
-                                            this.pipes.remove(nodeTile);
-                                        }
-                                    }
-                                }
-
-                                newNetwork.refresh();
-                                newNetwork.register();
-                            }
+                            this.capacity -= pipe.getCapacity();
                         }
                     }
                 }
+
+                newNetwork.refresh();
+                newNetwork.register();
             }
 
             if (this.pipes.isEmpty())
             {
                 this.unregister();
-            } else
+            } else if (!parts.isEmpty() && this.acceptors != null)
             {
-                this.updateCapacity();
+                // Some of the acceptors went with the new networks
+                this.acceptors.clear();
             }
         }
     }
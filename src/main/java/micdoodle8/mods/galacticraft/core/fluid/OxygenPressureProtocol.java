@@ -91,6 +91,7 @@ public class OxygenPressureProtocol
 
     public static void onEdgeBlockUpdated(World world, BlockPos vec)
     {
+        BlockChangeCounter.onBlockChanged(world, vec);
         if (ConfigManagerCore.enableSealerEdgeChecks)
         {
             TickHandlerServer.scheduleNewEdgeCheck(GCCoreUtil.getDimensionID(world), vec);
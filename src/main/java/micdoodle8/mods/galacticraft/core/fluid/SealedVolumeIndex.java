@@ -0,0 +1,294 @@
+/*
+ * Copyright (c) 2023 Team Galacticraft
+ *
+ * Licensed under the MIT license.
+ * See LICENSE file in the project root for details.
+ */
+
+package micdoodle8.mods.galacticraft.core.fluid;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+import micdoodle8.mods.galacticraft.api.vector.BlockVec3;
+import micdoodle8.mods.galacticraft.core.GCBlocks;
+import micdoodle8.mods.galacticraft.core.blocks.BlockUnlitTorch;
+import micdoodle8.mods.galacticraft.core.tick.TickHandlerServer;
+import micdoodle8.mods.galacticraft.core.tile.TileEntityOxygenSealer;
+import micdoodle8.mods.galacticraft.core.util.GCCoreUtil;
+import micdoodle8.mods.galacticraft.core.util.LongHashSet;
+import micdoodle8.mods.galacticraft.core.wrappers.ScheduledBlockChange;
+
+/**
+ * Remembers the air blocks inside each sealed space, keyed by the head
+ * Oxygen Sealer, so that a block update at the edge of a sealed space can be
+ * checked locally instead of unsealing and re-sealing the whole space.
+ *
+ * Server thread only.
+ */
+public class SealedVolumeIndex
+{
+
+    private static final Map<Integer, List<Volume>> volumes = new HashMap<>();
+
+    private static class Volume
+    {
+
+        private final TileEntityOxygenSealer head;
+        private final LongHashSet positions;
+        private final boolean thermal;
+        // How many more blocks the sealers could still fill
+        private int budget;
+        private int minX, minY, minZ, maxX, maxY, maxZ;
+
+        private Volume(TileEntityOxygenSealer head, LongHashSet positions, int budget, boolean thermal)
+        {
+            this.head = head;
+            this.positions = positions;
+            this.budget = budget;
+            this.thermal = thermal;
+            this.minX = this.minY = this.minZ = Integer.MAX_VALUE;
+            this.maxX = this.maxY = this.maxZ = Integer.MIN_VALUE;
+            for (long key : positions.toArray())
+            {
+                this.expand(BlockPos.fromLong(key));
+            }
+        }
+
+        private void expand(BlockPos pos)
+        {
+            this.minX = Math.min(this.minX, pos.getX());
+            this.minY = Math.min(this.minY, pos.getY());
+            this.minZ = Math.min(this.minZ, pos.getZ());
+            this.maxX = Math.max(this.maxX, pos.getX());
+            this.maxY = Math.max(this.maxY, pos.getY());
+            this.maxZ = Math.max(this.maxZ, pos.getZ());
+        }
+
+        private boolean contains(BlockPos pos)
+        {
+            int x = pos.getX();
+            int y = pos.getY();
+            int z = pos.getZ();
+            return x >= this.minX && x <= this.maxX && y >= this.minY && y <= this.maxY && z >= this.minZ && z <= this.maxZ && this.positions.contains(pos.toLong());
+        }
+    }
+
+    public static void put(World world, TileEntityOxygenSealer head, LongHashSet positions, int budget, boolean thermal)
+    {
+        List<Volume> list = volumes.computeIfAbsent(GCCoreUtil.getDimensionID(world), k -> new ArrayList<>());
+        list.removeIf(v -> v.head == head);
+        list.add(new Volume(head, positions, budget, thermal));
+    }
+
+    public static void remove(World world, TileEntityOxygenSealer head)
+    {
+        List<Volume> list = volumes.get(GCCoreUtil.getDimensionID(world));
+        if (list != null)
+        {
+            list.removeIf(v -> v.head == head);
+        }
+    }
+
+    public static void removeAll(World world, Collection<TileEntityOxygenSealer> sealers)
+    {
+        List<Volume> list = volumes.get(GCCoreUtil.getDimensionID(world));
+        if (list != null && !sealers.isEmpty())
+        {
+            list.removeIf(v -> sealers.contains(v.head));
+        }
+    }
+
+    public static void clear()
+    {
+        volumes.clear();
+    }
+
+    /**
+     * @return the chunk radius of snapshot likely to cover this sealer's
+     *         space, going by the last sealed result
+     */
+    static int getSnapshotRadius(TileEntityOxygenSealer head)
+    {
+        if (head != null)
+        {
+            List<Volume> list = volumes.get(GCCoreUtil.getDimensionID(head.getWorld()));
+            if (list != null)
+            {
+                for (Volume v : list)
+                {
+                    if (v.head == head)
+                    {
+                        int cx = head.getPos().getX() >> 4;
+                        int cz = head.getPos().getZ() >> 4;
+                        int radius = Math.max(Math.max(cx - (v.minX >> 4), (v.maxX >> 4) - cx), Math.max(cz - (v.minZ >> 4), (v.maxZ >> 4) - cz));
+                        return Math.min(SealerWorkerPool.MAX_SNAPSHOT_RADIUS, radius + 1);
+                    }
+                }
+            }
+        }
+        return 1;
+    }
+
+    /**
+     * Re-checks only the region around a block update at the edge of a sealed
+     * space: starting from the breathable block at edgePos, search outwards
+     * through blocks which are not already part of the space. If that search
+     * closes off within the sealers' remaining capacity, the newly found air
+     * is made breathable and the space stays sealed.
+     *
+     * @return true if handled; false if a full edge check is needed (not in a
+     *         known space, a leak was found, or the search ran out of budget)
+     */
+    public static boolean tryLocalCheck(World world, BlockPos edgePos)
+    {
+        List<Volume> list = volumes.get(GCCoreUtil.getDimensionID(world));
+        if (list == null)
+        {
+            return false;
+        }
+
+        Volume volume = null;
+        for (Iterator<Volume> it = list.iterator(); it.hasNext();)
+        {
+            Volume v = it.next();
+            if (v.head.isInvalid())
+            {
+                it.remove();
+                continue;
+            }
+            if (v.contains(edgePos))
+            {
+                volume = v;
+                break;
+            }
+        }
+        if (volume == null)
+        {
+            return false;
+        }
+
+        Block breatheableAir = GCBlocks.breatheableAir;
+        Block breatheableAirBright = GCBlocks.brightBreatheableAir;
+        Block airBright = GCBlocks.brightAir;
+        int budget = volume.budget;
+        LongHashSet seen = new LongHashSet();
+        ArrayDeque<BlockPos> queue = new ArrayDeque<>();
+        List<BlockPos> toBreathe = new ArrayList<>();
+        List<BlockPos> toBreatheBright = new ArrayList<>();
+        List<BlockVec3> torches = new ArrayList<>();
+        queue.add(edgePos);
+        seen.add(edgePos.toLong());
+
+        while (!queue.isEmpty())
+        {
+            BlockPos pos = queue.poll();
+            IBlockState state = world.getBlockState(pos);
+            boolean passThrough = pos != edgePos && !state.getBlock().isAir(state, world, pos);
+
+            for (EnumFacing side : EnumFacing.VALUES)
+            {
+                // Air can't leave a partially sealed block through a solid side
+                if (passThrough && !OxygenPressureProtocol.canBlockPassAir(world, state, pos, side.getOpposite()))
+                {
+                    continue;
+                }
+
+                BlockPos next = pos.offset(side);
+                long key = next.toLong();
+                if (volume.positions.contains(key) || !seen.add(key))
+                {
+                    continue;
+                }
+                if (next.getY() < 0 || next.getY() >= 256)
+                {
+                    // Open to the void or the sky
+                    SealedVolumeIndex.forget(list, volume);
+                    return false;
+                }
+                if (!world.isBlockLoaded(next, false))
+                {
+                    // Same as the full check: unloaded chunks are a solid edge
+                    continue;
+                }
+
+                IBlockState nextState = world.getBlockState(next);
+                Block block = nextState.getBlock();
+                if (block == Blocks.AIR)
+                {
+                    toBreathe.add(next);
+                } else if (block == airBright)
+                {
+                    toBreatheBright.add(next);
+                } else if (block == breatheableAir || block == breatheableAirBright || block == GCBlocks.oxygenSealer)
+                {
+                    // Joins up with some other space (or the stale edge of
+                    // this one) - needs the full check
+                    SealedVolumeIndex.forget(list, volume);
+                    return false;
+                } else if (OxygenPressureProtocol.canBlockPassAir(world, nextState, next, side))
+                {
+                    if (block instanceof BlockUnlitTorch)
+                    {
+                        torches.add(new BlockVec3(next));
+                    }
+                } else
+                {
+                    continue;
+                }
+
+                if (--budget < 0)
+                {
+                    SealedVolumeIndex.forget(list, volume);
+                    return false;
+                }
+                queue.add(next);
+            }
+        }
+
+        int dimID = GCCoreUtil.getDimensionID(world);
+        if (!toBreathe.isEmpty() || !toBreatheBright.isEmpty())
+        {
+            int metadata = volume.thermal ? 1 : 0;
+            List<ScheduledBlockChange> changeList = new ArrayList<>(toBreathe.size() + toBreatheBright.size());
+            for (BlockPos pos : toBreathe)
+            {
+                changeList.add(new ScheduledBlockChange(pos, breatheableAir.getStateFromMeta(metadata), 0));
+                volume.positions.add(pos.toLong());
+                volume.expand(pos);
+            }
+            for (BlockPos pos : toBreatheBright)
+            {
+                changeList.add(new ScheduledBlockChange(pos, breatheableAirBright.getStateFromMeta(metadata), 0));
+                volume.positions.add(pos.toLong());
+                volume.expand(pos);
+            }
+            TickHandlerServer.scheduleNewBlockChange(dimID, changeList);
+        }
+        if (!torches.isEmpty())
+        {
+            TickHandlerServer.scheduleNewTorchUpdate(dimID, torches);
+        }
+        volume.budget = budget;
+        return true;
+    }
+
+    private static void forget(List<Volume> list, Volume volume)
+    {
+        // The full check which follows will record the space again if it is
+        // still sealed
+        list.remove(volume);
+    }
+}
@@ -0,0 +1,301 @@
+/*
+ * Copyright (c) 2023 Team Galacticraft
+ *
+ * Licensed under the MIT license.
+ * See LICENSE file in the project root for details.
+ */
+
+package micdoodle8.mods.galacticraft.core.fluid;
+
+import java.util.HashMap;
+
+import javax.annotation.Nullable;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Biomes;
+import net.minecraft.init.Blocks;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.BitArray;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.IBlockAccess;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldType;
+import net.minecraft.world.biome.Biome;
+import net.minecraft.world.chunk.BlockStateContainer;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.IBlockStatePalette;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+
+import micdoodle8.mods.galacticraft.api.block.IPartialSealableBlock;
+
+/**
+ * A read-only view of the block states in a box of chunk sections around an
+ * Oxygen Sealer, taken on the server thread so that the sealed volume can be
+ * calculated on a worker thread without calling into the live World.
+ *
+ * Nothing is copied block by block: the snapshot keeps a reference to each
+ * section's storage and palette, which is cheap however large the box. A
+ * section's storage can still change under the worker, but any such change
+ * is a block change which BlockChangeCounter hears, and the worker's result
+ * is then thrown away (see ThreadFindSeal.isStale()). When a section gains a
+ * new kind of block its storage and palette are replaced, so the pair held
+ * here stays consistent with itself.
+ *
+ * Anything which needs the live World (IPartialSealableBlock.isSealed() in
+ * particular) is evaluated while taking the snapshot and stored as a 6-bit
+ * mask.
+ *
+ * Reads outside the box throw SnapshotMissException - the check must then be
+ * re-run on the server thread.
+ */
+public class SealerSnapshot implements IBlockAccess
+{
+
+    public static final SnapshotMissException MISS = new SnapshotMissException();
+
+    private static final BitArray EMPTY_SECTION = new BitArray(1, 4096);
+    // Palettes with more bits than this are the global registry palette
+    private static final int MAX_LOCAL_PALETTE_BITS = 8;
+
+    private final int minChunkX;
+    private final int minChunkZ;
+    private final int minSection;
+    private final int sizeX;
+    private final int sizeZ;
+    private final int sizeY;
+    private final WorldType worldType;
+    // Indexed by chunk, then section: null if the chunk is not loaded,
+    // EMPTY_SECTION if the section is empty
+    private final BitArray[] storages;
+    private final IBlockStatePalette[] palettes;
+    private final HashMap<Long, Integer> partialSealedSides = new HashMap<>();
+
+    /**
+     * @param radius in chunks, horizontally around the centre
+     * @param radiusY in chunk sections, vertically around the centre
+     */
+    public SealerSnapshot(World world, BlockPos centre, int radius, int radiusY)
+    {
+        int cx = centre.getX() >> 4;
+        int cz = centre.getZ() >> 4;
+        int cy = centre.getY() >> 4;
+        this.minChunkX = cx - radius;
+        this.minChunkZ = cz - radius;
+        this.minSection = Math.max(0, cy - radiusY);
+        this.sizeX = radius * 2 + 1;
+        this.sizeZ = radius * 2 + 1;
+        this.sizeY = Math.min(15, cy + radiusY) - this.minSection + 1;
+        this.worldType = world.getWorldType();
+        this.storages = new BitArray[this.sizeX * this.sizeZ * this.sizeY];
+        this.palettes = new IBlockStatePalette[this.storages.length];
+
+        for (int i = 0; i < this.sizeX; i++)
+        {
+            for (int k = 0; k < this.sizeZ; k++)
+            {
+                Chunk chunk = world.getChunkProvider().getLoadedChunk(this.minChunkX + i, this.minChunkZ + k);
+                if (chunk == null)
+                {
+                    continue;
+                }
+
+                ExtendedBlockStorage[] storage = chunk.getBlockStorageArray();
+                for (int j = 0; j < this.sizeY; j++)
+                {
+                    int sectionY = this.minSection + j;
+                    ExtendedBlockStorage ebs = storage[sectionY];
+                    int index = (i * this.sizeZ + k) * this.sizeY + j;
+                    if (ebs == Chunk.NULL_BLOCK_STORAGE || ebs.isEmpty())
+                    {
+                        this.storages[index] = EMPTY_SECTION;
+                        continue;
+                    }
+
+                    BlockStateContainer data = ebs.getData();
+                    BitArray bits = data.storage;
+                    IBlockStatePalette palette = data.palette;
+                    this.storages[index] = bits;
+                    this.palettes[index] = palette;
+                    this.findPartialSealed(world, bits, palette, chunk.x << 4, sectionY << 4, chunk.z << 4);
+                }
+            }
+        }
+    }
+
+    /**
+     * Records the sealed sides of each IPartialSealableBlock in a section.
+     * Only sections whose palette has such a block in it are searched.
+     */
+    private void findPartialSealed(World world, BitArray bits, IBlockStatePalette palette, int baseX, int baseY, int baseZ)
+    {
+        boolean[] partialIds = null;
+        int paletteBits = bits.getBackingLongArray().length * 64 / 4096;
+        if (paletteBits <= MAX_LOCAL_PALETTE_BITS)
+        {
+            for (int id = 0; id < 1 << paletteBits; id++)
+            {
+                IBlockState state = palette.getBlockState(id);
+                if (state != null && state.getBlock() instanceof IPartialSealableBlock)
+                {
+                    if (partialIds == null)
+                    {
+                        partialIds = new boolean[1 << paletteBits];
+                    }
+                    partialIds[id] = true;
+                }
+            }
+            if (partialIds == null)
+            {
+                return;
+            }
+        }
+
+        for (int n = 0; n < 4096; n++)
+        {
+            int id = bits.getAt(n);
+            if (partialIds != null && !partialIds[id])
+            {
+                continue;
+            }
+            IBlockState state = palette.getBlockState(id);
+            if (state != null && state.getBlock() instanceof IPartialSealableBlock)
+            {
+                BlockPos pos = new BlockPos(baseX + (n & 15), baseY + (n >> 8), baseZ + ((n >> 4) & 15));
+                this.partialSealedSides.put(pos.toLong(), SealerSnapshot.sealedSides((IPartialSealableBlock) state.getBlock(), world, pos));
+            }
+        }
+    }
+
+    private static int sealedSides(IPartialSealableBlock block, World world, BlockPos pos)
+    {
+        int bits = 0;
+        for (EnumFacing face : EnumFacing.VALUES)
+        {
+            if (block.isSealed(world, pos, face))
+            {
+                bits |= 1 << face.getIndex();
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * Same contract as BlockVec3.getBlockStateSafe_noChunkLoad(): null above
+     * or below the world, bedrock in an unloaded chunk.
+     *
+     * @throws SnapshotMissException if the position is outside the snapshot
+     */
+    @Nullable
+    public IBlockState getBlockStateSafe(int x, int y, int z)
+    {
+        if (y < 0 || y >= 256)
+        {
+            return null;
+        }
+
+        int i = (x >> 4) - this.minChunkX;
+        int k = (z >> 4) - this.minChunkZ;
+        int j = (y >> 4) - this.minSection;
+        if (i < 0 || i >= this.sizeX || k < 0 || k >= this.sizeZ || j < 0 || j >= this.sizeY)
+        {
+            throw MISS;
+        }
+
+        int index = (i * this.sizeZ + k) * this.sizeY + j;
+        BitArray bits = this.storages[index];
+        if (bits == null)
+        {
+            // Chunk not loaded: treat as a solid edge, like the live world
+            // check does
+            return Blocks.BEDROCK.getDefaultState();
+        }
+        if (bits == EMPTY_SECTION)
+        {
+            return Blocks.AIR.getDefaultState();
+        }
+        IBlockState state = this.palettes[index].getBlockState(bits.getAt(((y & 15) << 8) | ((z & 15) << 4) | (x & 15)));
+        // Only while the block is being changed - the result will be thrown
+        // away, so just treat it as solid
+        return state == null ? Blocks.BEDROCK.getDefaultState() : state;
+    }
+
+    /**
+     * The snapshot equivalent of IPartialSealableBlock.isSealed()
+     */
+    public boolean isPartialSealed(BlockPos pos, EnumFacing side)
+    {
+        Integer bits = this.partialSealedSides.get(pos.toLong());
+        return bits != null && (bits & (1 << side.getIndex())) != 0;
+    }
+
+    @Override
+    public IBlockState getBlockState(BlockPos pos)
+    {
+        IBlockState state = this.getBlockStateSafe(pos.getX(), pos.getY(), pos.getZ());
+        return state == null ? Blocks.AIR.getDefaultState() : state;
+    }
+
+    @Override
+    @Nullable
+    public TileEntity getTileEntity(BlockPos pos)
+    {
+        // Tile entities are live objects and cannot be read off-thread
+        return null;
+    }
+
+    @Override
+    public int getCombinedLight(BlockPos pos, int lightValue)
+    {
+        return 0;
+    }
+
+    @Override
+    public boolean isAirBlock(BlockPos pos)
+    {
+        IBlockState state = this.getBlockState(pos);
+        return state.getBlock().isAir(state, this, pos);
+    }
+
+    @Override
+    public Biome getBiome(BlockPos pos)
+    {
+        return Biomes.PLAINS;
+    }
+
+    @Override
+    public int getStrongPower(BlockPos pos, EnumFacing direction)
+    {
+        return 0;
+    }
+
+    @Override
+    public WorldType getWorldType()
+    {
+        return this.worldType;
+    }
+
+    @Override
+    public boolean isSideSolid(BlockPos pos, EnumFacing side, boolean _default)
+    {
+        if (pos.getY() < 0 || pos.getY() >= 256)
+        {
+            return _default;
+        }
+        IBlockState state = this.getBlockState(pos);
+        return state.getBlock().isSideSolid(state, this, pos, side);
+    }
+
+    /**
+     * Thrown (as a shared instance, without a stack trace) when the flood
+     * fill reaches the edge of the snapshot
+     */
+    public static class SnapshotMissException extends RuntimeException
+    {
+
+        private SnapshotMissException()
+        {
+            super("Oxygen Sealer check left the snapshot area", null, false, false);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2023 Team Galacticraft
+ *
+ * Licensed under the MIT license.
+ * See LICENSE file in the project root for details.
+ */
+
+package micdoodle8.mods.galacticraft.core.fluid;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import micdoodle8.mods.galacticraft.core.GalacticraftCore;
+import micdoodle8.mods.galacticraft.core.util.ConfigManagerCore;
+
+/**
+ * A small, bounded pool of threads which run Oxygen Sealer flood fills
+ * against a SealerSnapshot of the world.
+ *
+ * The snapshot is taken in the server thread when a check is submitted; the
+ * finished check is handed back to the server thread and applied by
+ * onServerTick(), so sealer tiles and the scheduled block changes are only
+ * ever touched from the server thread. A result is only applied if no block
+ * in the snapshot's area changed while the worker ran (see
+ * BlockChangeCounter); otherwise the check is run again.
+ *
+ * Edge checks (from OxygenPressureProtocol.onEdgeBlockUpdated) are not sent
+ * here - they run in the server thread, see SealedVolumeIndex.
+ */
+public class SealerWorkerPool
+{
+
+    public static final int MAX_SNAPSHOT_RADIUS = 4;
+    private static final int MAX_QUEUED = 64;
+
+    private static ThreadPoolExecutor executor;
+    private static final ConcurrentLinkedQueue<ThreadFindSeal> completed = new ConcurrentLinkedQueue<>();
+    private static final ConcurrentLinkedQueue<ThreadFindSeal> missed = new ConcurrentLinkedQueue<>();
+
+    public static boolean isEnabled()
+    {
+        return ConfigManagerCore.sealerWorkerThreads > 0;
+    }
+
+    /**
+     * Takes a snapshot for the check and queues it on a worker.
+     *
+     * @return false if the check was not queued (pool disabled or full) - the
+     *         caller should then run it in the server thread
+     */
+    static boolean submit(ThreadFindSeal check)
+    {
+        ThreadPoolExecutor pool = SealerWorkerPool.getExecutor();
+        if (pool == null || pool.getQueue().remainingCapacity() == 0)
+        {
+            return false;
+        }
+
+        check.takeSnapshot();
+        try
+        {
+            pool.execute(() -> SealerWorkerPool.run(check));
+            return true;
+        } catch (RejectedExecutionException e)
+        {
+            return false;
+        }
+    }
+
+    private static void run(ThreadFindSeal check)
+    {
+        try
+        {
+            check.start();
+            completed.add(check);
+        } catch (SealerSnapshot.SnapshotMissException e)
+        {
+            missed.add(check);
+        } catch (Exception e)
+        {
+            GalacticraftCore.logger.error("Oxygen Sealer worker: unexpected error, check will be re-run in the server thread", e);
+            missed.add(check);
+        }
+    }
+
+    /**
+     * Applies the results of finished checks - call from the server thread
+     */
+    public static void onServerTick()
+    {
+        ThreadFindSeal check;
+        while ((check = completed.poll()) != null)
+        {
+            // Blocks may have changed while the worker ran
+            if (check.isStale())
+            {
+                check.rerun();
+            } else
+            {
+                check.finish();
+            }
+        }
+        while ((check = missed.poll()) != null)
+        {
+            check.retry();
+        }
+    }
+
+    private static synchronized ThreadPoolExecutor getExecutor()
+    {
+        int threads = Math.min(ConfigManagerCore.sealerWorkerThreads, 8);
+        if (threads <= 0)
+        {
+            return null;
+        }
+        if (executor == null || executor.isShutdown())
+        {
+            AtomicInteger count = new AtomicInteger();
+            executor = new ThreadPoolExecutor(threads, threads, 30L, TimeUnit.SECONDS, new ArrayBlockingQueue<>(MAX_QUEUED), r ->
+            {
+                Thread thread = new Thread(r, "GC Sealer Roomfinder Thread #" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.allowCoreThreadTimeOut(true);
+        }
+        return executor;
+    }
+
+    /**
+     * Drops any checks still running or waiting - used on server stop
+     */
+    public static synchronized void restart()
+    {
+        if (executor != null)
+        {
+            executor.shutdownNow();
+            executor = null;
+        }
+        completed.clear();
+        missed.clear();
+    }
+}
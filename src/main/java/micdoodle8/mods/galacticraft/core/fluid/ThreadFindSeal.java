@@ -8,12 +8,17 @@
 package micdoodle8.mods.galacticraft.core.fluid;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import javax.annotation.Nullable;
+
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockEnchantmentTable;
 import net.minecraft.block.BlockFarmland;
@@ -31,6 +36,7 @@ import net.minecraft.init.Blocks;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.IBlockAccess;
 import net.minecraft.world.World;
 
 import micdoodle8.mods.galacticraft.api.block.IPartialSealableBlock;
@@ -41,7 +47,10 @@ import micdoodle8.mods.galacticraft.core.blocks.BlockUnlitTorch;
 import micdoodle8.mods.galacticraft.core.tick.TickHandlerServer;
 import micdoodle8.mods.galacticraft.core.tile.TileEntityOxygenSealer;
 import micdoodle8.mods.galacticraft.core.util.ConfigManagerCore;
+import micdoodle8.mods.galacticraft.core.util.FloodFill;
 import micdoodle8.mods.galacticraft.core.util.GCCoreUtil;
+import micdoodle8.mods.galacticraft.core.util.LongHashSet;
+import micdoodle8.mods.galacticraft.core.util.LongList;
 import micdoodle8.mods.galacticraft.core.wrappers.ScheduledBlockChange;
 
 public class ThreadFindSeal
@@ -55,153 +64,284 @@ public class ThreadFindSeal
     private BlockVec3 head;
     private boolean sealed;
     private List<TileEntityOxygenSealer> sealers;
-    private static intBucket[] buckets;
-    private static int checkedSize;
+    private int checkedSize;
     private int checkCount;
     private HashMap<BlockVec3, TileEntityOxygenSealer> sealersAround;
-    private List<BlockVec3> currentLayer;
-    private List<BlockVec3> airToReplace;
-    private List<BlockVec3> fireToReplace;
-    private List<BlockVec3> breatheableToReplace;
-    private List<BlockVec3> airToReplaceBright;
-    private List<BlockVec3> breatheableToReplaceBright;
-    private List<BlockVec3> ambientThermalTracked;
-    private List<BlockVec3> ambientThermalTrackedBright;
+    // The frontier holds packed positions (see FloodFill) tagged with their
+    // sideDoneBits; its visited set is the checked set, and also records the
+    // side each block was entered from, for traceLeak()
+    private static final ThreadLocal<FloodFill> threadFill = ThreadLocal.withInitial(FloodFill::new);
+    private FloodFill frontier;
+    private final BlockVec3 vec = new BlockVec3();
+    private final BlockVec3 sideVec = new BlockVec3();
+    private LongList airToReplace;
+    private LongList fireToReplace;
+    private LongList breatheableToReplace;
+    private LongList airToReplaceBright;
+    private LongList breatheableToReplaceBright;
+    private LongList ambientThermalTracked;
+    private LongList ambientThermalTrackedBright;
     private List<TileEntityOxygenSealer> otherSealers;
     private List<BlockVec3> torchesToUpdate;
     private boolean foundAmbientThermal;
     public List<BlockVec3> leakTrace;
 
-    static
-    {
-        buckets = new intBucket[256];
-        checkedInit();
-    }
+    // Set only while this check runs on a SealerWorkerPool thread: all block
+    // reads then go through the snapshot, and the results are applied to the
+    // world later by finish(), on the server thread
+    private SealerSnapshot snapshot;
+    private final int initialCheckCount;
+    private final List<TileEntityOxygenSealer> initialSealers;
+    private boolean headThermal;
+    private HashMap<TileEntityOxygenSealer, Integer> sealerChecks;
+    private Set<TileEntityOxygenSealer> sealersThermal;
+    private TileEntityOxygenSealer replacedHeadSealer;
+    private List<ScheduledBlockChange> changesOut = new ArrayList<>();
+    private List<BlockVec3> torchesOut = new ArrayList<>();
+    private long timeStarted;
+    private long timeLooped;
+    private int snapshotRadius;
+    private final BlockVec3 initialHead;
+    // Where and when (by BlockChangeCounter) the snapshot was taken
+    private int snapshotChunkX;
+    private int snapshotChunkZ;
+    private long snapshotCount;
+    private int staleRuns;
+    private static final int MAX_STALE_RUNS = 3;
 
     public ThreadFindSeal(TileEntityOxygenSealer sealer)
     {
-        this(sealer.getWorld(), sealer.getPos().up(), sealer.getFindSealChecks(), new ArrayList<TileEntityOxygenSealer>(Collections.singletonList(sealer)));
+        this(sealer.getWorld(), sealer.getPos().up(), sealer.getFindSealChecks(), new ArrayList<TileEntityOxygenSealer>(Collections.singletonList(sealer)), SealerWorkerPool.isEnabled());
     }
 
     public ThreadFindSeal(World world, BlockPos head, int checkCount, List<TileEntityOxygenSealer> sealers)
     {
-        if (ThreadFindSeal.anylooping.getAndSet(true))
-        {
-            return;
-        }
+        this(world, head, checkCount, sealers, false);
+    }
+
+    ThreadFindSeal(World world, BlockPos head, int checkCount, List<TileEntityOxygenSealer> sealers, boolean async)
+    {
         this.world = world;
         this.head = new BlockVec3(head);
+        this.initialHead = this.head.clone();
         this.checkCount = checkCount;
+        this.initialCheckCount = checkCount;
         this.sealers = sealers;
-        this.foundAmbientThermal = false;
-        checkedClear();
-        checkedSize = 0;
+        this.initialSealers = new ArrayList<>(sealers);
         this.torchesToUpdate = new LinkedList<BlockVec3>();
 
-        this.sealersAround = TileEntityOxygenSealer.getSealersAround(world, head, 1024 * 1024);
-
-        // If called by a sealer test the head block and if partiallySealable
-        // mark its sides done as required
-        if (!sealers.isEmpty())
+        // The search near the world border reads blocks through the live world
+        // only, so is never sent to a worker
+        if (async && this.head.x >= -29990000 && this.head.z >= -29990000 && this.head.x < 29990000 && this.head.z < 29990000)
         {
-            if (checkCount > 0)
+            this.snapshotRadius = SealedVolumeIndex.getSnapshotRadius(sealers.isEmpty() ? null : sealers.get(0));
+
+            this.looping.set(true);
+            for (TileEntityOxygenSealer eachSealer : sealers)
             {
-                IBlockState headState = this.world.getBlockState(head);
-                if (!(headState.getBlock().isAir(headState, world, head)))
-                {
-                    this.canBlockPassAirCheck(headState.getBlock(), this.head, 1);
-                    // reset the checkCount as canBlockPassAirCheck might have
-                    // changed it
-                    this.checkCount = checkCount;
-                }
+                eachSealer.threadSeal = this;
             }
 
+            if (SealerWorkerPool.submit(this))
+            {
+                return;
+            }
+
+            // The pool is full or shut down: carry on in the server thread
+            this.snapshot = null;
+            this.sealerChecks = null;
+            this.sealersThermal = null;
+        }
+
+        if (this.sealersAround == null)
+        {
+            this.readSealersAround();
+        }
+        if (ThreadFindSeal.anylooping.getAndSet(true))
+        {
+            this.looping.set(false);
+            return;
+        }
+        if (!sealers.isEmpty())
+        {
             this.looping.set(true);
             for (TileEntityOxygenSealer eachSealer : sealers)
             {
                 eachSealer.threadSeal = this;
             }
+        }
+        // Edge checks (no sealers) always run in the server thread
+        this.start();
+        this.finish();
+        ThreadFindSeal.anylooping.set(false);
+    }
 
-//            if (ConfigManagerCore.enableSealerMultithreading)
-//            {
-//                new ThreadedFindSeal();
-//            }
-//            else
-//            {
-            this.check();
-//            }
-        } else
-        // If not called by a sealer, it's a breathable air edge check
+    /**
+     * Takes the snapshot for an async check - called by SealerWorkerPool in
+     * the server thread, immediately before queueing this
+     */
+    void takeSnapshot()
+    {
+        int radiusY = Math.min(this.snapshotRadius, 3);
+        this.snapshotChunkX = this.initialHead.x >> 4;
+        this.snapshotChunkZ = this.initialHead.z >> 4;
+        this.snapshotCount = BlockChangeCounter.getCount(this.world);
+        this.snapshot = new SealerSnapshot(this.world, this.initialHead.toBlockPos(), this.snapshotRadius, radiusY);
+
+        // Everything the flood fill needs from the sealer tiles is read now,
+        // while on the server thread - again for each new snapshot, as sealers
+        // may have been placed, broken or switched since the last one
+        this.readSealersAround();
+        this.sealerChecks = new HashMap<>();
+        this.sealersThermal = new HashSet<>();
+        for (TileEntityOxygenSealer sealer : this.sealersAround.values())
         {
-            // Run this in the main thread
-            this.check();
+            this.sealerChecks.put(sealer, sealer.getFindSealChecks());
+            if (sealer.thermalControlEnabled())
+            {
+                this.sealersThermal.add(sealer);
+            }
         }
-        ThreadFindSeal.anylooping.set(false);
     }
 
-    // Multi-threaded version of the code for sealer updates (not for edge
-    // checks).
-    public class ThreadedFindSeal extends Thread
+    private void readSealersAround()
+    {
+        this.sealersAround = TileEntityOxygenSealer.getSealersAround(this.world, this.initialHead.toBlockPos(), 1024 * 1024);
+        TileEntity tile = this.initialHead.getTileEntityOnSide(this.world, EnumFacing.DOWN);
+        this.headThermal = tile instanceof TileEntityOxygenSealer && ((TileEntityOxygenSealer) tile).thermalControlEnabled();
+    }
+
+    /**
+     * @return true if blocks in the snapshot's area may have changed since it
+     *         was taken, so that the worker's result may be out of date - call
+     *         from the server thread, before finish()
+     */
+    boolean isStale()
+    {
+        int r = this.snapshotRadius;
+        return BlockChangeCounter.changedSince(this.world, this.snapshotChunkX - r, this.snapshotChunkZ - r, this.snapshotChunkX + r, this.snapshotChunkZ + r, this.snapshotCount);
+    }
+
+    /**
+     * Runs the flood fill, either in the server thread or on a worker
+     *
+     * @throws SealerSnapshot.SnapshotMissException if this is an async check
+     *         and the sealed space turns out to be larger than the snapshot
+     */
+    void start()
     {
+        this.frontier = ThreadFindSeal.threadFill.get();
+        checkedClear();
+        this.head = this.initialHead.clone();
+        this.sealers = new ArrayList<>(this.initialSealers);
+        this.checkCount = this.initialCheckCount;
+        this.torchesToUpdate = new LinkedList<BlockVec3>();
+        this.changesOut = new ArrayList<>();
+        this.torchesOut = new ArrayList<>();
+        this.replacedHeadSealer = null;
+        this.otherSealers = null;
+        this.head.sideDoneBits = 0;
 
-        public ThreadedFindSeal()
+        // If called by a sealer test the head block and if partiallySealable
+        // mark its sides done as required
+        if (!this.sealers.isEmpty() && this.checkCount > 0)
         {
-            super("GC Sealer Roomfinder Thread");
+            IBlockState headState = this.getBlockState(this.head);
+            if (!(headState.getBlock().isAir(headState, this.blockAccess(), this.head.toBlockPos())))
+            {
+                this.canBlockPassAirCheck(headState.getBlock(), this.head, 1);
+                // reset the checkCount as canBlockPassAirCheck might have
+                // changed it
+                this.checkCount = this.initialCheckCount;
+            }
+        }
 
-            if (this.isAlive())
+        this.check();
+    }
+
+    /**
+     * Called when a worker could not complete this check inside its snapshot:
+     * try again with a larger snapshot, or in the server thread
+     */
+    void retry()
+    {
+        this.snapshot = null;
+        if (this.snapshotRadius < SealerWorkerPool.MAX_SNAPSHOT_RADIUS)
+        {
+            this.snapshotRadius++;
+            if (SealerWorkerPool.submit(this))
             {
-                this.interrupt();
+                return;
             }
+        }
+        this.runInServerThread();
+    }
 
-            // Run this as a separate thread
-            this.start();
+    /**
+     * Called instead of finish() when isStale(): the check is run again
+     * against a new snapshot - or, if blocks keep changing around it, in the
+     * server thread
+     */
+    void rerun()
+    {
+        this.snapshot = null;
+        if (++this.staleRuns < ThreadFindSeal.MAX_STALE_RUNS && SealerWorkerPool.submit(this))
+        {
+            return;
         }
+        this.runInServerThread();
+    }
 
-        @Override
-        public void run()
+    private void runInServerThread()
+    {
+        this.sealerChecks = null;
+        this.sealersThermal = null;
+        if (ThreadFindSeal.anylooping.getAndSet(true))
         {
-            ThreadFindSeal.this.check();
-            ThreadFindSeal.anylooping.set(false);
+            // Let the sealer try again later
+            this.looping.set(false);
+            return;
         }
+        this.start();
+        this.finish();
+        ThreadFindSeal.anylooping.set(false);
     }
 
-    public void check()
+    private void check()
     {
-        long time1 = System.nanoTime();
+        this.timeStarted = System.nanoTime();
 
         this.sealed = true;
-        TileEntity tile = this.head.getTileEntityOnSide(world, EnumFacing.DOWN);
-        this.foundAmbientThermal = tile instanceof TileEntityOxygenSealer && ((TileEntityOxygenSealer) tile).thermalControlEnabled();
+        this.foundAmbientThermal = this.headThermal;
         this.checkedAdd(this.head);
-        this.currentLayer = new LinkedList<BlockVec3>();
-        this.airToReplace = new LinkedList<BlockVec3>();
-        this.airToReplaceBright = new LinkedList<BlockVec3>();
-        this.ambientThermalTracked = new LinkedList<BlockVec3>();
-        this.ambientThermalTrackedBright = new LinkedList<BlockVec3>();
+        this.airToReplace = new LongList();
+        this.airToReplaceBright = new LongList();
+        this.ambientThermalTracked = new LongList();
+        this.ambientThermalTrackedBright = new LongList();
 
         if (this.checkCount > 0)
         {
-            this.currentLayer.add(this.head);
+            this.frontier.push(ThreadFindSeal.pack(this.head), this.head.sideDoneBits);
             if (this.head.x < -29990000 || this.head.z < -29990000 || this.head.x >= 29990000 || this.head.z >= 29990000)
             {
                 IBlockState state = this.head.getBlockState_noChunkLoad(this.world);
                 if (Blocks.AIR == state.getBlock())
                 {
-                    this.airToReplace.add(this.head.clone());
+                    this.airToReplace.add(ThreadFindSeal.pack(this.head));
                 } else if (state.getBlock() == GCBlocks.brightAir)
                 {
-                    this.airToReplaceBright.add(this.head.clone());
+                    this.airToReplaceBright.add(ThreadFindSeal.pack(this.head));
                 }
                 this.doLayerNearMapEdge();
             } else
             {
-                IBlockState headState = this.head.getBlockStateSafe_noChunkLoad(this.world);
+                IBlockState headState = this.getBlockStateSafe(this.head);
                 if (Blocks.AIR == headState.getBlock())
                 {
-                    this.airToReplace.add(this.head.clone());
+                    this.airToReplace.add(ThreadFindSeal.pack(this.head));
                 } else if (headState.getBlock() == GCBlocks.brightAir)
                 {
-                    this.airToReplaceBright.add(this.head.clone());
+                    this.airToReplaceBright.add(ThreadFindSeal.pack(this.head));
                 }
                 this.doLayer();
             }
@@ -210,7 +350,7 @@ public class ThreadFindSeal
             this.sealed = false;
         }
 
-        long time2 = System.nanoTime();
+        this.timeLooped = System.nanoTime();
 
         // Can only be properly sealed if there is at least one sealer here (on
         // edge check)
@@ -227,14 +367,13 @@ public class ThreadFindSeal
         {
             int checkedSave = checkedSize;
             checkedClear();
-            this.breatheableToReplace = new LinkedList<BlockVec3>();
-            this.breatheableToReplaceBright = new LinkedList<BlockVec3>();
-            this.fireToReplace = new LinkedList<BlockVec3>();
+            this.breatheableToReplace = new LongList();
+            this.breatheableToReplaceBright = new LongList();
+            this.fireToReplace = new LongList();
             this.otherSealers = new LinkedList<TileEntityOxygenSealer>();
             // unseal() will mark breatheableAir blocks for change as it
             // finds them, also searches for unchecked sealers
-            this.currentLayer.clear();
-            this.currentLayer.add(this.head);
+            this.frontier.push(ThreadFindSeal.pack(this.head), this.head.sideDoneBits);
             this.torchesToUpdate.clear();
             if (this.head.x < -29990000 || this.head.z < -29990000 || this.head.x >= 29990000 || this.head.z >= 29990000)
             {
@@ -257,24 +396,23 @@ public class ThreadFindSeal
                     // If it hasn't already been counted, need to check the
                     // other sealer immediately in case it can keep the space
                     // sealed
-                    if (!sealersDone.contains(otherSealer) && otherSealer.getFindSealChecks() > 0)
+                    if (!sealersDone.contains(otherSealer) && this.getFindSealChecks(otherSealer) > 0)
                     {
                         BlockVec3 newhead = new BlockVec3(otherSealer).translate(0, 1, 0);
                         this.sealed = true;
-                        this.checkCount = otherSealer.getFindSealChecks();
+                        this.checkCount = this.getFindSealChecks(otherSealer);
                         this.sealers = new LinkedList<TileEntityOxygenSealer>();
                         this.sealers.add(otherSealer);
-                        if (otherSealer.thermalControlEnabled())
+                        if (this.thermalControlEnabled(otherSealer))
                         {
                             foundAmbientThermal = true;
                         }
                         checkedClear();
                         this.checkedAdd(newhead);
-                        this.currentLayer.clear();
                         this.airToReplace.clear();
                         this.airToReplaceBright.clear();
                         this.torchesToUpdate = new LinkedList<BlockVec3>();
-                        this.currentLayer.add(newhead.clone());
+                        this.frontier.push(ThreadFindSeal.pack(newhead), 0);
                         if (newhead.x < -29990000 || newhead.z < -29990000 || newhead.x >= 29990000 || newhead.z >= 29990000)
                         {
                             this.doLayerNearMapEdge();
@@ -297,15 +435,14 @@ public class ThreadFindSeal
                                 if (!this.sealers.contains(oldHead))
                                 {
                                     this.sealers.add(oldHead);
-                                    if (oldHead.thermalControlEnabled())
+                                    if (this.thermalControlEnabled(oldHead))
                                     {
                                         foundAmbientThermal = true;
                                     }
                                 }
                             }
                             this.head = newhead.clone();
-                            otherSealer.threadSeal = this;
-                            otherSealer.stopSealThreadCooldown = 75 + TileEntityOxygenSealer.countEntities;
+                            this.replacedHeadSealer = otherSealer;
                             checkedSave += checkedSize;
                             break;
                         } else
@@ -334,14 +471,14 @@ public class ThreadFindSeal
 
             if (!this.sealed)
             {
-                Block block = this.head.getBlockState(this.world).getBlock();
+                Block block = this.getBlockState(this.head).getBlock();
                 if (block == GCBlocks.breatheableAir)
                 {
-                    this.breatheableToReplace.add(this.head);
+                    this.breatheableToReplace.add(ThreadFindSeal.pack(this.head));
                 }
                 if (block == GCBlocks.brightBreatheableAir)
                 {
-                    this.breatheableToReplaceBright.add(this.head);
+                    this.breatheableToReplaceBright.add(ThreadFindSeal.pack(this.head));
                 }
                 this.makeSealBad();
             } else
@@ -349,6 +486,29 @@ public class ThreadFindSeal
                 this.leakTrace = null;
             }
         }
+    }
+
+    /**
+     * Applies the result of the check to the sealer tiles and queues the block
+     * changes - always in the server thread
+     */
+    void finish()
+    {
+        this.snapshot = null;
+        if (this.replacedHeadSealer != null)
+        {
+            this.replacedHeadSealer.threadSeal = this;
+            this.replacedHeadSealer.stopSealThreadCooldown = 75 + TileEntityOxygenSealer.countEntities;
+        }
+
+        if (!this.changesOut.isEmpty())
+        {
+            TickHandlerServer.scheduleNewBlockChange(GCCoreUtil.getDimensionID(this.world), this.changesOut);
+        }
+        if (!this.torchesOut.isEmpty())
+        {
+            TickHandlerServer.scheduleNewTorchUpdate(GCCoreUtil.getDimensionID(this.world), this.torchesOut);
+        }
 
         // Set any sealers found which are not the head sealer, not to run their
         // own seal checks for a while
@@ -356,9 +516,6 @@ public class ThreadFindSeal
         // enabling just that one and disabling all the others)
         TileEntityOxygenSealer headSealer = this.sealersAround.get(this.head.clone().translate(0, -1, 0));
 
-        // TODO: if multi-threaded, this final code block giving access to the
-        // sealer tiles needs to be threadsafe
-
         // If it is sealed, cooldown can be extended as frequent checks are not
         // needed
         if (headSealer != null)
@@ -380,87 +537,155 @@ public class ThreadFindSeal
             }
         }
 
+        if (this.sealed && !this.sealers.isEmpty())
+        {
+            SealedVolumeIndex.put(this.world, headSealer != null ? headSealer : this.sealers.get(0), this.getVolume(), this.checkCount, this.foundAmbientThermal);
+        } else
+        {
+            SealedVolumeIndex.removeAll(this.world, this.initialSealers);
+            SealedVolumeIndex.removeAll(this.world, this.sealers);
+            if (this.otherSealers != null)
+            {
+                SealedVolumeIndex.removeAll(this.world, this.otherSealers);
+            }
+        }
+
         this.sealedFinal.set(this.sealed);
         this.looping.set(false);
 
         if (ConfigManagerCore.enableDebug)
         {
             long time3 = System.nanoTime();
-            float total = (time3 - time1) / 1000000.0F;
-            float looping = (time2 - time1) / 1000000.0F;
-            float replacing = (time3 - time2) / 1000000.0F;
+            float total = (time3 - this.timeStarted) / 1000000.0F;
+            float looping = (this.timeLooped - this.timeStarted) / 1000000.0F;
+            float replacing = (time3 - this.timeLooped) / 1000000.0F;
             GalacticraftCore.logger.info("Oxygen Sealer Check Completed at x" + this.head.x + " y" + this.head.y + " z" + this.head.z);
             GalacticraftCore.logger.info("   Sealed: " + this.sealed + "  ~  " + this.sealers.size() + " sealers  ~  " + (checkedSize - 1) + " blocks");
             GalacticraftCore.logger.info("   Total Time taken: " + String.format("%.2f", total) + "ms  ~  " + String.format("%.2f", looping) + " + " + String.format("%.2f", replacing) + "");
         }
     }
 
+    /**
+     * @return packed positions (BlockPos.toLong()) of the air blocks inside
+     *         the sealed space - only meaningful after a sealed result
+     */
+    private LongHashSet getVolume()
+    {
+        LongHashSet volume = new LongHashSet(this.airToReplace.size() + this.airToReplaceBright.size() + this.ambientThermalTracked.size() + this.ambientThermalTrackedBright.size() + 1);
+        volume.add(ThreadFindSeal.pack(this.head));
+        for (LongList list : Arrays.asList(this.airToReplace, this.airToReplaceBright, this.ambientThermalTracked, this.ambientThermalTrackedBright))
+        {
+            for (int i = 0; i < list.size(); i++)
+            {
+                volume.add(list.get(i));
+            }
+        }
+        return volume;
+    }
+
+    private IBlockAccess blockAccess()
+    {
+        return this.snapshot != null ? this.snapshot : this.world;
+    }
+
+    @Nullable
+    private IBlockState getBlockStateSafe(BlockVec3 vec)
+    {
+        return this.snapshot != null ? this.snapshot.getBlockStateSafe(vec.x, vec.y, vec.z) : vec.getBlockStateSafe_noChunkLoad(this.world);
+    }
+
+    private IBlockState getBlockState(BlockVec3 vec)
+    {
+        return this.snapshot != null ? this.snapshot.getBlockState(vec.toBlockPos()) : this.world.getBlockState(vec.toBlockPos());
+    }
+
+    private int getBlockMetadata(BlockVec3 vec)
+    {
+        IBlockState state = this.getBlockState(vec);
+        return state.getBlock().getMetaFromState(state);
+    }
+
+    private boolean isPartialSealed(IPartialSealableBlock block, BlockPos pos, EnumFacing side)
+    {
+        return this.snapshot != null ? this.snapshot.isPartialSealed(pos, side) : block.isSealed(this.world, pos, side);
+    }
+
+    private int getFindSealChecks(TileEntityOxygenSealer sealer)
+    {
+        if (this.sealerChecks != null)
+        {
+            Integer checks = this.sealerChecks.get(sealer);
+            return checks == null ? 0 : checks;
+        }
+        return sealer.getFindSealChecks();
+    }
+
+    private boolean thermalControlEnabled(TileEntityOxygenSealer sealer)
+    {
+        return this.sealersThermal != null ? this.sealersThermal.contains(sealer) : sealer.thermalControlEnabled();
+    }
+
     private void makeSealGood(boolean ambientThermal)
     {
-        if (!this.airToReplace.isEmpty() || !this.airToReplaceBright.isEmpty() || !ambientThermalTracked.isEmpty() || !ambientThermalTracked.isEmpty())
+        if (!this.airToReplace.isEmpty() || !this.airToReplaceBright.isEmpty() || !this.ambientThermalTracked.isEmpty() || !this.ambientThermalTrackedBright.isEmpty())
         {
-            List<ScheduledBlockChange> changeList = new LinkedList<ScheduledBlockChange>();
-            Block breatheableAirID = GCBlocks.breatheableAir;
-            Block breatheableAirIDBright = GCBlocks.brightBreatheableAir;
+            List<ScheduledBlockChange> changeList = this.changesOut;
             int metadata = ambientThermal ? 1 : 0;
+            IBlockState breatheableAir = GCBlocks.breatheableAir.getStateFromMeta(metadata);
+            IBlockState breatheableAirBright = GCBlocks.brightBreatheableAir.getStateFromMeta(metadata);
             // TODO: Can we somehow detect only changes in state of
             // ambientThermal since last check? tricky...
-            for (BlockVec3 checkedVec : this.airToReplace)
+            for (int i = 0; i < this.airToReplace.size(); i++)
             {
                 // No block update for performance reasons; deal with unlit
                 // torches separately
-                changeList.add(new ScheduledBlockChange(checkedVec.toBlockPos(), breatheableAirID.getStateFromMeta(metadata), 0));
+                changeList.add(new ScheduledBlockChange(BlockPos.fromLong(this.airToReplace.get(i)), breatheableAir, 0));
             }
-            for (BlockVec3 checkedVec : this.airToReplaceBright)
+            for (int i = 0; i < this.airToReplaceBright.size(); i++)
             {
-                changeList.add(new ScheduledBlockChange(checkedVec.toBlockPos(), breatheableAirIDBright.getStateFromMeta(metadata), 0));
+                changeList.add(new ScheduledBlockChange(BlockPos.fromLong(this.airToReplaceBright.get(i)), breatheableAirBright, 0));
             }
-            for (BlockVec3 checkedVec : this.ambientThermalTracked)
+            for (int i = 0; i < this.ambientThermalTracked.size(); i++)
             {
-                if (checkedVec.getBlockMetadata(this.world) != metadata)
+                long pos = this.ambientThermalTracked.get(i);
+                ThreadFindSeal.unpack(this.vec, pos, 0);
+                if (this.getBlockMetadata(this.vec) != metadata)
                 {
-                    changeList.add(new ScheduledBlockChange(checkedVec.toBlockPos(), breatheableAirID.getStateFromMeta(metadata), 0));
+                    changeList.add(new ScheduledBlockChange(BlockPos.fromLong(pos), breatheableAir, 0));
                 }
             }
-            for (BlockVec3 checkedVec : this.ambientThermalTrackedBright)
+            for (int i = 0; i < this.ambientThermalTrackedBright.size(); i++)
             {
-                if (checkedVec.getBlockMetadata(this.world) != metadata)
+                long pos = this.ambientThermalTrackedBright.get(i);
+                ThreadFindSeal.unpack(this.vec, pos, 0);
+                if (this.getBlockMetadata(this.vec) != metadata)
                 {
-                    changeList.add(new ScheduledBlockChange(checkedVec.toBlockPos(), breatheableAirIDBright.getStateFromMeta(metadata), 0));
+                    changeList.add(new ScheduledBlockChange(BlockPos.fromLong(pos), breatheableAirBright, 0));
                 }
             }
-
-            TickHandlerServer.scheduleNewBlockChange(GCCoreUtil.getDimensionID(this.world), changeList);
-        }
-        if (!this.torchesToUpdate.isEmpty())
-        {
-            TickHandlerServer.scheduleNewTorchUpdate(GCCoreUtil.getDimensionID(this.world), this.torchesToUpdate);
         }
+        this.torchesOut.addAll(this.torchesToUpdate);
     }
 
     private void makeSealBad()
     {
         if (!this.breatheableToReplace.isEmpty() || !this.breatheableToReplaceBright.isEmpty())
         {
-            List<ScheduledBlockChange> changeList = new LinkedList<ScheduledBlockChange>();
-            for (BlockVec3 checkedVec : this.breatheableToReplace)
+            List<ScheduledBlockChange> changeList = this.changesOut;
+            for (int i = 0; i < this.breatheableToReplace.size(); i++)
             {
-                changeList.add(new ScheduledBlockChange(checkedVec.toBlockPos(), Blocks.AIR.getDefaultState(), 0));
+                changeList.add(new ScheduledBlockChange(BlockPos.fromLong(this.breatheableToReplace.get(i)), Blocks.AIR.getDefaultState(), 0));
             }
-            for (BlockVec3 checkedVec : this.fireToReplace)
+            for (int i = 0; i < this.fireToReplace.size(); i++)
             {
-                changeList.add(new ScheduledBlockChange(checkedVec.toBlockPos(), Blocks.AIR.getDefaultState(), 2));
+                changeList.add(new ScheduledBlockChange(BlockPos.fromLong(this.fireToReplace.get(i)), Blocks.AIR.getDefaultState(), 2));
             }
-            for (BlockVec3 checkedVec : this.breatheableToReplaceBright)
+            for (int i = 0; i < this.breatheableToReplaceBright.size(); i++)
             {
-                changeList.add(new ScheduledBlockChange(checkedVec.toBlockPos(), GCBlocks.brightAir.getDefaultState(), 0));
+                changeList.add(new ScheduledBlockChange(BlockPos.fromLong(this.breatheableToReplaceBright.get(i)), GCBlocks.brightAir.getDefaultState(), 0));
             }
-            TickHandlerServer.scheduleNewBlockChange(GCCoreUtil.getDimensionID(this.world), changeList);
-        }
-        if (!this.torchesToUpdate.isEmpty())
-        {
-            TickHandlerServer.scheduleNewTorchUpdate(GCCoreUtil.getDimensionID(this.world), this.torchesToUpdate);
         }
+        this.torchesOut.addAll(this.torchesToUpdate);
     }
 
     private void unseal()
@@ -472,16 +697,18 @@ public class ThreadFindSeal
         Block fireBlock = Blocks.FIRE;
         Block airBlock = Blocks.AIR;
         Block airBlockBright = GCBlocks.brightAir;
-        List<BlockVec3> toReplaceLocal = this.breatheableToReplace;
-        List<BlockVec3> toReplaceLocalBright = this.breatheableToReplaceBright;
-        LinkedList<BlockVec3> nextLayer = new LinkedList<>();
-        World world = this.world;
+        LongList toReplaceLocal = this.breatheableToReplace;
+        LongList toReplaceLocalBright = this.breatheableToReplaceBright;
+        FloodFill frontier = this.frontier;
+        BlockVec3 vec = this.vec;
+        BlockVec3 sideVec = this.sideVec;
         int side, bits;
 
-        while (this.currentLayer.size() > 0)
+        while (frontier.nextLayer())
         {
-            for (BlockVec3 vec : this.currentLayer)
+            while (frontier.hasNext())
             {
+                ThreadFindSeal.unpack(vec, frontier.next(), frontier.tag());
                 side = 0;
                 bits = vec.sideDoneBits;
                 do
@@ -490,24 +717,24 @@ public class ThreadFindSeal
                     {
                         if (!checkedContains(vec, side))
                         {
-                            BlockVec3 sideVec = vec.newVecSide(side);
-                            IBlockState state = sideVec.getBlockStateSafe_noChunkLoad(world);
+                            ThreadFindSeal.setSide(sideVec, vec, side);
+                            IBlockState state = this.getBlockStateSafe(sideVec);
                             Block block = state == null ? null : state.getBlock();
 
                             if (block == breatheableAirID)
                             {
-                                toReplaceLocal.add(sideVec);
-                                nextLayer.add(sideVec);
+                                toReplaceLocal.add(ThreadFindSeal.pack(sideVec));
+                                frontier.push(ThreadFindSeal.pack(sideVec), sideVec.sideDoneBits);
                                 checkedAdd(sideVec);
                             } else if (block == breatheableAirIDBright)
                             {
-                                toReplaceLocalBright.add(sideVec);
-                                nextLayer.add(sideVec);
+                                toReplaceLocalBright.add(ThreadFindSeal.pack(sideVec));
+                                frontier.push(ThreadFindSeal.pack(sideVec), sideVec.sideDoneBits);
                                 checkedAdd(sideVec);
                             } else if (block == fireBlock)
                             {
-                                this.fireToReplace.add(sideVec);
-                                nextLayer.add(sideVec);
+                                this.fireToReplace.add(ThreadFindSeal.pack(sideVec));
+                                frontier.push(ThreadFindSeal.pack(sideVec), sideVec.sideDoneBits);
                                 checkedAdd(sideVec);
                             } else if (block == oxygenSealerID)
                             {
@@ -539,7 +766,7 @@ public class ThreadFindSeal
                                         // Look outbound through partially
                                         // sealable blocks in case there is
                                         // breatheableAir to clear beyond
-                                        nextLayer.add(sideVec);
+                                        frontier.push(ThreadFindSeal.pack(sideVec), sideVec.sideDoneBits);
                                     }
                                 } else
                                 {
@@ -552,10 +779,6 @@ public class ThreadFindSeal
                     side++;
                 } while (side < 6);
             }
-
-            // Set up the next layer as current layer for the while loop
-            this.currentLayer = nextLayer;
-            nextLayer = new LinkedList<BlockVec3>();
         }
     }
 
@@ -578,15 +801,18 @@ public class ThreadFindSeal
         Block fireBlock = Blocks.FIRE;
         Block airBlock = Blocks.AIR;
         Block airBlockBright = GCBlocks.brightAir;
-        List<BlockVec3> toReplaceLocal = this.breatheableToReplace;
-        LinkedList<BlockVec3> nextLayer = new LinkedList<>();
+        LongList toReplaceLocal = this.breatheableToReplace;
+        FloodFill frontier = this.frontier;
+        BlockVec3 vec = this.vec;
+        BlockVec3 sideVec = this.sideVec;
         World world = this.world;
         int side, bits;
 
-        while (this.currentLayer.size() > 0)
+        while (frontier.nextLayer())
         {
-            for (BlockVec3 vec : this.currentLayer)
+            while (frontier.hasNext())
             {
+                ThreadFindSeal.unpack(vec, frontier.next(), frontier.tag());
                 side = 0;
                 bits = vec.sideDoneBits;
                 do
@@ -595,24 +821,24 @@ public class ThreadFindSeal
                     {
                         if (!checkedContains(vec, side))
                         {
-                            BlockVec3 sideVec = vec.newVecSide(side);
+                            ThreadFindSeal.setSide(sideVec, vec, side);
                             IBlockState state = sideVec.getBlockState_noChunkLoad(world);
                             Block block = state == null ? null : state.getBlock();
 
                             if (block == breatheableAirID)
                             {
-                                toReplaceLocal.add(sideVec);
-                                nextLayer.add(sideVec);
+                                toReplaceLocal.add(ThreadFindSeal.pack(sideVec));
+                                frontier.push(ThreadFindSeal.pack(sideVec), sideVec.sideDoneBits);
                                 checkedAdd(sideVec);
                             } else if (block == breatheableAirIDBright)
                             {
-                                this.breatheableToReplaceBright.add(sideVec);
-                                nextLayer.add(sideVec);
+                                this.breatheableToReplaceBright.add(ThreadFindSeal.pack(sideVec));
+                                frontier.push(ThreadFindSeal.pack(sideVec), sideVec.sideDoneBits);
                                 checkedAdd(sideVec);
                             } else if (block == fireBlock)
                             {
-                                this.fireToReplace.add(sideVec);
-                                nextLayer.add(sideVec);
+                                this.fireToReplace.add(ThreadFindSeal.pack(sideVec));
+                                frontier.push(ThreadFindSeal.pack(sideVec), sideVec.sideDoneBits);
                                 checkedAdd(sideVec);
                             } else if (block == oxygenSealerID)
                             {
@@ -644,7 +870,7 @@ public class ThreadFindSeal
                                         // Look outbound through partially
                                         // sealable blocks in case there is
                                         // breatheableAir to clear beyond
-                                        nextLayer.add(sideVec);
+                                        frontier.push(ThreadFindSeal.pack(sideVec), sideVec.sideDoneBits);
                                     }
                                 } else
                                 {
@@ -657,10 +883,6 @@ public class ThreadFindSeal
                     side++;
                 } while (side < 6);
             }
-
-            // Set up the next layer as current layer for the while loop
-            this.currentLayer = nextLayer;
-            nextLayer = new LinkedList<BlockVec3>();
         }
     }
 
@@ -672,14 +894,16 @@ public class ThreadFindSeal
         Block breatheableAirIDBright = GCBlocks.brightBreatheableAir;
         Block airIDBright = GCBlocks.brightAir;
         Block oxygenSealerID = GCBlocks.oxygenSealer;
-        LinkedList<BlockVec3> nextLayer = new LinkedList<>();
-        World world = this.world;
+        FloodFill frontier = this.frontier;
+        BlockVec3 vec = this.vec;
+        BlockVec3 sideVec = this.sideVec;
         int side, bits;
 
-        while (this.sealed && this.currentLayer.size() > 0)
+        while (this.sealed && frontier.nextLayer())
         {
-            for (BlockVec3 vec : this.currentLayer)
+            while (frontier.hasNext())
             {
+                ThreadFindSeal.unpack(vec, frontier.next(), frontier.tag());
                 // This is for side = 0 to 5 - but using do...while() is
                 // fractionally quicker
                 side = 0;
@@ -696,34 +920,34 @@ public class ThreadFindSeal
 
                         if (!checkedContains(vec, side))
                         {
-                            BlockVec3 sideVec = vec.newVecSide(side);
+                            ThreadFindSeal.setSide(sideVec, vec, side);
                             if (this.checkCount > 0)
                             {
                                 this.checkCount--;
 
-                                IBlockState state = sideVec.getBlockStateSafe_noChunkLoad(world);
+                                IBlockState state = this.getBlockStateSafe(sideVec);
                                 Block block = state == null ? null : state.getBlock();
                                 // The most likely case
                                 if (block == breatheableAirID)
                                 {
                                     checkedAdd(sideVec);
-                                    nextLayer.add(sideVec);
-                                    this.ambientThermalTracked.add(sideVec);
+                                    frontier.push(ThreadFindSeal.pack(sideVec), sideVec.sideDoneBits);
+                                    this.ambientThermalTracked.add(ThreadFindSeal.pack(sideVec));
                                 } else if (block == airID)
                                 {
                                     checkedAdd(sideVec);
-                                    nextLayer.add(sideVec);
-                                    this.airToReplace.add(sideVec);
+                                    frontier.push(ThreadFindSeal.pack(sideVec), sideVec.sideDoneBits);
+                                    this.airToReplace.add(ThreadFindSeal.pack(sideVec));
                                 } else if (block == breatheableAirIDBright)
                                 {
                                     checkedAdd(sideVec);
-                                    nextLayer.add(sideVec);
-                                    this.ambientThermalTrackedBright.add(sideVec);
+                                    frontier.push(ThreadFindSeal.pack(sideVec), sideVec.sideDoneBits);
+                                    this.ambientThermalTrackedBright.add(ThreadFindSeal.pack(sideVec));
                                 } else if (block == airIDBright)
                                 {
                                     checkedAdd(sideVec);
-                                    nextLayer.add(sideVec);
-                                    this.airToReplaceBright.add(sideVec);
+                                    frontier.push(ThreadFindSeal.pack(sideVec), sideVec.sideDoneBits);
+                                    this.airToReplaceBright.add(ThreadFindSeal.pack(sideVec));
                                 } else if (block == null)
                                 {
                                     // Broken through to the void or the
@@ -742,11 +966,11 @@ public class ThreadFindSeal
                                         {
                                             checkedAdd(sideVec);
                                             this.sealers.add(sealer);
-                                            if (sealer.thermalControlEnabled())
+                                            if (this.thermalControlEnabled(sealer))
                                             {
                                                 foundAmbientThermal = true;
                                             }
-                                            this.checkCount += sealer.getFindSealChecks();
+                                            this.checkCount += this.getFindSealChecks(sealer);
                                         }
                                         // if side != 0, no checkedAdd() -
                                         // allows this sealer to be checked
@@ -754,7 +978,7 @@ public class ThreadFindSeal
                                     }
                                 } else if (this.canBlockPassAirCheck(block, sideVec, side))
                                 {
-                                    nextLayer.add(sideVec);
+                                    frontier.push(ThreadFindSeal.pack(sideVec), sideVec.sideDoneBits);
                                 }
                                 // If the chunk was unloaded,
                                 // BlockVec3.getBlockID returns Blocks.bedrock
@@ -766,7 +990,7 @@ public class ThreadFindSeal
                             // because of the returns
                             else
                             {
-                                IBlockState state = sideVec.getBlockStateSafe_noChunkLoad(this.world);
+                                IBlockState state = this.getBlockStateSafe(sideVec);
                                 Block block = state == null ? null : state.getBlock();
                                 // id == null means the void or height y>255,
                                 // both
@@ -777,8 +1001,9 @@ public class ThreadFindSeal
                                     this.sealed = false;
                                     if (this.sealers.size() > 0)
                                     {
-                                        vec.sideDoneBits = side << 6;
-                                        traceLeak(vec);
+                                        BlockVec3 tracer = vec.clone();
+                                        tracer.sideDoneBits = side << 6;
+                                        traceLeak(tracer);
                                     }
                                     return;
                                 }
@@ -788,10 +1013,6 @@ public class ThreadFindSeal
                     side++;
                 } while (side < 6);
             }
-
-            // Is there a further layer of air/permeable blocks to test?
-            this.currentLayer = nextLayer;
-            nextLayer = new LinkedList<BlockVec3>();
         }
     }
 
@@ -813,14 +1034,17 @@ public class ThreadFindSeal
         Block breatheableAirIDBright = GCBlocks.brightBreatheableAir;
         Block airIDBright = GCBlocks.brightAir;
         Block oxygenSealerID = GCBlocks.oxygenSealer;
-        LinkedList<BlockVec3> nextLayer = new LinkedList<>();
+        FloodFill frontier = this.frontier;
+        BlockVec3 vec = this.vec;
+        BlockVec3 sideVec = this.sideVec;
         World world = this.world;
         int side, bits;
 
-        while (this.sealed && this.currentLayer.size() > 0)
+        while (this.sealed && frontier.nextLayer())
         {
-            for (BlockVec3 vec : this.currentLayer)
+            while (frontier.hasNext())
             {
+                ThreadFindSeal.unpack(vec, frontier.next(), frontier.tag());
                 // This is for side = 0 to 5 - but using do...while() is
                 // fractionally quicker
                 side = 0;
@@ -837,7 +1061,7 @@ public class ThreadFindSeal
 
                         if (!checkedContains(vec, side))
                         {
-                            BlockVec3 sideVec = vec.newVecSide(side);
+                            ThreadFindSeal.setSide(sideVec, vec, side);
                             if (this.checkCount > 0)
                             {
                                 this.checkCount--;
@@ -848,23 +1072,23 @@ public class ThreadFindSeal
                                 if (block == breatheableAirID)
                                 {
                                     checkedAdd(sideVec);
-                                    nextLayer.add(sideVec);
-                                    this.ambientThermalTracked.add(sideVec);
+                                    frontier.push(ThreadFindSeal.pack(sideVec), sideVec.sideDoneBits);
+                                    this.ambientThermalTracked.add(ThreadFindSeal.pack(sideVec));
                                 } else if (block == airID)
                                 {
                                     checkedAdd(sideVec);
-                                    nextLayer.add(sideVec);
-                                    this.airToReplace.add(sideVec);
+                                    frontier.push(ThreadFindSeal.pack(sideVec), sideVec.sideDoneBits);
+                                    this.airToReplace.add(ThreadFindSeal.pack(sideVec));
                                 } else if (block == breatheableAirIDBright)
                                 {
                                     checkedAdd(sideVec);
-                                    nextLayer.add(sideVec);
-                                    this.ambientThermalTrackedBright.add(sideVec);
+                                    frontier.push(ThreadFindSeal.pack(sideVec), sideVec.sideDoneBits);
+                                    this.ambientThermalTrackedBright.add(ThreadFindSeal.pack(sideVec));
                                 } else if (block == airIDBright)
                                 {
                                     checkedAdd(sideVec);
-                                    nextLayer.add(sideVec);
-                                    this.airToReplaceBright.add(sideVec);
+                                    frontier.push(ThreadFindSeal.pack(sideVec), sideVec.sideDoneBits);
+                                    this.airToReplaceBright.add(ThreadFindSeal.pack(sideVec));
                                 } else if (block == null)
                                 {
                                     // Broken through to the void or the
@@ -883,11 +1107,11 @@ public class ThreadFindSeal
                                         {
                                             checkedAdd(sideVec);
                                             this.sealers.add(sealer);
-                                            if (sealer.thermalControlEnabled())
+                                            if (this.thermalControlEnabled(sealer))
                                             {
                                                 foundAmbientThermal = true;
                                             }
-                                            this.checkCount += sealer.getFindSealChecks();
+                                            this.checkCount += this.getFindSealChecks(sealer);
                                         }
                                         // if side != 0, no checkedAdd() -
                                         // allows this sealer to be checked
@@ -895,7 +1119,7 @@ public class ThreadFindSeal
                                     }
                                 } else if (this.canBlockPassAirCheck(block, sideVec, side))
                                 {
-                                    nextLayer.add(sideVec);
+                                    frontier.push(ThreadFindSeal.pack(sideVec), sideVec.sideDoneBits);
                                 }
                                 // If the chunk was unloaded,
                                 // BlockVec3.getBlockID returns Blocks.bedrock
@@ -918,8 +1142,9 @@ public class ThreadFindSeal
                                     this.sealed = false;
                                     if (this.sealers.size() > 0)
                                     {
-                                        vec.sideDoneBits = side << 6;
-                                        traceLeak(vec);
+                                        BlockVec3 tracer = vec.clone();
+                                        tracer.sideDoneBits = side << 6;
+                                        traceLeak(tracer);
                                     }
                                     return;
                                 }
@@ -929,45 +1154,68 @@ public class ThreadFindSeal
                     side++;
                 } while (side < 6);
             }
-
-            // Is there a further layer of air/permeable blocks to test?
-            this.currentLayer = nextLayer;
-            nextLayer = new LinkedList<BlockVec3>();
         }
     }
 
-    private void checkedAdd(BlockVec3 vec)
+    private static long pack(BlockVec3 vec)
     {
-        int dx = this.head.x - vec.x;
-        int dz = this.head.z - vec.z;
-        if (dx < -8191 || dx > 8192)
-            return;
-        if (dz < -8191 || dz > 8192)
-            return;
-        intBucket bucket = buckets[((dx & 15) << 4) + (dz & 15)];
-        bucket.add(vec.y + ((dx & 0x3FF0) + ((dz & 0x3FF0) << 10) + ((vec.sideDoneBits & 0x1C0) << 18) << 4));
+        return FloodFill.pack(vec.x, vec.y, vec.z);
+    }
+
+    private static void unpack(BlockVec3 vec, long pos, int sideDoneBits)
+    {
+        vec.x = FloodFill.getX(pos);
+        vec.y = FloodFill.getY(pos);
+        vec.z = FloodFill.getZ(pos);
+        vec.sideDoneBits = sideDoneBits;
     }
 
     /**
-     * Currently unused - the sided implementation is used instead
+     * Same as BlockVec3.newVecSide() but re-using sideVec, to save allocating
+     * a new BlockVec3 for every block looked at
      */
-    private boolean checkedContains(BlockVec3 vec)
+    private static void setSide(BlockVec3 sideVec, BlockVec3 vec, int side)
     {
-        int dx = this.head.x - vec.x;
-        int dz = this.head.z - vec.z;
-        if (dx < -8191 || dx > 8192)
-            return true;
-        if (dz < -8191 || dz > 8192)
-            return true;
-        intBucket bucket = buckets[((dx & 15) << 4) + (dz & 15)];
-        return bucket.contains(vec.y + ((dx & 0x3FF0) + ((dz & 0x3FF0) << 10) << 4));
+        sideVec.x = vec.x;
+        sideVec.y = vec.y;
+        sideVec.z = vec.z;
+        sideVec.sideDoneBits = (1 << (side ^ 1)) + (side << 6);
+        switch (side)
+        {
+            case 0:
+                sideVec.y--;
+                break;
+            case 1:
+                sideVec.y++;
+                break;
+            case 2:
+                sideVec.z--;
+                break;
+            case 3:
+                sideVec.z++;
+                break;
+            case 4:
+                sideVec.x--;
+                break;
+            case 5:
+                sideVec.x++;
+        }
+    }
+
+    private void checkedAdd(BlockVec3 vec)
+    {
+        // Record the side this was entered from, for traceLeak()
+        if (this.frontier.markVisited(ThreadFindSeal.pack(vec), (vec.sideDoneBits & 0x1C0) >> 6))
+        {
+            this.checkedSize++;
+        }
     }
 
     private boolean checkedContains(BlockVec3 vec, int side)
     {
+        int x = vec.x;
         int y = vec.y;
-        int dx = this.head.x - vec.x;
-        int dz = this.head.z - vec.z;
+        int z = vec.z;
         switch (side)
         {
             case 0:
@@ -981,87 +1229,49 @@ public class ThreadFindSeal
                     return false;
                 break;
             case 2:
-                dz++;
+                z--;
                 break;
             case 3:
-                dz--;
+                z++;
                 break;
             case 4:
-                dx++;
+                x--;
                 break;
             case 5:
-                dx--;
+                x++;
         }
-        if (dx < -8191 || dx > 8192)
-            return true;
-        if (dz < -8191 || dz > 8192)
-            return true;
-        intBucket bucket = buckets[((dx & 15) << 4) + (dz & 15)];
-        return bucket.contains(y + ((dx & 0x3FF0) + ((dz & 0x3FF0) << 10) << 4));
+        return this.frontier.isVisited(FloodFill.pack(x, y, z));
     }
 
     private BlockVec3 checkedContainsTrace(int x, int y, int z)
     {
-        int dx = this.head.x - x;
-        int dz = this.head.z - z;
-        if (dx < -8191 || dx > 8192)
-            return null;
-        if (dz < -8191 || dz > 8192)
-            return null;
-        intBucket bucket = buckets[((dx & 15) << 4) + (dz & 15)];
-        int side = bucket.getMSB4shifted(y + ((dx & 0x3FF0) + ((dz & 0x3FF0) << 10) << 4));
+        int side = this.frontier.visitedValue(FloodFill.pack(x, y, z));
         if (side >= 0)
         {
             BlockVec3 vec = new BlockVec3(x, y, z);
-            vec.sideDoneBits = side;
+            vec.sideDoneBits = side << 6;
             return vec;
         }
         return null;
     }
 
-    private static void checkedInit()
+    private void checkedClear()
     {
-        for (int i = 0; i < 256; i++)
-        {
-            buckets[i] = new intBucket();
-        }
-    }
-
-    private static void checkedClear()
-    {
-        for (int i = 0; i < 256; i++)
-        {
-            buckets[i].clear();
-        }
-        checkedSize = 0;
+        this.frontier.reset();
+        this.checkedSize = 0;
     }
 
     public List<BlockPos> checkedAll()
     {
         List<BlockPos> list = new LinkedList<BlockPos>();
-        int x = head.x;
-        int z = head.z;
-        for (int i = 0; i < 256; i++)
+        if (this.frontier == null)
         {
-            int size = this.buckets[i].size();
-            if (size == 0)
-                continue;
-            int ddx = i >> 4;
-            int ddz = i & 15;
-            int[] ints = this.buckets[i].contents();
-            for (int j = 0; j < size; j++)
-            {
-                int k = ints[j];
-                int y = k & 255;
-                k >>= 4;
-                int dx = (k & 0x3FF0) + ddx;
-                int dz = ((k >> 10) & 0x3FF0) + ddz;
-                if (dx > 0x2000)
-                    dx -= 0x4000;
-                if (dz > 0x2000)
-                    dz -= 0x4000;
-                list.add(new BlockPos(x + dx, y, z + dz));
-            }
+            // Did not run: another check was already in progress
+            return list;
+        }
+        for (long pos : this.frontier.visitedPositions())
+        {
+            list.add(BlockPos.fromLong(pos));
         }
         return list;
     }
@@ -1121,7 +1331,7 @@ public class ThreadFindSeal
             EnumFacing testSide = EnumFacing.byIndex(side);
             IPartialSealableBlock blockPartial = (IPartialSealableBlock) block;
             BlockPos vecPos = new BlockPos(vec.x, vec.y, vec.z);
-            if (blockPartial.isSealed(this.world, vecPos, testSide))
+            if (this.isPartialSealed(blockPartial, vecPos, testSide))
             {
                 // If a partial block checks as solid, allow it to be tested
                 // again from other directions
@@ -1139,7 +1349,7 @@ public class ThreadFindSeal
                 {
                     continue;
                 }
-                if (blockPartial.isSealed(this.world, vecPos, face))
+                if (this.isPartialSealed(blockPartial, vecPos, face))
                 {
                     vec.setSideDone(face.getIndex() ^ 1);
                 }
@@ -1157,7 +1367,7 @@ public class ThreadFindSeal
             return true;
         }
 
-        IBlockState state = world.getBlockState(vec.toBlockPos());
+        IBlockState state = this.getBlockState(vec);
         if (block.isOpaqueCube(state))
         {
             checkedAdd(vec);
@@ -1176,7 +1386,7 @@ public class ThreadFindSeal
         if (OxygenPressureProtocol.nonPermeableBlocks.containsKey(block))
         {
             ArrayList<Integer> metaList = OxygenPressureProtocol.nonPermeableBlocks.get(block);
-            if (metaList.contains(Integer.valueOf(-1)) || metaList.contains(vec.getBlockMetadata(this.world)))
+            if (metaList.contains(Integer.valueOf(-1)) || metaList.contains(this.getBlockMetadata(vec)))
             {
                 checkedAdd(vec);
                 return false;
@@ -1185,7 +1395,7 @@ public class ThreadFindSeal
 
         if (block instanceof BlockUnlitTorch)
         {
-            this.torchesToUpdate.add(vec);
+            this.torchesToUpdate.add(vec.clone());
             checkedAdd(vec);
             return true;
         }
@@ -1194,7 +1404,7 @@ public class ThreadFindSeal
         // metadata
         if (block instanceof BlockSlab)
         {
-            boolean isTopSlab = (vec.getBlockMetadata(this.world) & 8) == 8;
+            boolean isTopSlab = (this.getBlockMetadata(vec) & 8) == 8;
             // Looking down onto a top slab or looking up onto a bottom slab
             if (side == 0 && isTopSlab || side == 1 && !isTopSlab)
             {
@@ -1250,7 +1460,7 @@ public class ThreadFindSeal
         // covered by this.
         // ### Any exceptions in mods should implement the IPartialSealableBlock
         // interface ###
-        if (block.isSideSolid(state, this.world, vec.toBlockPos(), EnumFacing.byIndex(side ^ 1)))
+        if (block.isSideSolid(state, this.blockAccess(), vec.toBlockPos(), EnumFacing.byIndex(side ^ 1)))
         {
             // Solid on all sides
             if (block.getMaterial(state).blocksMovement() && block.isFullCube(state))
@@ -1279,7 +1489,7 @@ public class ThreadFindSeal
             {
                 continue;
             }
-            if (block.isSideSolid(state, this.world, new BlockPos(vec.x, vec.y, vec.z), EnumFacing.byIndex(i)))
+            if (block.isSideSolid(state, this.blockAccess(), new BlockPos(vec.x, vec.y, vec.z), EnumFacing.byIndex(i)))
             {
                 vec.setSideDone(i);
             }
@@ -1289,66 +1499,4 @@ public class ThreadFindSeal
         checkedAdd(vec);
         return true;
     }
-
-    public static class intBucket
-    {
-
-        private int maxSize = 64; // default size
-        private int size = 0;
-        private int[] table = new int[maxSize];
-
-        public void add(int i)
-        {
-            if (this.contains(i))
-                return;
-
-            if (size >= maxSize)
-            {
-                int[] newTable = new int[maxSize + maxSize];
-                System.arraycopy(table, 0, newTable, 0, maxSize);
-                table = newTable;
-                maxSize += maxSize;
-            }
-            table[size] = i;
-            size++;
-            checkedSize++;
-        }
-
-        public boolean contains(int test)
-        {
-            for (int i = size - 1; i >= 0; i--)
-            {
-                if ((table[i] & 0xFFFFFFF) == test)
-                    return true;
-            }
-            return false;
-        }
-
-        public int getMSB4shifted(int test)
-        {
-            for (int i = size - 1; i >= 0; i--)
-            {
-                if ((table[i] & 0xFFFFFFF) == test)
-                {
-                    return (table[i] & 0xF0000000) >> 22;
-                }
-            }
-            return -1;
-        }
-
-        public void clear()
-        {
-            size = 0;
-        }
-
-        public int size()
-        {
-            return size;
-        }
-
-        public int[] contents()
-        {
-            return table;
-        }
-    }
 }
@@ -37,6 +37,9 @@ public class GalacticraftChannelHandler extends FMLIndexedMessageToMessageCodec<
         this.addDiscriminator(3, PacketFluidNetworkUpdate.class);
         this.addDiscriminator(4, PacketEntityUpdate.class);
         this.addDiscriminator(5, PacketDynamicInventory.class);
+        this.addDiscriminator(6, PacketDynamicBatch.class);
+        this.addDiscriminator(7, PacketFootprints.class);
+        this.addDiscriminator(8, PacketVehicleMotion.class);
     }
 
     public static GalacticraftChannelHandler init()
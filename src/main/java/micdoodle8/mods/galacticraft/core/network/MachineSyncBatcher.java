@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2023 Team Galacticraft
+ *
+ * Licensed under the MIT license.
+ * See LICENSE file in the project root for details.
+ */
+
+package micdoodle8.mods.galacticraft.core.network;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.server.management.PlayerChunkMap;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.WorldServer;
+
+import net.minecraftforge.fml.relauncher.Side;
+
+import micdoodle8.mods.galacticraft.core.GalacticraftCore;
+import micdoodle8.mods.galacticraft.core.tile.TileEntityAdvanced;
+import micdoodle8.mods.galacticraft.core.util.GCCoreUtil;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+/**
+ * Server side: collects the machines due to send their networked fields this
+ * tick, and at the end of the world tick sends each player one
+ * PacketDynamicBatch holding only the fields which changed, for the machines
+ * in chunks that player is tracking and within the machine's packet range.
+ *
+ * This replaces one PacketDynamic per machine per getPacketCooldown(), sent
+ * with all its fields to everyone around. A player who was not sent a
+ * machine's previous update (they were out of range, or have just come
+ * close) gets all of its fields instead of only the changes.
+ *
+ * Only used from the server thread.
+ */
+public class MachineSyncBatcher
+{
+
+    // Keeps each packet well below the vanilla custom payload size limit
+    private static final int MAX_BATCH_BYTES = 32768;
+
+    private static final ClassValue<Boolean> batchable = new ClassValue<Boolean>()
+    {
+        @Override
+        protected Boolean computeValue(Class<?> type)
+        {
+            // Machines which change how their data is written or read keep
+            // using PacketDynamic
+            try
+            {
+                if (type.getMethod("getNetworkedData", ArrayList.class).getDeclaringClass() != TileEntityAdvanced.class
+                    || type.getMethod("decodePacketdata", ByteBuf.class).getDeclaringClass() != TileEntityAdvanced.class)
+                {
+                    return false;
+                }
+            } catch (NoSuchMethodException e)
+            {
+                return false;
+            }
+            return NetworkedFieldSchema.get(type).getFieldCount(Side.CLIENT) <= 64;
+        }
+    };
+
+    private static final Map<Integer, List<TileEntityAdvanced>> queued = new HashMap<>();
+
+    private static class Batch
+    {
+
+        private ByteBuf data = Unpooled.buffer(256);
+        private int count;
+    }
+
+    public static boolean canBatch(TileEntityAdvanced tile)
+    {
+        return batchable.get(tile.getClass());
+    }
+
+    /**
+     * Queues the tile to send its changes at the end of this world tick
+     */
+    public static void queue(TileEntityAdvanced tile)
+    {
+        MachineSyncBatcher.queued.computeIfAbsent(GCCoreUtil.getDimensionID(tile.getWorld()), k -> new ArrayList<>()).add(tile);
+    }
+
+    /**
+     * Sends the batched changes of the machines queued in this world - called
+     * at the end of the world tick
+     */
+    public static void flush(WorldServer world)
+    {
+        int dimID = GCCoreUtil.getDimensionID(world);
+        List<TileEntityAdvanced> tiles = MachineSyncBatcher.queued.remove(dimID);
+        if (tiles == null || world.playerEntities.isEmpty())
+        {
+            return;
+        }
+
+        PlayerChunkMap chunkMap = world.getPlayerChunkMap();
+        Map<Long, List<EntityPlayerMP>> watchersByChunk = new HashMap<>();
+        Map<EntityPlayerMP, Batch> batches = new LinkedHashMap<>();
+        List<EntityPlayerMP> inRange = new ArrayList<>();
+        ByteBuf changes = Unpooled.buffer(256);
+        ByteBuf full = Unpooled.buffer(256);
+
+        for (TileEntityAdvanced tile : tiles)
+        {
+            if (tile.isInvalid() || tile.getWorld() != world)
+            {
+                continue;
+            }
+
+            BlockPos pos = tile.getPos();
+            int chunkX = pos.getX() >> 4;
+            int chunkZ = pos.getZ() >> 4;
+            List<EntityPlayerMP> watchers = watchersByChunk.computeIfAbsent(ChunkPos.asLong(chunkX, chunkZ), k -> MachineSyncBatcher.getWatchers(world, chunkMap, chunkX, chunkZ));
+
+            double range = tile.getPacketRange();
+            double rangeSq = range * range;
+            inRange.clear();
+            for (EntityPlayerMP player : watchers)
+            {
+                if (player.getDistanceSq(pos) < rangeSq)
+                {
+                    inRange.add(player);
+                }
+            }
+
+            if (inRange.isEmpty())
+            {
+                // Nobody to send to: leave the changes for next time
+                tile.retainSyncedPlayers(inRange);
+                continue;
+            }
+
+            changes.clear();
+            full.clear();
+            boolean changed = tile.writeSyncChanges(changes);
+
+            for (EntityPlayerMP player : inRange)
+            {
+                ByteBuf entry;
+                if (tile.markSyncedPlayer(player))
+                {
+                    if (full.writerIndex() == 0)
+                    {
+                        tile.writeSyncAll(full);
+                    }
+                    entry = full;
+                } else if (changed)
+                {
+                    entry = changes;
+                } else
+                {
+                    continue;
+                }
+
+                Batch batch = batches.computeIfAbsent(player, k -> new Batch());
+                if (batch.data.writerIndex() > MAX_BATCH_BYTES)
+                {
+                    MachineSyncBatcher.send(dimID, batch, player);
+                }
+                batch.data.writeLong(pos.toLong());
+                NetworkUtil.writeVarLong(batch.data, entry.readableBytes());
+                batch.data.writeBytes(entry, entry.readerIndex(), entry.readableBytes());
+                batch.count++;
+            }
+
+            tile.retainSyncedPlayers(inRange);
+        }
+
+        for (Map.Entry<EntityPlayerMP, Batch> entry : batches.entrySet())
+        {
+            MachineSyncBatcher.send(dimID, entry.getValue(), entry.getKey());
+        }
+    }
+
+    private static List<EntityPlayerMP> getWatchers(WorldServer world, PlayerChunkMap chunkMap, int chunkX, int chunkZ)
+    {
+        List<EntityPlayerMP> watchers = new ArrayList<>(2);
+        for (EntityPlayer player : world.playerEntities)
+        {
+            if (player instanceof EntityPlayerMP && chunkMap.isPlayerWatchingChunk((EntityPlayerMP) player, chunkX, chunkZ))
+            {
+                watchers.add((EntityPlayerMP) player);
+            }
+        }
+        return watchers;
+    }
+
+    private static void send(int dimID, Batch batch, EntityPlayerMP player)
+    {
+        if (batch.count > 0)
+        {
+            // The packet keeps the buffer until it is encoded
+            GalacticraftCore.packetPipeline.sendTo(new PacketDynamicBatch(dimID, batch.count, batch.data), player);
+            batch.data = Unpooled.buffer(256);
+            batch.count = 0;
+        }
+    }
+
+    public static void unload(int dimID)
+    {
+        MachineSyncBatcher.queued.remove(dimID);
+    }
+
+    public static void clear()
+    {
+        MachineSyncBatcher.queued.clear();
+    }
+}
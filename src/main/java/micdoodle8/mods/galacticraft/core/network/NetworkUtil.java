@@ -38,7 +38,6 @@ import micdoodle8.mods.galacticraft.core.GalacticraftCore;
 import micdoodle8.mods.galacticraft.core.energy.tile.EnergyStorage;
 import micdoodle8.mods.galacticraft.core.tile.FluidTankGC;
 import micdoodle8.mods.galacticraft.core.wrappers.FlagData;
-import micdoodle8.mods.galacticraft.core.wrappers.Footprint;
 
 import com.google.common.math.DoubleMath;
 
@@ -117,6 +116,12 @@ public class NetworkUtil
                 buffer.capacity(pos + size);
                 buffer.setBytes(pos, (byte[]) dataValue);
                 buffer.writerIndex(pos + size);
+            } else if (dataValue instanceof ByteBuf)
+            {
+                // Already encoded (NetworkedFieldSchema.collect()): copied as it
+                // is, without a length, and left readable for a resend
+                ByteBuf data = (ByteBuf) dataValue;
+                buffer.writeBytes(data, data.readerIndex(), data.readableBytes());
             } else if (dataValue instanceof UUID)
             {
                 buffer.writeLong(((UUID) dataValue).getMostSignificantBits());
@@ -157,21 +162,6 @@ public class NetworkUtil
                 {
                     ByteBufUtils.writeUTF8String(buffer, array[i]);
                 }
-            } else if (dataValue instanceof Footprint[])
-            {
-                Footprint[] array = (Footprint[]) dataValue;
-                buffer.writeInt(array.length);
-
-                for (int i = 0; i < array.length; i++)
-                {
-                    buffer.writeInt(array[i].dimension);
-                    buffer.writeFloat((float) array[i].position.x);
-                    buffer.writeFloat((float) array[i].position.y + 1);
-                    buffer.writeFloat((float) array[i].position.z);
-                    buffer.writeFloat(array[i].rotation);
-                    buffer.writeShort(array[i].age);
-                    ByteBufUtils.writeUTF8String(buffer, array[i].owner);
-                }
             } else if (dataValue instanceof EnumFacing)
             {
                 buffer.writeInt(((EnumFacing) dataValue).getIndex());
@@ -285,15 +275,6 @@ public class NetworkUtil
                 {
                     objList.add(ByteBufUtils.readUTF8String(buffer));
                 }
-            } else if (clazz.equals(Footprint[].class))
-            {
-                int size = buffer.readInt();
-
-                for (int i = 0; i < size; i++)
-                {
-                    objList.add(new Footprint(buffer.readInt(), new Vector3(buffer.readFloat(), buffer.readFloat(), buffer.readFloat()), buffer.readFloat(), buffer.readShort(),
-                        ByteBufUtils.readUTF8String(buffer), -1));
-                }
             } else if (clazz.equals(EnumFacing.class))
             {
                 objList.add(EnumFacing.byIndex(buffer.readInt()));
@@ -528,6 +509,49 @@ public class NetworkUtil
         return fluidTank;
     }
 
+    /**
+     * Writes a long in 1 to 10 bytes, 7 bits at a time - small non-negative
+     * values are the cheapest
+     */
+    public static void writeVarLong(ByteBuf buffer, long value)
+    {
+        while ((value & ~0x7FL) != 0L)
+        {
+            buffer.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer.writeByte((int) value);
+    }
+
+    public static long readVarLong(ByteBuf buffer)
+    {
+        long value = 0L;
+        int shift = 0;
+        byte b;
+        do
+        {
+            b = buffer.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0 && shift < 64);
+        return value;
+    }
+
+    /**
+     * Like writeVarLong() but zig-zag encoded, so that small negative values
+     * are cheap too
+     */
+    public static void writeSignedVarLong(ByteBuf buffer, long value)
+    {
+        NetworkUtil.writeVarLong(buffer, (value << 1) ^ (value >> 63));
+    }
+
+    public static long readSignedVarLong(ByteBuf buffer)
+    {
+        long value = NetworkUtil.readVarLong(buffer);
+        return (value >>> 1) ^ -(value & 1L);
+    }
+
     public static boolean fuzzyEquals(Object a, Object b)
     {
         if ((a == null) != (b == null))
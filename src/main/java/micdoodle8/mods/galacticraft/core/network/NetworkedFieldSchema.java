@@ -0,0 +1,830 @@
+/*
+ * Copyright (c) 2023 Team Galacticraft
+ *
+ * Licensed under the MIT license.
+ * See LICENSE file in the project root for details.
+ */
+
+package micdoodle8.mods.galacticraft.core.network;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import net.minecraft.world.World;
+
+import net.minecraftforge.fml.relauncher.Side;
+
+import micdoodle8.mods.miccore.Annotations.NetworkedField;
+
+import micdoodle8.mods.galacticraft.core.GalacticraftCore;
+
+import com.google.common.math.DoubleMath;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+/**
+ * The @NetworkedField fields of one class, found by reflection once per class
+ * (not once per tile or entity) and accessed through MethodHandles.
+ *
+ * Each field has a Slot typed to it, which reads, compares and writes the
+ * field's value straight to or from the ByteBuf, so fields of primitive type
+ * are never boxed. The last values sent are kept in primitive arrays in a
+ * State, one per tile or entity. Other field types go through NetworkUtil as
+ * before.
+ *
+ * The wire format is the same as the old per-instance Field caches: the
+ * fields for the target side, in getFields() order.
+ */
+public class NetworkedFieldSchema
+{
+
+    private static final ClassValue<NetworkedFieldSchema> schemas = new ClassValue<NetworkedFieldSchema>()
+    {
+        @Override
+        protected NetworkedFieldSchema computeValue(Class<?> type)
+        {
+            return new NetworkedFieldSchema(type);
+        }
+    };
+
+    private final Slot[] clientSlots;
+    private final Slot[] serverSlots;
+
+    /**
+     * The last values sent for one tile or entity, indexed like the schema's
+     * slots for the side being sent to
+     */
+    public static class State
+    {
+
+        private final long[] lastBits;
+        private final double[] lastReal;
+        private final Object[] lastObject;
+        private boolean sent;
+
+        private State(int size)
+        {
+            this.lastBits = new long[size];
+            this.lastReal = new double[size];
+            this.lastObject = new Object[size];
+        }
+    }
+
+    private NetworkedFieldSchema(Class<?> type)
+    {
+        List<Slot> client = new ArrayList<>();
+        List<Slot> server = new ArrayList<>();
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+        for (Field field : type.getFields())
+        {
+            NetworkedField annotation = field.getAnnotation(NetworkedField.class);
+            if (annotation == null)
+            {
+                continue;
+            }
+
+            try
+            {
+                Slot slot = NetworkedFieldSchema.createSlot(lookup, field);
+                if (annotation.targetSide() == Side.CLIENT)
+                {
+                    client.add(slot);
+                } else
+                {
+                    server.add(slot);
+                }
+            } catch (Exception e)
+            {
+                GalacticraftCore.logger.error("Cannot network field " + type.getSimpleName() + "." + field.getName());
+                e.printStackTrace();
+            }
+        }
+
+        this.clientSlots = client.toArray(new Slot[0]);
+        this.serverSlots = server.toArray(new Slot[0]);
+    }
+
+    private static Slot createSlot(MethodHandles.Lookup lookup, Field field) throws IllegalAccessException
+    {
+        Class<?> type = field.getType();
+        if (!type.isPrimitive())
+        {
+            type = Object.class;
+        }
+
+        field.setAccessible(true);
+        MethodHandle getter = lookup.unreflectGetter(field);
+        MethodHandle setter = Modifier.isFinal(field.getModifiers()) ? null : lookup.unreflectSetter(field);
+        if (Modifier.isStatic(field.getModifiers()))
+        {
+            getter = MethodHandles.dropArguments(getter, 0, Object.class);
+            setter = setter == null ? null : MethodHandles.dropArguments(setter, 0, Object.class);
+        }
+        // Erase the owner type so every call site has the same exact type
+        getter = getter.asType(MethodType.methodType(type, Object.class));
+        setter = setter == null ? null : setter.asType(MethodType.methodType(void.class, Object.class, type));
+
+        if (type == int.class)
+        {
+            return new IntSlot(field, getter, setter);
+        } else if (type == float.class)
+        {
+            return new FloatSlot(field, getter, setter);
+        } else if (type == double.class)
+        {
+            return new DoubleSlot(field, getter, setter);
+        } else if (type == byte.class)
+        {
+            return new ByteSlot(field, getter, setter);
+        } else if (type == boolean.class)
+        {
+            return new BooleanSlot(field, getter, setter);
+        } else if (type == short.class)
+        {
+            return new ShortSlot(field, getter, setter);
+        } else if (type == long.class)
+        {
+            return new LongSlot(field, getter, setter);
+        }
+        return new ObjectSlot(field, getter, setter);
+    }
+
+    public static NetworkedFieldSchema get(Class<?> type)
+    {
+        return schemas.get(type);
+    }
+
+    /**
+     * @param target the side the fields are sent to
+     */
+    public boolean hasFields(Side target)
+    {
+        return this.getSlots(target).length > 0;
+    }
+
+    private Slot[] getSlots(Side target)
+    {
+        return target == Side.CLIENT ? this.clientSlots : this.serverSlots;
+    }
+
+    public int getFieldCount(Side target)
+    {
+        return this.getSlots(target).length;
+    }
+
+    public State createState(Side target)
+    {
+        return new State(this.getSlots(target).length);
+    }
+
+    /**
+     * Writes the current value of each field for the target side into one
+     * buffer, added to sendData as a single element (NetworkUtil.encodeData()
+     * copies it out as it is), and records the values in the state
+     *
+     * @return true if any field has changed since the last call with this
+     *         state (always true on the first call, if there are any fields)
+     */
+    public boolean collect(Object owner, Side target, State state, List<Object> sendData)
+    {
+        Slot[] slots = this.getSlots(target);
+        if (slots.length == 0)
+        {
+            state.sent = true;
+            return false;
+        }
+
+        boolean first = !state.sent;
+        boolean changed = first;
+        state.sent = true;
+        ByteBuf buffer = Unpooled.buffer(slots.length * 8);
+
+        for (int i = 0; i < slots.length; i++)
+        {
+            try
+            {
+                changed |= slots[i].collect(owner, state, i, first, buffer);
+            } catch (Throwable e)
+            {
+                e.printStackTrace();
+            }
+        }
+
+        sendData.add(buffer);
+        return changed;
+    }
+
+    /**
+     * Reads each field for the target side from the buffer, in the order
+     * collect() wrote them, and sets it on the owner
+     */
+    public void read(Object owner, Side target, ByteBuf buffer, World world)
+    {
+        for (Slot slot : this.getSlots(target))
+        {
+            try
+            {
+                slot.read(owner, buffer, world);
+            } catch (Throwable e)
+            {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Writes only the fields for the target side which have changed since the
+     * last call with this state: a bitmask of the changed fields (there can be
+     * at most 64) and then their values, with integer types as varints.
+     * Nothing is written if no field has changed.
+     *
+     * @return true if anything was written
+     */
+    public boolean writeChanges(Object owner, Side target, State state, ByteBuf buffer)
+    {
+        Slot[] slots = this.getSlots(target);
+        boolean first = !state.sent;
+        state.sent = true;
+        long mask = 0L;
+
+        for (int i = 0; i < slots.length; i++)
+        {
+            try
+            {
+                if (slots[i].update(owner, state, i, first))
+                {
+                    mask |= 1L << i;
+                }
+            } catch (Throwable e)
+            {
+                e.printStackTrace();
+            }
+        }
+
+        if (mask == 0L)
+        {
+            return false;
+        }
+
+        // The state now holds the values being sent
+        this.writeValues(slots, state, mask, buffer);
+        return true;
+    }
+
+    /**
+     * Writes every field for the target side, in the same format as
+     * writeChanges(), using the values last recorded in the state - for a
+     * player who has not been sent the earlier changes
+     */
+    public void writeAll(Side target, State state, ByteBuf buffer)
+    {
+        Slot[] slots = this.getSlots(target);
+        long mask = slots.length == 64 ? -1L : (1L << slots.length) - 1L;
+        this.writeValues(slots, state, mask, buffer);
+    }
+
+    private void writeValues(Slot[] slots, State state, long mask, ByteBuf buffer)
+    {
+        NetworkUtil.writeVarLong(buffer, mask);
+        for (int i = 0; i < slots.length; i++)
+        {
+            if ((mask & 1L << i) != 0L)
+            {
+                slots[i].writeRecorded(state, i, buffer);
+            }
+        }
+    }
+
+    /**
+     * Reads what writeChanges() wrote, and sets the changed fields on the owner
+     */
+    public void readChanges(Object owner, Side target, ByteBuf buffer, World world)
+    {
+        Slot[] slots = this.getSlots(target);
+        long mask = NetworkUtil.readVarLong(buffer);
+
+        for (int i = 0; i < slots.length; i++)
+        {
+            if ((mask & 1L << i) == 0L)
+            {
+                continue;
+            }
+
+            try
+            {
+                slots[i].readRecorded(owner, buffer, world);
+            } catch (Throwable e)
+            {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * One field, with getter and setter handles of its exact type
+     */
+    private abstract static class Slot
+    {
+
+        protected final Field field;
+        protected final MethodHandle getter;
+        // Null if the field is final
+        protected final MethodHandle setter;
+
+        private Slot(Field field, MethodHandle getter, MethodHandle setter)
+        {
+            this.field = field;
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        /**
+         * Writes the field's current value for read(), and records it in the
+         * state if it has changed
+         *
+         * @return true if it had changed (or first is true)
+         */
+        abstract boolean collect(Object owner, State state, int i, boolean first, ByteBuf buffer) throws Throwable;
+
+        /**
+         * As collect(), but writes nothing
+         */
+        abstract boolean update(Object owner, State state, int i, boolean first) throws Throwable;
+
+        /**
+         * Writes the value recorded in the state, for readRecorded()
+         */
+        abstract void writeRecorded(State state, int i, ByteBuf buffer);
+
+        abstract void read(Object owner, ByteBuf buffer, World world) throws Throwable;
+
+        abstract void readRecorded(Object owner, ByteBuf buffer, World world) throws Throwable;
+    }
+
+    /**
+     * Integer types and booleans, recorded in State.lastBits
+     */
+    private abstract static class BitsSlot extends Slot
+    {
+
+        private BitsSlot(Field field, MethodHandle getter, MethodHandle setter)
+        {
+            super(field, getter, setter);
+        }
+
+        abstract long get(Object owner) throws Throwable;
+
+        abstract void write(long value, ByteBuf buffer);
+
+        @Override
+        boolean collect(Object owner, State state, int i, boolean first, ByteBuf buffer) throws Throwable
+        {
+            long value = this.get(owner);
+            this.write(value, buffer);
+            return BitsSlot.record(state, i, value, first);
+        }
+
+        @Override
+        boolean update(Object owner, State state, int i, boolean first) throws Throwable
+        {
+            return BitsSlot.record(state, i, this.get(owner), first);
+        }
+
+        private static boolean record(State state, int i, long value, boolean first)
+        {
+            if (first || state.lastBits[i] != value)
+            {
+                state.lastBits[i] = value;
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private static class IntSlot extends BitsSlot
+    {
+
+        private IntSlot(Field field, MethodHandle getter, MethodHandle setter)
+        {
+            super(field, getter, setter);
+        }
+
+        @Override
+        long get(Object owner) throws Throwable
+        {
+            return (int) this.getter.invokeExact(owner);
+        }
+
+        @Override
+        void write(long value, ByteBuf buffer)
+        {
+            buffer.writeInt((int) value);
+        }
+
+        @Override
+        void writeRecorded(State state, int i, ByteBuf buffer)
+        {
+            NetworkUtil.writeSignedVarLong(buffer, state.lastBits[i]);
+        }
+
+        private void set(Object owner, int value) throws Throwable
+        {
+            if (this.setter != null)
+            {
+                this.setter.invokeExact(owner, value);
+            }
+        }
+
+        @Override
+        void read(Object owner, ByteBuf buffer, World world) throws Throwable
+        {
+            this.set(owner, buffer.readInt());
+        }
+
+        @Override
+        void readRecorded(Object owner, ByteBuf buffer, World world) throws Throwable
+        {
+            this.set(owner, (int) NetworkUtil.readSignedVarLong(buffer));
+        }
+    }
+
+    private static class ShortSlot extends BitsSlot
+    {
+
+        private ShortSlot(Field field, MethodHandle getter, MethodHandle setter)
+        {
+            super(field, getter, setter);
+        }
+
+        @Override
+        long get(Object owner) throws Throwable
+        {
+            return (short) this.getter.invokeExact(owner);
+        }
+
+        @Override
+        void write(long value, ByteBuf buffer)
+        {
+            buffer.writeShort((int) value);
+        }
+
+        @Override
+        void writeRecorded(State state, int i, ByteBuf buffer)
+        {
+            NetworkUtil.writeSignedVarLong(buffer, state.lastBits[i]);
+        }
+
+        private void set(Object owner, short value) throws Throwable
+        {
+            if (this.setter != null)
+            {
+                this.setter.invokeExact(owner, value);
+            }
+        }
+
+        @Override
+        void read(Object owner, ByteBuf buffer, World world) throws Throwable
+        {
+            this.set(owner, buffer.readShort());
+        }
+
+        @Override
+        void readRecorded(Object owner, ByteBuf buffer, World world) throws Throwable
+        {
+            this.set(owner, (short) NetworkUtil.readSignedVarLong(buffer));
+        }
+    }
+
+    private static class LongSlot extends BitsSlot
+    {
+
+        private LongSlot(Field field, MethodHandle getter, MethodHandle setter)
+        {
+            super(field, getter, setter);
+        }
+
+        @Override
+        long get(Object owner) throws Throwable
+        {
+            return (long) this.getter.invokeExact(owner);
+        }
+
+        @Override
+        void write(long value, ByteBuf buffer)
+        {
+            buffer.writeLong(value);
+        }
+
+        @Override
+        void writeRecorded(State state, int i, ByteBuf buffer)
+        {
+            NetworkUtil.writeSignedVarLong(buffer, state.lastBits[i]);
+        }
+
+        private void set(Object owner, long value) throws Throwable
+        {
+            if (this.setter != null)
+            {
+                this.setter.invokeExact(owner, value);
+            }
+        }
+
+        @Override
+        void read(Object owner, ByteBuf buffer, World world) throws Throwable
+        {
+            this.set(owner, buffer.readLong());
+        }
+
+        @Override
+        void readRecorded(Object owner, ByteBuf buffer, World world) throws Throwable
+        {
+            this.set(owner, NetworkUtil.readSignedVarLong(buffer));
+        }
+    }
+
+    private static class ByteSlot extends BitsSlot
+    {
+
+        private ByteSlot(Field field, MethodHandle getter, MethodHandle setter)
+        {
+            super(field, getter, setter);
+        }
+
+        @Override
+        long get(Object owner) throws Throwable
+        {
+            return (byte) this.getter.invokeExact(owner);
+        }
+
+        @Override
+        void write(long value, ByteBuf buffer)
+        {
+            buffer.writeByte((int) value);
+        }
+
+        @Override
+        void writeRecorded(State state, int i, ByteBuf buffer)
+        {
+            buffer.writeByte((int) state.lastBits[i]);
+        }
+
+        private void set(Object owner, byte value) throws Throwable
+        {
+            if (this.setter != null)
+            {
+                this.setter.invokeExact(owner, value);
+            }
+        }
+
+        @Override
+        void read(Object owner, ByteBuf buffer, World world) throws Throwable
+        {
+            this.set(owner, buffer.readByte());
+        }
+
+        @Override
+        void readRecorded(Object owner, ByteBuf buffer, World world) throws Throwable
+        {
+            this.set(owner, buffer.readByte());
+        }
+    }
+
+    private static class BooleanSlot extends BitsSlot
+    {
+
+        private BooleanSlot(Field field, MethodHandle getter, MethodHandle setter)
+        {
+            super(field, getter, setter);
+        }
+
+        @Override
+        long get(Object owner) throws Throwable
+        {
+            return (boolean) this.getter.invokeExact(owner) ? 1L : 0L;
+        }
+
+        @Override
+        void write(long value, ByteBuf buffer)
+        {
+            buffer.writeBoolean(value != 0L);
+        }
+
+        @Override
+        void writeRecorded(State state, int i, ByteBuf buffer)
+        {
+            buffer.writeBoolean(state.lastBits[i] != 0L);
+        }
+
+        private void set(Object owner, boolean value) throws Throwable
+        {
+            if (this.setter != null)
+            {
+                this.setter.invokeExact(owner, value);
+            }
+        }
+
+        @Override
+        void read(Object owner, ByteBuf buffer, World world) throws Throwable
+        {
+            this.set(owner, buffer.readBoolean());
+        }
+
+        @Override
+        void readRecorded(Object owner, ByteBuf buffer, World world) throws Throwable
+        {
+            this.set(owner, buffer.readBoolean());
+        }
+    }
+
+    private static class FloatSlot extends Slot
+    {
+
+        private FloatSlot(Field field, MethodHandle getter, MethodHandle setter)
+        {
+            super(field, getter, setter);
+        }
+
+        @Override
+        boolean collect(Object owner, State state, int i, boolean first, ByteBuf buffer) throws Throwable
+        {
+            float value = (float) this.getter.invokeExact(owner);
+            buffer.writeFloat(value);
+            return FloatSlot.record(state, i, value, first);
+        }
+
+        @Override
+        boolean update(Object owner, State state, int i, boolean first) throws Throwable
+        {
+            return FloatSlot.record(state, i, (float) this.getter.invokeExact(owner), first);
+        }
+
+        private static boolean record(State state, int i, float value, boolean first)
+        {
+            float last = (float) state.lastReal[i];
+            if (first || !(value == last || Math.abs(value - last) < 0.01F))
+            {
+                state.lastReal[i] = value;
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        void writeRecorded(State state, int i, ByteBuf buffer)
+        {
+            buffer.writeFloat((float) state.lastReal[i]);
+        }
+
+        private void set(Object owner, float value) throws Throwable
+        {
+            if (this.setter != null)
+            {
+                this.setter.invokeExact(owner, value);
+            }
+        }
+
+        @Override
+        void read(Object owner, ByteBuf buffer, World world) throws Throwable
+        {
+            this.set(owner, buffer.readFloat());
+        }
+
+        @Override
+        void readRecorded(Object owner, ByteBuf buffer, World world) throws Throwable
+        {
+            this.set(owner, buffer.readFloat());
+        }
+    }
+
+    private static class DoubleSlot extends Slot
+    {
+
+        private DoubleSlot(Field field, MethodHandle getter, MethodHandle setter)
+        {
+            super(field, getter, setter);
+        }
+
+        @Override
+        boolean collect(Object owner, State state, int i, boolean first, ByteBuf buffer) throws Throwable
+        {
+            double value = (double) this.getter.invokeExact(owner);
+            buffer.writeDouble(value);
+            return DoubleSlot.record(state, i, value, first);
+        }
+
+        @Override
+        boolean update(Object owner, State state, int i, boolean first) throws Throwable
+        {
+            return DoubleSlot.record(state, i, (double) this.getter.invokeExact(owner), first);
+        }
+
+        private static boolean record(State state, int i, double value, boolean first)
+        {
+            if (first || !DoubleMath.fuzzyEquals(value, state.lastReal[i], 0.01))
+            {
+                state.lastReal[i] = value;
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        void writeRecorded(State state, int i, ByteBuf buffer)
+        {
+            buffer.writeDouble(state.lastReal[i]);
+        }
+
+        private void set(Object owner, double value) throws Throwable
+        {
+            if (this.setter != null)
+            {
+                this.setter.invokeExact(owner, value);
+            }
+        }
+
+        @Override
+        void read(Object owner, ByteBuf buffer, World world) throws Throwable
+        {
+            this.set(owner, buffer.readDouble());
+        }
+
+        @Override
+        void readRecorded(Object owner, ByteBuf buffer, World world) throws Throwable
+        {
+            this.set(owner, buffer.readDouble());
+        }
+    }
+
+    /**
+     * Any other field type, written and read through NetworkUtil
+     */
+    private static class ObjectSlot extends Slot
+    {
+
+        private ObjectSlot(Field field, MethodHandle getter, MethodHandle setter)
+        {
+            super(field, getter, setter);
+        }
+
+        @Override
+        boolean collect(Object owner, State state, int i, boolean first, ByteBuf buffer) throws Throwable
+        {
+            Object value = (Object) this.getter.invokeExact(owner);
+            NetworkUtil.encodeData(buffer, Collections.singletonList(value));
+            return ObjectSlot.record(state, i, value, first);
+        }
+
+        @Override
+        boolean update(Object owner, State state, int i, boolean first) throws Throwable
+        {
+            return ObjectSlot.record(state, i, (Object) this.getter.invokeExact(owner), first);
+        }
+
+        private static boolean record(State state, int i, Object value, boolean first)
+        {
+            if (first || !NetworkUtil.fuzzyEquals(state.lastObject[i], value))
+            {
+                state.lastObject[i] = NetworkUtil.cloneNetworkedObject(value);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        void writeRecorded(State state, int i, ByteBuf buffer)
+        {
+            try
+            {
+                NetworkUtil.encodeData(buffer, Collections.singletonList(state.lastObject[i]));
+            } catch (IOException e)
+            {
+                e.printStackTrace();
+            }
+        }
+
+        @Override
+        void read(Object owner, ByteBuf buffer, World world) throws Throwable
+        {
+            Object value = NetworkUtil.getFieldValueFromStream(this.field, buffer, world);
+            if (this.setter != null)
+            {
+                this.setter.invokeExact(owner, value);
+            }
+        }
+
+        @Override
+        void readRecorded(Object owner, ByteBuf buffer, World world) throws Throwable
+        {
+            this.read(owner, buffer, world);
+        }
+    }
+}
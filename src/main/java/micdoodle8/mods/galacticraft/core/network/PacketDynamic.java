@@ -52,6 +52,17 @@ public class PacketDynamic extends PacketBase
         ((IPacketReceiver) entity).getNetworkedData(this.sendData);
     }
 
+    /**
+     * For data the entity's getNetworkedData() has already filled in
+     */
+    PacketDynamic(Entity entity, ArrayList<Object> sendData)
+    {
+        super(GCCoreUtil.getDimensionID(entity.world));
+        this.type = 0;
+        this.identifier = entity.getEntityId();
+        this.sendData = sendData;
+    }
+
     public PacketDynamic(TileEntity tile)
     {
         super(GCCoreUtil.getDimensionID(tile.getWorld()));
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2023 Team Galacticraft
+ *
+ * Licensed under the MIT license.
+ * See LICENSE file in the project root for details.
+ */
+
+package micdoodle8.mods.galacticraft.core.network;
+
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+import micdoodle8.mods.galacticraft.core.GalacticraftCore;
+import micdoodle8.mods.galacticraft.core.tile.TileEntityAdvanced;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * The changed networked fields of many machines in one dimension, sent to
+ * one player - see MachineSyncBatcher.
+ *
+ * Each entry is the tile's packed BlockPos, the entry length as a varint, and
+ * then what TileEntityAdvanced.writeSyncChanges() or writeSyncAll() wrote.
+ * The length lets the client skip entries for tiles it does not have.
+ */
+public class PacketDynamicBatch extends PacketBase
+{
+
+    private int count;
+    private ByteBuf payloadData;
+
+    public PacketDynamicBatch()
+    {
+        super();
+    }
+
+    public PacketDynamicBatch(int dimensionID, int count, ByteBuf payloadData)
+    {
+        super(dimensionID);
+        this.count = count;
+        this.payloadData = payloadData;
+    }
+
+    @Override
+    public void encodeInto(ByteBuf buffer)
+    {
+        super.encodeInto(buffer);
+        buffer.writeInt(this.count);
+        int readableBytes = this.payloadData.readableBytes();
+        buffer.writeInt(readableBytes);
+        buffer.writeBytes(this.payloadData, this.payloadData.readerIndex(), readableBytes);
+    }
+
+    @Override
+    public void decodeInto(ByteBuf buffer)
+    {
+        super.decodeInto(buffer);
+        this.count = buffer.readInt();
+        int length = buffer.readInt();
+        this.payloadData = buffer.readBytes(length);
+    }
+
+    @Override
+    public void handleClientSide(EntityPlayer player)
+    {
+        World world = player.world;
+
+        for (int i = 0; i < this.count; i++)
+        {
+            BlockPos pos = BlockPos.fromLong(this.payloadData.readLong());
+            int length = (int) NetworkUtil.readVarLong(this.payloadData);
+            ByteBuf entry = this.payloadData.readSlice(length);
+
+            if (world.isBlockLoaded(pos, false))
+            {
+                TileEntity tile = world.getTileEntity(pos);
+
+                if (tile instanceof TileEntityAdvanced)
+                {
+                    try
+                    {
+                        ((TileEntityAdvanced) tile).readSyncData(entry);
+                    } catch (Exception e)
+                    {
+                        GalacticraftCore.logger.error("Bad machine sync data for " + tile.getClass().getSimpleName() + " at " + pos);
+                        e.printStackTrace();
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public void handleServerSide(EntityPlayer player)
+    {
+    }
+}
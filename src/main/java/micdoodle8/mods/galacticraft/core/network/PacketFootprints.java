@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2023 Team Galacticraft
+ *
+ * Licensed under the MIT license.
+ * See LICENSE file in the project root for details.
+ */
+
+package micdoodle8.mods.galacticraft.core.network;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.minecraft.entity.player.EntityPlayer;
+
+import net.minecraftforge.fml.common.network.ByteBufUtils;
+
+import micdoodle8.mods.galacticraft.api.vector.Vector3;
+import micdoodle8.mods.galacticraft.core.client.FootprintRenderer;
+import micdoodle8.mods.galacticraft.core.wrappers.Footprint;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * The footprints added and removed in some chunks, sent to one player - see
+ * FootprintTracker.
+ *
+ * Each entry is the chunk key, the entry length as a varint, and then what
+ * ChunkFootprints.writeChanges() or writeAll() wrote.
+ */
+public class PacketFootprints extends PacketBase
+{
+
+    private int count;
+    private ByteBuf payloadData;
+
+    public PacketFootprints()
+    {
+        super();
+    }
+
+    public PacketFootprints(int dimensionID, int count, ByteBuf payloadData)
+    {
+        super(dimensionID);
+        this.count = count;
+        this.payloadData = payloadData;
+    }
+
+    @Override
+    public void encodeInto(ByteBuf buffer)
+    {
+        super.encodeInto(buffer);
+        buffer.writeInt(this.count);
+        int readableBytes = this.payloadData.readableBytes();
+        buffer.writeInt(readableBytes);
+        buffer.writeBytes(this.payloadData, this.payloadData.readerIndex(), readableBytes);
+    }
+
+    @Override
+    public void decodeInto(ByteBuf buffer)
+    {
+        super.decodeInto(buffer);
+        this.count = buffer.readInt();
+        int length = buffer.readInt();
+        this.payloadData = buffer.readBytes(length);
+    }
+
+    @Override
+    public void handleClientSide(EntityPlayer player)
+    {
+        String playerName = player.getName();
+
+        for (int i = 0; i < this.count; i++)
+        {
+            long chunkKey = this.payloadData.readLong();
+            int length = (int) NetworkUtil.readVarLong(this.payloadData);
+            ByteBuf entry = this.payloadData.readSlice(length);
+
+            boolean full = entry.readBoolean();
+            int added = (int) NetworkUtil.readVarLong(entry);
+            List<Footprint> prints = new ArrayList<>(added);
+            for (int j = 0; j < added; j++)
+            {
+                int id = (int) NetworkUtil.readVarLong(entry);
+                Footprint print = new Footprint(this.getDimensionID(), new Vector3(entry.readFloat(), entry.readFloat(), entry.readFloat()), entry.readFloat(), entry.readShort(),
+                    ByteBufUtils.readUTF8String(entry), -1);
+                print.id = id;
+                // The player's own prints are made client side
+                if (!print.owner.equals(playerName))
+                {
+                    prints.add(print);
+                }
+            }
+
+            int[] removed = new int[(int) NetworkUtil.readVarLong(entry)];
+            for (int j = 0; j < removed.length; j++)
+            {
+                removed[j] = (int) NetworkUtil.readVarLong(entry);
+            }
+
+            FootprintRenderer.updateFootprints(chunkKey, full, prints, removed);
+        }
+    }
+
+    @Override
+    public void handleServerSide(EntityPlayer player)
+    {
+    }
+}
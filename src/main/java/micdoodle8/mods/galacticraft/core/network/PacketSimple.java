@@ -228,7 +228,6 @@ public class PacketSimple extends PacketBase implements Packet<INetHandler>
         C_OPEN_SPACE_RACE_GUI(Side.CLIENT),
         C_UPDATE_SPACE_RACE_DATA(Side.CLIENT, Integer.class, String.class, FlagData.class, Vector3.class, String[].class),
         C_OPEN_JOIN_RACE_GUI(Side.CLIENT, Integer.class),
-        C_UPDATE_FOOTPRINT_LIST(Side.CLIENT, Long.class, Footprint[].class),
         C_UPDATE_DUNGEON_DIRECTION(Side.CLIENT, Float.class),
         C_FOOTPRINTS_REMOVED(Side.CLIENT, Long.class, BlockVec3.class),
         C_UPDATE_STATION_SPIN(Side.CLIENT, Float.class, Boolean.class),
@@ -688,19 +687,6 @@ public class PacketSimple extends PacketBase implements Packet<INetHandler>
             case C_UPDATE_DUNGEON_DIRECTION:
                 stats.setDungeonDirection((Float) this.data.get(0));
                 break;
-            case C_UPDATE_FOOTPRINT_LIST:
-                List<Footprint> printList = new ArrayList<>();
-                long chunkKey = (Long) this.data.get(0);
-                for (int i = 1; i < this.data.size(); i++)
-                {
-                    Footprint print = (Footprint) this.data.get(i);
-                    if (!print.owner.equals(player.getName()))
-                    {
-                        printList.add(print);
-                    }
-                }
-                FootprintRenderer.setFootprints(chunkKey, printList);
-                break;
             case C_FOOTPRINTS_REMOVED:
                 long chunkKey0 = (Long) this.data.get(0);
                 BlockVec3 position = (BlockVec3) this.data.get(1);
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2023 Team Galacticraft
+ *
+ * Licensed under the MIT license.
+ * See LICENSE file in the project root for details.
+ */
+
+package micdoodle8.mods.galacticraft.core.network;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.player.EntityPlayer;
+
+import micdoodle8.mods.galacticraft.core.network.PacketEntityUpdate.IEntityFullSync;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * A vehicle's position, motion and rotation, sent by VehicleSync to the
+ * players tracking the vehicle.
+ *
+ * Everything is quantized (see VehicleSync). The position is either absolute
+ * or - usually - the change since the last one sent, written as zig-zag
+ * varints, so a vehicle creeping along costs a few bytes.
+ */
+public class PacketVehicleMotion extends PacketBase
+{
+
+    private static final int ABSOLUTE = 1;
+    private static final int ON_GROUND = 2;
+
+    private int entityID;
+    private boolean absolute;
+    private long x;
+    private long y;
+    private long z;
+    private int motionX;
+    private int motionY;
+    private int motionZ;
+    private int yaw;
+    private int pitch;
+    private boolean onGround;
+
+    public PacketVehicleMotion()
+    {
+        super();
+    }
+
+    public PacketVehicleMotion(int dimID, int entityID, boolean absolute, long x, long y, long z, int[] state, boolean onGround)
+    {
+        super(dimID);
+        this.entityID = entityID;
+        this.absolute = absolute;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.motionX = state[0];
+        this.motionY = state[1];
+        this.motionZ = state[2];
+        this.yaw = state[3];
+        this.pitch = state[4];
+        this.onGround = onGround;
+    }
+
+    @Override
+    public void encodeInto(ByteBuf buffer)
+    {
+        super.encodeInto(buffer);
+        NetworkUtil.writeVarLong(buffer, this.entityID);
+        buffer.writeByte((this.absolute ? ABSOLUTE : 0) | (this.onGround ? ON_GROUND : 0));
+        NetworkUtil.writeSignedVarLong(buffer, this.x);
+        NetworkUtil.writeSignedVarLong(buffer, this.y);
+        NetworkUtil.writeSignedVarLong(buffer, this.z);
+        NetworkUtil.writeSignedVarLong(buffer, this.motionX);
+        NetworkUtil.writeSignedVarLong(buffer, this.motionY);
+        NetworkUtil.writeSignedVarLong(buffer, this.motionZ);
+        buffer.writeShort(this.yaw);
+        buffer.writeShort(this.pitch);
+    }
+
+    @Override
+    public void decodeInto(ByteBuf buffer)
+    {
+        super.decodeInto(buffer);
+        this.entityID = (int) NetworkUtil.readVarLong(buffer);
+        int flags = buffer.readByte();
+        this.absolute = (flags & ABSOLUTE) != 0;
+        this.onGround = (flags & ON_GROUND) != 0;
+        this.x = NetworkUtil.readSignedVarLong(buffer);
+        this.y = NetworkUtil.readSignedVarLong(buffer);
+        this.z = NetworkUtil.readSignedVarLong(buffer);
+        this.motionX = (int) NetworkUtil.readSignedVarLong(buffer);
+        this.motionY = (int) NetworkUtil.readSignedVarLong(buffer);
+        this.motionZ = (int) NetworkUtil.readSignedVarLong(buffer);
+        this.yaw = buffer.readShort();
+        this.pitch = buffer.readShort();
+    }
+
+    @Override
+    public void handleClientSide(EntityPlayer player)
+    {
+        Entity entity = player.world.getEntityByID(this.entityID);
+
+        if (entity instanceof IEntityFullSync && entity instanceof VehicleSync.IVehicle)
+        {
+            VehicleSync sync = ((VehicleSync.IVehicle) entity).getVehicleSync();
+            // A change is no use without the position it is a change from
+            if (sync.receive(this.absolute, this.x, this.y, this.z))
+            {
+                ((IEntityFullSync) entity).setPositionRotationAndMotion(sync.getReceivedX(), sync.getReceivedY(), sync.getReceivedZ(), VehicleSync.toAngle(this.yaw),
+                    VehicleSync.toAngle(this.pitch), VehicleSync.toMotion(this.motionX), VehicleSync.toMotion(this.motionY), VehicleSync.toMotion(this.motionZ), this.onGround);
+            }
+        }
+    }
+
+    @Override
+    public void handleServerSide(EntityPlayer player)
+    {
+    }
+}
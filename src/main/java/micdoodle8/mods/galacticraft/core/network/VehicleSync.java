@@ -0,0 +1,305 @@
+/*
+ * Copyright (c) 2023 Team Galacticraft
+ *
+ * Licensed under the MIT license.
+ * See LICENSE file in the project root for details.
+ */
+
+package micdoodle8.mods.galacticraft.core.network;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.WorldServer;
+
+import micdoodle8.mods.galacticraft.core.GalacticraftCore;
+import micdoodle8.mods.galacticraft.core.util.GCCoreUtil;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+
+/**
+ * Sends a vehicle's state (rockets, buggies, landers...) to the players
+ * tracking it, and only when it has changed.
+ *
+ * Server side, the vehicle calls update() every tick. That looks at the
+ * vehicle every few ticks - more often the faster it is going - and sends
+ * the players who already have its state a PacketVehicleMotion with the
+ * change in its position, and a PacketDynamic if its networked data is not
+ * what was sent last time. A parked vehicle has nothing new to send, and so
+ * sends nothing. Players who have just started tracking the vehicle are sent
+ * all of it straight away.
+ *
+ * Client side, it keeps the last position received, which position changes
+ * are added to.
+ */
+public class VehicleSync
+{
+
+    // Positions in 1/4096ths of a block, as vanilla's relative moves
+    private static final double POSITION_SCALE = 4096.0D;
+    // Motion in 1/8000ths of a block per tick, as vanilla's velocity packets
+    private static final double MOTION_SCALE = 8000.0D;
+    private static final float ANGLE_SCALE = 65536.0F / 360.0F;
+
+    // Ticks without any change before a vehicle counts as parked
+    private static final int SLEEP_TICKS = 20;
+    // While moving, the whole position is sent this often, so a client which
+    // somehow missed a change does not stay out of place
+    private static final int KEYFRAME_TICKS = 100;
+
+    public interface IVehicle
+    {
+
+        VehicleSync getVehicleSync();
+    }
+
+    // Server side: what the players in synced were last sent
+    private final Set<EntityPlayerMP> synced = new HashSet<>();
+    private boolean sentMotion;
+    private long sentX;
+    private long sentY;
+    private long sentZ;
+    private final int[] sentState = new int[5];
+    private boolean sentOnGround;
+    private ByteBuf sentData;
+    private ByteBuf scratch;
+    private long lastChange;
+    private long lastKeyframe;
+
+    // Client side: the last position received
+    private boolean received;
+    private long receivedX;
+    private long receivedY;
+    private long receivedZ;
+
+    /**
+     * Server side, every tick
+     *
+     * @param syncMotion send the position, motion and rotation
+     * @param syncData send the getNetworkedData() data
+     */
+    public void update(Entity entity, long ticks, boolean syncMotion, boolean syncData)
+    {
+        Set<? extends EntityPlayer> trackers = ((WorldServer) entity.world).getEntityTracker().getTrackingPlayers(entity);
+        this.synced.retainAll(trackers);
+        if (trackers.isEmpty())
+        {
+            return;
+        }
+
+        int dimID = GCCoreUtil.getDimensionID(entity.world);
+        double speedSq = entity.motionX * entity.motionX + entity.motionY * entity.motionY + entity.motionZ * entity.motionZ;
+        int interval = speedSq > 0.25D ? 2 : ticks - this.lastChange < SLEEP_TICKS ? 3 : 4;
+        boolean firstTime = syncMotion ? !this.sentMotion : this.sentData == null;
+
+        List<EntityPlayerMP> joined = null;
+        for (EntityPlayer player : trackers)
+        {
+            if (player instanceof EntityPlayerMP && !this.synced.contains(player))
+            {
+                if (joined == null)
+                {
+                    joined = new ArrayList<>(1);
+                }
+                joined.add((EntityPlayerMP) player);
+            }
+        }
+
+        // Anyone joining is sent the current state
+        if (firstTime || joined != null || ticks % interval == 0)
+        {
+            if (syncMotion)
+            {
+                this.updateMotion(entity, ticks, dimID);
+            }
+            if (syncData)
+            {
+                this.updateData(entity, ticks);
+            }
+        }
+
+        if (joined != null)
+        {
+            PacketVehicleMotion motion = syncMotion && this.sentMotion ? this.createKeyframe(entity, dimID) : null;
+            PacketDynamic data = syncData ? new PacketDynamic(entity) : null;
+            for (EntityPlayerMP player : joined)
+            {
+                if (motion != null)
+                {
+                    GalacticraftCore.packetPipeline.sendTo(motion, player);
+                }
+                if (data != null)
+                {
+                    GalacticraftCore.packetPipeline.sendTo(data, player);
+                }
+                this.synced.add(player);
+            }
+        }
+    }
+
+    private void updateMotion(Entity entity, long ticks, int dimID)
+    {
+        long x = MathHelper.lfloor(entity.posX * POSITION_SCALE + 0.5D);
+        long y = MathHelper.lfloor(entity.posY * POSITION_SCALE + 0.5D);
+        long z = MathHelper.lfloor(entity.posZ * POSITION_SCALE + 0.5D);
+        int motionX = MathHelper.floor(entity.motionX * MOTION_SCALE + 0.5D);
+        int motionY = MathHelper.floor(entity.motionY * MOTION_SCALE + 0.5D);
+        int motionZ = MathHelper.floor(entity.motionZ * MOTION_SCALE + 0.5D);
+        int yaw = VehicleSync.fromAngle(entity.rotationYaw);
+        int pitch = VehicleSync.fromAngle(entity.rotationPitch);
+
+        int[] state = this.sentState;
+        if (this.sentMotion && x == this.sentX && y == this.sentY && z == this.sentZ && motionX == state[0] && motionY == state[1] && motionZ == state[2] && yaw == state[3]
+            && pitch == state[4] && entity.onGround == this.sentOnGround)
+        {
+            return;
+        }
+
+        boolean keyframe = !this.sentMotion || ticks - this.lastKeyframe >= KEYFRAME_TICKS;
+        long dx = x - this.sentX;
+        long dy = y - this.sentY;
+        long dz = z - this.sentZ;
+        this.sentMotion = true;
+        this.sentX = x;
+        this.sentY = y;
+        this.sentZ = z;
+        state[0] = motionX;
+        state[1] = motionY;
+        state[2] = motionZ;
+        state[3] = yaw;
+        state[4] = pitch;
+        this.sentOnGround = entity.onGround;
+        this.lastChange = ticks;
+
+        if (this.synced.isEmpty())
+        {
+            return;
+        }
+
+        PacketVehicleMotion packet;
+        if (keyframe)
+        {
+            this.lastKeyframe = ticks;
+            packet = this.createKeyframe(entity, dimID);
+        } else
+        {
+            packet = new PacketVehicleMotion(dimID, entity.getEntityId(), false, dx, dy, dz, state, entity.onGround);
+        }
+
+        for (EntityPlayerMP player : this.synced)
+        {
+            GalacticraftCore.packetPipeline.sendTo(packet, player);
+        }
+    }
+
+    private PacketVehicleMotion createKeyframe(Entity entity, int dimID)
+    {
+        return new PacketVehicleMotion(dimID, entity.getEntityId(), true, this.sentX, this.sentY, this.sentZ, this.sentState, this.sentOnGround);
+    }
+
+    private void updateData(Entity entity, long ticks)
+    {
+        ArrayList<Object> data = new ArrayList<>();
+        ((IPacketReceiver) entity).getNetworkedData(data);
+
+        if (this.scratch == null)
+        {
+            this.scratch = Unpooled.buffer(64);
+        }
+        this.scratch.clear();
+        try
+        {
+            NetworkUtil.encodeData(this.scratch, data);
+        } catch (IOException e)
+        {
+            e.printStackTrace();
+            return;
+        }
+
+        if (this.sentData != null && ByteBufUtil.equals(this.scratch, this.sentData))
+        {
+            return;
+        }
+
+        // Keep these bytes to compare against next time
+        ByteBuf sent = this.sentData;
+        this.sentData = this.scratch;
+        this.scratch = sent;
+        this.lastChange = ticks;
+
+        if (!this.synced.isEmpty())
+        {
+            PacketDynamic packet = new PacketDynamic(entity, data);
+            for (EntityPlayerMP player : this.synced)
+            {
+                GalacticraftCore.packetPipeline.sendTo(packet, player);
+            }
+        }
+    }
+
+    /**
+     * Client side: takes in a received position
+     *
+     * @return false if it was a change, and there is no position yet to
+     *         change
+     */
+    public boolean receive(boolean absolute, long x, long y, long z)
+    {
+        if (absolute)
+        {
+            this.received = true;
+            this.receivedX = x;
+            this.receivedY = y;
+            this.receivedZ = z;
+            return true;
+        }
+
+        if (!this.received)
+        {
+            return false;
+        }
+        this.receivedX += x;
+        this.receivedY += y;
+        this.receivedZ += z;
+        return true;
+    }
+
+    public double getReceivedX()
+    {
+        return this.receivedX / POSITION_SCALE;
+    }
+
+    public double getReceivedY()
+    {
+        return this.receivedY / POSITION_SCALE;
+    }
+
+    public double getReceivedZ()
+    {
+        return this.receivedZ / POSITION_SCALE;
+    }
+
+    private static int fromAngle(float angle)
+    {
+        return (short) MathHelper.floor(MathHelper.wrapDegrees(angle) * ANGLE_SCALE);
+    }
+
+    public static float toAngle(int value)
+    {
+        return (short) value / ANGLE_SCALE;
+    }
+
+    public static double toMotion(int value)
+    {
+        return value / MOTION_SCALE;
+    }
+}
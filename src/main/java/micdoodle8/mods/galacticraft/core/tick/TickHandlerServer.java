@@ -10,9 +10,7 @@ package micdoodle8.mods.galacticraft.core.tick;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -22,10 +20,8 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 import net.minecraft.block.Block;
-import net.minecraft.block.BlockAir;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.player.EntityPlayerMP;
-import net.minecraft.init.Blocks;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.math.BlockPos;
@@ -33,8 +29,6 @@ import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.World;
 import net.minecraft.world.WorldProvider;
 import net.minecraft.world.WorldServer;
-import net.minecraft.world.chunk.Chunk;
-import net.minecraft.world.gen.ChunkProviderServer;
 
 import net.minecraftforge.common.DimensionManager;
 import net.minecraftforge.event.world.WorldEvent;
@@ -57,32 +51,44 @@ import micdoodle8.mods.galacticraft.core.dimension.WorldDataSpaceRaces;
 import micdoodle8.mods.galacticraft.core.energy.grid.EnergyNetwork;
 import micdoodle8.mods.galacticraft.core.energy.tile.TileBaseConductor;
 import micdoodle8.mods.galacticraft.core.entities.player.GCPlayerStats;
+import micdoodle8.mods.galacticraft.core.fluid.BlockChangeCounter;
 import micdoodle8.mods.galacticraft.core.fluid.FluidNetwork;
+import micdoodle8.mods.galacticraft.core.fluid.SealedVolumeIndex;
+import micdoodle8.mods.galacticraft.core.fluid.SealerWorkerPool;
 import micdoodle8.mods.galacticraft.core.fluid.ThreadFindSeal;
 import micdoodle8.mods.galacticraft.core.network.GalacticraftPacketHandler;
+import micdoodle8.mods.galacticraft.core.network.MachineSyncBatcher;
 import micdoodle8.mods.galacticraft.core.network.PacketSimple;
 import micdoodle8.mods.galacticraft.core.network.PacketSimple.EnumSimplePacket;
+import micdoodle8.mods.galacticraft.core.tile.TelemetryHub;
 import micdoodle8.mods.galacticraft.core.tile.TileEntityFluidTank;
 import micdoodle8.mods.galacticraft.core.tile.TileEntityFluidTransmitter;
 import micdoodle8.mods.galacticraft.core.tile.TileEntityOxygenSealer;
 import micdoodle8.mods.galacticraft.core.tile.TileEntityPainter;
+import micdoodle8.mods.galacticraft.core.tile.TileEntityRegistry;
+import micdoodle8.mods.galacticraft.core.util.AsyncSavedData;
+import micdoodle8.mods.galacticraft.core.util.ConfigManagerCore;
 import micdoodle8.mods.galacticraft.core.util.GCCoreUtil;
+import micdoodle8.mods.galacticraft.core.util.GravityCache;
 import micdoodle8.mods.galacticraft.core.util.MapUtil;
+import micdoodle8.mods.galacticraft.core.util.OxygenBubbleIndex;
+import micdoodle8.mods.galacticraft.core.util.SavedDataWriter;
+import micdoodle8.mods.galacticraft.core.util.ScheduledBlockChangeQueue;
 import micdoodle8.mods.galacticraft.core.util.WorldUtil;
-import micdoodle8.mods.galacticraft.core.wrappers.Footprint;
+import micdoodle8.mods.galacticraft.core.world.FootprintTracker;
 import micdoodle8.mods.galacticraft.core.wrappers.ScheduledBlockChange;
 import micdoodle8.mods.galacticraft.core.wrappers.ScheduledDimensionChange;
+import micdoodle8.mods.galacticraft.planets.mars.tile.LaunchControllerDirectory;
 
 import com.google.common.collect.Lists;
 
 public class TickHandlerServer
 {
 
-    private static Map<Integer, CopyOnWriteArrayList<ScheduledBlockChange>> scheduledBlockChanges = new ConcurrentHashMap<Integer, CopyOnWriteArrayList<ScheduledBlockChange>>();
+    private static Map<Integer, ScheduledBlockChangeQueue> scheduledBlockChanges = new ConcurrentHashMap<Integer, ScheduledBlockChangeQueue>();
     private static Map<Integer, CopyOnWriteArrayList<BlockVec3>> scheduledTorchUpdates = new ConcurrentHashMap<Integer, CopyOnWriteArrayList<BlockVec3>>();
     private static Map<Integer, Set<BlockPos>> edgeChecks = new TreeMap<Integer, Set<BlockPos>>();
     private static LinkedList<EnergyNetwork> networkTicks = new LinkedList<EnergyNetwork>();
-    public static Map<Integer, Map<Long, List<Footprint>>> serverFootprintMap = new TreeMap<Integer, Map<Long, List<Footprint>>>();
     public static List<BlockVec3Dim> footprintBlockChanges = Lists.newArrayList();
     public static WorldDataSpaceRaces spaceRaceData = null;
     public static ArrayList<EntityPlayerMP> playersRequestingMapData = Lists.newArrayList();
@@ -110,6 +116,15 @@ public class TickHandlerServer
         TickHandlerServer.packetHandlers.add(handler);
     }
 
+    @SubscribeEvent
+    public void worldLoadEvent(WorldEvent.Load event)
+    {
+        if (!event.getWorld().isRemote)
+        {
+            event.getWorld().addEventListener(new BlockChangeCounter.Listener());
+        }
+    }
+
     @SubscribeEvent
     public void worldUnloadEvent(WorldEvent.Unload event)
     {
@@ -117,6 +132,12 @@ public class TickHandlerServer
         {
             packetHandler.unload(event.getWorld());
         }
+
+        if (!event.getWorld().isRemote)
+        {
+            MachineSyncBatcher.unload(GCCoreUtil.getDimensionID(event.getWorld()));
+            FootprintTracker.unload(GCCoreUtil.getDimensionID(event.getWorld()));
+        }
     }
 
     public static void restart()
@@ -125,7 +146,7 @@ public class TickHandlerServer
         TickHandlerServer.scheduledTorchUpdates.clear();
         TickHandlerServer.edgeChecks.clear();
         TickHandlerServer.networkTicks.clear();
-        TickHandlerServer.serverFootprintMap.clear();
+        FootprintTracker.clear();
         TickHandlerServer.oxygenTransmitterUpdates.clear();
 //        TickHandlerServer.hydrogenTransmitterUpdates.clear();
         TickHandlerServer.energyTransmitterUpdates.clear();
@@ -142,44 +163,21 @@ public class TickHandlerServer
         TickHandlerServer.fluidNetworks.clear();
         MapUtil.reset();
         TileEntityPainter.loadedTilesForDim.clear();
-    }
-
-    public static void addFootprint(long chunkKey, Footprint print, int dimID)
-    {
-        Map<Long, List<Footprint>> footprintMap = TickHandlerServer.serverFootprintMap.get(dimID);
-        List<Footprint> footprints;
-
-        if (footprintMap == null)
-        {
-            footprintMap = new HashMap<Long, List<Footprint>>();
-            TickHandlerServer.serverFootprintMap.put(dimID, footprintMap);
-            footprints = new ArrayList<Footprint>();
-            footprintMap.put(chunkKey, footprints);
-        } else
-        {
-            footprints = footprintMap.get(chunkKey);
-
-            if (footprints == null)
-            {
-                footprints = new ArrayList<Footprint>();
-                footprintMap.put(chunkKey, footprints);
-            }
-        }
-
-        footprints.add(print);
+        SealerWorkerPool.restart();
+        SealedVolumeIndex.clear();
+        BlockChangeCounter.clear();
+        OxygenBubbleIndex.clearServer();
+        TileEntityRegistry.clearServer();
+        LaunchControllerDirectory.clear();
+        MachineSyncBatcher.clear();
+        TelemetryHub.clear();
+        GravityCache.clearServer();
+        SavedDataWriter.restart();
     }
 
     public static void scheduleNewBlockChange(int dimID, ScheduledBlockChange change)
     {
-        CopyOnWriteArrayList<ScheduledBlockChange> changeList = TickHandlerServer.scheduledBlockChanges.get(dimID);
-
-        if (changeList == null)
-        {
-            changeList = new CopyOnWriteArrayList<ScheduledBlockChange>();
-        }
-
-        changeList.add(change);
-        TickHandlerServer.scheduledBlockChanges.put(dimID, changeList);
+        TickHandlerServer.scheduledBlockChanges.computeIfAbsent(dimID, k -> new ScheduledBlockChangeQueue()).add(change);
     }
 
     /**
@@ -190,15 +188,7 @@ public class TickHandlerServer
      */
     public static void scheduleNewBlockChange(int dimID, List<ScheduledBlockChange> changeAdd)
     {
-        CopyOnWriteArrayList<ScheduledBlockChange> changeList = TickHandlerServer.scheduledBlockChanges.get(dimID);
-
-        if (changeList == null)
-        {
-            changeList = new CopyOnWriteArrayList<ScheduledBlockChange>();
-        }
-
-        changeList.addAll(changeAdd);
-        TickHandlerServer.scheduledBlockChanges.put(dimID, changeList);
+        TickHandlerServer.scheduledBlockChanges.computeIfAbsent(dimID, k -> new ScheduledBlockChangeQueue()).addAll(changeAdd);
     }
 
     public static void scheduleNewDimensionChange(ScheduledDimensionChange change)
@@ -234,19 +224,8 @@ public class TickHandlerServer
 
     public static boolean scheduledForChange(int dimID, BlockPos test)
     {
-        CopyOnWriteArrayList<ScheduledBlockChange> changeList = TickHandlerServer.scheduledBlockChanges.get(dimID);
-
-        if (changeList != null)
-        {
-            for (ScheduledBlockChange change : changeList)
-            {
-                if (test.equals(change.getChangePosition()))
-                {
-                    return true;
-                }
-            }
-        }
-        return false;
+        ScheduledBlockChangeQueue changeQueue = TickHandlerServer.scheduledBlockChanges.get(dimID);
+        return changeQueue != null && changeQueue.contains(test);
     }
 
     public static void scheduleNetworkTick(EnergyNetwork grid)
@@ -324,18 +303,19 @@ public class TickHandlerServer
             if (TickHandlerServer.spaceRaceData == null)
             {
                 World world = server.getWorld(0);
-                TickHandlerServer.spaceRaceData = (WorldDataSpaceRaces) world.getMapStorage().getOrLoadData(WorldDataSpaceRaces.class, WorldDataSpaceRaces.saveDataID);
+                TickHandlerServer.spaceRaceData = AsyncSavedData.load(world.getMapStorage(), WorldDataSpaceRaces.class, WorldDataSpaceRaces.saveDataID);
 
                 if (TickHandlerServer.spaceRaceData == null)
                 {
                     TickHandlerServer.spaceRaceData = new WorldDataSpaceRaces(WorldDataSpaceRaces.saveDataID);
-                    world.getMapStorage().setData(WorldDataSpaceRaces.saveDataID, TickHandlerServer.spaceRaceData);
+                    AsyncSavedData.store(world.getMapStorage(), WorldDataSpaceRaces.saveDataID, TickHandlerServer.spaceRaceData);
                 }
             }
 
             SpaceRaceManager.tick();
 
             TileEntityOxygenSealer.onServerTick();
+            SealerWorkerPool.onServerTick();
 
             if (TickHandlerServer.tickCount % 33 == 0)
             {
@@ -347,65 +327,15 @@ public class TickHandlerServer
                     TileEntityPainter.onServerTick(world);
                 }
             }
-            if (TickHandlerServer.tickCount % 100 == 0)
+            if (TickHandlerServer.tickCount % 10 == 0)
             {
                 WorldServer[] worlds = server.worlds;
+                // Prints age every 100 ticks; new ones are sent more often
+                int age = TickHandlerServer.tickCount % 100 == 0 ? 100 : 0;
 
                 for (int i = 0; i < worlds.length; i++)
                 {
-                    WorldServer world = worlds[i];
-                    ChunkProviderServer chunkProviderServer = world.getChunkProvider();
-
-                    Map<Long, List<Footprint>> footprintMap = TickHandlerServer.serverFootprintMap.get(GCCoreUtil.getDimensionID(world));
-
-                    if (footprintMap != null)
-                    {
-                        boolean mapChanged = false;
-
-                        if (chunkProviderServer != null)
-                        {
-                            Iterator<Chunk> iterator = chunkProviderServer.getLoadedChunks().iterator();
-
-                            while (iterator.hasNext())
-                            {
-                                Chunk chunk = (Chunk) iterator.next();
-                                long chunkKey = ChunkPos.asLong(chunk.x, chunk.z);
-
-                                List<Footprint> footprints = footprintMap.get(chunkKey);
-
-                                if (footprints != null)
-                                {
-                                    List<Footprint> toRemove = new ArrayList<Footprint>();
-
-                                    for (int j = 0; j < footprints.size(); j++)
-                                    {
-                                        footprints.get(j).age += 100;
-
-                                        if (footprints.get(j).age >= Footprint.MAX_AGE)
-                                        {
-                                            toRemove.add(footprints.get(j));
-                                        }
-                                    }
-
-                                    if (!toRemove.isEmpty())
-                                    {
-                                        footprints.removeAll(toRemove);
-                                    }
-
-                                    footprintMap.put(chunkKey, footprints);
-                                    mapChanged = true;
-
-                                    GalacticraftCore.packetPipeline.sendToDimension(new PacketSimple(EnumSimplePacket.C_UPDATE_FOOTPRINT_LIST, worlds[i].provider.getDimension(), new Object[]
-                                    {chunkKey, footprints.toArray(new Footprint[footprints.size()])}), worlds[i].provider.getDimension());
-                                }
-                            }
-                        }
-
-                        if (mapChanged)
-                        {
-                            TickHandlerServer.serverFootprintMap.put(GCCoreUtil.getDimensionID(world), footprintMap);
-                        }
-                    }
+                    FootprintTracker.update(worlds[i], age);
                 }
             }
 
@@ -424,15 +354,6 @@ public class TickHandlerServer
                             long chunkKey = ChunkPos.asLong((int) targetPoint.x >> 4, (int) targetPoint.z >> 4);
                             GalacticraftCore.packetPipeline.sendToAllAround(new PacketSimple(EnumSimplePacket.C_FOOTPRINTS_REMOVED, GCCoreUtil.getDimensionID(world), new Object[]
                             {chunkKey, new BlockVec3(targetPoint.x, targetPoint.y, targetPoint.z)}), new NetworkRegistry.TargetPoint(targetPoint.dim, targetPoint.x, targetPoint.y, targetPoint.z, 50));
-
-//                            Map<Long, List<Footprint>> footprintMap = TickHandlerServer.serverFootprintMap.get(world.provider.dimensionId);
-//
-//                            if (footprintMap != null && !footprintMap.isEmpty())
-//                            {
-//                                List<Footprint> footprints = footprintMap.get(chunkKey);
-//                                if (footprints != null)
-//                                	GalacticraftCore.packetPipeline.sendToAllAround(new PacketSimple(EnumSimplePacket.C_UPDATE_FOOTPRINT_LIST, new Object[] { chunkKey, footprints.toArray(new Footprint[footprints.size()]) }), new NetworkRegistry.TargetPoint(targetPoint.dim, targetPoint.x, targetPoint.y, targetPoint.z, 50));
-//                            }
                         }
                     }
                 }
@@ -467,6 +388,10 @@ public class TickHandlerServer
             TickHandlerServer.tickCount++;
 
             EnergyNetwork.tickCount++;
+            if (ConfigManagerCore.enableDebug && EnergyNetwork.tickCount % 1200 == 0)
+            {
+                EnergyNetwork.logStatistics();
+            }
         } else if (event.phase == Phase.END)
         {
             for (FluidNetwork network : new ArrayList<>(fluidNetworks))
@@ -557,42 +482,11 @@ public class TickHandlerServer
         {
             final WorldServer world = (WorldServer) event.world;
 
-            CopyOnWriteArrayList<ScheduledBlockChange> changeList = TickHandlerServer.scheduledBlockChanges.get(GCCoreUtil.getDimensionID(world));
+            ScheduledBlockChangeQueue changeQueue = TickHandlerServer.scheduledBlockChanges.get(GCCoreUtil.getDimensionID(world));
 
-            if (changeList != null && !changeList.isEmpty())
+            if (changeQueue != null && !changeQueue.isEmpty())
             {
-                int blockCount = 0;
-                int blockCountMax = Math.max(this.MAX_BLOCKS_PER_TICK, changeList.size() / 4);
-                List<ScheduledBlockChange> newList = new ArrayList<ScheduledBlockChange>(Math.max(0, changeList.size() - blockCountMax));
-
-                for (ScheduledBlockChange change : changeList)
-                {
-                    if (++blockCount > blockCountMax)
-                    {
-                        newList.add(change);
-                    } else
-                    {
-                        if (change != null)
-                        {
-                            BlockPos changePosition = change.getChangePosition();
-                            Block block = world.getBlockState(changePosition).getBlock();
-                            // Only replace blocks of type BlockAir or fire -
-                            // this is to prevent accidents where other mods
-                            // have moved blocks
-                            if (changePosition != null && (block instanceof BlockAir || block == Blocks.FIRE))
-                            {
-                                world.setBlockState(changePosition, change.getChangeState(), change.getChangeUpdateFlag());
-                            }
-                        }
-                    }
-                }
-
-                changeList.clear();
-                TickHandlerServer.scheduledBlockChanges.remove(GCCoreUtil.getDimensionID(world));
-                if (newList.size() > 0)
-                {
-                    TickHandlerServer.scheduledBlockChanges.put(GCCoreUtil.getDimensionID(world), new CopyOnWriteArrayList<ScheduledBlockChange>(newList));
-                }
+                changeQueue.apply(world, Math.max(this.MAX_BLOCKS_PER_TICK, changeQueue.size() / 4));
             }
 
             CopyOnWriteArrayList<BlockVec3> torchList = TickHandlerServer.scheduledTorchUpdates.get(GCCoreUtil.getDimensionID(world));
@@ -642,13 +536,9 @@ public class TickHandlerServer
             if (worldsNeedingUpdate.contains(dimensionID))
             {
                 worldsNeedingUpdate.remove(dimensionID);
-                for (Object obj : event.world.loadedTileEntityList)
+                for (TileEntityFluidTank tank : TileEntityFluidTank.registry.getAll(event.world))
                 {
-                    TileEntity tile = (TileEntity) obj;
-                    if (tile instanceof TileEntityFluidTank)
-                    {
-                        ((TileEntityFluidTank) tile).updateClient = true;
-                    }
+                    tank.updateClient = true;
                 }
             }
         } else if (event.phase == Phase.END)
@@ -660,6 +550,8 @@ public class TickHandlerServer
                 handler.tick(world);
             }
 
+            MachineSyncBatcher.flush(world);
+
             int dimID = GCCoreUtil.getDimensionID(world);
             Set<BlockPos> edgesList = TickHandlerServer.edgeChecks.get(dimID);
             final HashSet<BlockPos> checkedThisTick = new HashSet<>();
@@ -677,6 +569,14 @@ public class TickHandlerServer
                             continue;
                         }
 
+                        // Most edge updates only need the changed region
+                        // re-checked, not the whole sealed space
+                        if (SealedVolumeIndex.tryLocalCheck(world, edgeBlock))
+                        {
+                            checkedThisTick.add(edgeBlock);
+                            continue;
+                        }
+
                         ThreadFindSeal done = new ThreadFindSeal(world, edgeBlock, 0, new ArrayList<TileEntityOxygenSealer>());
                         checkedThisTick.addAll(done.checkedAll());
                     }
@@ -0,0 +1,267 @@
+/*
+ * Copyright (c) 2023 Team Galacticraft
+ *
+ * Licensed under the MIT license.
+ * See LICENSE file in the project root for details.
+ */
+
+package micdoodle8.mods.galacticraft.core.tile;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityLivingBase;
+import net.minecraft.entity.monster.EntitySkeleton;
+import net.minecraft.entity.monster.EntityZombie;
+import net.minecraft.entity.passive.EntityHorse;
+import net.minecraft.entity.passive.EntityOcelot;
+import net.minecraft.entity.passive.EntitySheep;
+import net.minecraft.entity.passive.EntityVillager;
+import net.minecraft.entity.passive.EntityWolf;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.util.math.MathHelper;
+
+import net.minecraftforge.fml.common.registry.EntityEntry;
+import net.minecraftforge.fml.common.registry.EntityRegistry;
+
+import micdoodle8.mods.galacticraft.api.entity.ITelemetry;
+import micdoodle8.mods.galacticraft.core.GalacticraftCore;
+import micdoodle8.mods.galacticraft.core.entities.player.GCPlayerStats;
+
+/**
+ * Server side: the entities tracked by Telemetry Units, and the Telemetry
+ * Units tracking each one.
+ *
+ * Each tracked entity is sampled at most once a tick, however many Telemetry
+ * Units are watching it, and every unit is handed the same Sample. A sample
+ * the same as the entity's last one is the same object, so a unit can tell
+ * without comparing whether it has anything new to send.
+ *
+ * Only used from the server thread.
+ */
+public class TelemetryHub
+{
+
+    // How often Telemetry Units sample, in ticks
+    public static final int INTERVAL = 2;
+    // How often a Telemetry Unit sends an unchanged sample again, for players
+    // who have just come into range
+    public static final int RESEND_INTERVAL = 20;
+
+    static final Sample EMPTY = new Sample("", new int[] {-1, -1, -1, -1, -1}, "");
+
+    private static final Map<Entity, Feed> feeds = new IdentityHashMap<>();
+
+    static final class Sample
+    {
+
+        final String name;
+        final int[] data;
+        final String uuid;
+
+        private Sample(String name, int[] data, String uuid)
+        {
+            this.name = name;
+            this.data = data;
+            this.uuid = uuid;
+        }
+
+        private boolean matches(String name, int[] data, String uuid)
+        {
+            return this.name.equals(name) && Arrays.equals(this.data, data) && this.uuid.equals(uuid);
+        }
+    }
+
+    private static class Feed
+    {
+
+        private final List<TileEntityTelemetry> subscribers = new ArrayList<>(1);
+        private long sampledAt = Long.MIN_VALUE;
+        private Sample sample = TelemetryHub.EMPTY;
+        private int pulseRate = 400;
+        private int lastHurttime = 0;
+    }
+
+    static void subscribe(TileEntityTelemetry tile, Entity entity)
+    {
+        List<TileEntityTelemetry> subscribers = TelemetryHub.feeds.computeIfAbsent(entity, k -> new Feed()).subscribers;
+        if (!subscribers.contains(tile))
+        {
+            subscribers.add(tile);
+        }
+    }
+
+    static void unsubscribe(TileEntityTelemetry tile, Entity entity)
+    {
+        Feed feed = TelemetryHub.feeds.get(entity);
+        if (feed != null && feed.subscribers.remove(tile) && feed.subscribers.isEmpty())
+        {
+            TelemetryHub.feeds.remove(entity);
+        }
+    }
+
+    /**
+     * Hands the Telemetry Units tracking an entity over to another - used
+     * when a player respawns
+     */
+    static void replaceEntity(Entity oldEntity, Entity newEntity)
+    {
+        Feed feed = TelemetryHub.feeds.remove(oldEntity);
+        if (feed == null)
+        {
+            return;
+        }
+
+        for (TileEntityTelemetry tile : feed.subscribers)
+        {
+            tile.linkedEntity = newEntity;
+        }
+        Feed existing = TelemetryHub.feeds.get(newEntity);
+        if (existing == null)
+        {
+            TelemetryHub.feeds.put(newEntity, feed);
+        } else
+        {
+            for (TileEntityTelemetry tile : feed.subscribers)
+            {
+                if (!existing.subscribers.contains(tile))
+                {
+                    existing.subscribers.add(tile);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param time the world time now - an entity is only sampled once for
+     *        each time
+     */
+    static Sample sample(Entity entity, long time)
+    {
+        Feed feed = TelemetryHub.feeds.computeIfAbsent(entity, k -> new Feed());
+        if (feed.sampledAt != time)
+        {
+            feed.sampledAt = time;
+            TelemetryHub.takeSample(entity, feed);
+        }
+        return feed.sample;
+    }
+
+    private static void takeSample(Entity linkedEntity, Feed feed)
+    {
+        String name = null;
+        int[] data = {-1, -1, -1, -1, -1};
+        String strUUID = "";
+
+        if (linkedEntity instanceof EntityPlayerMP)
+        {
+            name = "$" + linkedEntity.getName();
+        } else
+        {
+            EntityEntry entityEntry = EntityRegistry.getEntry(linkedEntity.getClass());
+            if (entityEntry != null && entityEntry.getRegistryName() != null)
+            {
+                name = entityEntry.getRegistryName().toString();
+            }
+        }
+
+        if (name == null)
+        {
+            GalacticraftCore.logger.info("Telemetry Unit: Error finding name for " + linkedEntity.getClass().getSimpleName());
+            name = "";
+        }
+
+        double xmotion = linkedEntity.motionX;
+        double ymotion = linkedEntity instanceof EntityLivingBase ? linkedEntity.motionY + 0.078D : linkedEntity.motionY;
+        double zmotion = linkedEntity.motionZ;
+        data[2] = (int) (MathHelper.sqrt(xmotion * xmotion + ymotion * ymotion + zmotion * zmotion) * 2000D);
+
+        if (linkedEntity instanceof ITelemetry)
+        {
+            ((ITelemetry) linkedEntity).transmitData(data);
+        } else if (linkedEntity instanceof EntityLivingBase)
+        {
+            EntityLivingBase eLiving = (EntityLivingBase) linkedEntity;
+            data[0] = eLiving.hurtTime;
+
+            // Calculate a "pulse rate" based on motion and taking damage
+            feed.pulseRate--;
+            if (eLiving.hurtTime > feed.lastHurttime)
+            {
+                feed.pulseRate += 100;
+            }
+            feed.lastHurttime = eLiving.hurtTime;
+            if (eLiving.getRidingEntity() != null)
+            {
+                data[2] /= 4; // reduced pulse effect if riding a vehicle
+            } else if (data[2] > 1)
+            {
+                feed.pulseRate += 2;
+            }
+            feed.pulseRate += Math.max(data[2] - feed.pulseRate, 0) / 4;
+            if (feed.pulseRate > 2000)
+            {
+                feed.pulseRate = 2000;
+            }
+            if (feed.pulseRate < 400)
+            {
+                feed.pulseRate = 400;
+            }
+            data[2] = feed.pulseRate / 10;
+
+            data[1] = (int) (eLiving.getHealth() * 100 / eLiving.getMaxHealth());
+            if (eLiving instanceof EntityPlayerMP)
+            {
+                data[3] = ((EntityPlayerMP) eLiving).getFoodStats().getFoodLevel() * 5;
+                GCPlayerStats stats = GCPlayerStats.get(eLiving);
+                data[4] = stats.getAirRemaining() * 4096 + stats.getAirRemaining2();
+                UUID uuid = ((EntityPlayerMP) eLiving).getUniqueID();
+                if (uuid != null)
+                {
+                    strUUID = uuid.toString();
+                }
+            } else if (eLiving instanceof EntityHorse)
+            {
+//                data[3] = ((EntityHorse) eLiving).getType().ordinal();
+                data[4] = ((EntityHorse) eLiving).getHorseVariant();
+            } else if (eLiving instanceof EntityVillager)
+            {
+                data[3] = ((EntityVillager) eLiving).getProfession();
+                data[4] = ((EntityVillager) eLiving).getGrowingAge();
+            } else if (eLiving instanceof EntityWolf)
+            {
+                data[3] = ((EntityWolf) eLiving).getCollarColor().getDyeDamage();
+                data[4] = ((EntityWolf) eLiving).isBegging() ? 1 : 0;
+            } else if (eLiving instanceof EntitySheep)
+            {
+                data[3] = ((EntitySheep) eLiving).getFleeceColor().getDyeDamage();
+                data[4] = ((EntitySheep) eLiving).getSheared() ? 1 : 0;
+            } else if (eLiving instanceof EntityOcelot)
+            {
+                data[3] = ((EntityOcelot) eLiving).getTameSkin();
+            } else if (eLiving instanceof EntitySkeleton)
+            {
+//                data[3] = ((EntitySkeleton) eLiving).getSkeletonType().ordinal();
+            } else if (eLiving instanceof EntityZombie)
+            {
+//                data[3] = ((EntityZombie) eLiving).isVillager() ? 1 : 0; TODO Fix for MC 1.10
+                data[4] = ((EntityZombie) eLiving).isChild() ? 1 : 0;
+            }
+        }
+
+        if (!feed.sample.matches(name, data, strUUID))
+        {
+            feed.sample = new Sample(name, data, strUUID);
+        }
+    }
+
+    public static void clear()
+    {
+        TelemetryHub.feeds.clear();
+    }
+}
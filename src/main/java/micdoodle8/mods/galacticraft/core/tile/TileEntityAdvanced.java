@@ -7,15 +7,13 @@
 
 package micdoodle8.mods.galacticraft.core.tile;
 
-import java.lang.reflect.Field;
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.LinkedHashSet;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
 
 import net.minecraft.block.state.IBlockState;
+import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.util.ITickable;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
@@ -23,24 +21,28 @@ import net.minecraft.world.World;
 import net.minecraftforge.fml.common.network.NetworkRegistry.TargetPoint;
 import net.minecraftforge.fml.relauncher.Side;
 
-import micdoodle8.mods.miccore.Annotations.NetworkedField;
-
 import micdoodle8.mods.galacticraft.core.GalacticraftCore;
 import micdoodle8.mods.galacticraft.core.network.IPacketReceiver;
+import micdoodle8.mods.galacticraft.core.network.MachineSyncBatcher;
 import micdoodle8.mods.galacticraft.core.network.NetworkUtil;
+import micdoodle8.mods.galacticraft.core.network.NetworkedFieldSchema;
 import micdoodle8.mods.galacticraft.core.network.PacketDynamic;
 import micdoodle8.mods.galacticraft.core.util.GCCoreUtil;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 
 public abstract class TileEntityAdvanced extends TileEntityInventory implements IPacketReceiver, ITickable
 {
 
     public int ticks = 0;
-    private LinkedHashSet<Field> fieldCacheClient;
-    private LinkedHashSet<Field> fieldCacheServer;
-    private Map<Field, Object> lastSentData = new HashMap<Field, Object>(4, 1F);
+    private NetworkedFieldSchema fieldSchema;
+    private NetworkedFieldSchema.State lastSentData;
     private boolean networkDataChanged = false;
+    // What MachineSyncBatcher last sent to the players in syncedPlayers
+    private NetworkedFieldSchema.State lastBroadcastData;
+    private byte[] lastBroadcastExtraData;
+    private List<EntityPlayerMP> syncedPlayers;
 
     public TileEntityAdvanced(String tileName)
     {
@@ -56,12 +58,12 @@ public abstract class TileEntityAdvanced extends TileEntityInventory implements
 
             if (this.isNetworkedTile())
             {
-                if (this.fieldCacheClient == null || this.fieldCacheServer == null)
+                if (this.fieldSchema == null)
                 {
                     this.initFieldCache();
                 }
 
-                if (this.world != null && this.world.isRemote && this.fieldCacheClient.size() > 0)
+                if (this.world != null && this.world.isRemote && this.fieldSchema.hasFields(Side.CLIENT))
                 {
                     // Request any networked information from server on first
                     // client update (maybe client just logged on, but server
@@ -75,20 +77,27 @@ public abstract class TileEntityAdvanced extends TileEntityInventory implements
 
         if (this.isNetworkedTile() && this.ticks % this.getPacketCooldown() == 0)
         {
-            if (this.world.isRemote && this.fieldCacheServer.size() > 0)
+            if (this.world.isRemote && this.fieldSchema.hasFields(Side.SERVER))
             {
                 PacketDynamic packet = new PacketDynamic(this);
                 if (networkDataChanged)
                 {
                     GalacticraftCore.packetPipeline.sendToServer(packet);
                 }
-            } else if (!this.world.isRemote && this.fieldCacheClient.size() > 0)
+            } else if (!this.world.isRemote && this.fieldSchema.hasFields(Side.CLIENT))
             {
-                PacketDynamic packet = new PacketDynamic(this);
-                if (networkDataChanged)
+                if (MachineSyncBatcher.canBatch(this))
+                {
+                    // Sent with other machines' changes at the end of the tick
+                    MachineSyncBatcher.queue(this);
+                } else
                 {
-                    GalacticraftCore.packetPipeline.sendToAllAround(packet,
-                        new TargetPoint(GCCoreUtil.getDimensionID(this.world), getPos().getX(), getPos().getY(), getPos().getZ(), this.getPacketRange()));
+                    PacketDynamic packet = new PacketDynamic(this);
+                    if (networkDataChanged)
+                    {
+                        GalacticraftCore.packetPipeline.sendToAllAround(packet,
+                            new TargetPoint(GCCoreUtil.getDimensionID(this.world), getPos().getX(), getPos().getY(), getPos().getZ(), this.getPacketRange()));
+                    }
                 }
             }
         }
@@ -96,30 +105,8 @@ public abstract class TileEntityAdvanced extends TileEntityInventory implements
 
     private void initFieldCache()
     {
-        try
-        {
-            this.fieldCacheClient = new LinkedHashSet<Field>();
-            this.fieldCacheServer = new LinkedHashSet<Field>();
-
-            for (Field field : this.getClass().getFields())
-            {
-                if (field.isAnnotationPresent(NetworkedField.class))
-                {
-                    NetworkedField f = field.getAnnotation(NetworkedField.class);
-
-                    if (f.targetSide() == Side.CLIENT)
-                    {
-                        this.fieldCacheClient.add(field);
-                    } else
-                    {
-                        this.fieldCacheServer.add(field);
-                    }
-                }
-            }
-        } catch (Exception e)
-        {
-            e.printStackTrace();
-        }
+        // The schema is built once per class and shared by every instance
+        this.fieldSchema = NetworkedFieldSchema.get(this.getClass());
     }
 
     public abstract double getPacketRange();
@@ -143,48 +130,18 @@ public abstract class TileEntityAdvanced extends TileEntityInventory implements
     @Override
     public void getNetworkedData(ArrayList<Object> sendData)
     {
-        Set<Field> fieldList = null;
-        boolean changed = false;
-
-        if (this.fieldCacheClient == null || this.fieldCacheServer == null)
+        if (this.fieldSchema == null)
         {
             this.initFieldCache();
         }
 
-        if (this.world.isRemote)
-        {
-            fieldList = this.fieldCacheServer;
-        } else
+        Side target = this.world.isRemote ? Side.SERVER : Side.CLIENT;
+        if (this.lastSentData == null)
         {
-            fieldList = this.fieldCacheClient;
+            this.lastSentData = this.fieldSchema.createState(target);
         }
 
-        for (Field f : fieldList)
-        {
-            boolean fieldChanged = false;
-            try
-            {
-                Object data = f.get(this);
-                Object lastData = lastSentData.get(f);
-
-                if (!NetworkUtil.fuzzyEquals(lastData, data))
-                {
-                    fieldChanged = true;
-                }
-
-                sendData.add(data);
-
-                if (fieldChanged)
-                {
-                    lastSentData.put(f, NetworkUtil.cloneNetworkedObject(data));
-                }
-            } catch (Exception e)
-            {
-                e.printStackTrace();
-            }
-
-            changed |= fieldChanged;
-        }
+        boolean changed = this.fieldSchema.collect(this, target, this.lastSentData, sendData);
 
         if (changed)
         {
@@ -204,40 +161,159 @@ public abstract class TileEntityAdvanced extends TileEntityInventory implements
         networkDataChanged = changed;
     }
 
-    @Override
-    public void decodePacketdata(ByteBuf buffer)
+    /**
+     * Writes the client-bound fields and extra data which have changed since
+     * the last call, for MachineSyncBatcher
+     *
+     * @return false if nothing has changed (the buffer should then be
+     *         discarded)
+     */
+    public boolean writeSyncChanges(ByteBuf buffer)
     {
-        if (this.world == null)
+        if (this.fieldSchema == null)
         {
-            GalacticraftCore.logger.error("World is NULL! Connot decode packet data!");
-            return;
+            this.initFieldCache();
         }
+        if (this.lastBroadcastData == null)
+        {
+            this.lastBroadcastData = this.fieldSchema.createState(Side.CLIENT);
+        }
+
+        int flagsIndex = buffer.writerIndex();
+        int flags = 0;
+        buffer.writeByte(flags);
 
-        if (this.fieldCacheClient == null || this.fieldCacheServer == null)
+        if (this.fieldSchema.writeChanges(this, Side.CLIENT, this.lastBroadcastData, buffer))
         {
-            this.initFieldCache();
+            flags |= 1;
         }
-        Set<Field> fieldSet = null;
 
-        if (this.world.isRemote)
+        byte[] extraData = this.encodeExtraNetworkedData();
+        if (!Arrays.equals(extraData, this.lastBroadcastExtraData))
         {
-            fieldSet = this.fieldCacheClient;
-        } else
+            this.lastBroadcastExtraData = extraData;
+            this.writeExtraData(buffer);
+            flags |= 2;
+        }
+
+        buffer.setByte(flagsIndex, flags);
+        return flags != 0;
+    }
+
+    /**
+     * Writes all the client-bound fields and extra data as last written by
+     * writeSyncChanges(), for a player who did not receive the earlier changes
+     */
+    public void writeSyncAll(ByteBuf buffer)
+    {
+        boolean extraData = this.lastBroadcastExtraData != null;
+        buffer.writeByte(1 | (extraData ? 2 : 0));
+        this.fieldSchema.writeAll(Side.CLIENT, this.lastBroadcastData, buffer);
+        if (extraData)
         {
-            fieldSet = this.fieldCacheServer;
+            this.writeExtraData(buffer);
         }
+    }
 
-        for (Field field : fieldSet)
+    private void writeExtraData(ByteBuf buffer)
+    {
+        byte[] data = this.lastBroadcastExtraData == null ? new byte[0] : this.lastBroadcastExtraData;
+        NetworkUtil.writeVarLong(buffer, data.length);
+        buffer.writeBytes(data);
+    }
+
+    private byte[] encodeExtraNetworkedData()
+    {
+        ArrayList<Object> extraData = new ArrayList<>();
+        this.addExtraNetworkedData(extraData);
+        if (extraData.isEmpty())
         {
-            try
-            {
-                Object obj = NetworkUtil.getFieldValueFromStream(field, buffer, this.world);
-                field.set(this, obj);
-            } catch (Exception e)
+            return null;
+        }
+
+        ByteBuf buffer = Unpooled.buffer();
+        try
+        {
+            NetworkUtil.encodeData(buffer, extraData);
+        } catch (IOException e)
+        {
+            e.printStackTrace();
+        }
+        byte[] data = new byte[buffer.readableBytes()];
+        buffer.readBytes(data);
+        return data;
+    }
+
+    /**
+     * Client side: reads what writeSyncChanges() or writeSyncAll() wrote
+     */
+    public void readSyncData(ByteBuf buffer)
+    {
+        if (this.fieldSchema == null)
+        {
+            this.initFieldCache();
+        }
+
+        int flags = buffer.readUnsignedByte();
+        if ((flags & 1) != 0)
+        {
+            this.fieldSchema.readChanges(this, Side.CLIENT, buffer, this.world);
+        }
+        if ((flags & 2) != 0)
+        {
+            int length = (int) NetworkUtil.readVarLong(buffer);
+            if (length > 0)
             {
-                e.printStackTrace();
+                this.readExtraNetworkedData(buffer.readSlice(length));
             }
         }
+    }
+
+    /**
+     * @return true if the player had not been sent this tile's data by
+     *         MachineSyncBatcher since they last came into range
+     */
+    public boolean markSyncedPlayer(EntityPlayerMP player)
+    {
+        if (this.syncedPlayers == null)
+        {
+            this.syncedPlayers = new ArrayList<>(2);
+        }
+        if (this.syncedPlayers.contains(player))
+        {
+            return false;
+        }
+        this.syncedPlayers.add(player);
+        return true;
+    }
+
+    /**
+     * Forgets the players no longer in range, so they are sent everything
+     * again when they come back
+     */
+    public void retainSyncedPlayers(List<EntityPlayerMP> players)
+    {
+        if (this.syncedPlayers != null)
+        {
+            this.syncedPlayers.retainAll(players);
+        }
+    }
+
+    @Override
+    public void decodePacketdata(ByteBuf buffer)
+    {
+        if (this.world == null)
+        {
+            GalacticraftCore.logger.error("World is NULL! Connot decode packet data!");
+            return;
+        }
+
+        if (this.fieldSchema == null)
+        {
+            this.initFieldCache();
+        }
+
+        this.fieldSchema.read(this, this.world.isRemote ? Side.CLIENT : Side.SERVER, buffer, this.world);
 
         this.readExtraNetworkedData(buffer);
     }
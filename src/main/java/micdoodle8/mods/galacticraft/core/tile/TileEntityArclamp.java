@@ -9,6 +9,7 @@ package micdoodle8.mods.galacticraft.core.tile;
 
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -44,7 +45,9 @@ import micdoodle8.mods.galacticraft.core.GCBlocks;
 import micdoodle8.mods.galacticraft.core.GalacticraftCore;
 import micdoodle8.mods.galacticraft.core.network.IPacketReceiver;
 import micdoodle8.mods.galacticraft.core.network.PacketDynamic;
+import micdoodle8.mods.galacticraft.core.util.FloodFill;
 import micdoodle8.mods.galacticraft.core.util.GCCoreUtil;
+import micdoodle8.mods.galacticraft.core.util.LongHashSet;
 import micdoodle8.mods.galacticraft.core.util.RedstoneUtil;
 
 import io.netty.buffer.ByteBuf;
@@ -58,12 +61,12 @@ public class TileEntityArclamp extends TileEntity implements ITickable, ITileCli
     private int sideRear = 0;
     public int facing = 0;
     private HashSet<BlockVec3> airToRestore = new HashSet<>();
-    private intBucket[] buckets;
-    private static intBucket[] bucketsServer;
-    private static intBucket[] bucketsClient;
-    private static AtomicBoolean usingBucketsServer = new AtomicBoolean();
-    private static AtomicBoolean usingBucketsClient = new AtomicBoolean();
-    private AtomicBoolean usingBuckets;
+    private FloodFill fill;
+    private static FloodFill fillServer = new FloodFill();
+    private static FloodFill fillClient = new FloodFill();
+    private static AtomicBoolean usingFillServer = new AtomicBoolean();
+    private static AtomicBoolean usingFillClient = new AtomicBoolean();
+    private AtomicBoolean usingFill;
     private static final int SIZELIST = 65536;
     private int[] lightUpdateBlockList;
     private static int[] lightUpdateBlockListServer = null;
@@ -77,14 +80,6 @@ public class TileEntityArclamp extends TileEntity implements ITickable, ITileCli
     private Vec3d thisPos;
     private int facingSide = 0;
 
-    static
-    {
-        bucketsServer = new intBucket[256];
-        bucketsClient = new intBucket[256];
-        checkedInit(bucketsServer);
-        checkedInit(bucketsClient);
-    }
-
     @Override
     public void update()
     {
@@ -235,8 +230,8 @@ public class TileEntityArclamp extends TileEntity implements ITickable, ITileCli
         this.thisAABB = null;
         if (this.world.isRemote)
         {
-            this.buckets = bucketsClient;
-            this.usingBuckets = usingBucketsClient;
+            this.fill = fillClient;
+            this.usingFill = usingFillClient;
             if (lightUpdateBlockListClient == null)
             {
                 lightUpdateBlockListClient = new int[SIZELIST];
@@ -247,8 +242,8 @@ public class TileEntityArclamp extends TileEntity implements ITickable, ITileCli
             GalacticraftCore.packetPipeline.sendToServer(new PacketDynamic(this));
         } else
         {
-            this.buckets = bucketsServer;
-            this.usingBuckets = usingBucketsServer;
+            this.fill = fillServer;
+            this.usingFill = usingFillServer;
             if (lightUpdateBlockListServer == null)
             {
                 lightUpdateBlockListServer = new int[SIZELIST];
@@ -266,8 +261,8 @@ public class TileEntityArclamp extends TileEntity implements ITickable, ITileCli
         {
             if (this.world.isRemote)
             {
-                this.buckets = bucketsClient;
-                this.usingBuckets = usingBucketsClient;
+                this.fill = fillClient;
+                this.usingFill = usingFillClient;
                 if (lightUpdateBlockListClient == null)
                 {
                     lightUpdateBlockListClient = new int[SIZELIST];
@@ -276,8 +271,8 @@ public class TileEntityArclamp extends TileEntity implements ITickable, ITileCli
                 this.usingLightList = usingLightListClient;
             } else
             {
-                this.buckets = bucketsServer;
-                this.usingBuckets = usingBucketsServer;
+                this.fill = fillServer;
+                this.usingFill = usingFillServer;
                 if (lightUpdateBlockListServer == null)
                 {
                     lightUpdateBlockListServer = new int[SIZELIST];
@@ -293,7 +288,7 @@ public class TileEntityArclamp extends TileEntity implements ITickable, ITileCli
 
     public void lightArea()
     {
-        if (this.usingBuckets.getAndSet(true) || this.usingLightList.getAndSet(true))
+        if (this.usingFill.getAndSet(true) || this.usingLightList.getAndSet(true))
         {
             return;
         }
@@ -304,14 +299,11 @@ public class TileEntityArclamp extends TileEntity implements ITickable, ITileCli
         IBlockState brightAir = GCBlocks.brightAir.getDefaultState();
         IBlockState brightBreatheableAir = GCBlocks.brightBreatheableAir.getDefaultState();
         boolean dirty = false;
-        checkedClear();
-        HashSet<BlockVec3> airToRevert = new HashSet<>();
-        airToRevert.addAll(airToRestore);
-        LinkedList<BlockVec3> airNew = new LinkedList<>();
-        LinkedList<BlockVec3> currentLayer = new LinkedList<>();
-        LinkedList<BlockVec3> nextLayer = new LinkedList<>();
+        FloodFill fill = this.fill;
+        fill.reset();
+        LongHashSet airNew = new LongHashSet(this.airToRestore.size() + 16);
         BlockVec3 thisvec = new BlockVec3(this);
-        currentLayer.add(thisvec);
+        fill.push(TileEntityArclamp.pack(thisvec), 0);
         World world = this.world;
         int sideskip1 = this.sideRear;
         int sideskip2 = this.facingSide ^ 1;
@@ -324,7 +316,7 @@ public class TileEntityArclamp extends TileEntity implements ITickable, ITileCli
                 IBlockState state = onEitherSide.getBlockStateSafe_noChunkLoad(world);
                 if (state != null && state.getBlock().getLightOpacity(state) < 15)
                 {
-                    currentLayer.add(onEitherSide);
+                    fill.push(TileEntityArclamp.pack(onEitherSide), onEitherSide.sideDoneBits);
                 }
             }
         }
@@ -341,7 +333,7 @@ public class TileEntityArclamp extends TileEntity implements ITickable, ITileCli
             state = inFront.getBlockStateSafe_noChunkLoad(world);
             if (state != null && state.getBlock().getLightOpacity(state) < 15)
             {
-                currentLayer.add(inFront);
+                fill.push(TileEntityArclamp.pack(inFront), inFront.sideDoneBits);
             } else
             {
                 break;
@@ -349,11 +341,21 @@ public class TileEntityArclamp extends TileEntity implements ITickable, ITileCli
         }
 
         inFront = new BlockVec3(this).newVecSide(this.facingSide);
+        // Re-used for every block looked at, to save allocating
+        BlockVec3 vec = new BlockVec3();
+        BlockVec3 sideVec = new BlockVec3();
 
-        for (int count = 0; count < LIGHTRANGE; count++)
+        while (fill.nextLayer() && fill.layer() < LIGHTRANGE)
         {
-            for (BlockVec3 vec : currentLayer)
+            int count = fill.layer();
+            while (fill.hasNext())
             {
+                long vecPos = fill.next();
+                vec.x = FloodFill.getX(vecPos);
+                vec.y = FloodFill.getY(vecPos);
+                vec.z = FloodFill.getZ(vecPos);
+                vec.sideDoneBits = fill.tag();
+
                 // Shape the arc lamp lighted area to more of a cone in front of
                 // it
                 if (count > 1)
@@ -414,8 +416,6 @@ public class TileEntityArclamp extends TileEntity implements ITickable, ITileCli
 
                 // Now process each layer outwards from the source, finding new
                 // blocks to light (similar to ThreadFindSeal)
-                // This is high performance code using our own custom HashSet
-                // (that's intBucket)
                 side = 0;
                 bits = vec.sideDoneBits;
                 boolean doShine = false;
@@ -425,13 +425,9 @@ public class TileEntityArclamp extends TileEntity implements ITickable, ITileCli
                     // and never go 'backwards'
                     if ((bits & (1 << side)) == 0)
                     {
-                        BlockVec3 sideVec = vec.newVecSide(side);
-                        boolean toAdd = false;
-                        if (!checkedContains(vec, side))
-                        {
-                            checkedAdd(sideVec);
-                            toAdd = true;
-                        }
+                        TileEntityArclamp.setSide(sideVec, vec, side);
+                        long sidePos = TileEntityArclamp.pack(sideVec);
+                        boolean toAdd = sideVec.y >= 0 && sideVec.y <= 255 && fill.markVisited(sidePos);
 
                         IBlockState bs = sideVec.getBlockStateSafe_noChunkLoad(world);
                         if (bs == null)
@@ -444,7 +440,7 @@ public class TileEntityArclamp extends TileEntity implements ITickable, ITileCli
                         {
                             if (toAdd && side != sideskip1 && side != sideskip2)
                             {
-                                nextLayer.add(sideVec);
+                                fill.push(sidePos, sideVec.sideDoneBits);
                             }
                         } else
                         {
@@ -454,7 +450,7 @@ public class TileEntityArclamp extends TileEntity implements ITickable, ITileCli
                             {
                                 if (toAdd && b != null && b.getLightOpacity(bs, world, sideVec.toBlockPos()) == 0)
                                 {
-                                    nextLayer.add(sideVec);
+                                    fill.push(sidePos, sideVec.sideDoneBits);
                                 }
                             }
                         }
@@ -464,7 +460,7 @@ public class TileEntityArclamp extends TileEntity implements ITickable, ITileCli
 
                 if (doShine)
                 {
-                    airNew.add(vec);
+                    airNew.add(vecPos);
                     Block id = vec.getBlockStateSafe_noChunkLoad(world).getBlock();
                     if (Blocks.AIR == id)
                     {
@@ -479,12 +475,6 @@ public class TileEntityArclamp extends TileEntity implements ITickable, ITileCli
                     }
                 }
             }
-            if (nextLayer.size() == 0)
-            {
-                break;
-            }
-            currentLayer = nextLayer;
-            nextLayer = new LinkedList<BlockVec3>();
         }
 
         if (dirty)
@@ -495,15 +485,18 @@ public class TileEntityArclamp extends TileEntity implements ITickable, ITileCli
 
         // Look for any holdover bright blocks which are no longer lit (e.g.
         // because the Arc Lamp became blocked in a tunnel)
-        airToRevert.removeAll(airNew);
         index = 0;
         dirty = false;
-        for (Object obj : airToRevert)
+        for (Iterator<BlockVec3> it = this.airToRestore.iterator(); it.hasNext();)
         {
-            BlockVec3 vec = (BlockVec3) obj;
-            this.setDarkerAir(vec);
-            index = this.checkLightPartA(EnumSkyBlock.BLOCK, vec.toBlockPos(), index);
-            this.airToRestore.remove(vec);
+            BlockVec3 old = it.next();
+            if (airNew.contains(TileEntityArclamp.pack(old)))
+            {
+                continue;
+            }
+            this.setDarkerAir(old);
+            index = this.checkLightPartA(EnumSkyBlock.BLOCK, old.toBlockPos(), index);
+            it.remove();
             dirty = true;
         }
 
@@ -517,7 +510,7 @@ public class TileEntityArclamp extends TileEntity implements ITickable, ITileCli
 //        float total = (time3 - time1) / 1000000.0F;
 //        GalacticraftCore.logger.info("   Total Time taken: " + String.format("%.2f", total) + "ms");
 
-        this.usingBuckets.set(false);
+        this.usingFill.set(false);
         this.usingLightList.set(false);
     }
 
@@ -589,7 +582,10 @@ public class TileEntityArclamp extends TileEntity implements ITickable, ITileCli
             this.world.markAndNotifyBlock(blockpos, chunk, oldState, newState, 2);
         // No block update on server - not necessary for changing air to air
         // (also must not trigger a sealer edge check!)
-        this.airToRestore.add(vec);
+        if (!this.airToRestore.contains(vec))
+        {
+            this.airToRestore.add(vec.clone());
+        }
     }
 
     private void setDarkerAir(BlockVec3 vec)
@@ -1006,132 +1002,39 @@ public class TileEntityArclamp extends TileEntity implements ITickable, ITileCli
         return oldState.getBlock() != newSate.getBlock();
     }
 
-    private void checkedAdd(BlockVec3 vec)
+    private static long pack(BlockVec3 vec)
     {
-        int dx = this.pos.getX() - vec.x;
-        int dz = this.pos.getZ() - vec.z;
-        if (dx < -8191 || dx > 8192)
-            return;
-        if (dz < -8191 || dz > 8192)
-            return;
-        intBucket bucket = buckets[((dx & 15) << 4) + (dz & 15)];
-        bucket.add(vec.y + ((dx & 0x3FF0) + ((dz & 0x3FF0) << 10) << 4));
+        return FloodFill.pack(vec.x, vec.y, vec.z);
     }
 
     /**
-     * Currently unused - the sided implementation is used instead
+     * Same as BlockVec3.newVecSide() but re-using sideVec
      */
-    private boolean checkedContains(BlockVec3 vec)
+    private static void setSide(BlockVec3 sideVec, BlockVec3 vec, int side)
     {
-        int dx = this.pos.getX() - vec.x;
-        int dz = this.pos.getZ() - vec.z;
-        if (dx < -8191 || dx > 8192)
-            return true;
-        if (dz < -8191 || dz > 8192)
-            return true;
-        intBucket bucket = buckets[((dx & 15) << 4) + (dz & 15)];
-        return bucket.contains(vec.y + ((dx & 0x3FF0) + ((dz & 0x3FF0) << 10) << 4));
-    }
-
-    private boolean checkedContains(BlockVec3 vec, int side)
-    {
-        int y = vec.y;
-        int dx = this.pos.getX() - vec.x;
-        int dz = this.pos.getZ() - vec.z;
+        sideVec.x = vec.x;
+        sideVec.y = vec.y;
+        sideVec.z = vec.z;
+        sideVec.sideDoneBits = (1 << (side ^ 1)) + (side << 6);
         switch (side)
         {
             case 0:
-                y--;
-                if (y < 0)
-                    return true;
+                sideVec.y--;
                 break;
             case 1:
-                y++;
-                if (y > 255)
-                    return true;
+                sideVec.y++;
                 break;
             case 2:
-                dz++;
+                sideVec.z--;
                 break;
             case 3:
-                dz--;
+                sideVec.z++;
                 break;
             case 4:
-                dx++;
+                sideVec.x--;
                 break;
             case 5:
-                dx--;
-        }
-        if (dx < -8191 || dx > 8192)
-            return true;
-        if (dz < -8191 || dz > 8192)
-            return true;
-        intBucket bucket = buckets[((dx & 15) << 4) + (dz & 15)];
-        return bucket.contains(y + ((dx & 0x3FF0) + ((dz & 0x3FF0) << 10) << 4));
-    }
-
-    private static void checkedInit(intBucket[] buckets)
-    {
-        for (int i = 0; i < 256; i++)
-        {
-            buckets[i] = new intBucket();
-        }
-    }
-
-    private void checkedClear()
-    {
-        for (int i = 0; i < 256; i++)
-        {
-            this.buckets[i].clear();
-        }
-    }
-
-    public static class intBucket
-    {
-
-        private int maxSize = 12; // default size
-        private int size = 0;
-        private int[] table = new int[maxSize];
-
-        public void add(int i)
-        {
-            if (this.contains(i))
-                return;
-
-            if (size >= maxSize)
-            {
-                int[] newTable = new int[maxSize + maxSize];
-                System.arraycopy(table, 0, newTable, 0, maxSize);
-                table = newTable;
-                maxSize += maxSize;
-            }
-            table[size] = i;
-            size++;
-        }
-
-        public boolean contains(int test)
-        {
-            for (int i = size - 1; i >= 0; i--)
-            {
-                if (table[i] == test)
-                    return true;
-            }
-            return false;
-        }
-
-        public void clear()
-        {
-            size = 0;
-        }
-
-        public int size()
-        {
-            return size;
-        }
-
-        public int[] contents()
-        {
-            return table;
+                sideVec.x++;
         }
     }
 
@@ -24,6 +24,7 @@ import micdoodle8.mods.miccore.Annotations.NetworkedField;
 import micdoodle8.mods.galacticraft.annotations.ForRemoval;
 import micdoodle8.mods.galacticraft.annotations.ReplaceWith;
 import micdoodle8.mods.galacticraft.api.recipe.CircuitFabricatorRecipes;
+import micdoodle8.mods.galacticraft.api.recipe.RecipeMissCache;
 import micdoodle8.mods.galacticraft.api.world.IZeroGDimension;
 import micdoodle8.mods.galacticraft.core.GCItems;
 import micdoodle8.mods.galacticraft.core.blocks.BlockMachine2;
@@ -40,6 +41,7 @@ public class TileEntityCircuitFabricator extends TileBaseElectricBlockWithInvent
     public static final int PROCESS_TIME_REQUIRED = 300;
     @NetworkedField(targetSide = Side.CLIENT) public int processTicks = 0;
     private ItemStack producingStack = ItemStack.EMPTY;
+    private final RecipeMissCache missCache = new RecipeMissCache();
     private long ticks;
 
     public TileEntityCircuitFabricator()
@@ -98,7 +100,7 @@ public class TileEntityCircuitFabricator extends TileBaseElectricBlockWithInvent
 
     public void updateInput()
     {
-        this.producingStack = CircuitFabricatorRecipes.getOutputForInput(this.getInventory().subList(1, 6));
+        this.producingStack = CircuitFabricatorRecipes.getOutputForInput(this.getInventory().subList(1, 6), this.missCache);
     }
 
     private boolean canCompress()
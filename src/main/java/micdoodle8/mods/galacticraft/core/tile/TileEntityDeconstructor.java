@@ -7,13 +7,17 @@
 
 package micdoodle8.mods.galacticraft.core.tile;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 import net.minecraft.init.Items;
 import net.minecraft.inventory.ISidedInventory;
+import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.item.crafting.IRecipe;
 import net.minecraft.item.crafting.Ingredient;
@@ -62,6 +66,9 @@ public class TileEntityDeconstructor extends TileBaseElectricBlock implements II
 
 	public static List<ItemStack>				salvageable					= new LinkedList<>();
 	public static List<INasaWorkbenchRecipe>	knownRecipes				= new LinkedList<>();
+	// The crafting recipes which can be deconstructed, by output item
+	private static Map<Item, List<IRecipe>>		recipesByOutput;
+	private static int							indexedRecipeCount			= -1;
 	private int									recursiveCount;
 
 	static
@@ -317,7 +324,12 @@ public class TileEntityDeconstructor extends TileBaseElectricBlock implements II
 				return toItemStackList(recipe.getRecipeInput().values());
 			}
 		}
-		for (IRecipe recipe : ForgeRegistries.RECIPES)
+		List<IRecipe> candidates = getCraftingRecipes().get(stack.getItem());
+		if (candidates == null)
+		{
+			return null;
+		}
+		for (IRecipe recipe : candidates)
 		{
 			ItemStack test = recipe.getRecipeOutput();
 			if (ItemStack.areItemsEqual(test, stack) && test.getCount() == 1)
@@ -343,6 +355,31 @@ public class TileEntityDeconstructor extends TileBaseElectricBlock implements II
 		return null;
 	}
 
+	/**
+	 * The shaped and shapeless crafting recipes making one of an item, by
+	 * that item, in registry order - built the first time something is
+	 * deconstructed, and again if recipes are registered after that.
+	 */
+	private static Map<Item, List<IRecipe>> getCraftingRecipes()
+	{
+		int recipeCount = ForgeRegistries.RECIPES.getKeys().size();
+		if (recipesByOutput == null || indexedRecipeCount != recipeCount)
+		{
+			Map<Item, List<IRecipe>> index = new HashMap<>();
+			for (IRecipe recipe : ForgeRegistries.RECIPES)
+			{
+				ItemStack test = recipe.getRecipeOutput();
+				if (test.getCount() == 1 && (recipe instanceof ShapedRecipes || recipe instanceof ShapelessRecipes || recipe instanceof ShapedOreRecipe || recipe instanceof ShapelessOreRecipe))
+				{
+					index.computeIfAbsent(test.getItem(), k -> new ArrayList<>(1)).add(recipe);
+				}
+			}
+			recipesByOutput = index;
+			indexedRecipeCount = recipeCount;
+		}
+		return recipesByOutput;
+	}
+
 	private List<ItemStack> expandRecipeInputs(List<?> inputs)
 	{
 		List<ItemStack> ret = new LinkedList<>();
@@ -32,6 +32,7 @@ import micdoodle8.mods.miccore.Annotations.NetworkedField;
 import micdoodle8.mods.galacticraft.annotations.ForRemoval;
 import micdoodle8.mods.galacticraft.annotations.ReplaceWith;
 import micdoodle8.mods.galacticraft.api.recipe.CompressorRecipes;
+import micdoodle8.mods.galacticraft.api.recipe.RecipeMissCache;
 import micdoodle8.mods.galacticraft.api.recipe.ShapedRecipesGC;
 import micdoodle8.mods.galacticraft.api.recipe.ShapelessOreRecipeGC;
 import micdoodle8.mods.galacticraft.core.blocks.BlockMachine2;
@@ -53,6 +54,7 @@ public class TileEntityElectricIngotCompressor extends TileBaseElectricBlock imp
     @NetworkedField(targetSide = Side.CLIENT) public int processTimeRequired = PROCESS_TIME_REQUIRED_BASE;
     @NetworkedField(targetSide = Side.CLIENT) public int processTicks = 0;
     private ItemStack producingStack = ItemStack.EMPTY;
+    private final RecipeMissCache missCache = new RecipeMissCache();
     private long ticks;
     private static final int[] allSlots = new int[]
     {0, 3, 4, 5, 6, 7, 8, 9, 10, 11};
@@ -154,7 +156,7 @@ public class TileEntityElectricIngotCompressor extends TileBaseElectricBlock imp
 
     public void updateInput()
     {
-        this.producingStack = CompressorRecipes.findMatchingRecipe(this.compressingCraftMatrix, this.world);
+        this.producingStack = CompressorRecipes.findMatchingRecipe(this.compressingCraftMatrix, this.world, this.missCache);
     }
 
     public void compressItems()
@@ -56,11 +56,33 @@ public class TileEntityFluidTank extends TileEntityAdvanced implements IFluidHan
     private DelayTimer delayTimer = new DelayTimer(1);
     private AxisAlignedBB renderAABB;
 
+    public static final TileEntityRegistry<TileEntityFluidTank> registry = new TileEntityRegistry<>();
+
     public TileEntityFluidTank()
     {
         super("tile.fluid_tank.name");
     }
 
+    @Override
+    public void onLoad()
+    {
+        TileEntityFluidTank.registry.add(this);
+    }
+
+    @Override
+    public void onChunkUnload()
+    {
+        TileEntityFluidTank.registry.remove(this);
+        super.onChunkUnload();
+    }
+
+    @Override
+    public void invalidate()
+    {
+        TileEntityFluidTank.registry.remove(this);
+        super.invalidate();
+    }
+
     @Override
     public int[] getSlotsForFace(EnumFacing side)
     {
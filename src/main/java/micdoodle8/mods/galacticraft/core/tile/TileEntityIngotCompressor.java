@@ -33,6 +33,7 @@ import net.minecraftforge.oredict.OreDictionary;
 import micdoodle8.mods.miccore.Annotations.NetworkedField;
 
 import micdoodle8.mods.galacticraft.api.recipe.CompressorRecipes;
+import micdoodle8.mods.galacticraft.api.recipe.RecipeMissCache;
 import micdoodle8.mods.galacticraft.api.recipe.ShapedRecipesGC;
 import micdoodle8.mods.galacticraft.api.recipe.ShapelessOreRecipeGC;
 import micdoodle8.mods.galacticraft.core.inventory.IInventoryDefaults;
@@ -50,6 +51,7 @@ public class TileEntityIngotCompressor extends TileEntityAdvanced implements IIn
     private long ticks;
 
     private ItemStack producingStack = ItemStack.EMPTY;
+    private final RecipeMissCache missCache = new RecipeMissCache();
     public PersistantInventoryCrafting compressingCraftMatrix = new PersistantInventoryCrafting();
     public final Set<EntityPlayer> playersUsing = new HashSet<EntityPlayer>();
     private static Random random = new Random();
@@ -132,7 +134,7 @@ public class TileEntityIngotCompressor extends TileEntityAdvanced implements IIn
 
     public void updateInput()
     {
-        this.producingStack = CompressorRecipes.findMatchingRecipe(this.compressingCraftMatrix, this.world);
+        this.producingStack = CompressorRecipes.findMatchingRecipe(this.compressingCraftMatrix, this.world, this.missCache);
     }
 
     private boolean canSmelt()
@@ -38,6 +38,7 @@ import micdoodle8.mods.galacticraft.core.blocks.BlockOxygenDistributor;
 import micdoodle8.mods.galacticraft.core.energy.item.ItemElectricBase;
 import micdoodle8.mods.galacticraft.core.entities.IBubbleProviderColored;
 import micdoodle8.mods.galacticraft.core.util.FluidUtil;
+import micdoodle8.mods.galacticraft.core.util.OxygenBubbleIndex;
 
 import io.netty.buffer.ByteBuf;
 
@@ -63,6 +64,7 @@ public class TileEntityOxygenDistributor extends TileEntityOxygen implements IBu
     {
         if (!this.world.isRemote)
             TileEntityOxygenDistributor.loadedTiles.add(new BlockVec3Dim(this));
+        OxygenBubbleIndex.update(this);
     }
 
     @Override
@@ -70,6 +72,7 @@ public class TileEntityOxygenDistributor extends TileEntityOxygen implements IBu
     {
         if (!this.world.isRemote)
             TileEntityOxygenDistributor.loadedTiles.remove(new BlockVec3Dim(this));
+        OxygenBubbleIndex.remove(this);
         super.onChunkUnload();
     }
 
@@ -106,6 +109,7 @@ public class TileEntityOxygenDistributor extends TileEntityOxygen implements IBu
 //        	this.oxygenBubble.setDead();
             TileEntityOxygenDistributor.loadedTiles.remove(new BlockVec3Dim(this));
         }
+        OxygenBubbleIndex.remove(this);
 
         super.invalidate();
     }
@@ -197,6 +201,7 @@ public class TileEntityOxygenDistributor extends TileEntityOxygen implements IBu
                 }
             }
             this.bubbleSize = dataStream.readFloat();
+            OxygenBubbleIndex.update(this);
         }
     }
 
@@ -239,6 +244,7 @@ public class TileEntityOxygenDistributor extends TileEntityOxygen implements IBu
             }
 
             this.bubbleSize = Math.min(Math.max(this.bubbleSize, 0.0F), 10.0F);
+            OxygenBubbleIndex.update(this);
         }
 
 //        if (!hasValidBubble && !this.world.isRemote && (this.oxygenBubble == null || this.ticks < 25))
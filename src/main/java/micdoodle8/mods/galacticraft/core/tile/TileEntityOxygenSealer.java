@@ -35,6 +35,7 @@ import micdoodle8.mods.galacticraft.core.blocks.BlockOxygenSealer;
 import micdoodle8.mods.galacticraft.core.energy.item.ItemElectricBase;
 import micdoodle8.mods.galacticraft.core.energy.tile.EnergyStorageTile;
 import micdoodle8.mods.galacticraft.core.fluid.OxygenPressureProtocol;
+import micdoodle8.mods.galacticraft.core.fluid.SealedVolumeIndex;
 import micdoodle8.mods.galacticraft.core.fluid.ThreadFindSeal;
 import micdoodle8.mods.galacticraft.core.network.PacketSimple;
 import micdoodle8.mods.galacticraft.core.network.PacketSimple.EnumSimplePacket;
@@ -58,6 +59,7 @@ public class TileEntityOxygenSealer extends TileEntityOxygen implements ITileCli
     private static int countTemp = 0;
     private static boolean sealerCheckedThisTick = false;
     public static ArrayList<TileEntityOxygenSealer> loadedTiles = new ArrayList<>();
+    public static final TileEntityRegistry<TileEntityOxygenSealer> registry = new TileEntityRegistry<>();
     private static final int UNSEALED_OXYGENPERTICK = 12;
     public List<BlockVec3> leaksClient;
 
@@ -75,6 +77,7 @@ public class TileEntityOxygenSealer extends TileEntityOxygen implements ITileCli
     @Override
     public void onLoad()
     {
+        TileEntityOxygenSealer.registry.add(this);
         if (!this.world.isRemote)
         {
             if (!TileEntityOxygenSealer.loadedTiles.contains(this))
@@ -94,7 +97,9 @@ public class TileEntityOxygenSealer extends TileEntityOxygen implements ITileCli
         if (!this.world.isRemote)
         {
             TileEntityOxygenSealer.loadedTiles.remove(this);
+            SealedVolumeIndex.remove(this.world, this);
         }
+        TileEntityOxygenSealer.registry.remove(this);
         super.invalidate();
     }
 
@@ -104,7 +109,9 @@ public class TileEntityOxygenSealer extends TileEntityOxygen implements ITileCli
         if (!this.world.isRemote)
         {
             TileEntityOxygenSealer.loadedTiles.remove(this);
+            SealedVolumeIndex.remove(this.world, this);
         }
+        TileEntityOxygenSealer.registry.remove(this);
         super.onChunkUnload();
     }
 
@@ -187,12 +194,12 @@ public class TileEntityOxygenSealer extends TileEntityOxygen implements ITileCli
                     this.stopSealThreadCooldown = this.threadCooldownTotal * 3 / 5;
             }
 
-            // TODO: if multithreaded, this codeblock should not run if the
-            // current threadSeal is flagged looping
+            // Don't start another check while one is still running on a
+            // SealerWorkerPool thread
             if (this.stopSealThreadCooldown > 0)
             {
                 this.stopSealThreadCooldown--;
-            } else if (!TileEntityOxygenSealer.sealerCheckedThisTick)
+            } else if (!TileEntityOxygenSealer.sealerCheckedThisTick && (this.threadSeal == null || !this.threadSeal.looping.get()))
             {
                 // This puts any Sealer which is updated to the back of the
                 // queue for updates
@@ -204,7 +211,6 @@ public class TileEntityOxygenSealer extends TileEntityOxygen implements ITileCli
                 }
             }
 
-            // TODO: if multithreaded, this.threadSeal needs to be atomic
             if (this.threadSeal != null)
             {
                 if (this.threadSeal.looping.get())
@@ -355,9 +361,9 @@ public class TileEntityOxygenSealer extends TileEntityOxygen implements ITileCli
     {
         HashMap<BlockVec3, TileEntityOxygenSealer> ret = new HashMap<>();
 
-        for (TileEntityOxygenSealer tile : new ArrayList<>(TileEntityOxygenSealer.loadedTiles))
+        for (TileEntityOxygenSealer tile : TileEntityOxygenSealer.registry.getAll(world))
         {
-            if (tile != null && tile.getWorld() == world && tile.getDistanceSq(pos.getX(), pos.getY(), pos.getZ()) < rSquared)
+            if (tile.getDistanceSq(pos.getX(), pos.getY(), pos.getZ()) < rSquared)
             {
                 ret.put(new BlockVec3(tile.getPos()), tile);
             }
@@ -371,16 +377,13 @@ public class TileEntityOxygenSealer extends TileEntityOxygen implements ITileCli
         TileEntityOxygenSealer ret = null;
         double dist = 96 * 96D;
 
-        for (Object tile : world.loadedTileEntityList)
+        for (TileEntityOxygenSealer tile : TileEntityOxygenSealer.registry.getNear(world, new BlockPos(x, y, z), 96))
         {
-            if (tile instanceof TileEntityOxygenSealer)
+            double testDist = tile.getDistanceSq(x, y, z);
+            if (testDist < dist)
             {
-                double testDist = ((TileEntityOxygenSealer) tile).getDistanceSq(x, y, z);
-                if (testDist < dist)
-                {
-                    dist = testDist;
-                    ret = (TileEntityOxygenSealer) tile;
-                }
+                dist = testDist;
+                ret = tile;
             }
         }
 
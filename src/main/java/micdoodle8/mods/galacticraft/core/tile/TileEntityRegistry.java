@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2023 Team Galacticraft
+ *
+ * Licensed under the MIT license.
+ * See LICENSE file in the project root for details.
+ */
+
+package micdoodle8.mods.galacticraft.core.tile;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+
+import micdoodle8.mods.galacticraft.core.util.GCCoreUtil;
+
+/**
+ * The loaded tiles of one type, by dimension and chunk - so code looking for
+ * (say) every Launch Controller, or the nearest Treasure Chest, does not have
+ * to scan the whole of world.loadedTileEntityList.
+ *
+ * The tile class adds itself in onLoad() and removes itself in invalidate()
+ * and onChunkUnload(). Server and client tiles are kept apart; each side must
+ * only use the registry from its own thread.
+ */
+public class TileEntityRegistry<T extends TileEntity>
+{
+
+    private static final List<TileEntityRegistry<?>> registries = new ArrayList<>();
+
+    private final Map<Integer, Map<Long, List<T>>> server = new HashMap<>();
+    private final Map<Integer, Map<Long, List<T>>> client = new HashMap<>();
+
+    public TileEntityRegistry()
+    {
+        synchronized (registries)
+        {
+            registries.add(this);
+        }
+    }
+
+    private Map<Integer, Map<Long, List<T>>> getSide(World world)
+    {
+        return world.isRemote ? this.client : this.server;
+    }
+
+    public void add(T tile)
+    {
+        World world = tile.getWorld();
+        if (world == null)
+        {
+            return;
+        }
+        BlockPos pos = tile.getPos();
+        List<T> list = this.getSide(world).computeIfAbsent(GCCoreUtil.getDimensionID(world), k -> new HashMap<>()).computeIfAbsent(ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4),
+            k -> new ArrayList<>(2));
+        if (!list.contains(tile))
+        {
+            list.add(tile);
+        }
+    }
+
+    public void remove(T tile)
+    {
+        World world = tile.getWorld();
+        if (world == null)
+        {
+            return;
+        }
+        Map<Long, List<T>> chunks = this.getSide(world).get(GCCoreUtil.getDimensionID(world));
+        if (chunks == null)
+        {
+            return;
+        }
+        BlockPos pos = tile.getPos();
+        long key = ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4);
+        List<T> list = chunks.get(key);
+        if (list != null && list.remove(tile) && list.isEmpty())
+        {
+            chunks.remove(key);
+        }
+    }
+
+    /**
+     * @return a new list of all the loaded, valid tiles of this type in the
+     *         world's dimension
+     */
+    public List<T> getAll(World world)
+    {
+        Map<Long, List<T>> chunks = this.getSide(world).get(GCCoreUtil.getDimensionID(world));
+        if (chunks == null || chunks.isEmpty())
+        {
+            return Collections.emptyList();
+        }
+        List<T> result = new ArrayList<>();
+        for (List<T> list : chunks.values())
+        {
+            for (T tile : list)
+            {
+                if (!tile.isInvalid() && tile.getWorld() == world)
+                {
+                    result.add(tile);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return a new list of the loaded, valid tiles of this type in chunks
+     *         within the given horizontal block distance of pos (tiles found
+     *         may still be a little further away than that: the caller should
+     *         check the distance itself)
+     */
+    public List<T> getNear(World world, BlockPos pos, int range)
+    {
+        Map<Long, List<T>> chunks = this.getSide(world).get(GCCoreUtil.getDimensionID(world));
+        if (chunks == null || chunks.isEmpty())
+        {
+            return Collections.emptyList();
+        }
+        int minX = (pos.getX() - range) >> 4;
+        int maxX = (pos.getX() + range) >> 4;
+        int minZ = (pos.getZ() - range) >> 4;
+        int maxZ = (pos.getZ() + range) >> 4;
+        if ((maxX - minX + 1) * (maxZ - minZ + 1) > chunks.size())
+        {
+            // Fewer chunks with tiles in them than chunks in range
+            return this.getAll(world);
+        }
+        List<T> result = new ArrayList<>();
+        for (int cx = minX; cx <= maxX; cx++)
+        {
+            for (int cz = minZ; cz <= maxZ; cz++)
+            {
+                List<T> list = chunks.get(ChunkPos.asLong(cx, cz));
+                if (list != null)
+                {
+                    for (T tile : list)
+                    {
+                        if (!tile.isInvalid() && tile.getWorld() == world)
+                        {
+                            result.add(tile);
+                        }
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Empties the server side of every registry - used on server stop
+     */
+    public static void clearServer()
+    {
+        synchronized (registries)
+        {
+            for (TileEntityRegistry<?> registry : registries)
+            {
+                registry.server.clear();
+            }
+        }
+    }
+
+    /**
+     * Forgets the tiles of a client world being unloaded, in every registry
+     */
+    public static void clearClient(World world)
+    {
+        int dimID = GCCoreUtil.getDimensionID(world);
+        synchronized (registries)
+        {
+            for (TileEntityRegistry<?> registry : registries)
+            {
+                registry.client.remove(dimID);
+            }
+        }
+    }
+}
@@ -7,20 +7,11 @@
 
 package micdoodle8.mods.galacticraft.core.tile;
 
-import java.util.HashSet;
 import java.util.List;
 import java.util.UUID;
 
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.Entity;
-import net.minecraft.entity.EntityLivingBase;
-import net.minecraft.entity.monster.EntitySkeleton;
-import net.minecraft.entity.monster.EntityZombie;
-import net.minecraft.entity.passive.EntityHorse;
-import net.minecraft.entity.passive.EntityOcelot;
-import net.minecraft.entity.passive.EntitySheep;
-import net.minecraft.entity.passive.EntityVillager;
-import net.minecraft.entity.passive.EntityWolf;
 import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
@@ -28,26 +19,19 @@ import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.ITickable;
 import net.minecraft.util.ResourceLocation;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.util.math.MathHelper;
 import net.minecraft.world.World;
 import net.minecraft.world.WorldProvider;
 
 import net.minecraftforge.fml.common.network.NetworkRegistry.TargetPoint;
 import net.minecraftforge.fml.common.registry.EntityEntry;
-import net.minecraftforge.fml.common.registry.EntityRegistry;
 import net.minecraftforge.fml.common.registry.ForgeRegistries;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
-import micdoodle8.mods.galacticraft.api.entity.ITelemetry;
 import micdoodle8.mods.galacticraft.api.prefab.entity.EntitySpaceshipBase;
-import micdoodle8.mods.galacticraft.api.vector.BlockVec3;
-import micdoodle8.mods.galacticraft.api.vector.BlockVec3Dim;
 import micdoodle8.mods.galacticraft.core.GalacticraftCore;
-import micdoodle8.mods.galacticraft.core.entities.player.GCPlayerStats;
 import micdoodle8.mods.galacticraft.core.network.PacketSimple;
 import micdoodle8.mods.galacticraft.core.network.PacketSimple.EnumSimplePacket;
-import micdoodle8.mods.galacticraft.core.util.GCCoreUtil;
 import micdoodle8.mods.galacticraft.core.util.PlayerUtil;
 import micdoodle8.mods.galacticraft.core.util.WorldUtil;
 
@@ -62,164 +46,74 @@ public class TileEntityTelemetry extends TileEntity implements ITickable
     public String clientName;
     public GameProfile clientGameProfile = null;
 
-    public static HashSet<BlockVec3Dim> loadedList = new HashSet<BlockVec3Dim>();
+    public static final TileEntityRegistry<TileEntityTelemetry> registry = new TileEntityRegistry<>();
     public Entity linkedEntity;
     private UUID toUpdate = null;
-    private int pulseRate = 400;
-    private int lastHurttime = 0;
-    private int ticks = 0;
+    // The sample last sent to clients
+    private TelemetryHub.Sample lastSent = null;
 
     @Override
     public void onLoad()
     {
-        if (this.world.isRemote)
-        {
-            loadedList.add(new BlockVec3Dim(this));
-        }
+        TileEntityTelemetry.registry.add(this);
+    }
+
+    @Override
+    public void onChunkUnload()
+    {
+        TileEntityTelemetry.registry.remove(this);
+        this.unsubscribe();
+        super.onChunkUnload();
     }
 
     @Override
     public void invalidate()
     {
+        TileEntityTelemetry.registry.remove(this);
+        this.unsubscribe();
         super.invalidate();
-        if (this.world.isRemote)
-        {
-            loadedList.remove(new BlockVec3Dim(this));
-        }
     }
 
     @Override
     public void update()
     {
-        if (!this.world.isRemote && ++this.ticks % 2 == 0)
+        if (this.world.isRemote)
         {
-            if (this.toUpdate != null)
-            {
-                this.addTrackedEntity(this.toUpdate);
-                this.toUpdate = null;
-            }
-
-            String name = null;
-            int[] data =
-            {-1, -1, -1, -1, -1};
-            String strUUID = "";
-
-            if (linkedEntity != null)
-            {
-                // Help the Garbage Collector
-                if (linkedEntity.isDead)
-                {
-                    linkedEntity = null;
-                    name = "";
-                    // TODO: track players after death and respawn? or not?
-                } else
-                {
-                    if (linkedEntity instanceof EntityPlayerMP)
-                    {
-                        name = "$" + linkedEntity.getName();
-                    } else
-                    {
-                        EntityEntry entityEntry = EntityRegistry.getEntry(linkedEntity.getClass());
-                        if (entityEntry != null && entityEntry.getRegistryName() != null)
-                        {
-                            name = entityEntry.getRegistryName().toString();
-                        }
-                    }
-
-                    if (name == null)
-                    {
-                        GalacticraftCore.logger.info("Telemetry Unit: Error finding name for " + linkedEntity.getClass().getSimpleName());
-                        name = "";
-                    }
+            return;
+        }
 
-                    double xmotion = linkedEntity.motionX;
-                    double ymotion = linkedEntity instanceof EntityLivingBase ? linkedEntity.motionY + 0.078D : linkedEntity.motionY;
-                    double zmotion = linkedEntity.motionZ;
-                    data[2] = (int) (MathHelper.sqrt(xmotion * xmotion + ymotion * ymotion + zmotion * zmotion) * 2000D);
+        // Every Telemetry Unit samples on the same ticks, so an entity
+        // watched by several is only sampled once
+        long time = this.world.getTotalWorldTime();
+        if (time % TelemetryHub.INTERVAL != 0)
+        {
+            return;
+        }
 
-                    if (linkedEntity instanceof ITelemetry)
-                    {
-                        ((ITelemetry) linkedEntity).transmitData(data);
-                    } else if (linkedEntity instanceof EntityLivingBase)
-                    {
-                        EntityLivingBase eLiving = (EntityLivingBase) linkedEntity;
-                        data[0] = eLiving.hurtTime;
+        if (this.toUpdate != null)
+        {
+            this.addTrackedEntity(this.toUpdate);
+            this.toUpdate = null;
+        }
 
-                        // Calculate a "pulse rate" based on motion and taking
-                        // damage
-                        this.pulseRate--;
-                        if (eLiving.hurtTime > this.lastHurttime)
-                        {
-                            this.pulseRate += 100;
-                        }
-                        this.lastHurttime = eLiving.hurtTime;
-                        if (eLiving.getRidingEntity() != null)
-                        {
-                            data[2] /= 4; // reduced pulse effect if riding a
-                                          // vehicle
-                        } else if (data[2] > 1)
-                        {
-                            this.pulseRate += 2;
-                        }
-                        this.pulseRate += Math.max(data[2] - pulseRate, 0) / 4;
-                        if (this.pulseRate > 2000)
-                        {
-                            this.pulseRate = 2000;
-                        }
-                        if (this.pulseRate < 400)
-                        {
-                            this.pulseRate = 400;
-                        }
-                        data[2] = this.pulseRate / 10;
+        // Help the Garbage Collector
+        if (this.linkedEntity != null && this.linkedEntity.isDead)
+        {
+            this.setLinkedEntity(null);
+            // TODO: track players after death and respawn? or not?
+        }
 
-                        data[1] = (int) (eLiving.getHealth() * 100 / eLiving.getMaxHealth());
-                        if (eLiving instanceof EntityPlayerMP)
-                        {
-                            data[3] = ((EntityPlayerMP) eLiving).getFoodStats().getFoodLevel() * 5;
-                            GCPlayerStats stats = GCPlayerStats.get(eLiving);
-                            data[4] = stats.getAirRemaining() * 4096 + stats.getAirRemaining2();
-                            UUID uuid = ((EntityPlayerMP) eLiving).getUniqueID();
-                            if (uuid != null)
-                            {
-                                strUUID = uuid.toString();
-                            }
-                        } else if (eLiving instanceof EntityHorse)
-                        {
-//                            data[3] = ((EntityHorse) eLiving).getType().ordinal();
-                            data[4] = ((EntityHorse) eLiving).getHorseVariant();
-                        } else if (eLiving instanceof EntityVillager)
-                        {
-                            data[3] = ((EntityVillager) eLiving).getProfession();
-                            data[4] = ((EntityVillager) eLiving).getGrowingAge();
-                        } else if (eLiving instanceof EntityWolf)
-                        {
-                            data[3] = ((EntityWolf) eLiving).getCollarColor().getDyeDamage();
-                            data[4] = ((EntityWolf) eLiving).isBegging() ? 1 : 0;
-                        } else if (eLiving instanceof EntitySheep)
-                        {
-                            data[3] = ((EntitySheep) eLiving).getFleeceColor().getDyeDamage();
-                            data[4] = ((EntitySheep) eLiving).getSheared() ? 1 : 0;
-                        } else if (eLiving instanceof EntityOcelot)
-                        {
-                            data[3] = ((EntityOcelot) eLiving).getTameSkin();
-                        } else if (eLiving instanceof EntitySkeleton)
-                        {
-//                            data[3] = ((EntitySkeleton) eLiving).getSkeletonType().ordinal();
-                        } else if (eLiving instanceof EntityZombie)
-                        {
-//                            data[3] = ((EntityZombie) eLiving).isVillager() ? 1 : 0; TODO Fix for MC 1.10
-                            data[4] = ((EntityZombie) eLiving).isChild() ? 1 : 0;
-                        }
-                    }
-                }
-            } else
-            {
-                name = "";
-            }
-            GalacticraftCore.packetPipeline.sendToAllAround(new PacketSimple(EnumSimplePacket.C_UPDATE_TELEMETRY, this.world.provider.getDimension(), new Object[]
-            {this.getPos(), name, data[0], data[1], data[2], data[3], data[4], strUUID}),
-                new TargetPoint(this.world.provider.getDimension(), this.getPos().getX(), this.getPos().getY(), this.getPos().getZ(), 320D));
+        TelemetryHub.Sample sample = this.linkedEntity == null ? TelemetryHub.EMPTY : TelemetryHub.sample(this.linkedEntity, time);
+        if (sample == this.lastSent && time % TelemetryHub.RESEND_INTERVAL != 0)
+        {
+            return;
         }
+        this.lastSent = sample;
+
+        int[] data = sample.data;
+        GalacticraftCore.packetPipeline.sendToAllAround(new PacketSimple(EnumSimplePacket.C_UPDATE_TELEMETRY, this.world.provider.getDimension(), new Object[]
+        {this.getPos(), sample.name, data[0], data[1], data[2], data[3], data[4], sample.uuid}),
+            new TargetPoint(this.world.provider.getDimension(), this.getPos().getX(), this.getPos().getY(), this.getPos().getZ(), 320D));
     }
 
     @SideOnly(Side.CLIENT)
@@ -268,30 +162,22 @@ public class TileEntityTelemetry extends TileEntity implements ITickable
 
     public void addTrackedEntity(UUID uuid)
     {
-        this.pulseRate = 400;
-        this.lastHurttime = 0;
         List<Entity> eList = this.world.loadedEntityList;
         for (Entity e : eList)
         {
             if (e.getUniqueID().equals(uuid))
             {
-                this.linkedEntity = e;
-                if (e instanceof EntitySpaceshipBase)
-                {
-                    ((EntitySpaceshipBase) e).addTelemetry(this);
-                }
+                this.addTrackedEntity(e);
                 return;
             }
         }
         // TODO Add some kind of watcher to add the entity when next loaded
-        this.linkedEntity = null;
+        this.setLinkedEntity(null);
     }
 
     public void addTrackedEntity(Entity e)
     {
-        this.pulseRate = 400;
-        this.lastHurttime = 0;
-        this.linkedEntity = e;
+        this.setLinkedEntity(e);
         if (e instanceof EntitySpaceshipBase)
         {
             ((EntitySpaceshipBase) e).addTelemetry(this);
@@ -300,8 +186,29 @@ public class TileEntityTelemetry extends TileEntity implements ITickable
 
     public void removeTrackedEntity()
     {
-        this.pulseRate = 400;
-        this.linkedEntity = null;
+        this.setLinkedEntity(null);
+    }
+
+    private void setLinkedEntity(Entity e)
+    {
+        if (this.linkedEntity == e)
+        {
+            return;
+        }
+        this.unsubscribe();
+        this.linkedEntity = e;
+        if (e != null && !this.world.isRemote)
+        {
+            TelemetryHub.subscribe(this, e);
+        }
+    }
+
+    private void unsubscribe()
+    {
+        if (this.linkedEntity != null && this.world != null && !this.world.isRemote)
+        {
+            TelemetryHub.unsubscribe(this, this.linkedEntity);
+        }
     }
 
     public static TileEntityTelemetry getNearest(TileEntity te)
@@ -310,35 +217,20 @@ public class TileEntityTelemetry extends TileEntity implements ITickable
         {
             return null;
         }
-        BlockVec3 target = new BlockVec3(te);
+        BlockPos target = te.getPos();
 
-        int distSq = 1025;
-        BlockVec3Dim nearest = null;
-        int dim = GCCoreUtil.getDimensionID(te.getWorld());
-        for (BlockVec3Dim telemeter : loadedList)
+        double distSq = 1025;
+        TileEntityTelemetry nearest = null;
+        for (TileEntityTelemetry telemeter : TileEntityTelemetry.registry.getNear(te.getWorld(), target, 32))
         {
-            if (telemeter.dim != dim)
-            {
-                continue;
-            }
-            int dist = telemeter.distanceSquared(target);
+            double dist = telemeter.getPos().distanceSq(target);
             if (dist < distSq)
             {
                 distSq = dist;
                 nearest = telemeter;
             }
         }
-
-        if (nearest == null)
-        {
-            return null;
-        }
-        TileEntity result = te.getWorld().getTileEntity(new BlockPos(nearest.x, nearest.y, nearest.z));
-        if (result instanceof TileEntityTelemetry)
-        {
-            return (TileEntityTelemetry) result;
-        }
-        return null;
+        return nearest;
     }
 
     /**
@@ -386,17 +278,7 @@ public class TileEntityTelemetry extends TileEntity implements ITickable
 
     public static void updateLinkedPlayer(EntityPlayerMP playerOld, EntityPlayerMP playerNew)
     {
-        for (BlockVec3Dim telemeter : loadedList)
-        {
-            TileEntity te = telemeter.getTileEntityNoLoad();
-            if (te instanceof TileEntityTelemetry)
-            {
-                if (((TileEntityTelemetry) te).linkedEntity == playerOld)
-                {
-                    ((TileEntityTelemetry) te).linkedEntity = playerNew;
-                }
-            }
-        }
+        TelemetryHub.replaceEntity(playerOld, playerNew);
     }
 
     @Override
@@ -22,7 +22,6 @@ import net.minecraft.inventory.ISidedInventory;
 import net.minecraft.inventory.InventoryLargeChest;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
-import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.ITickable;
 import net.minecraft.util.NonNullList;
@@ -60,6 +59,8 @@ public class TileEntityTreasureChest extends TileEntityAdvanced implements ITick
     @Annotations.NetworkedField(targetSide = Side.CLIENT) public boolean locked = true;
     @Annotations.NetworkedField(targetSide = Side.CLIENT) public int tier = 1;
 
+    public static final TileEntityRegistry<TileEntityTreasureChest> registry = new TileEntityRegistry<>();
+
     public TileEntityTreasureChest()
     {
         this(1);
@@ -248,12 +249,26 @@ public class TileEntityTreasureChest extends TileEntityAdvanced implements ITick
         return true;
     }
 
+    @Override
+    public void onLoad()
+    {
+        TileEntityTreasureChest.registry.add(this);
+    }
+
+    @Override
+    public void onChunkUnload()
+    {
+        TileEntityTreasureChest.registry.remove(this);
+        super.onChunkUnload();
+    }
+
     /**
      * invalidates a tile entity
      */
     @Override
     public void invalidate()
     {
+        TileEntityTreasureChest.registry.remove(this);
         super.invalidate();
         this.updateContainingBlockInfo();
     }
@@ -360,15 +375,15 @@ public class TileEntityTreasureChest extends TileEntityAdvanced implements ITick
     {
         double distance = Double.MAX_VALUE;
         TileEntityTreasureChest chest = null;
-        for (final TileEntity tile : entity.world.loadedTileEntityList)
+        for (final TileEntityTreasureChest tile : TileEntityTreasureChest.registry.getAll(entity.world))
         {
-            if (tile instanceof TileEntityTreasureChest && ((TileEntityTreasureChest) tile).getTierOfKeyRequired() == tier)
+            if (tile.getTierOfKeyRequired() == tier)
             {
                 double dist = entity.getDistanceSq(tile.getPos().getX() + 0.5, tile.getPos().getY() + 0.5, tile.getPos().getZ() + 0.5);
                 if (dist < distance)
                 {
                     distance = dist;
-                    chest = (TileEntityTreasureChest) tile;
+                    chest = tile;
                 }
             }
         }
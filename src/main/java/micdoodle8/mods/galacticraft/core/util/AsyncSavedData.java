@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2023 Team Galacticraft
+ *
+ * Licensed under the MIT license.
+ * See LICENSE file in the project root for details.
+ */
+
+package micdoodle8.mods.galacticraft.core.util;
+
+import net.minecraft.world.storage.MapStorage;
+import net.minecraft.world.storage.WorldSavedData;
+
+/**
+ * A WorldSavedData which is written to disk by SavedDataWriter, in the
+ * background, rather than by the server thread when the world saves.
+ *
+ * Mark it dirty as usual: however many times it is marked between two saves,
+ * it is written once. writeToNBT() is still called in the server thread (at
+ * the save), so it can read live game state.
+ *
+ * Load and store it with load() and store() rather than through MapStorage
+ * directly: only data which has been through one of those is written (a
+ * temporary copy, read from a file by hand, is not).
+ */
+public abstract class AsyncSavedData extends WorldSavedData
+{
+
+    public AsyncSavedData(String name)
+    {
+        super(name);
+    }
+
+    /**
+     * MapStorage.getOrLoadData(), also handing the data found (if any) to
+     * SavedDataWriter
+     */
+    public static <T extends AsyncSavedData> T load(MapStorage storage, Class<T> type, String key)
+    {
+        T data = type.cast(storage.getOrLoadData(type, key));
+        if (data != null)
+        {
+            SavedDataWriter.track(data);
+        }
+        return data;
+    }
+
+    /**
+     * MapStorage.setData(), also handing the data to SavedDataWriter
+     */
+    public static void store(MapStorage storage, String key, AsyncSavedData data)
+    {
+        storage.setData(key, data);
+        SavedDataWriter.track(data);
+    }
+
+    /**
+     * @return true if this should be written at the next save
+     */
+    public boolean needsSaving()
+    {
+        return super.isDirty();
+    }
+
+    /**
+     * Always false, so MapStorage does not write this itself - see
+     * needsSaving()
+     */
+    @Override
+    public final boolean isDirty()
+    {
+        return false;
+    }
+}
@@ -31,6 +31,7 @@ import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
 import micdoodle8.mods.galacticraft.api.vector.BlockTuple;
+import micdoodle8.mods.galacticraft.api.world.DimensionEnvironment;
 import micdoodle8.mods.galacticraft.core.Constants;
 import micdoodle8.mods.galacticraft.core.GalacticraftCore;
 import micdoodle8.mods.galacticraft.core.energy.EnergyConfigHandler;
@@ -63,6 +64,7 @@ public class ConfigManagerCore
     public static boolean                    enableSpaceRaceManagerPopup;
     public static boolean                    enableDebug;
     public static boolean                    enableSealerEdgeChecks;
+    public static int                        sealerWorkerThreads            = 2;
     public static boolean                    disableLander;
     public static boolean                    recipesRequireGCAdvancedMetals = true;
     public static boolean                    allowLiquidGratings;
@@ -537,6 +539,12 @@ public class ConfigManagerCore
             enableSealerEdgeChecks = prop.getBoolean(true);
             finishProp(prop);
 
+            prop = getConfig(Constants.CONFIG_CATEGORY_SERVER, "Oxygen Sealer worker threads", 2);
+            prop.setComment("Number of background threads used to calculate the spaces sealed by Oxygen Sealers (allowed range 0-8).  Set to 0 to do all sealer checks in the main server thread.");
+            prop.setLanguageKey("gc.configgui.sealer_worker_threads");
+            sealerWorkerThreads = Math.min(Math.max(0, prop.getInt(2)), 8);
+            finishProp(prop);
+
             prop = getConfig(Constants.CONFIG_CATEGORY_COMPATIBILITY, "Alternate recipe for canisters", false);
             prop.setComment("Enable this if the standard canister recipe causes a conflict.");
             prop.setLanguageKey("gc.configgui.alternate_canister_recipe").setRequiresMcRestart(true);
@@ -644,6 +652,7 @@ public class ConfigManagerCore
             }
 
             challengeModeUpdate();
+            DimensionEnvironment.invalidateAll();
         } catch (final Exception e)
         {
             GalacticraftCore.logger.error("Problem loading core config (\"core.conf\")");
@@ -1008,6 +1017,7 @@ public class ConfigManagerCore
 
         challengeModeUpdate();
         RecipeManagerGC.setConfigurableRecipes();
+        DimensionEnvironment.invalidateAll();
     }
 
     public static void saveClientConfigOverrideable()
@@ -0,0 +1,300 @@
+/*
+ * Copyright (c) 2023 Team Galacticraft
+ *
+ * Licensed under the MIT license.
+ * See LICENSE file in the project root for details.
+ */
+
+package micdoodle8.mods.galacticraft.core.util;
+
+/**
+ * Layer-by-layer flood fill over block positions packed into longs, for the
+ * Oxygen Sealer, Arc Lamp and space station spin checks.
+ *
+ * Positions are packed the same way as BlockPos.toLong(), so they can be
+ * turned back into a BlockPos with BlockPos.fromLong() where one is really
+ * needed. The frontier is a ring buffer of packed positions, each with an int
+ * tag (typically the sides already done, as in BlockVec3.sideDoneBits), and
+ * the visited set is a LongIntHashMap, which can hold a small value for each
+ * visited position - so a fill allocates nothing per block once the buffers
+ * have grown to size.
+ *
+ * Usage:
+ *
+ * <pre>
+ * fill.reset();
+ * fill.offer(start, 0);
+ * while (fill.nextLayer())
+ * {
+ *     while (fill.hasNext())
+ *     {
+ *         long pos = fill.next();
+ *         int tag = fill.tag();
+ *         ... fill.offer(FloodFill.offset(pos, side), tag) ...
+ *     }
+ * }
+ * </pre>
+ *
+ * Not thread-safe: each thread needs its own instance.
+ */
+public class FloodFill
+{
+
+    private static final int NUM_X_BITS = 26;
+    private static final int NUM_Z_BITS = NUM_X_BITS;
+    private static final int NUM_Y_BITS = 64 - NUM_X_BITS - NUM_Z_BITS;
+    private static final int Y_SHIFT = NUM_Z_BITS;
+    private static final int X_SHIFT = Y_SHIFT + NUM_Y_BITS;
+    private static final long X_MASK = (1L << NUM_X_BITS) - 1L;
+    private static final long Y_MASK = (1L << NUM_Y_BITS) - 1L;
+    private static final long Z_MASK = (1L << NUM_Z_BITS) - 1L;
+
+    private final LongIntHashMap visited;
+    private long[] ring;
+    private int[] tags;
+    private int mask;
+    private int head;
+    private int tail;
+    private int layerEnd;
+    private int layer = -1;
+    private long current;
+    private int currentTag;
+
+    public FloodFill()
+    {
+        this(1024);
+    }
+
+    public FloodFill(int expected)
+    {
+        int capacity = 64;
+        while (capacity < expected)
+        {
+            capacity <<= 1;
+        }
+        this.ring = new long[capacity];
+        this.tags = new int[capacity];
+        this.mask = capacity - 1;
+        this.visited = new LongIntHashMap(expected);
+    }
+
+    public static long pack(int x, int y, int z)
+    {
+        return ((long) x & X_MASK) << X_SHIFT | ((long) y & Y_MASK) << Y_SHIFT | ((long) z & Z_MASK);
+    }
+
+    public static int getX(long pos)
+    {
+        return (int) (pos << 64 - X_SHIFT - NUM_X_BITS >> 64 - NUM_X_BITS);
+    }
+
+    public static int getY(long pos)
+    {
+        return (int) (pos << 64 - Y_SHIFT - NUM_Y_BITS >> 64 - NUM_Y_BITS);
+    }
+
+    public static int getZ(long pos)
+    {
+        return (int) (pos << 64 - NUM_Z_BITS >> 64 - NUM_Z_BITS);
+    }
+
+    /**
+     * The position one block away on the given side (EnumFacing index order:
+     * down, up, north, south, west, east)
+     */
+    public static long offset(long pos, int side)
+    {
+        int x = getX(pos);
+        int y = getY(pos);
+        int z = getZ(pos);
+        switch (side)
+        {
+            case 0:
+                y--;
+                break;
+            case 1:
+                y++;
+                break;
+            case 2:
+                z--;
+                break;
+            case 3:
+                z++;
+                break;
+            case 4:
+                x--;
+                break;
+            case 5:
+                x++;
+                break;
+        }
+        return pack(x, y, z);
+    }
+
+    /**
+     * Clears the frontier and the visited set, keeping the buffers for re-use
+     */
+    public void reset()
+    {
+        this.head = 0;
+        this.tail = 0;
+        this.layerEnd = 0;
+        this.layer = -1;
+        this.visited.clear();
+    }
+
+    /**
+     * Adds the position to the next layer, unless it was already visited
+     *
+     * @return true if it was added
+     */
+    public boolean offer(long pos, int tag)
+    {
+        if (!this.visited.putIfAbsent(pos, 0))
+        {
+            return false;
+        }
+        this.push(pos, tag);
+        return true;
+    }
+
+    /**
+     * Adds the position to the next layer without touching the visited set -
+     * for callers which keep their own record of what has been checked
+     */
+    public void push(long pos, int tag)
+    {
+        if (((this.tail + 1) & this.mask) == this.head)
+        {
+            this.grow();
+        }
+        this.ring[this.tail] = pos;
+        this.tags[this.tail] = tag;
+        this.tail = (this.tail + 1) & this.mask;
+    }
+
+    /**
+     * Marks a position as visited without adding it to the frontier
+     *
+     * @return true if it was not visited before
+     */
+    public boolean markVisited(long pos)
+    {
+        return this.visited.putIfAbsent(pos, 0);
+    }
+
+    /**
+     * Marks a position as visited, recording a value with it which can be
+     * read back by visitedValue()
+     *
+     * @return true if it was not visited before (if it was, the value
+     *         recorded then is kept)
+     */
+    public boolean markVisited(long pos, int value)
+    {
+        return this.visited.putIfAbsent(pos, value);
+    }
+
+    public boolean isVisited(long pos)
+    {
+        return this.visited.containsKey(pos);
+    }
+
+    /**
+     * @return the value recorded by markVisited(), or -1 if the position has
+     *         not been visited
+     */
+    public int visitedValue(long pos)
+    {
+        return this.visited.get(pos, -1);
+    }
+
+    /**
+     * @return a new array of all the visited positions, in no particular order
+     */
+    public long[] visitedPositions()
+    {
+        return this.visited.keys();
+    }
+
+    public int visitedCount()
+    {
+        return this.visited.size();
+    }
+
+    /**
+     * Moves on to the next layer: everything offered since the last call.
+     * Anything left unread in the current layer is dropped.
+     *
+     * @return false if the next layer is empty (the fill is finished)
+     */
+    public boolean nextLayer()
+    {
+        this.head = this.layerEnd;
+        this.layerEnd = this.tail;
+        this.layer++;
+        return this.head != this.layerEnd;
+    }
+
+    public boolean hasNext()
+    {
+        return this.head != this.layerEnd;
+    }
+
+    /**
+     * @return the next position in the current layer; its tag is then
+     *         available from tag()
+     */
+    public long next()
+    {
+        this.current = this.ring[this.head];
+        this.currentTag = this.tags[this.head];
+        this.head = (this.head + 1) & this.mask;
+        return this.current;
+    }
+
+    public int tag()
+    {
+        return this.currentTag;
+    }
+
+    /**
+     * @return how many layers out from the start the current layer is (the
+     *         first layer is 0)
+     */
+    public int layer()
+    {
+        return this.layer;
+    }
+
+    /**
+     * @return the number of positions in the frontier (the rest of the current
+     *         layer plus the next layer)
+     */
+    public int pending()
+    {
+        return (this.tail - this.head) & this.mask;
+    }
+
+    private void grow()
+    {
+        int capacity = this.ring.length;
+        long[] newRing = new long[capacity << 1];
+        int[] newTags = new int[capacity << 1];
+        // Unwrap so that head is at 0
+        int n = (this.tail - this.head) & this.mask;
+        int layerOffset = (this.layerEnd - this.head) & this.mask;
+        for (int i = 0; i < n; i++)
+        {
+            int j = (this.head + i) & this.mask;
+            newRing[i] = this.ring[j];
+            newTags[i] = this.tags[j];
+        }
+        this.ring = newRing;
+        this.tags = newTags;
+        this.mask = (capacity << 1) - 1;
+        this.head = 0;
+        this.tail = n;
+        this.layerEnd = layerOffset;
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2023 Team Galacticraft
+ *
+ * Licensed under the MIT license.
+ * See LICENSE file in the project root for details.
+ */
+
+package micdoodle8.mods.galacticraft.core.util;
+
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.math.MathHelper;
+
+import micdoodle8.mods.galacticraft.api.item.IArmorGravity;
+
+/**
+ * Per-entity results for TransformerHooks.getGravityForEntity(), which is
+ * called from entity motion every tick:
+ *
+ * - a player's IArmorGravity modifiers, worked out again only when the armour
+ * worn changes (a different stack in a slot, or a stack used up)
+ *
+ * - whether an entity is in breathable air, checked again when it moves into
+ * another block or after OXYGEN_RECHECK ticks (bubbles and sealed areas can
+ * change around it)
+ *
+ * There is one map for each side: in single player the client and server
+ * copies of an entity have the same entity id, so would be equal keys. Each map
+ * is only used from its own side's thread.
+ */
+public class GravityCache
+{
+
+    private static final int OXYGEN_RECHECK = 20;
+
+    private static final Map<Entity, Entry> client = new WeakHashMap<>();
+    private static final Map<Entity, Entry> server = new WeakHashMap<>();
+
+    private static class Entry
+    {
+
+        // The armour stacks (and their items) the modifiers were worked out
+        // for
+        private ItemStack[] armour;
+        private Item[] armourItems;
+        private int armorModLowGrav = 100;
+        private int armorModHighGrav = 100;
+
+        private long oxygenRecheckAt = Long.MIN_VALUE;
+        private int oxygenX;
+        private int oxygenY;
+        private int oxygenZ;
+        private boolean breathable;
+    }
+
+    private static Entry get(Entity entity)
+    {
+        return (entity.world.isRemote ? GravityCache.client : GravityCache.server).computeIfAbsent(entity, k -> new Entry());
+    }
+
+    /**
+     * @param low true on worlds with less gravity than the Overworld
+     * @return the percentage of the world's Galacticraft gravity effect left
+     *         after the player's IArmorGravity armour, 0 to 100
+     */
+    public static int getArmorGravityMod(EntityPlayer player, boolean low)
+    {
+        Entry entry = GravityCache.get(player);
+        List<ItemStack> armourList = player.inventory.armorInventory;
+        if (!GravityCache.isSameArmour(entry, armourList))
+        {
+            int size = armourList.size();
+            entry.armour = new ItemStack[size];
+            entry.armourItems = new Item[size];
+            int armorModLowGrav = 100;
+            int armorModHighGrav = 100;
+            for (int i = 0; i < size; i++)
+            {
+                ItemStack armorPiece = armourList.get(i);
+                entry.armour[i] = armorPiece;
+                entry.armourItems[i] = armorPiece.getItem();
+                if (armorPiece.getItem() instanceof IArmorGravity)
+                {
+                    armorModLowGrav -= ((IArmorGravity) armorPiece.getItem()).gravityOverrideIfLow(player);
+                    armorModHighGrav -= ((IArmorGravity) armorPiece.getItem()).gravityOverrideIfHigh(player);
+                }
+            }
+            entry.armorModLowGrav = MathHelper.clamp(armorModLowGrav, 0, 100);
+            entry.armorModHighGrav = MathHelper.clamp(armorModHighGrav, 0, 100);
+        }
+        return low ? entry.armorModLowGrav : entry.armorModHighGrav;
+    }
+
+    private static boolean isSameArmour(Entry entry, List<ItemStack> armourList)
+    {
+        if (entry.armour == null || entry.armour.length != armourList.size())
+        {
+            return false;
+        }
+
+        for (int i = 0; i < entry.armour.length; i++)
+        {
+            ItemStack stack = armourList.get(i);
+            // A used up stack stays in its slot but reports Items.AIR
+            if (stack != entry.armour[i] || stack.getItem() != entry.armourItems[i])
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return OxygenUtil.isAABBInBreathableAirBlock() for the entity's
+     *         bounding box, as last checked
+     */
+    public static boolean isInBreathableAir(Entity entity)
+    {
+        Entry entry = GravityCache.get(entity);
+        long time = entity.world.getTotalWorldTime();
+        int x = MathHelper.floor(entity.posX);
+        int y = MathHelper.floor(entity.posY);
+        int z = MathHelper.floor(entity.posZ);
+        if (time >= entry.oxygenRecheckAt || time < entry.oxygenRecheckAt - GravityCache.OXYGEN_RECHECK || x != entry.oxygenX || y != entry.oxygenY || z != entry.oxygenZ)
+        {
+            entry.breathable = OxygenUtil.isAABBInBreathableAirBlock(entity.world, entity.getEntityBoundingBox());
+            entry.oxygenRecheckAt = time + GravityCache.OXYGEN_RECHECK;
+            entry.oxygenX = x;
+            entry.oxygenY = y;
+            entry.oxygenZ = z;
+        }
+        return entry.breathable;
+    }
+
+    /**
+     * Forgets the server side entities - used on server stop
+     */
+    public static void clearServer()
+    {
+        GravityCache.server.clear();
+    }
+}
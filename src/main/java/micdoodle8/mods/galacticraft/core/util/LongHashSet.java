@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2023 Team Galacticraft
+ *
+ * Licensed under the MIT license.
+ * See LICENSE file in the project root for details.
+ */
+
+package micdoodle8.mods.galacticraft.core.util;
+
+import java.util.Arrays;
+
+/**
+ * A set of primitive longs using open addressing with linear probing - no
+ * boxing and no per-entry objects, so it is cheap to fill with hundreds of
+ * thousands of packed block positions (see BlockPos.toLong()).
+ *
+ * Not thread-safe.
+ */
+public class LongHashSet
+{
+
+    // Long.MIN_VALUE is never produced by BlockPos.toLong() for a valid
+    // position, so it is free to use as the empty slot marker
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private long[] table;
+    private int mask;
+    private int size;
+    private int resizeAt;
+    private boolean hasEmptyKey;
+
+    public LongHashSet()
+    {
+        this(64);
+    }
+
+    public LongHashSet(int expected)
+    {
+        int capacity = 16;
+        while (capacity * 3 / 4 < expected)
+        {
+            capacity <<= 1;
+        }
+        this.allocate(capacity);
+    }
+
+    private void allocate(int capacity)
+    {
+        this.table = new long[capacity];
+        Arrays.fill(this.table, EMPTY);
+        this.mask = capacity - 1;
+        this.resizeAt = capacity * 3 / 4;
+    }
+
+    private static int mix(long key)
+    {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * @return true if the value was not already present
+     */
+    public boolean add(long key)
+    {
+        if (key == EMPTY)
+        {
+            if (this.hasEmptyKey)
+            {
+                return false;
+            }
+            this.hasEmptyKey = true;
+            this.size++;
+            return true;
+        }
+
+        long[] table = this.table;
+        int i = mix(key) & this.mask;
+        long test;
+        while ((test = table[i]) != EMPTY)
+        {
+            if (test == key)
+            {
+                return false;
+            }
+            i = (i + 1) & this.mask;
+        }
+        table[i] = key;
+        if (++this.size >= this.resizeAt)
+        {
+            this.rehash();
+        }
+        return true;
+    }
+
+    public boolean contains(long key)
+    {
+        if (key == EMPTY)
+        {
+            return this.hasEmptyKey;
+        }
+
+        long[] table = this.table;
+        int i = mix(key) & this.mask;
+        long test;
+        while ((test = table[i]) != EMPTY)
+        {
+            if (test == key)
+            {
+                return true;
+            }
+            i = (i + 1) & this.mask;
+        }
+        return false;
+    }
+
+    public boolean remove(long key)
+    {
+        if (key == EMPTY)
+        {
+            if (!this.hasEmptyKey)
+            {
+                return false;
+            }
+            this.hasEmptyKey = false;
+            this.size--;
+            return true;
+        }
+
+        long[] table = this.table;
+        int mask = this.mask;
+        int i = mix(key) & mask;
+        long test;
+        while ((test = table[i]) != EMPTY)
+        {
+            if (test == key)
+            {
+                // Backward shift deletion keeps the probe chains intact
+                // without tombstones
+                int gap = i;
+                int j = i;
+                while (true)
+                {
+                    j = (j + 1) & mask;
+                    long moving = table[j];
+                    if (moving == EMPTY)
+                    {
+                        break;
+                    }
+                    int home = mix(moving) & mask;
+                    if (((j - home) & mask) >= ((j - gap) & mask))
+                    {
+                        table[gap] = moving;
+                        gap = j;
+                    }
+                }
+                table[gap] = EMPTY;
+                this.size--;
+                return true;
+            }
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+
+    private void rehash()
+    {
+        long[] old = this.table;
+        this.allocate(old.length << 1);
+        long[] table = this.table;
+        int mask = this.mask;
+        for (long key : old)
+        {
+            if (key != EMPTY)
+            {
+                int i = mix(key) & mask;
+                while (table[i] != EMPTY)
+                {
+                    i = (i + 1) & mask;
+                }
+                table[i] = key;
+            }
+        }
+    }
+
+    public int size()
+    {
+        return this.size;
+    }
+
+    public boolean isEmpty()
+    {
+        return this.size == 0;
+    }
+
+    /**
+     * Empties the set but keeps the allocated table, for re-use
+     */
+    public void clear()
+    {
+        if (this.size > 0)
+        {
+            Arrays.fill(this.table, EMPTY);
+            this.size = 0;
+            this.hasEmptyKey = false;
+        }
+    }
+
+    /**
+     * @return a new array holding the contents, in no particular order
+     */
+    public long[] toArray()
+    {
+        long[] result = new long[this.size];
+        int n = 0;
+        if (this.hasEmptyKey)
+        {
+            result[n++] = EMPTY;
+        }
+        for (long key : this.table)
+        {
+            if (key != EMPTY)
+            {
+                result[n++] = key;
+            }
+        }
+        return result;
+    }
+}
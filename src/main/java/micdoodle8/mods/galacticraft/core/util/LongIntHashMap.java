@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2023 Team Galacticraft
+ *
+ * Licensed under the MIT license.
+ * See LICENSE file in the project root for details.
+ */
+
+package micdoodle8.mods.galacticraft.core.util;
+
+import java.util.Arrays;
+
+/**
+ * A map from primitive longs to primitive ints, using open addressing with
+ * linear probing like LongHashSet. Used by FloodFill as its visited set, so
+ * that each visited position can carry a small value with it (for example the
+ * side it was entered from).
+ *
+ * Entries cannot be removed individually, only all at once by clear().
+ *
+ * Not thread-safe.
+ */
+public class LongIntHashMap
+{
+
+    // Long.MIN_VALUE is never produced by BlockPos.toLong() for a valid
+    // position, so it is free to use as the empty slot marker
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+    private int resizeAt;
+    private boolean hasEmptyKey;
+    private int emptyKeyValue;
+
+    public LongIntHashMap()
+    {
+        this(64);
+    }
+
+    public LongIntHashMap(int expected)
+    {
+        int capacity = 16;
+        while (capacity * 3 / 4 < expected)
+        {
+            capacity <<= 1;
+        }
+        this.allocate(capacity);
+    }
+
+    private void allocate(int capacity)
+    {
+        this.keys = new long[capacity];
+        this.values = new int[capacity];
+        Arrays.fill(this.keys, EMPTY);
+        this.mask = capacity - 1;
+        this.resizeAt = capacity * 3 / 4;
+    }
+
+    private static int mix(long key)
+    {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * Adds the key with the given value, unless the key is already present
+     * (in which case its value is left unchanged)
+     *
+     * @return true if the key was added
+     */
+    public boolean putIfAbsent(long key, int value)
+    {
+        if (key == EMPTY)
+        {
+            if (this.hasEmptyKey)
+            {
+                return false;
+            }
+            this.hasEmptyKey = true;
+            this.emptyKeyValue = value;
+            this.size++;
+            return true;
+        }
+
+        long[] keys = this.keys;
+        int i = mix(key) & this.mask;
+        long test;
+        while ((test = keys[i]) != EMPTY)
+        {
+            if (test == key)
+            {
+                return false;
+            }
+            i = (i + 1) & this.mask;
+        }
+        keys[i] = key;
+        this.values[i] = value;
+        if (++this.size >= this.resizeAt)
+        {
+            this.rehash();
+        }
+        return true;
+    }
+
+    /**
+     * @return the value for the key, or defaultValue if it is not present
+     */
+    public int get(long key, int defaultValue)
+    {
+        if (key == EMPTY)
+        {
+            return this.hasEmptyKey ? this.emptyKeyValue : defaultValue;
+        }
+
+        long[] keys = this.keys;
+        int i = mix(key) & this.mask;
+        long test;
+        while ((test = keys[i]) != EMPTY)
+        {
+            if (test == key)
+            {
+                return this.values[i];
+            }
+            i = (i + 1) & this.mask;
+        }
+        return defaultValue;
+    }
+
+    public boolean containsKey(long key)
+    {
+        if (key == EMPTY)
+        {
+            return this.hasEmptyKey;
+        }
+
+        long[] keys = this.keys;
+        int i = mix(key) & this.mask;
+        long test;
+        while ((test = keys[i]) != EMPTY)
+        {
+            if (test == key)
+            {
+                return true;
+            }
+            i = (i + 1) & this.mask;
+        }
+        return false;
+    }
+
+    private void rehash()
+    {
+        long[] oldKeys = this.keys;
+        int[] oldValues = this.values;
+        this.allocate(oldKeys.length << 1);
+        long[] keys = this.keys;
+        int mask = this.mask;
+        for (int j = 0; j < oldKeys.length; j++)
+        {
+            long key = oldKeys[j];
+            if (key != EMPTY)
+            {
+                int i = mix(key) & mask;
+                while (keys[i] != EMPTY)
+                {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = key;
+                this.values[i] = oldValues[j];
+            }
+        }
+    }
+
+    public int size()
+    {
+        return this.size;
+    }
+
+    public boolean isEmpty()
+    {
+        return this.size == 0;
+    }
+
+    /**
+     * Empties the map but keeps the allocated table, for re-use
+     */
+    public void clear()
+    {
+        if (this.size > 0)
+        {
+            Arrays.fill(this.keys, EMPTY);
+            this.size = 0;
+            this.hasEmptyKey = false;
+        }
+    }
+
+    /**
+     * @return a new array holding the keys, in no particular order
+     */
+    public long[] keys()
+    {
+        long[] result = new long[this.size];
+        int n = 0;
+        if (this.hasEmptyKey)
+        {
+            result[n++] = EMPTY;
+        }
+        for (long key : this.keys)
+        {
+            if (key != EMPTY)
+            {
+                result[n++] = key;
+            }
+        }
+        return result;
+    }
+}
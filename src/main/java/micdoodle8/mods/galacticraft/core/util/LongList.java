@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2023 Team Galacticraft
+ *
+ * Licensed under the MIT license.
+ * See LICENSE file in the project root for details.
+ */
+
+package micdoodle8.mods.galacticraft.core.util;
+
+import java.util.Arrays;
+
+/**
+ * A growable list of primitive longs, used with FloodFill to collect packed
+ * block positions without boxing.
+ *
+ * Not thread-safe.
+ */
+public class LongList
+{
+
+    private long[] values;
+    private int size;
+
+    public LongList()
+    {
+        this(64);
+    }
+
+    public LongList(int capacity)
+    {
+        this.values = new long[Math.max(capacity, 4)];
+    }
+
+    public void add(long value)
+    {
+        if (this.size == this.values.length)
+        {
+            this.values = Arrays.copyOf(this.values, this.size << 1);
+        }
+        this.values[this.size++] = value;
+    }
+
+    public long get(int index)
+    {
+        if (index >= this.size)
+        {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+        }
+        return this.values[index];
+    }
+
+    public int size()
+    {
+        return this.size;
+    }
+
+    public boolean isEmpty()
+    {
+        return this.size == 0;
+    }
+
+    public void clear()
+    {
+        this.size = 0;
+    }
+}
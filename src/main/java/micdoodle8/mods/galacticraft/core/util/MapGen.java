@@ -33,6 +33,7 @@ import net.minecraft.world.storage.WorldInfo;
 
 import micdoodle8.mods.miccore.IntCache;
 
+import micdoodle8.mods.galacticraft.api.vector.BlockVec3;
 import micdoodle8.mods.galacticraft.core.GalacticraftCore;
 
 import org.apache.commons.io.FileUtils;
@@ -63,6 +64,10 @@ public class MapGen extends BiomeProvider implements Runnable
     private GenLayer genBiomes;
     private GenLayer biomeIndexLayer;
     public File biomeMapFile;
+    private MapRegionFile region;
+    private int tileX;
+    private int tileZ;
+    private byte[] compressedPayload = null;
     private byte[] biomeAndHeightArray = null;
     private int biomeMapSizeX;
     private int biomeMapSizeZ;
@@ -94,6 +99,20 @@ public class MapGen extends BiomeProvider implements Runnable
     }
 
     public MapGen(World worldIn, int sx, int sz, int cx, int cz, int scale, File file)
+    {
+        this(worldIn, sx, sz, cx, cz, scale, file, null);
+    }
+
+    /**
+     * A map tile to be stored, compressed, in the region file for its zoom
+     * level
+     */
+    public MapGen(World worldIn, int sx, int sz, int cx, int cz, int scale, MapRegionFile region)
+    {
+        this(worldIn, sx, sz, cx, cz, scale, null, region);
+    }
+
+    private MapGen(World worldIn, int sx, int sz, int cx, int cz, int scale, File file, MapRegionFile region)
     {
         this.dimID = GCCoreUtil.getDimensionID(worldIn);
         this.biomeMapFactor = scale;
@@ -105,7 +124,10 @@ public class MapGen extends BiomeProvider implements Runnable
         }
         this.biomeMapSizeX = sx;
         this.biomeMapSizeZ = sz;
-        int progress = this.checkProgress(file);
+        this.region = region;
+        this.tileX = cx;
+        this.tileZ = cz;
+        int progress = region != null ? (region.contains(cx, cz) ? -1 : 0) : this.checkProgress(file);
         if (progress < 0)
         {
             this.mapNeedsCalculating = false;
@@ -168,7 +190,7 @@ public class MapGen extends BiomeProvider implements Runnable
         this.genBiomes = agenlayer[0];
         this.biomeIndexLayer = agenlayer[1];
 
-        GalacticraftCore.logger.debug("Starting map generation " + file.getName() + " top left " + ((biomeMapCx - limitX) * 16) + "," + ((biomeMapCz - limitZ) * 16));
+        GalacticraftCore.logger.debug("Starting map generation " + (file != null ? file.getName() : "tile " + cx + "," + cz) + " top left " + ((biomeMapCx - limitX) * 16) + "," + ((biomeMapCz - limitZ) * 16));
         if (progress > 0)
         {
             this.resumeProgress(progress);
@@ -241,47 +263,52 @@ public class MapGen extends BiomeProvider implements Runnable
         return -1;
     }
 
+    /**
+     * Runs on the map executor (see MapUtil) until the map is finished or
+     * aborted - or paused, in which case it returns without finishing, so the
+     * executor can make a more urgent map first. MapUtil runs it again when
+     * it is resumed.
+     */
     @Override
     public void run()
     {
-        // Allow some time for the pause on any other map gen thread to become
-        // effective
-        try
-        {
-            Thread.sleep(90);
-        } catch (InterruptedException e)
-        {
-        }
-
         long seed = worldInfo.getSeed();
         this.initialise(seed);
 
         // Generate this map from start to finish within the thread
+        boolean finished = false;
         while (!this.aborted.get())
         {
             if (this.paused.get())
             {
-                try
-                {
-                    // Sleep for a bit, next time around maybe will not be
-                    // paused?
-                    Thread.sleep(1211);
-                } catch (InterruptedException e)
-                {
-                }
-            } else
+                return;
+            }
+
+            // Do the actual work of the thread
+            if (this.BiomeMapOneTick())
             {
-                // Do the actual work of the thread
-                if (this.BiomeMapOneTick())
-                {
-                    break; // finished!
-                }
+                finished = true;
+                break;
             }
         }
 
+        if (finished && this.region != null && this.biomeAndHeightArray != null && !this.aborted.get())
+        {
+            // Compress it here, not on the server thread
+            this.compressedPayload = MapUtil.zipCompress(this.biomeAndHeightArray);
+        }
         this.finishedCalculating.set(true);
     }
 
+    /**
+     * @return the key of this map's tile in MapUtil, or null if it is not a
+     *         tile (the slow map)
+     */
+    public BlockVec3 getTileKey()
+    {
+        return this.region == null ? null : new BlockVec3(this.tileX, this.region.zoom, this.tileZ);
+    }
+
     public void pause()
     {
         this.paused.set(true);
@@ -346,7 +373,20 @@ public class MapGen extends BiomeProvider implements Runnable
         if (this.biomeAndHeightArray == null)
             return;
 
-        if (!this.aborted.get()) // It should be error-free if it wasn't aborted
+        if (!this.aborted.get() && this.region != null)
+        {
+            if (this.compressedPayload == null)
+            {
+                this.compressedPayload = MapUtil.zipCompress(this.biomeAndHeightArray);
+            }
+            this.region.write(this.tileX, this.tileZ, this.compressedPayload);
+            MapUtil.cacheTile(this.region.zoom, this.tileX, this.tileZ, this.compressedPayload);
+
+            if (sendToClientImmediately)
+            {
+                MapUtil.sendMapPacketCompressedToAll(this.tileX, this.tileZ, this.compressedPayload);
+            }
+        } else if (!this.aborted.get()) // It should be error-free if it wasn't aborted
         {
             try
             {
@@ -367,6 +407,7 @@ public class MapGen extends BiomeProvider implements Runnable
         }
 
         this.biomeAndHeightArray = null;
+        this.compressedPayload = null;
     }
 
     private void initialiseSmallerArrays()
@@ -580,10 +621,10 @@ public class MapGen extends BiomeProvider implements Runnable
         }
     }
 
-    static double[] mainNoiseRegion;
-    static double[] minLimitRegion;
-    static double[] maxLimitRegion;
-    static double[] depthRegion;
+    private double[] mainNoiseRegion;
+    private double[] minLimitRegion;
+    private double[] maxLimitRegion;
+    private double[] depthRegion;
     private NoiseGeneratorOctaves noiseGen1;
     private NoiseGeneratorOctaves noiseGen2;
     private NoiseGeneratorOctaves noiseGen3;
@@ -732,7 +773,7 @@ public class MapGen extends BiomeProvider implements Runnable
     @Override
     public Biome[] getBiomesForGeneration(Biome[] biomes, int x, int z, int width, int height)
     {
-        IntCache.resetIntCacheGC();
+        IntCache.resetIntCache();
         int[] aint = this.genBiomes.getInts(x, z, width, height);
 
         int size = width * height;
@@ -760,7 +801,7 @@ public class MapGen extends BiomeProvider implements Runnable
      */
     public int[] getBiomeGenAt(int[] listToReuse, int x, int z, int width, int height)
     {
-        IntCache.resetIntCacheGC();
+        IntCache.resetIntCache();
         int[] aint = this.biomeIndexLayer.getInts(x, z, width, height);
 
         int size = width * height;
@@ -0,0 +1,267 @@
+/*
+ * Copyright (c) 2023 Team Galacticraft
+ *
+ * Licensed under the MIT license.
+ * See LICENSE file in the project root for details.
+ */
+
+package micdoodle8.mods.galacticraft.core.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.HashMap;
+import java.util.Map;
+
+import micdoodle8.mods.galacticraft.core.GalacticraftCore;
+
+/**
+ * All the server's overworld map tiles of one zoom level, in one file -
+ * instead of one .bin file per tile.
+ *
+ * The tiles are stored already compressed, ready to send to clients. Each
+ * record is the tile's x and z, the payload length and then the payload;
+ * records are only ever appended, and the index of where each tile's latest
+ * record is kept in memory (built by reading through the file when it is
+ * opened). A record with length -1 marks a tile as dirty: it will be
+ * generated again the next time it is asked for. The file is rewritten
+ * without the old records once they take up more space than the live ones.
+ *
+ * The header holds a fingerprint of the world seed and generator: if that no
+ * longer matches, every tile is dirty and the file is started again.
+ */
+public class MapRegionFile
+{
+
+    private static final int MAGIC = 0x47434D54; // "GCMT"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int RECORD_HEADER_SIZE = 12;
+    private static final long COMPACT_MIN_WASTE = 1048576L;
+
+    public final int zoom;
+    private final File file;
+    private final long fingerprint;
+    private RandomAccessFile data;
+    // Tile key -> offset of the payload, and its length
+    private final Map<Long, long[]> index = new HashMap<>();
+    private long wasted;
+
+    public MapRegionFile(int zoom, File file, long fingerprint)
+    {
+        this.zoom = zoom;
+        this.file = file;
+        this.fingerprint = fingerprint;
+    }
+
+    private static long key(int cx, int cz)
+    {
+        return (long) cx << 32 | cz & 0xFFFFFFFFL;
+    }
+
+    private RandomAccessFile open() throws IOException
+    {
+        if (this.data != null)
+        {
+            return this.data;
+        }
+
+        this.data = new RandomAccessFile(this.file, "rw");
+        this.index.clear();
+        this.wasted = 0L;
+        if (this.data.length() < HEADER_SIZE || this.data.readInt() != MAGIC || this.data.readInt() != VERSION || this.data.readLong() != this.fingerprint)
+        {
+            this.writeHeader();
+            return this.data;
+        }
+
+        // Read through the records to build the index
+        long pos = HEADER_SIZE;
+        long length = this.data.length();
+        while (pos + RECORD_HEADER_SIZE <= length)
+        {
+            this.data.seek(pos);
+            int cx = this.data.readInt();
+            int cz = this.data.readInt();
+            int size = this.data.readInt();
+            long payload = pos + RECORD_HEADER_SIZE;
+            if (size > 0 && payload + size > length)
+            {
+                // A record cut short by a crash while it was being written
+                break;
+            }
+
+            long[] old = size < 0 ? this.index.remove(key(cx, cz)) : this.index.put(key(cx, cz), new long[] {payload, size});
+            if (old != null)
+            {
+                this.wasted += RECORD_HEADER_SIZE + old[1];
+            }
+            if (size < 0)
+            {
+                this.wasted += RECORD_HEADER_SIZE;
+                size = 0;
+            }
+            pos = payload + size;
+        }
+        if (pos < length)
+        {
+            this.data.setLength(pos);
+        }
+        return this.data;
+    }
+
+    private void writeHeader() throws IOException
+    {
+        this.data.setLength(0L);
+        this.data.seek(0L);
+        this.data.writeInt(MAGIC);
+        this.data.writeInt(VERSION);
+        this.data.writeLong(this.fingerprint);
+    }
+
+    public synchronized boolean contains(int cx, int cz)
+    {
+        try
+        {
+            this.open();
+        } catch (IOException e)
+        {
+            GalacticraftCore.logger.error("Could not open map file " + this.file.getName());
+            return false;
+        }
+        return this.index.containsKey(key(cx, cz));
+    }
+
+    /**
+     * @return the tile's payload, or null if that tile has not been made (or
+     *         is dirty)
+     */
+    public synchronized byte[] read(int cx, int cz)
+    {
+        try
+        {
+            RandomAccessFile raf = this.open();
+            long[] entry = this.index.get(key(cx, cz));
+            if (entry == null)
+            {
+                return null;
+            }
+            byte[] payload = new byte[(int) entry[1]];
+            raf.seek(entry[0]);
+            raf.readFully(payload);
+            return payload;
+        } catch (IOException e)
+        {
+            GalacticraftCore.logger.error("Could not read map tile " + cx + "," + cz + " from " + this.file.getName());
+            this.remove(cx, cz);
+            return null;
+        }
+    }
+
+    public synchronized void write(int cx, int cz, byte[] payload)
+    {
+        this.append(cx, cz, payload);
+    }
+
+    /**
+     * Marks the tile dirty, so it is made again the next time it is needed
+     */
+    public synchronized void remove(int cx, int cz)
+    {
+        if (this.index.containsKey(key(cx, cz)))
+        {
+            this.append(cx, cz, null);
+        }
+    }
+
+    private void append(int cx, int cz, byte[] payload)
+    {
+        try
+        {
+            RandomAccessFile raf = this.open();
+            long pos = raf.length();
+            raf.seek(pos);
+            raf.writeInt(cx);
+            raf.writeInt(cz);
+            raf.writeInt(payload == null ? -1 : payload.length);
+            long[] old;
+            if (payload == null)
+            {
+                old = this.index.remove(key(cx, cz));
+                this.wasted += RECORD_HEADER_SIZE;
+            } else
+            {
+                raf.write(payload);
+                old = this.index.put(key(cx, cz), new long[] {pos + RECORD_HEADER_SIZE, payload.length});
+            }
+            if (old != null)
+            {
+                this.wasted += RECORD_HEADER_SIZE + old[1];
+            }
+
+            if (this.wasted > COMPACT_MIN_WASTE && this.wasted > raf.length() - HEADER_SIZE - this.wasted)
+            {
+                this.compact();
+            }
+        } catch (IOException e)
+        {
+            GalacticraftCore.logger.error("Could not write map tile " + cx + "," + cz + " to " + this.file.getName());
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Rewrites the file with only the latest record of each tile
+     */
+    private void compact() throws IOException
+    {
+        File temp = new File(this.file.getPath() + ".tmp");
+        Map<Long, long[]> newIndex = new HashMap<>();
+        try (RandomAccessFile out = new RandomAccessFile(temp, "rw"))
+        {
+            out.setLength(0L);
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(this.fingerprint);
+            for (Map.Entry<Long, long[]> entry : this.index.entrySet())
+            {
+                long[] old = entry.getValue();
+                byte[] payload = new byte[(int) old[1]];
+                this.data.seek(old[0]);
+                this.data.readFully(payload);
+                long pos = out.getFilePointer();
+                out.writeInt((int) (entry.getKey() >> 32));
+                out.writeInt(entry.getKey().intValue());
+                out.writeInt(payload.length);
+                out.write(payload);
+                newIndex.put(entry.getKey(), new long[] {pos + RECORD_HEADER_SIZE, payload.length});
+            }
+        }
+
+        this.data.close();
+        this.data = null;
+        if (!this.file.delete() || !temp.renameTo(this.file))
+        {
+            throw new IOException("Could not replace " + this.file.getName());
+        }
+        this.data = new RandomAccessFile(this.file, "rw");
+        this.index.clear();
+        this.index.putAll(newIndex);
+        this.wasted = 0L;
+    }
+
+    public synchronized void close()
+    {
+        if (this.data != null)
+        {
+            try
+            {
+                this.data.close();
+            } catch (IOException e)
+            {
+            }
+            this.data = null;
+        }
+        this.index.clear();
+    }
+}
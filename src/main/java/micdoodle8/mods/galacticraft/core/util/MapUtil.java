@@ -14,10 +14,19 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
+import java.util.Map;
 import java.util.Random;
+import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.zip.DataFormatException;
 import java.util.zip.Deflater;
@@ -48,6 +57,7 @@ import net.minecraft.world.WorldProviderSurface;
 import net.minecraft.world.WorldType;
 import net.minecraft.world.biome.Biome;
 import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.storage.WorldInfo;
 
 import net.minecraftforge.common.DimensionManager;
 import net.minecraftforge.fml.client.FMLClientHandler;
@@ -73,10 +83,29 @@ public class MapUtil
     public static AtomicBoolean        resetClientFlag           = new AtomicBoolean();
     private static MapGen              currentMap                = null;
     private static MapGen              slowMap                   = null;
-    private static Thread              threadCurrentMap          = null;
-    private static Thread              threadSlowMap             = null;
+    private static Future<?>           currentTask               = null;
+    private static Future<?>           slowTask                  = null;
     public static boolean              doneOverworldTexture      = false;
     private static LinkedList<MapGen>  queuedMaps                = new LinkedList<>();
+    private static Set<BlockVec3>      pendingTiles              = new HashSet<>();
+
+    // One background thread makes the maps, one at a time: the slow map
+    // steps aside (see MapGen.run()) while more urgent maps are made
+    private static final ThreadPoolExecutor mapExecutor          = new ThreadPoolExecutor(1, 1, 30L, TimeUnit.SECONDS, new ArrayBlockingQueue<>(4), r ->
+    {
+        Thread thread = new Thread(r, "Background world mapping");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.NORM_PRIORITY - 1);
+        return thread;
+    });
+
+    // Server side map tiles: one region file per zoom level, and the most
+    // recently sent tiles kept compressed in memory
+    private static final int           TILE_CACHE_BYTES          = 8 << 20;
+    private static Map<Integer, MapRegionFile> regions           = new HashMap<>();
+    private static LinkedHashMap<BlockVec3, byte[]> tileCache    = new LinkedHashMap<>(64, 0.75F, true);
+    private static int                 tileCacheBytes            = 0;
+
     public static LinkedList<String>   clientRequests            = new LinkedList<>();
 
     public static ArrayList<BlockVec3> biomeColours              = new ArrayList<BlockVec3>(40);
@@ -103,6 +132,7 @@ public class MapUtil
     {
         // TODO: Deal with mods like ExtraBiomes
         setupColours();
+        mapExecutor.allowCoreThreadTimeOut(true);
     }
 
     public static void reset()
@@ -111,12 +141,20 @@ public class MapUtil
             currentMap.abort();
         currentMap = null;
         saveMapProgress();
-        threadCurrentMap = null;
-        threadSlowMap = null;
+        currentTask = null;
+        slowTask = null;
         queuedMaps.clear();
+        pendingTiles.clear();
         calculatingMap.set(false);
         doneOverworldTexture = false;
         overworldImageCompressed = null;
+        for (MapRegionFile region : regions.values())
+        {
+            region.close();
+        }
+        regions.clear();
+        tileCache.clear();
+        tileCacheBytes = 0;
     }
 
     @SideOnly(Side.CLIENT)
@@ -243,12 +281,14 @@ public class MapUtil
                     GalacticraftCore.logger.error("Base folder missing: " + baseFolder.getAbsolutePath());
                     return;
                 }
-                File file = new File(baseFolder, "Overworld" + OVERWORLD_TEXTURE_WIDTH + ".bin");
-                if (file.exists())
+                World overworld = WorldUtil.getProviderForDimensionServer(ConfigManagerCore.idDimensionOverworld).world;
+                byte[] texture = overworld == null ? null
+                    : getTile(overworld, OVERWORLD_TEXTURE_SCALE, 0, 0, new File(baseFolder, "Overworld" + OVERWORLD_TEXTURE_WIDTH + ".bin"), OVERWORLD_TEXTURE_WIDTH * OVERWORLD_TEXTURE_HEIGHT * 2);
+                if (texture != null)
                 {
-                    sendMapPacket(0, 0, client, FileUtils.readFileToByteArray(file));
+                    sendMapPacketCompressed(0, 0, client, texture);
                 }
-                file = new File(baseFolder, "Overworld" + OVERWORLD_LARGEMAP_WIDTH + ".bin");
+                File file = new File(baseFolder, "Overworld" + OVERWORLD_LARGEMAP_WIDTH + ".bin");
                 if (file.exists())
                 {
                     sendMapPacket(LARGEMAP_MARKER, 0, client, FileUtils.readFileToByteArray(file));
@@ -280,13 +320,14 @@ public class MapUtil
                 GalacticraftCore.logger.error("Base folder missing: " + baseFolder.getAbsolutePath());
                 return;
             }
-            File file = makeFileName(baseFolder, cx, cz);
-            if (!file.exists())
+            byte[] tile = getTile(world, 1, cx, cz, makeFileName(baseFolder, cx, cz), SIZE_STD * SIZE_STD * 2);
+            if (tile == null)
             {
+                // Sent to everyone when it is done
                 getBiomeMapForCoords(world, cx, cz, 1, SIZE_STD, SIZE_STD, baseFolder);
                 return;
             }
-            sendMapPacket(cx, cz, client, FileUtils.readFileToByteArray(file));
+            sendMapPacketCompressed(cx, cz, client, tile);
         }
         catch (Exception ex)
         {
@@ -331,6 +372,11 @@ public class MapUtil
         sendMapPacketAllCompressed(cx, cz, compressed);
     }
 
+    public static void sendMapPacketCompressedToAll(int cx, int cz, byte[] compressed)
+    {
+        sendMapPacketAllCompressed(cx, cz, compressed);
+    }
+
     private static void sendMapPacketCompressed(int cx, int cz, EntityPlayerMP client, byte[] map) throws IOException
     {
         if (cx == LARGEMAP_MARKER && map.length < 2080000)
@@ -410,6 +456,87 @@ public class MapUtil
         return new File(DimensionManager.getCurrentSaveRootDirectory(), "galacticraft/overworldMap");
     }
 
+    private static MapRegionFile getRegion(World world, int zoom)
+    {
+        MapRegionFile region = regions.get(zoom);
+        if (region == null)
+        {
+            // Tiles made for a different seed or generator are no use
+            WorldInfo info = world.getWorldInfo();
+            long fingerprint = info.getSeed() * 31L + info.getTerrainType().getName().hashCode() * 17L + String.valueOf(info.getGeneratorOptions()).hashCode();
+            region = new MapRegionFile(zoom, new File(getBaseFolder(), "overworld_zoom" + zoom + ".tiles"), fingerprint);
+            regions.put(zoom, region);
+        }
+        return region;
+    }
+
+    /**
+     * @return the compressed map tile, from the cache or the region file for
+     *         its zoom level, or null if it has not been made yet. A tile
+     *         still in an old style .bin file is moved into the region file.
+     */
+    private static byte[] getTile(World world, int zoom, int cx, int cz, File legacyFile, int legacySize) throws IOException
+    {
+        byte[] payload = tileCache.get(new BlockVec3(cx, zoom, cz));
+        if (payload != null)
+        {
+            return payload;
+        }
+
+        MapRegionFile region = getRegion(world, zoom);
+        payload = region.read(cx, cz);
+        if (payload == null && legacyFile.exists())
+        {
+            if (legacyFile.length() == legacySize)
+            {
+                payload = zipCompress(FileUtils.readFileToByteArray(legacyFile));
+                region.write(cx, cz, payload);
+            }
+            legacyFile.delete();
+        }
+
+        if (payload != null)
+        {
+            cacheTile(zoom, cx, cz, payload);
+        }
+        return payload;
+    }
+
+    /**
+     * Keeps a compressed tile ready to send, dropping the least recently used
+     * tiles if the cache is full
+     */
+    public static void cacheTile(int zoom, int cx, int cz, byte[] payload)
+    {
+        byte[] old = tileCache.put(new BlockVec3(cx, zoom, cz), payload);
+        if (old != null)
+        {
+            tileCacheBytes -= old.length;
+        }
+        tileCacheBytes += payload.length;
+
+        Iterator<byte[]> it = tileCache.values().iterator();
+        while (tileCacheBytes > TILE_CACHE_BYTES && it.hasNext())
+        {
+            tileCacheBytes -= it.next().length;
+            it.remove();
+        }
+    }
+
+    /**
+     * Marks a map tile dirty: it is made again the next time a client asks
+     * for it
+     */
+    public static void invalidateTile(World world, int zoom, int cx, int cz)
+    {
+        byte[] old = tileCache.remove(new BlockVec3(cx, zoom, cz));
+        if (old != null)
+        {
+            tileCacheBytes -= old.length;
+        }
+        getRegion(world, zoom).remove(cx, cz);
+    }
+
     private static int convertMap(int x)
     {
         int cx = x + SIZE_STD;
@@ -423,13 +550,13 @@ public class MapUtil
 
     public static boolean getBiomeMapForCoords(World world, int cx, int cz, int scale, int sizeX, int sizeZ, File baseFolder)
     {
-        File outputFile;
+        File legacyFile;
         if (sizeX != sizeZ)
         {
-            outputFile = new File(baseFolder, "Overworld" + sizeX + ".bin");
+            legacyFile = new File(baseFolder, "Overworld" + sizeX + ".bin");
             if (sizeX == OVERWORLD_LARGEMAP_WIDTH)
             {
-                MapGen newGen = new MapGen(world, sizeX, sizeZ, cx, cz, 1 << scale, outputFile);
+                MapGen newGen = new MapGen(world, sizeX, sizeZ, cx, cz, 1 << scale, legacyFile);
                 if (newGen.mapNeedsCalculating)
                 {
                     slowMap = newGen;
@@ -440,12 +567,31 @@ public class MapUtil
         }
         else
         {
-            outputFile = makeFileName(baseFolder, cx, cz);
+            legacyFile = makeFileName(baseFolder, cx, cz);
+        }
+
+        BlockVec3 key = new BlockVec3(cx, scale, cz);
+        if (pendingTiles.contains(key))
+        {
+            // Already queued, for another player
+            return false;
+        }
+        try
+        {
+            if (getTile(world, scale, cx, cz, legacyFile, sizeX * sizeZ * 2) != null)
+            {
+                return true;
+            }
+        }
+        catch (IOException e)
+        {
+            e.printStackTrace();
         }
 
-        MapGen newGen = new MapGen(world, sizeX, sizeZ, cx, cz, 1 << scale, outputFile);
+        MapGen newGen = new MapGen(world, sizeX, sizeZ, cx, cz, 1 << scale, getRegion(world, scale));
         if (newGen.mapNeedsCalculating)
         {
+            pendingTiles.add(key);
             if (calculatingMap.getAndSet(true))
             {
                 queuedMaps.add(newGen);
@@ -476,33 +622,32 @@ public class MapUtil
     }
 
     /**
-     * Poll any map threads to see if they need starting or if they're finished
+     * Poll the map executor to see if any maps need starting or if they're
+     * finished
      * 
-     * Multi-threaded version - runs each MapGen in its own thread, polls
-     * MapGen.finishedCalculatingMap to know when finished
+     * Each MapGen runs as one task on the map executor: polls
+     * MapGen.finishedCalculating to know when finished
      */
     public static void BiomeMapNextTick_MultiThreaded()
     {
         if (currentMap != null)
         {
-            if (threadCurrentMap == null)
+            if (currentTask == null)
             {
-                // Create the current map thread, pausing any slow map thread
+                // Pause any slow map: it hands the executor over to the
+                // current map at the end of its next step
                 if (slowMap != null)
                 {
                     slowMap.pause();
                 }
-                // TODO = should it use a re-usable thread pool?
-                threadCurrentMap = new Thread(currentMap);
-                threadCurrentMap.setName("Background world mapping");
-                threadCurrentMap.setPriority(Thread.NORM_PRIORITY - 1);
-                threadCurrentMap.start();
+                currentTask = mapExecutor.submit(currentMap);
             }
             else if (currentMap.finishedCalculating.get())
             {
                 // Finished the current map
-                threadCurrentMap = null;
+                currentTask = null;
                 currentMap.writeOutputFile(true);
+                pendingTiles.remove(currentMap.getTileKey());
 
                 if (queuedMaps.size() > 0)
                 {
@@ -514,13 +659,6 @@ public class MapUtil
 
                     if (slowMap == null)
                         calculatingMap.set(false);
-                    else
-                    {
-                        if (slowMap != null)
-                        {
-                            slowMap.resume();
-                        }
-                    }
                 }
             }
 
@@ -540,22 +678,20 @@ public class MapUtil
 
         if (slowMap != null)
         {
-            if (threadSlowMap == null)
-            {
-                // Create the slow map thread
-                threadSlowMap = new Thread(slowMap);
-                threadSlowMap.setName("Background world mapping");
-                threadSlowMap.setPriority(Thread.NORM_PRIORITY - 1);
-                threadSlowMap.start();
-            }
-            else if (slowMap.finishedCalculating.get())
+            if (slowMap.finishedCalculating.get())
             {
-                // Finished the current map
-                threadSlowMap = null;
+                // Finished the slow map
+                slowTask = null;
                 slowMap.writeOutputFile(true);
                 slowMap = null;
                 calculatingMap.set(false);
             }
+            else if (slowTask == null || slowTask.isDone())
+            {
+                // Start the slow map, or carry on with it after a pause
+                slowMap.resume();
+                slowTask = mapExecutor.submit(slowMap);
+            }
 
             return;
         }
@@ -612,11 +748,6 @@ public class MapUtil
         }
     }
 
-    public static boolean backgroundMapping(Thread currentThread)
-    {
-        return currentThread == threadSlowMap || currentThread == threadCurrentMap;
-    }
-
     /**
      * Converts a 48px high image to a 12px high image with a palette chosen
      * only from the colours in the paletteImage
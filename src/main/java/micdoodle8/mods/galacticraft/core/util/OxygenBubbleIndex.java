@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2023 Team Galacticraft
+ *
+ * Licensed under the MIT license.
+ * See LICENSE file in the project root for details.
+ */
+
+package micdoodle8.mods.galacticraft.core.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.World;
+
+import micdoodle8.mods.galacticraft.core.tile.TileEntityOxygenDistributor;
+
+/**
+ * Oxygen Distributor bubbles indexed by dimension and by the chunks they
+ * overlap, so that OxygenUtil.inOxygenBubble() only has to test the bubbles
+ * covering the chunk it is asked about.
+ *
+ * Distributors keep their own entry up to date (see
+ * TileEntityOxygenDistributor.onLoad(), update() and invalidate()): an entry
+ * is only moved when the bubble grows or shrinks across a chunk boundary.
+ *
+ * Server and client each have their own index; each is only used from its own
+ * thread.
+ */
+public class OxygenBubbleIndex
+{
+
+    private static final OxygenBubbleIndex server = new OxygenBubbleIndex();
+    private static final OxygenBubbleIndex client = new OxygenBubbleIndex();
+
+    private final Map<Integer, Map<Long, List<TileEntityOxygenDistributor>>> bubblesByChunk = new HashMap<>();
+    private final Map<TileEntityOxygenDistributor, Bounds> bounds = new HashMap<>();
+
+    private static class Bounds
+    {
+
+        private final int dimID;
+        private final int minChunkX;
+        private final int minChunkZ;
+        private final int maxChunkX;
+        private final int maxChunkZ;
+
+        private Bounds(int dimID, int minChunkX, int minChunkZ, int maxChunkX, int maxChunkZ)
+        {
+            this.dimID = dimID;
+            this.minChunkX = minChunkX;
+            this.minChunkZ = minChunkZ;
+            this.maxChunkX = maxChunkX;
+            this.maxChunkZ = maxChunkZ;
+        }
+
+        private boolean sameAs(Bounds other)
+        {
+            return other != null && this.dimID == other.dimID && this.minChunkX == other.minChunkX && this.minChunkZ == other.minChunkZ && this.maxChunkX == other.maxChunkX
+                && this.maxChunkZ == other.maxChunkZ;
+        }
+    }
+
+    private static OxygenBubbleIndex get(World world)
+    {
+        return world.isRemote ? client : server;
+    }
+
+    /**
+     * Adds, moves or removes the distributor's entry to match its current
+     * bubble size - call whenever the bubble size may have changed
+     */
+    public static void update(TileEntityOxygenDistributor tile)
+    {
+        World world = tile.getWorld();
+        if (world == null)
+        {
+            return;
+        }
+
+        OxygenBubbleIndex index = OxygenBubbleIndex.get(world);
+        float size = tile.getBubbleSize();
+        if (size <= 0.0F || tile.isInvalid())
+        {
+            index.remove(tile);
+            return;
+        }
+
+        BlockPos pos = tile.getPos();
+        double x = pos.getX() + 0.5D;
+        double z = pos.getZ() + 0.5D;
+        Bounds newBounds = new Bounds(GCCoreUtil.getDimensionID(world), MathHelper.floor(x - size) >> 4, MathHelper.floor(z - size) >> 4, MathHelper.floor(x + size) >> 4,
+            MathHelper.floor(z + size) >> 4);
+        if (newBounds.sameAs(index.bounds.get(tile)))
+        {
+            return;
+        }
+
+        index.remove(tile);
+        index.bounds.put(tile, newBounds);
+        Map<Long, List<TileEntityOxygenDistributor>> chunks = index.bubblesByChunk.computeIfAbsent(newBounds.dimID, k -> new HashMap<>());
+        for (int cx = newBounds.minChunkX; cx <= newBounds.maxChunkX; cx++)
+        {
+            for (int cz = newBounds.minChunkZ; cz <= newBounds.maxChunkZ; cz++)
+            {
+                chunks.computeIfAbsent(ChunkPos.asLong(cx, cz), k -> new ArrayList<>(2)).add(tile);
+            }
+        }
+    }
+
+    public static void remove(TileEntityOxygenDistributor tile)
+    {
+        World world = tile.getWorld();
+        if (world != null)
+        {
+            OxygenBubbleIndex.get(world).remove(tile);
+        }
+    }
+
+    private void remove(TileEntityOxygenDistributor tile)
+    {
+        Bounds old = this.bounds.remove(tile);
+        if (old == null)
+        {
+            return;
+        }
+
+        Map<Long, List<TileEntityOxygenDistributor>> chunks = this.bubblesByChunk.get(old.dimID);
+        if (chunks == null)
+        {
+            return;
+        }
+        for (int cx = old.minChunkX; cx <= old.maxChunkX; cx++)
+        {
+            for (int cz = old.minChunkZ; cz <= old.maxChunkZ; cz++)
+            {
+                long key = ChunkPos.asLong(cx, cz);
+                List<TileEntityOxygenDistributor> list = chunks.get(key);
+                if (list != null)
+                {
+                    list.remove(tile);
+                    if (list.isEmpty())
+                    {
+                        chunks.remove(key);
+                    }
+                }
+            }
+        }
+        if (chunks.isEmpty())
+        {
+            this.bubblesByChunk.remove(old.dimID);
+        }
+    }
+
+    /**
+     * @return true if the point is inside any Oxygen Distributor bubble in
+     *         this world
+     */
+    public static boolean inBubble(World world, double x, double y, double z)
+    {
+        Map<Long, List<TileEntityOxygenDistributor>> chunks = OxygenBubbleIndex.get(world).bubblesByChunk.get(GCCoreUtil.getDimensionID(world));
+        if (chunks == null)
+        {
+            return false;
+        }
+
+        List<TileEntityOxygenDistributor> list = chunks.get(ChunkPos.asLong(MathHelper.floor(x) >> 4, MathHelper.floor(z) >> 4));
+        if (list == null)
+        {
+            return false;
+        }
+
+        for (int i = 0; i < list.size(); i++)
+        {
+            if (list.get(i).inBubble(x, y, z))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Forgets every bubble in the world's dimension - used when a client world
+     * is unloaded
+     */
+    public static void clearDimension(World world)
+    {
+        OxygenBubbleIndex index = OxygenBubbleIndex.get(world);
+        int dimID = GCCoreUtil.getDimensionID(world);
+        index.bubblesByChunk.remove(dimID);
+        index.bounds.values().removeIf(b -> b.dimID == dimID);
+    }
+
+    /**
+     * Used on server stop
+     */
+    public static void clearServer()
+    {
+        server.bubblesByChunk.clear();
+        server.bounds.clear();
+    }
+}
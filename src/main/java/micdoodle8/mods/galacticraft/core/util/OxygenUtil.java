@@ -48,8 +48,6 @@ import micdoodle8.mods.galacticraft.api.item.IBreathableArmor.EnumGearType;
 import micdoodle8.mods.galacticraft.api.transmission.NetworkType;
 import micdoodle8.mods.galacticraft.api.transmission.tile.IConnector;
 import micdoodle8.mods.galacticraft.api.vector.BlockVec3;
-import micdoodle8.mods.galacticraft.api.vector.BlockVec3Dim;
-import micdoodle8.mods.galacticraft.api.world.EnumAtmosphericGas;
 import micdoodle8.mods.galacticraft.api.world.IGalacticraftWorldProvider;
 import micdoodle8.mods.galacticraft.core.GCBlocks;
 import micdoodle8.mods.galacticraft.core.energy.EnergyConfigHandler;
@@ -59,7 +57,6 @@ import micdoodle8.mods.galacticraft.core.items.ItemCanisterOxygenInfinite;
 import micdoodle8.mods.galacticraft.core.items.ItemOxygenGear;
 import micdoodle8.mods.galacticraft.core.items.ItemOxygenMask;
 import micdoodle8.mods.galacticraft.core.items.ItemOxygenTank;
-import micdoodle8.mods.galacticraft.core.tile.TileEntityOxygenDistributor;
 
 public class OxygenUtil
 {
@@ -527,7 +524,7 @@ public class OxygenUtil
     {
         if (provider instanceof IGalacticraftWorldProvider)
         {
-            return (!((IGalacticraftWorldProvider) provider).isGasPresent(EnumAtmosphericGas.OXYGEN) && !((IGalacticraftWorldProvider) provider).hasBreathableAtmosphere());
+            return ((IGalacticraftWorldProvider) provider).getEnvironment().hasNoAtmosphericCombustion();
         }
 
         return false;
@@ -535,22 +532,6 @@ public class OxygenUtil
 
     public static boolean inOxygenBubble(World worldObj, double avgX, double avgY, double avgZ)
     {
-        int dimID = GCCoreUtil.getDimensionID(worldObj);
-        for (final BlockVec3Dim blockVec : TileEntityOxygenDistributor.loadedTiles)
-        {
-            if (blockVec != null && blockVec.dim == dimID)
-            {
-                TileEntity tile = blockVec.getTileEntity();
-                if (tile instanceof TileEntityOxygenDistributor)
-                {
-                    if (((TileEntityOxygenDistributor) tile).inBubble(avgX, avgY, avgZ))
-                    {
-                        return true;
-                    }
-                }
-            }
-        }
-
-        return false;
+        return OxygenBubbleIndex.inBubble(worldObj, avgX, avgY, avgZ);
     }
 }
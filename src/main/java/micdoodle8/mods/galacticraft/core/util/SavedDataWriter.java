@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2023 Team Galacticraft
+ *
+ * Licensed under the MIT license.
+ * See LICENSE file in the project root for details.
+ */
+
+package micdoodle8.mods.galacticraft.core.util;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.world.World;
+import net.minecraft.world.storage.ISaveHandler;
+
+import micdoodle8.mods.galacticraft.core.GalacticraftCore;
+
+/**
+ * Writes Galacticraft's AsyncSavedData files on a background thread.
+ *
+ * When the overworld saves (and so would write the map storage), save()
+ * takes a copy of each dirty AsyncSavedData's NBT, in the server thread, and
+ * queues it. The background thread writes each file to a temporary file and
+ * then renames it over the old one, so a crash mid-write leaves the old file
+ * as it was. If a file is saved again before its last copy was written, only
+ * the newer copy is written.
+ *
+ * flush() waits for everything queued to be written - called when the server
+ * stops.
+ */
+public class SavedDataWriter
+{
+
+    private static final Map<String, AsyncSavedData> tracked = new LinkedHashMap<>();
+    // Copies waiting to be written, by file
+    private static final Map<File, NBTTagCompound> pending = new ConcurrentHashMap<>();
+    private static final Object writeLock = new Object();
+    private static ThreadPoolExecutor executor;
+
+    static synchronized void track(AsyncSavedData data)
+    {
+        SavedDataWriter.tracked.put(data.mapName, data);
+    }
+
+    /**
+     * Queues every dirty AsyncSavedData to be written - call from the server
+     * thread, when the overworld saves
+     */
+    public static void save(World world)
+    {
+        ISaveHandler saveHandler = world.getSaveHandler();
+        List<AsyncSavedData> toSave;
+        synchronized (SavedDataWriter.class)
+        {
+            toSave = new ArrayList<>(SavedDataWriter.tracked.values());
+        }
+
+        for (AsyncSavedData data : toSave)
+        {
+            if (!data.needsSaving())
+            {
+                continue;
+            }
+
+            File file = saveHandler.getMapFileFromName(data.mapName);
+            if (file == null)
+            {
+                continue;
+            }
+
+            // As MapStorage would write it. writeToNBT() may add live tags, so
+            // the whole thing is copied.
+            NBTTagCompound root = new NBTTagCompound();
+            root.setTag("data", data.writeToNBT(new NBTTagCompound()).copy());
+            data.setDirty(false);
+
+            if (SavedDataWriter.pending.put(file, root) == null)
+            {
+                SavedDataWriter.getExecutor().execute(() -> SavedDataWriter.write(file));
+            }
+        }
+    }
+
+    private static void write(File file)
+    {
+        synchronized (SavedDataWriter.writeLock)
+        {
+            NBTTagCompound root = SavedDataWriter.pending.remove(file);
+            if (root == null)
+            {
+                return;
+            }
+
+            File temp = new File(file.getPath() + ".tmp");
+            try
+            {
+                try (FileOutputStream out = new FileOutputStream(temp))
+                {
+                    CompressedStreamTools.writeCompressed(root, out);
+                }
+                try
+                {
+                    Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e)
+                {
+                    Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                }
+            } catch (IOException e)
+            {
+                GalacticraftCore.logger.error("Could not save " + file.getName(), e);
+            }
+        }
+    }
+
+    private static synchronized ThreadPoolExecutor getExecutor()
+    {
+        if (SavedDataWriter.executor == null)
+        {
+            SavedDataWriter.executor = new ThreadPoolExecutor(1, 1, 30L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r ->
+            {
+                Thread thread = new Thread(r, "GC Saved Data Writer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            SavedDataWriter.executor.allowCoreThreadTimeOut(true);
+        }
+        return SavedDataWriter.executor;
+    }
+
+    /**
+     * Waits for every queued file to be written
+     */
+    public static void flush()
+    {
+        ThreadPoolExecutor pool;
+        synchronized (SavedDataWriter.class)
+        {
+            pool = SavedDataWriter.executor;
+            SavedDataWriter.executor = null;
+        }
+
+        if (pool != null)
+        {
+            pool.shutdown();
+            try
+            {
+                if (!pool.awaitTermination(60L, TimeUnit.SECONDS))
+                {
+                    GalacticraftCore.logger.warn("Timed out waiting for Galacticraft data to save, saving the rest in this thread");
+                }
+            } catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        // Anything the background thread did not get to
+        for (File file : new ArrayList<>(SavedDataWriter.pending.keySet()))
+        {
+            SavedDataWriter.write(file);
+        }
+    }
+
+    /**
+     * Writes anything queued and forgets the data - used on server start and
+     * stop
+     */
+    public static void restart()
+    {
+        SavedDataWriter.flush();
+        synchronized (SavedDataWriter.class)
+        {
+            SavedDataWriter.tracked.clear();
+        }
+    }
+}
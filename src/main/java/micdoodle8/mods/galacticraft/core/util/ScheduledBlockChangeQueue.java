@@ -0,0 +1,295 @@
+/*
+ * Copyright (c) 2023 Team Galacticraft
+ *
+ * Licensed under the MIT license.
+ * See LICENSE file in the project root for details.
+ */
+
+package micdoodle8.mods.galacticraft.core.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockAir;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.server.management.PlayerChunkMap;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+
+import micdoodle8.mods.galacticraft.core.GCBlocks;
+import micdoodle8.mods.galacticraft.core.wrappers.ScheduledBlockChange;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+
+/**
+ * One dimension's scheduled block changes (see
+ * TickHandlerServer.scheduleNewBlockChange()), grouped by the 16x16x16 chunk
+ * section they are in.
+ *
+ * Sections are applied whole, in the order they were first scheduled. Within
+ * a section the changes are applied in storage order, and air changing into
+ * another kind of air with the same light level - which is what nearly all of
+ * an Oxygen Sealer's changes are - is written straight into the section's
+ * ExtendedBlockStorage, without World.setBlockState()'s light checks and
+ * notifications. Anything else still goes through World.setBlockState().
+ *
+ * Oxygen Sealer threads add changes, so everything but apply() is
+ * synchronized.
+ */
+public class ScheduledBlockChangeQueue
+{
+
+    private final Long2ObjectLinkedOpenHashMap<Section> sections = new Long2ObjectLinkedOpenHashMap<>();
+    // BlockPos.toLong() of every scheduled change
+    private final LongOpenHashSet pending = new LongOpenHashSet();
+    // Only used by apply(), on the server thread
+    private final IBlockState[] slotStates = new IBlockState[4096];
+    private final byte[] slotFlags = new byte[4096];
+
+    private static class Section
+    {
+
+        private final int x;
+        private final int y;
+        private final int z;
+        private int count;
+        // Position in the section: y << 8 | z << 4 | x, as in the storage
+        private short[] indices = new short[16];
+        private IBlockState[] states = new IBlockState[16];
+        private byte[] flags = new byte[16];
+
+        private Section(int x, int y, int z)
+        {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+        }
+
+        private void add(int index, IBlockState state, int flag, boolean replace)
+        {
+            if (replace)
+            {
+                // The later change to the same block wins
+                for (int i = 0; i < this.count; i++)
+                {
+                    if (this.indices[i] == index)
+                    {
+                        this.states[i] = state;
+                        this.flags[i] = (byte) flag;
+                        return;
+                    }
+                }
+            }
+
+            if (this.count == this.indices.length)
+            {
+                int size = this.count * 2;
+                this.indices = Arrays.copyOf(this.indices, size);
+                this.states = Arrays.copyOf(this.states, size);
+                this.flags = Arrays.copyOf(this.flags, size);
+            }
+            this.indices[this.count] = (short) index;
+            this.states[this.count] = state;
+            this.flags[this.count] = (byte) flag;
+            this.count++;
+        }
+
+        /**
+         * Sorts the changes into storage order. Each block is only in the
+         * section once, so each change can go straight into its slot.
+         */
+        private void sort(IBlockState[] slotStates, byte[] slotFlags)
+        {
+            for (int i = 0; i < this.count; i++)
+            {
+                slotStates[this.indices[i]] = this.states[i];
+                slotFlags[this.indices[i]] = this.flags[i];
+            }
+
+            int n = 0;
+            for (int index = 0; index < 4096 && n < this.count; index++)
+            {
+                if (slotStates[index] != null)
+                {
+                    this.indices[n] = (short) index;
+                    this.states[n] = slotStates[index];
+                    this.flags[n] = slotFlags[index];
+                    slotStates[index] = null;
+                    n++;
+                }
+            }
+        }
+    }
+
+    private static long sectionKey(int x, int y, int z)
+    {
+        return ((long) (x >> 4) & 0xFFFFFFL) << 40 | ((long) (z >> 4) & 0xFFFFFFL) << 16 | (y >> 4) & 0xFFFFL;
+    }
+
+    public synchronized void add(ScheduledBlockChange change)
+    {
+        BlockPos pos = change.getChangePosition();
+        if (pos == null)
+        {
+            return;
+        }
+
+        int x = pos.getX();
+        int y = pos.getY();
+        int z = pos.getZ();
+        long key = ScheduledBlockChangeQueue.sectionKey(x, y, z);
+        Section section = this.sections.get(key);
+        if (section == null)
+        {
+            section = new Section(x >> 4, y >> 4, z >> 4);
+            this.sections.put(key, section);
+        }
+        boolean replace = !this.pending.add(pos.toLong());
+        section.add((y & 15) << 8 | (z & 15) << 4 | (x & 15), change.getChangeState(), change.getChangeUpdateFlag(), replace);
+    }
+
+    public synchronized void addAll(List<ScheduledBlockChange> changes)
+    {
+        for (ScheduledBlockChange change : changes)
+        {
+            if (change != null)
+            {
+                this.add(change);
+            }
+        }
+    }
+
+    public synchronized boolean contains(BlockPos pos)
+    {
+        return this.pending.contains(pos.toLong());
+    }
+
+    public synchronized boolean isEmpty()
+    {
+        return this.pending.isEmpty();
+    }
+
+    public synchronized int size()
+    {
+        return this.pending.size();
+    }
+
+    /**
+     * Takes whole sections off the queue until at least maxBlocks changes
+     * (or all of them) have been taken
+     */
+    private synchronized List<Section> poll(int maxBlocks)
+    {
+        List<Section> polled = new ArrayList<>();
+        BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        int blocks = 0;
+        while (blocks < maxBlocks && !this.sections.isEmpty())
+        {
+            Section section = this.sections.removeFirst();
+            for (int i = 0; i < section.count; i++)
+            {
+                int index = section.indices[i];
+                this.pending.remove(pos.setPos(section.x << 4 | index & 15, section.y << 4 | index >> 8, section.z << 4 | index >> 4 & 15).toLong());
+            }
+            blocks += section.count;
+            polled.add(section);
+        }
+
+        // Neighbouring sections one after another: the same chunk each time
+        polled.sort((a, b) -> a.x != b.x ? Integer.compare(a.x, b.x) : a.z != b.z ? Integer.compare(a.z, b.z) : Integer.compare(a.y, b.y));
+        return polled;
+    }
+
+    /**
+     * Applies about maxBlocks of the scheduled changes (whole sections at a
+     * time). Only blocks which are still air or fire are changed - other mods
+     * may have moved blocks since the changes were scheduled.
+     *
+     * @return the number of changes taken off the queue
+     */
+    public int apply(WorldServer world, int maxBlocks)
+    {
+        List<Section> polled = this.poll(maxBlocks);
+        PlayerChunkMap chunkMap = world.getPlayerChunkMap();
+        BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        Chunk chunk = null;
+        int applied = 0;
+
+        for (Section section : polled)
+        {
+            applied += section.count;
+            if (section.y < 0 || section.y >= 16)
+            {
+                continue;
+            }
+
+            if (chunk == null || chunk.x != section.x || chunk.z != section.z)
+            {
+                chunk = world.getChunk(section.x, section.z);
+            }
+            ExtendedBlockStorage storage = chunk.getBlockStorageArray()[section.y];
+            boolean written = false;
+
+            section.sort(this.slotStates, this.slotFlags);
+            for (int i = 0; i < section.count; i++)
+            {
+                int index = section.indices[i];
+                int localX = index & 15;
+                int localY = index >> 8;
+                int localZ = index >> 4 & 15;
+                pos.setPos(section.x << 4 | localX, section.y << 4 | localY, section.z << 4 | localZ);
+
+                IBlockState old = storage == null ? Blocks.AIR.getDefaultState() : storage.get(localX, localY, localZ);
+                Block oldBlock = old.getBlock();
+                if (!(oldBlock instanceof BlockAir) && oldBlock != Blocks.FIRE)
+                {
+                    continue;
+                }
+
+                IBlockState state = section.states[i];
+                int flag = section.flags[i];
+                if (storage != null && (flag & 1) == 0 && ScheduledBlockChangeQueue.isPlainAir(oldBlock) && ScheduledBlockChangeQueue.isPlainAir(state.getBlock())
+                    && old.getLightValue(world, pos) == state.getLightValue(world, pos))
+                {
+                    // Nothing to light, notify or break: none of these air
+                    // blocks have tile entities or block updates, and they
+                    // are all fully transparent
+                    if (old != state)
+                    {
+                        storage.set(localX, localY, localZ, state);
+                        written = true;
+                        if ((flag & 2) != 0)
+                        {
+                            // Batched by the chunk map, sent at the end of
+                            // the tick
+                            chunkMap.markBlockForUpdate(pos);
+                        }
+                    }
+                } else
+                {
+                    world.setBlockState(pos.toImmutable(), state, flag);
+                    // The section may have been created for it
+                    storage = chunk.getBlockStorageArray()[section.y];
+                }
+            }
+
+            if (written)
+            {
+                chunk.markDirty();
+            }
+        }
+
+        return applied;
+    }
+
+    private static boolean isPlainAir(Block block)
+    {
+        return block == Blocks.AIR || block == GCBlocks.breatheableAir || block == GCBlocks.brightBreatheableAir || block == GCBlocks.brightAir;
+    }
+}
@@ -15,8 +15,8 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Random;
 import java.util.TreeMap;
 
@@ -38,7 +38,6 @@ import net.minecraft.server.MinecraftServer;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.ChunkPos;
-import net.minecraft.util.math.MathHelper;
 import net.minecraft.world.DimensionType;
 import net.minecraft.world.EnumDifficulty;
 import net.minecraft.world.World;
@@ -118,24 +117,22 @@ public class WorldUtil
      * Dimension IDs and provider names
      */
     public static Map<Integer, String> dimNames = new TreeMap<>();
+    // Lower case dimension name -> ID, from dimNames: see dimNamesChanged()
+    private static volatile Map<String, Integer> dimIDsByName;
     public static Map<EntityPlayerMP, HashMap<String, Integer>> celestialMapCache = new MapMaker().weakKeys().makeMap();
     public static List<Integer> registeredPlanets;
 
+    /**
+     * Changed whenever something in players' planet lists may have changed,
+     * see GCPlayerHandler.sendPlanetList()
+     */
+    private static int planetListVersion;
+
     public static float getGravityFactor(Entity entity)
     {
         if (entity.world.provider instanceof IGalacticraftWorldProvider)
         {
-            final IGalacticraftWorldProvider customProvider = (IGalacticraftWorldProvider) entity.world.provider;
-            float returnValue = MathHelper.sqrt(0.08F / (0.08F - customProvider.getGravity()));
-            if (returnValue > 2.5F)
-            {
-                returnValue = 2.5F;
-            }
-            if (returnValue < 0.75F)
-            {
-                returnValue = 0.75F;
-            }
-            return returnValue;
+            return ((IGalacticraftWorldProvider) entity.world.provider).getEnvironment().getGravityFactor();
         }
         if (entity instanceof IAntiGrav)
         {
@@ -161,12 +158,10 @@ public class WorldUtil
             return null;
         }
 
-        for (Map.Entry<Integer, String> element : WorldUtil.dimNames.entrySet())
+        Integer dimID = WorldUtil.getDimensionIDForName(nameToFind);
+        if (dimID != null)
         {
-            if (nameToFind.equalsIgnoreCase(element.getValue()))
-            {
-                return WorldUtil.getProviderForDimensionServer(element.getKey());
-            }
+            return WorldUtil.getProviderForDimensionServer(dimID);
         }
 
         GalacticraftCore.logger.info("Failed to find matching world for '" + par1String + "'");
@@ -187,22 +182,52 @@ public class WorldUtil
             return null;
         }
 
-        for (Map.Entry<Integer, String> element : WorldUtil.dimNames.entrySet())
+        Integer dimID = WorldUtil.getDimensionIDForName(nameToFind);
+        if (dimID != null)
         {
-            if (nameToFind.equalsIgnoreCase(element.getValue()))
-            {
-                return WorldUtil.getProviderForDimensionClient(element.getKey());
-            }
+            return WorldUtil.getProviderForDimensionClient(dimID);
         }
 
         GalacticraftCore.logger.info("Failed to find matching world for '" + par1String + "'");
         return null;
     }
 
+    /**
+     * @return the ID of the dimension in dimNames with this name (ignoring
+     *         case), or null
+     */
+    private static Integer getDimensionIDForName(String name)
+    {
+        Map<String, Integer> index = WorldUtil.dimIDsByName;
+        if (index == null)
+        {
+            index = new HashMap<>();
+            for (Map.Entry<Integer, String> element : WorldUtil.dimNames.entrySet())
+            {
+                if (element.getValue() != null)
+                {
+                    // The lowest ID first, as the search through dimNames was
+                    index.putIfAbsent(element.getValue().toLowerCase(Locale.ROOT), element.getKey());
+                }
+            }
+            WorldUtil.dimIDsByName = index;
+        }
+        return index.get(name.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Call after changing dimNames
+     */
+    public static void dimNamesChanged()
+    {
+        WorldUtil.dimIDsByName = null;
+    }
+
     public static void initialiseDimensionNames()
     {
         WorldProvider provider = WorldUtil.getProviderForDimensionServer(ConfigManagerCore.idDimensionOverworld);
         WorldUtil.dimNames.put(ConfigManagerCore.idDimensionOverworld, provider.getDimensionType().getName());
+        WorldUtil.dimNamesChanged();
     }
 
     /**
@@ -305,44 +330,12 @@ public class WorldUtil
 
     public static CelestialBody getReachableCelestialBodiesForDimensionID(int id)
     {
-        List<CelestialBody> celestialBodyList = Lists.newArrayList();
-        celestialBodyList.addAll(GalaxyRegistry.getRegisteredMoons().values());
-        celestialBodyList.addAll(GalaxyRegistry.getRegisteredPlanets().values());
-        celestialBodyList.addAll(GalaxyRegistry.getRegisteredSatellites().values());
-
-        for (CelestialBody cBody : celestialBodyList)
-        {
-            if (cBody.isReachable())
-            {
-                if (cBody.getDimensionID() == id)
-                {
-                    return cBody;
-                }
-            }
-        }
-
-        return null;
+        return GalaxyRegistry.getReachableBodyFromDimensionID(id);
     }
 
     public static CelestialBody getReachableCelestialBodiesForName(String name)
     {
-        List<CelestialBody> celestialBodyList = Lists.newArrayList();
-        celestialBodyList.addAll(GalaxyRegistry.getRegisteredMoons().values());
-        celestialBodyList.addAll(GalaxyRegistry.getRegisteredPlanets().values());
-        celestialBodyList.addAll(GalaxyRegistry.getRegisteredSatellites().values());
-
-        for (CelestialBody cBody : celestialBodyList)
-        {
-            if (cBody.isReachable())
-            {
-                if (cBody.getName().equals(name))
-                {
-                    return cBody;
-                }
-            }
-        }
-
-        return null;
+        return GalaxyRegistry.getReachableBodyFromName(name);
     }
 
     /**
@@ -478,8 +471,40 @@ public class WorldUtil
         return getArrayOfPossibleDimensions(tier, playerBase);
     }
 
+    /**
+     * Call when a space station is added or removed, or its name, owner or
+     * permissions are changed
+     */
+    public static void markPlanetListChanged()
+    {
+        WorldUtil.planetListVersion++;
+    }
+
+    public static int getPlanetListVersion()
+    {
+        return WorldUtil.planetListVersion;
+    }
+
+    /**
+     * @return the names in the map, separated by '?' as the client expects
+     */
+    public static String planetListToString(Map<String, Integer> map)
+    {
+        StringBuilder builder = new StringBuilder();
+        for (String name : map.keySet())
+        {
+            if (builder.length() > 0)
+            {
+                builder.append('?');
+            }
+            builder.append(name);
+        }
+        return builder.toString();
+    }
+
     public static void unregisterSpaceStations()
     {
+        WorldUtil.markPlanetListChanged();
         if (WorldUtil.registeredSpaceStations != null)
         {
             for (Integer registeredID : WorldUtil.registeredSpaceStations.keySet())
@@ -495,6 +520,7 @@ public class WorldUtil
     {
         //        WorldUtil.registeredSpaceStations = WorldUtil.getExistingSpaceStationList(spaceStationList);
         WorldUtil.registeredSpaceStations = Maps.newHashMap();
+        WorldUtil.markPlanetListChanged();
         if (theServer == null || !spaceStationList.exists() && !spaceStationList.isDirectory())
         {
             return;
@@ -568,6 +594,7 @@ public class WorldUtil
                                 theServer.getWorld(registeredID);
                             }
                             WorldUtil.dimNames.put(registeredID, "Space Station " + registeredID);
+                            WorldUtil.dimNamesChanged();
                         } else
                         {
                             GalacticraftCore.logger.error("Dimension already registered to another mod: unable to register space station dimension " + registeredID);
@@ -648,6 +675,7 @@ public class WorldUtil
             DimensionType dt = WorldUtil.getDimensionTypeById(id);
             WorldProvider wp = dt.createDimension();
             WorldUtil.dimNames.put(id, WorldUtil.getDimensionName(wp));
+            WorldUtil.dimNamesChanged();
             return true;
         }
 
@@ -670,6 +698,7 @@ public class WorldUtil
             WorldUtil.registeredPlanets = null;
         }
         WorldUtil.dimNames.clear();
+        WorldUtil.dimNamesChanged();
     }
 
     public static void registerPlanetClient(Integer dimID, int providerIndex)
@@ -711,6 +740,7 @@ public class WorldUtil
         int newID = DimensionManager.getNextFreeDimId();
         SpaceStationWorldData data = WorldUtil.createSpaceStation(world, newID, homePlanetID, dynamicProviderID, staticProviderID, player);
         dimNames.put(newID, "Space Station " + newID);
+        WorldUtil.dimNamesChanged();
         GCPlayerStats stats = GCPlayerStats.get(player);
         stats.getSpaceStationDimensionData().put(homePlanetID, newID);
         GalacticraftCore.packetPipeline.sendTo(new PacketSimple(EnumSimplePacket.C_UPDATE_SPACESTATION_CLIENT_ID, GCCoreUtil.getDimensionID(player.world), new Object[]
@@ -738,6 +768,7 @@ public class WorldUtil
                 DimensionManager.registerDimension(dimID, WorldUtil.getDimensionTypeById(dynamicProviderID));
                 WorldUtil.registeredSpaceStations.put(dimID, dynamicProviderID);
             }
+            WorldUtil.markPlanetListChanged();
         } else
         {
             GalacticraftCore.logger.error("Dimension already registered to another mod: unable to register space station dimension " + dimID);
@@ -1425,20 +1456,17 @@ public class WorldUtil
         player.dismountRidingEntity();
         stats.setSpaceshipTier(tier);
 
-        HashMap<String, Integer> map = WorldUtil.getArrayOfPossibleDimensions(tier, player);
-        String dimensionList = "";
-        int count = 0;
-        for (Entry<String, Integer> entry : map.entrySet())
-        {
-            dimensionList = dimensionList.concat(entry.getKey() + (count < map.entrySet().size() - 1 ? "?" : ""));
-            count++;
-        }
+        int version = WorldUtil.getPlanetListVersion();
+        String dimensionList = WorldUtil.planetListToString(WorldUtil.getArrayOfPossibleDimensions(tier, player));
 
         boolean canCreateStations = PermissionAPI.hasPermission(player, Constants.PERMISSION_CREATE_STATION);
         GalacticraftCore.packetPipeline.sendTo(new PacketSimple(EnumSimplePacket.C_UPDATE_DIMENSION_LIST, GCCoreUtil.getDimensionID(player.world), new Object[]
             {PlayerUtil.getName(player), dimensionList, canCreateStations}), player);
         stats.setUsingPlanetSelectionGui(true);
         stats.setSavedPlanetList(dimensionList);
+        stats.setSavedPlanetListVersion(version);
+        stats.setSavedPlanetListTier(tier);
+        stats.setSavedCanCreateStations(canCreateStations);
         Entity fakeEntity = new EntityCelestialFake(player.world, player.posX, player.posY, player.posZ);
         player.world.spawnEntity(fakeEntity);
         player.startRiding(fakeEntity);
@@ -0,0 +1,302 @@
+/*
+ * Copyright (c) 2023 Team Galacticraft
+ *
+ * Licensed under the MIT license.
+ * See LICENSE file in the project root for details.
+ */
+
+package micdoodle8.mods.galacticraft.core.world;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.server.management.PlayerChunkMap;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldServer;
+
+import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.event.world.ChunkDataEvent;
+import net.minecraftforge.event.world.ChunkEvent;
+import net.minecraftforge.event.world.ChunkWatchEvent;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+
+import micdoodle8.mods.galacticraft.api.vector.Vector3;
+import micdoodle8.mods.galacticraft.core.GalacticraftCore;
+import micdoodle8.mods.galacticraft.core.network.NetworkUtil;
+import micdoodle8.mods.galacticraft.core.network.PacketFootprints;
+import micdoodle8.mods.galacticraft.core.util.GCCoreUtil;
+import micdoodle8.mods.galacticraft.core.wrappers.ChunkFootprints;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+
+/**
+ * Server side footprints, kept per dimension and per loaded chunk.
+ *
+ * Players are sent all of a chunk's prints when they start watching it, and
+ * after that only the prints added and expired in it - where previously every
+ * chunk's whole list was sent to the whole dimension each time the prints
+ * aged. The prints are saved with the chunk, in the region file, so they are
+ * still there after the chunk or the server is reloaded.
+ *
+ * Only used from the server thread.
+ */
+public class FootprintTracker
+{
+
+    private static final String NBT_KEY = "GCFootprints";
+    // Keeps each packet well below the vanilla custom payload size limit
+    private static final int MAX_BATCH_BYTES = 32768;
+
+    private static boolean initiated = false;
+    private static final Map<Integer, Long2ObjectMap<ChunkFootprints>> footprints = new HashMap<>();
+    private static final Map<Integer, Set<Long>> unloading = new HashMap<>();
+
+    private static class Batch
+    {
+
+        private ByteBuf data = Unpooled.buffer(256);
+        private int count;
+    }
+
+    public static void initiate()
+    {
+        if (!FootprintTracker.initiated)
+        {
+            FootprintTracker.initiated = true;
+            MinecraftForge.EVENT_BUS.register(new FootprintTracker());
+        }
+    }
+
+    private static Long2ObjectMap<ChunkFootprints> getChunks(World world)
+    {
+        return FootprintTracker.footprints.computeIfAbsent(GCCoreUtil.getDimensionID(world), k -> new Long2ObjectOpenHashMap<>());
+    }
+
+    public static void addFootprint(World world, Vector3 position, float rotation, String owner)
+    {
+        long chunkKey = ChunkPos.asLong(position.intX() >> 4, position.intZ() >> 4);
+        Long2ObjectMap<ChunkFootprints> chunks = FootprintTracker.getChunks(world);
+        ChunkFootprints prints = chunks.get(chunkKey);
+        if (prints == null)
+        {
+            prints = new ChunkFootprints();
+            chunks.put(chunkKey, prints);
+        }
+        prints.add((float) position.x, (float) position.y, (float) position.z, rotation, owner);
+    }
+
+    public static void removeInBlock(World world, BlockPos pos)
+    {
+        Long2ObjectMap<ChunkFootprints> chunks = FootprintTracker.footprints.get(GCCoreUtil.getDimensionID(world));
+        if (chunks != null)
+        {
+            ChunkFootprints prints = chunks.get(ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4));
+            if (prints != null)
+            {
+                prints.removeInBlock(pos.getX(), pos.getZ());
+            }
+        }
+    }
+
+    /**
+     * Ages the prints (if age is more than 0) and sends each player the
+     * changes in the chunks they are watching
+     */
+    public static void update(WorldServer world, int age)
+    {
+        Long2ObjectMap<ChunkFootprints> chunks = FootprintTracker.footprints.get(GCCoreUtil.getDimensionID(world));
+        if (chunks == null || chunks.isEmpty())
+        {
+            return;
+        }
+
+        boolean hasPlayers = !world.playerEntities.isEmpty();
+        PlayerChunkMap chunkMap = world.getPlayerChunkMap();
+        Map<EntityPlayerMP, Batch> batches = new HashMap<>();
+        ByteBuf changes = Unpooled.buffer(256);
+
+        Iterator<Long2ObjectMap.Entry<ChunkFootprints>> iterator = chunks.long2ObjectEntrySet().iterator();
+        while (iterator.hasNext())
+        {
+            Long2ObjectMap.Entry<ChunkFootprints> entry = iterator.next();
+            ChunkFootprints prints = entry.getValue();
+            if (age > 0)
+            {
+                prints.age(age);
+            }
+
+            if (!prints.hasChanges())
+            {
+                continue;
+            }
+
+            changes.clear();
+            prints.writeChanges(changes);
+            if (prints.isEmpty())
+            {
+                // The chunk's saved data is written afresh each time, so
+                // there is nothing more to keep for it
+                iterator.remove();
+            }
+            if (!hasPlayers)
+            {
+                continue;
+            }
+
+            long chunkKey = entry.getLongKey();
+            int chunkX = (int) chunkKey;
+            int chunkZ = (int) (chunkKey >> 32);
+            for (EntityPlayer player : world.playerEntities)
+            {
+                if (player instanceof EntityPlayerMP && chunkMap.isPlayerWatchingChunk((EntityPlayerMP) player, chunkX, chunkZ))
+                {
+                    Batch batch = batches.computeIfAbsent((EntityPlayerMP) player, k -> new Batch());
+                    FootprintTracker.append(world, batch, (EntityPlayerMP) player, chunkKey, changes);
+                }
+            }
+        }
+
+        for (Map.Entry<EntityPlayerMP, Batch> entry : batches.entrySet())
+        {
+            FootprintTracker.send(world, entry.getValue(), entry.getKey());
+        }
+    }
+
+    private static void append(WorldServer world, Batch batch, EntityPlayerMP player, long chunkKey, ByteBuf entry)
+    {
+        if (batch.data.writerIndex() > MAX_BATCH_BYTES)
+        {
+            FootprintTracker.send(world, batch, player);
+        }
+        batch.data.writeLong(chunkKey);
+        NetworkUtil.writeVarLong(batch.data, entry.readableBytes());
+        batch.data.writeBytes(entry, entry.readerIndex(), entry.readableBytes());
+        batch.count++;
+    }
+
+    private static void send(WorldServer world, Batch batch, EntityPlayerMP player)
+    {
+        if (batch.count > 0)
+        {
+            // The packet keeps the buffer until it is encoded
+            GalacticraftCore.packetPipeline.sendTo(new PacketFootprints(GCCoreUtil.getDimensionID(world), batch.count, batch.data), player);
+            batch.data = Unpooled.buffer(256);
+            batch.count = 0;
+        }
+    }
+
+    @SubscribeEvent
+    public void onChunkWatch(ChunkWatchEvent.Watch event)
+    {
+        EntityPlayerMP player = event.getPlayer();
+        Long2ObjectMap<ChunkFootprints> chunks = FootprintTracker.footprints.get(GCCoreUtil.getDimensionID(player.world));
+        if (chunks == null)
+        {
+            return;
+        }
+
+        ChunkPos pos = event.getChunk();
+        long chunkKey = ChunkPos.asLong(pos.x, pos.z);
+        ChunkFootprints prints = chunks.get(chunkKey);
+        if (prints != null && !prints.isEmpty())
+        {
+            ByteBuf all = Unpooled.buffer(256);
+            prints.writeAll(all);
+            Batch batch = new Batch();
+            FootprintTracker.append((WorldServer) player.world, batch, player, chunkKey, all);
+            FootprintTracker.send((WorldServer) player.world, batch, player);
+        }
+    }
+
+    @SubscribeEvent
+    public void onChunkDataLoad(ChunkDataEvent.Load event)
+    {
+        if (event.getWorld().isRemote)
+        {
+            return;
+        }
+
+        NBTTagCompound level = event.getData().getCompoundTag("Level");
+        if (level.hasKey(NBT_KEY))
+        {
+            ChunkFootprints prints = new ChunkFootprints();
+            prints.readFromNBT(level.getCompoundTag(NBT_KEY));
+            if (!prints.isEmpty())
+            {
+                FootprintTracker.getChunks(event.getWorld()).put(ChunkPos.asLong(event.getChunk().x, event.getChunk().z), prints);
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public void onChunkDataSave(ChunkDataEvent.Save event)
+    {
+        if (event.getWorld().isRemote)
+        {
+            return;
+        }
+
+        int dimID = GCCoreUtil.getDimensionID(event.getWorld());
+        Long2ObjectMap<ChunkFootprints> chunks = FootprintTracker.footprints.get(dimID);
+        if (chunks == null)
+        {
+            return;
+        }
+
+        long chunkKey = ChunkPos.asLong(event.getChunk().x, event.getChunk().z);
+        ChunkFootprints prints = chunks.get(chunkKey);
+        if (prints != null && !prints.isEmpty())
+        {
+            NBTTagCompound nbt = new NBTTagCompound();
+            prints.writeToNBT(nbt);
+            event.getData().getCompoundTag("Level").setTag(NBT_KEY, nbt);
+        }
+
+        // The chunk unload event comes before the chunk is saved: drop its
+        // prints now it has been
+        Set<Long> unloadingChunks = FootprintTracker.unloading.get(dimID);
+        if (unloadingChunks != null && unloadingChunks.remove(chunkKey))
+        {
+            chunks.remove(chunkKey);
+        }
+    }
+
+    @SubscribeEvent
+    public void onChunkUnload(ChunkEvent.Unload event)
+    {
+        if (event.getWorld().isRemote)
+        {
+            return;
+        }
+
+        Long2ObjectMap<ChunkFootprints> chunks = FootprintTracker.footprints.get(GCCoreUtil.getDimensionID(event.getWorld()));
+        long chunkKey = ChunkPos.asLong(event.getChunk().x, event.getChunk().z);
+        if (chunks != null && chunks.containsKey(chunkKey))
+        {
+            FootprintTracker.unloading.computeIfAbsent(GCCoreUtil.getDimensionID(event.getWorld()), k -> new HashSet<>()).add(chunkKey);
+        }
+    }
+
+    public static void unload(int dimID)
+    {
+        FootprintTracker.footprints.remove(dimID);
+        FootprintTracker.unloading.remove(dimID);
+    }
+
+    public static void clear()
+    {
+        FootprintTracker.footprints.clear();
+        FootprintTracker.unloading.clear();
+    }
+}
@@ -0,0 +1,269 @@
+/*
+ * Copyright (c) 2023 Team Galacticraft
+ *
+ * Licensed under the MIT license.
+ * See LICENSE file in the project root for details.
+ */
+
+package micdoodle8.mods.galacticraft.core.wrappers;
+
+import java.util.Arrays;
+
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.nbt.NBTTagString;
+
+import net.minecraftforge.common.util.Constants;
+import net.minecraftforge.fml.common.network.ByteBufUtils;
+
+import micdoodle8.mods.galacticraft.core.network.NetworkUtil;
+
+import io.netty.buffer.ByteBuf;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+
+/**
+ * The server's footprints in one chunk, held in parallel primitive arrays
+ * rather than one Footprint object each.
+ *
+ * Each print has an id, unique within the chunk and only ever increasing, so
+ * the prints added since the chunk was last sent to its watchers are simply
+ * those with an id above sentId. The ids of prints which have expired since
+ * then are kept in removedIds.
+ */
+public class ChunkFootprints
+{
+
+    private int count;
+    private int nextId = 1;
+    private int sentId;
+    private int[] ids = new int[8];
+    private float[] positions = new float[24];
+    private float[] rotations = new float[8];
+    private short[] ages = new short[8];
+    private String[] owners = new String[8];
+    private final IntArrayList removedIds = new IntArrayList();
+
+    public boolean isEmpty()
+    {
+        return this.count == 0;
+    }
+
+    public void add(float x, float y, float z, float rotation, String owner)
+    {
+        if (this.count == this.ids.length)
+        {
+            int size = this.count * 2;
+            this.ids = Arrays.copyOf(this.ids, size);
+            this.positions = Arrays.copyOf(this.positions, size * 3);
+            this.rotations = Arrays.copyOf(this.rotations, size);
+            this.ages = Arrays.copyOf(this.ages, size);
+            this.owners = Arrays.copyOf(this.owners, size);
+        }
+
+        int i = this.count++;
+        this.ids[i] = this.nextId++;
+        this.positions[i * 3] = x;
+        this.positions[i * 3 + 1] = y;
+        this.positions[i * 3 + 2] = z;
+        this.rotations[i] = rotation;
+        this.ages[i] = 0;
+        this.owners[i] = owner;
+    }
+
+    /**
+     * Ages every print, and removes those which have expired
+     */
+    public void age(int ticks)
+    {
+        for (int i = this.count - 1; i >= 0; i--)
+        {
+            int age = this.ages[i] + ticks;
+            if (age >= Footprint.MAX_AGE)
+            {
+                this.remove(i);
+            } else
+            {
+                this.ages[i] = (short) age;
+            }
+        }
+    }
+
+    /**
+     * Removes the prints on top of the block at x, z (players nearby are
+     * also sent C_FOOTPRINTS_REMOVED, which clears their own prints there)
+     */
+    public void removeInBlock(int x, int z)
+    {
+        for (int i = this.count - 1; i >= 0; i--)
+        {
+            float px = this.positions[i * 3];
+            float pz = this.positions[i * 3 + 2];
+            if (px > x && px < x + 1 && pz > z && pz < z + 1)
+            {
+                this.remove(i);
+            }
+        }
+    }
+
+    private void remove(int i)
+    {
+        if (this.ids[i] <= this.sentId)
+        {
+            this.removedIds.add(this.ids[i]);
+        }
+
+        // Order does not matter: move the last print into the gap
+        int last = --this.count;
+        this.ids[i] = this.ids[last];
+        System.arraycopy(this.positions, last * 3, this.positions, i * 3, 3);
+        this.rotations[i] = this.rotations[last];
+        this.ages[i] = this.ages[last];
+        this.owners[i] = this.owners[last];
+        this.owners[last] = null;
+    }
+
+    /**
+     * @return whether there are added or removed prints which the chunk's
+     *         watchers have not been sent yet
+     */
+    public boolean hasChanges()
+    {
+        return this.nextId - 1 > this.sentId || !this.removedIds.isEmpty();
+    }
+
+    /**
+     * Writes the prints added and removed since the last call, and marks them
+     * sent
+     */
+    public void writeChanges(ByteBuf buffer)
+    {
+        int added = 0;
+        for (int i = 0; i < this.count; i++)
+        {
+            if (this.ids[i] > this.sentId)
+            {
+                added++;
+            }
+        }
+
+        buffer.writeBoolean(false);
+        NetworkUtil.writeVarLong(buffer, added);
+        for (int i = 0; i < this.count; i++)
+        {
+            if (this.ids[i] > this.sentId)
+            {
+                this.writePrint(buffer, i);
+            }
+        }
+
+        NetworkUtil.writeVarLong(buffer, this.removedIds.size());
+        for (int i = 0; i < this.removedIds.size(); i++)
+        {
+            NetworkUtil.writeVarLong(buffer, this.removedIds.getInt(i));
+        }
+
+        this.removedIds.clear();
+        this.sentId = this.nextId - 1;
+    }
+
+    /**
+     * Writes every print the chunk's watchers have been sent, for a player who
+     * has just started watching it. Prints added since (id above sentId) are
+     * left out: they go to every watcher, this player included, with the next
+     * writeChanges(), and would otherwise reach this player twice.
+     */
+    public void writeAll(ByteBuf buffer)
+    {
+        int sent = 0;
+        for (int i = 0; i < this.count; i++)
+        {
+            if (this.ids[i] <= this.sentId)
+            {
+                sent++;
+            }
+        }
+
+        buffer.writeBoolean(true);
+        NetworkUtil.writeVarLong(buffer, sent);
+        for (int i = 0; i < this.count; i++)
+        {
+            if (this.ids[i] <= this.sentId)
+            {
+                this.writePrint(buffer, i);
+            }
+        }
+        NetworkUtil.writeVarLong(buffer, 0);
+    }
+
+    private void writePrint(ByteBuf buffer, int i)
+    {
+        NetworkUtil.writeVarLong(buffer, this.ids[i]);
+        buffer.writeFloat(this.positions[i * 3]);
+        buffer.writeFloat(this.positions[i * 3 + 1] + 1);
+        buffer.writeFloat(this.positions[i * 3 + 2]);
+        buffer.writeFloat(this.rotations[i]);
+        buffer.writeShort(this.ages[i]);
+        ByteBufUtils.writeUTF8String(buffer, this.owners[i]);
+    }
+
+    public void writeToNBT(NBTTagCompound nbt)
+    {
+        int[] positionBits = new int[this.count * 3];
+        int[] rotationBits = new int[this.count];
+        int[] ageValues = new int[this.count];
+        NBTTagList ownerList = new NBTTagList();
+        for (int i = 0; i < this.count; i++)
+        {
+            positionBits[i * 3] = Float.floatToRawIntBits(this.positions[i * 3]);
+            positionBits[i * 3 + 1] = Float.floatToRawIntBits(this.positions[i * 3 + 1]);
+            positionBits[i * 3 + 2] = Float.floatToRawIntBits(this.positions[i * 3 + 2]);
+            rotationBits[i] = Float.floatToRawIntBits(this.rotations[i]);
+            ageValues[i] = this.ages[i];
+            ownerList.appendTag(new NBTTagString(this.owners[i]));
+        }
+
+        nbt.setInteger("NextId", this.nextId);
+        nbt.setIntArray("Ids", Arrays.copyOf(this.ids, this.count));
+        nbt.setIntArray("Positions", positionBits);
+        nbt.setIntArray("Rotations", rotationBits);
+        nbt.setIntArray("Ages", ageValues);
+        nbt.setTag("Owners", ownerList);
+    }
+
+    public void readFromNBT(NBTTagCompound nbt)
+    {
+        int[] idValues = nbt.getIntArray("Ids");
+        int[] positionBits = nbt.getIntArray("Positions");
+        int[] rotationBits = nbt.getIntArray("Rotations");
+        int[] ageValues = nbt.getIntArray("Ages");
+        NBTTagList ownerList = nbt.getTagList("Owners", Constants.NBT.TAG_STRING);
+        int size = idValues.length;
+        if (positionBits.length != size * 3 || rotationBits.length != size || ageValues.length != size || ownerList.tagCount() != size)
+        {
+            size = 0;
+        }
+
+        int capacity = Math.max(8, size);
+        this.count = size;
+        this.ids = Arrays.copyOf(idValues, capacity);
+        this.positions = new float[capacity * 3];
+        this.rotations = new float[capacity];
+        this.ages = new short[capacity];
+        this.owners = new String[capacity];
+        for (int i = 0; i < size; i++)
+        {
+            this.positions[i * 3] = Float.intBitsToFloat(positionBits[i * 3]);
+            this.positions[i * 3 + 1] = Float.intBitsToFloat(positionBits[i * 3 + 1]);
+            this.positions[i * 3 + 2] = Float.intBitsToFloat(positionBits[i * 3 + 2]);
+            this.rotations[i] = Float.intBitsToFloat(rotationBits[i]);
+            this.ages[i] = (short) ageValues[i];
+            this.owners[i] = ownerList.getStringTagAt(i);
+        }
+
+        this.nextId = Math.max(1, nbt.getInteger("NextId"));
+        // Nobody is watching a chunk as it loads: each player is sent all the
+        // prints when they start to
+        this.sentId = this.nextId - 1;
+        this.removedIds.clear();
+    }
+}
@@ -19,6 +19,9 @@ public class Footprint
     public short age;
     public final String owner;
     public int lightmapVal;
+    // The server's id for the print within its chunk (0 for the player's
+    // own prints, which are made client side)
+    public int id;
 
     public Footprint(int dimension, Vector3 position, float rotation, String ownerUUID, int lightmapVal)
     {
@@ -8,10 +8,10 @@
 package micdoodle8.mods.galacticraft.planets.asteroids.dimension;
 
 import micdoodle8.mods.galacticraft.core.Constants;
+import micdoodle8.mods.galacticraft.core.util.AsyncSavedData;
 import net.minecraft.nbt.NBTTagCompound;
-import net.minecraft.world.storage.WorldSavedData;
 
-public class AsteroidSaveData extends WorldSavedData
+public class AsteroidSaveData extends AsyncSavedData
 {
 
     public static final String saveDataID = Constants.GCDATAFOLDER + "GCAsteroidData";
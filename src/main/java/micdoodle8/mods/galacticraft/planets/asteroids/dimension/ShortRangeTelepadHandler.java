@@ -10,15 +10,15 @@ package micdoodle8.mods.galacticraft.planets.asteroids.dimension;
 import com.google.common.collect.Maps;
 import java.util.Map;
 import micdoodle8.mods.galacticraft.api.vector.BlockVec3;
+import micdoodle8.mods.galacticraft.core.util.AsyncSavedData;
 import micdoodle8.mods.galacticraft.planets.asteroids.tick.AsteroidsTickHandlerServer;
 import micdoodle8.mods.galacticraft.planets.asteroids.tile.TileEntityShortRangeTelepad;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
-import net.minecraft.world.storage.WorldSavedData;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 
-public class ShortRangeTelepadHandler extends WorldSavedData
+public class ShortRangeTelepadHandler extends AsyncSavedData
 {
 
     public static final String saveDataID = "ShortRangeTelepads";
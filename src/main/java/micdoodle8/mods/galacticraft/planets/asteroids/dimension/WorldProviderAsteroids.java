@@ -7,16 +7,18 @@
 
 package micdoodle8.mods.galacticraft.planets.asteroids.dimension;
 
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
-import java.util.TreeMap;
 import micdoodle8.mods.galacticraft.api.galaxies.CelestialBody;
 import micdoodle8.mods.galacticraft.api.prefab.world.gen.WorldProviderSpace;
 import micdoodle8.mods.galacticraft.api.vector.BlockVec3;
 import micdoodle8.mods.galacticraft.api.vector.Vector3;
 import micdoodle8.mods.galacticraft.api.world.ISolarLevel;
 import micdoodle8.mods.galacticraft.core.event.EventHandlerGC;
+import micdoodle8.mods.galacticraft.core.util.AsyncSavedData;
 import micdoodle8.mods.galacticraft.core.util.ConfigManagerCore;
 import micdoodle8.mods.galacticraft.core.world.gen.dungeon.RoomTreasure;
 import micdoodle8.mods.galacticraft.planets.GCPlanetDimensions;
@@ -28,6 +30,7 @@ import net.minecraft.block.Block;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
 import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.DimensionType;
 import net.minecraft.world.gen.IChunkGenerator;
 import net.minecraftforge.fml.relauncher.Side;
@@ -36,8 +39,13 @@ import net.minecraftforge.fml.relauncher.SideOnly;
 public class WorldProviderAsteroids extends WorldProviderSpace implements ISolarLevel
 {
 
-    // Used to list asteroid centres to external code that needs to know them
-    private HashSet<AsteroidData> asteroids = new HashSet<>();
+    // Used to list asteroid centres to external code that needs to know them.
+    // Asteroids are added from chunk generation, which may be on other
+    // threads, so the methods using these are synchronized
+    private HashMap<BlockVec3, AsteroidData> asteroids = new HashMap<>();
+    private AsteroidGrid grid = new AsteroidGrid();
+    // The asteroids in the order of the saved list
+    private ArrayList<AsteroidData> saveOrder = new ArrayList<>();
     private boolean dataNotLoaded = true;
     private AsteroidSaveData datafile;
     private double solarMultiplier = -1D;
@@ -169,46 +177,47 @@ public class WorldProviderAsteroids extends WorldProviderSpace implements ISolar
         return 0.1F;
     }
 
-    public void addAsteroid(int x, int y, int z, int size, int core)
+    public synchronized void addAsteroid(int x, int y, int z, int size, int core)
     {
         AsteroidData coords = new AsteroidData(x, y, z, size, core);
-        if (!this.asteroids.contains(coords))
+        if (!this.asteroids.containsKey(coords.centre))
         {
             if (this.dataNotLoaded)
             {
                 this.loadAsteroidSavedData();
             }
-            if (!this.asteroids.contains(coords))
+            if (!this.asteroids.containsKey(coords.centre))
             {
+                this.asteroids.put(coords.centre, coords);
+                this.grid.add(coords);
                 this.addToNBT(this.datafile.datacompound, coords);
-                this.asteroids.add(coords);
             }
         }
     }
 
-    public void removeAsteroid(int x, int y, int z)
+    public synchronized void removeAsteroid(int x, int y, int z)
     {
-        AsteroidData coords = new AsteroidData(x, y, z);
-        if (this.asteroids.contains(coords))
+        AsteroidData coords = this.asteroids.remove(new BlockVec3(x, y, z));
+        if (coords != null)
         {
-            this.asteroids.remove(coords);
+            this.grid.remove(coords);
 
             if (this.dataNotLoaded)
             {
                 this.loadAsteroidSavedData();
             }
-            this.writeToNBT(this.datafile.datacompound);
+            this.removeFromNBT(this.datafile.datacompound, coords);
         }
     }
 
     private void loadAsteroidSavedData()
     {
-        this.datafile = (AsteroidSaveData) this.world.loadData(AsteroidSaveData.class, AsteroidSaveData.saveDataID);
+        this.datafile = AsyncSavedData.load(this.world.getMapStorage(), AsteroidSaveData.class, AsteroidSaveData.saveDataID);
 
         if (this.datafile == null)
         {
             this.datafile = new AsteroidSaveData("");
-            this.world.setData(AsteroidSaveData.saveDataID, this.datafile);
+            AsyncSavedData.store(this.world.getMapStorage(), AsteroidSaveData.saveDataID, this.datafile);
             this.writeToNBT(this.datafile.datacompound);
         } else
         {
@@ -221,44 +230,92 @@ public class WorldProviderAsteroids extends WorldProviderSpace implements ISolar
     private void readFromNBT(NBTTagCompound nbt)
     {
         NBTTagList coordList = nbt.getTagList("coords", 10);
-        if (coordList.tagCount() > 0)
+        boolean duplicates = false;
+        this.saveOrder.clear();
+        for (int j = 0; j < coordList.tagCount(); j++)
         {
-            for (int j = 0; j < coordList.tagCount(); j++)
+            NBTTagCompound tag = coordList.getCompoundTagAt(j);
+            AsteroidData roid = AsteroidData.readFromNBT(tag);
+            if (this.asteroids.putIfAbsent(roid.centre, roid) == null)
             {
-                NBTTagCompound tag1 = coordList.getCompoundTagAt(j);
-
-                if (tag1 != null)
-                {
-                    this.asteroids.add(AsteroidData.readFromNBT(tag1));
-                }
+                this.grid.add(roid);
+                roid.tag = tag;
+                roid.listIndex = j;
+                this.saveOrder.add(roid);
+            } else
+            {
+                duplicates = true;
             }
         }
+
+        if (duplicates)
+        {
+            // The saved list must match saveOrder, see addToNBT()
+            this.writeToNBT(nbt);
+        }
     }
 
     private void writeToNBT(NBTTagCompound nbt)
     {
         NBTTagList coordList = new NBTTagList();
-        for (AsteroidData coords : this.asteroids)
+        this.saveOrder.clear();
+        for (AsteroidData coords : this.asteroids.values())
         {
-            NBTTagCompound tag = new NBTTagCompound();
-            coords.writeToNBT(tag);
-            coordList.appendTag(tag);
+            coords.tag = coords.writeToNBT(new NBTTagCompound());
+            coords.listIndex = this.saveOrder.size();
+            coordList.appendTag(coords.tag);
+            this.saveOrder.add(coords);
         }
         nbt.setTag("coords", coordList);
         this.datafile.markDirty();
     }
 
+    // The saved list is changed in place, one asteroid at a time: each
+    // asteroid keeps its own tag, and its position in the list
+
     private void addToNBT(NBTTagCompound nbt, AsteroidData coords)
     {
         NBTTagList coordList = nbt.getTagList("coords", 10);
-        NBTTagCompound tag = new NBTTagCompound();
-        coords.writeToNBT(tag);
-        coordList.appendTag(tag);
+        coords.tag = coords.writeToNBT(new NBTTagCompound());
+        coords.listIndex = this.saveOrder.size();
+        coordList.appendTag(coords.tag);
+        this.saveOrder.add(coords);
         nbt.setTag("coords", coordList);
         this.datafile.markDirty();
     }
 
-    public boolean checkHasAsteroids()
+    private void removeFromNBT(NBTTagCompound nbt, AsteroidData coords)
+    {
+        if (coords.tag == null)
+        {
+            return;
+        }
+
+        // Move the last asteroid into the gap
+        NBTTagList coordList = nbt.getTagList("coords", 10);
+        int last = this.saveOrder.size() - 1;
+        AsteroidData moved = this.saveOrder.remove(last);
+        if (moved != coords)
+        {
+            coordList.set(coords.listIndex, moved.tag);
+            this.saveOrder.set(coords.listIndex, moved);
+            moved.listIndex = coords.listIndex;
+        }
+        coordList.removeTag(last);
+        coords.tag = null;
+        this.datafile.markDirty();
+    }
+
+    private void updateNBT(AsteroidData coords)
+    {
+        if (coords.tag != null)
+        {
+            coords.writeToNBT(coords.tag);
+            this.datafile.markDirty();
+        }
+    }
+
+    public synchronized boolean checkHasAsteroids()
     {
         if (this.dataNotLoaded)
         {
@@ -273,36 +330,15 @@ public class WorldProviderAsteroids extends WorldProviderSpace implements ISolar
         return true;
     }
 
-    public BlockVec3 getClosestAsteroidXZ(int x, int y, int z, boolean mark)
+    public synchronized BlockVec3 getClosestAsteroidXZ(int x, int y, int z, boolean mark)
     {
         if (!this.checkHasAsteroids())
         {
             return null;
         }
 
-        BlockVec3 result = null;
-        AsteroidData resultRoid = null;
-        int lowestDistance = Integer.MAX_VALUE;
-
-        for (AsteroidData test : this.asteroids)
-        {
-            if (mark && (test.sizeAndLandedFlag & 128) > 0)
-            {
-                continue;
-            }
-
-            int dx = x - test.centre.x;
-            int dz = z - test.centre.z;
-            int a = dx * dx + dz * dz;
-            if (a < lowestDistance)
-            {
-                lowestDistance = a;
-                result = test.centre;
-                resultRoid = test;
-            }
-        }
-
-        if (result == null)
+        AsteroidData resultRoid = this.grid.findClosest(x, z, mark);
+        if (resultRoid == null)
         {
             return null;
         }
@@ -310,61 +346,21 @@ public class WorldProviderAsteroids extends WorldProviderSpace implements ISolar
         if (mark)
         {
             resultRoid.sizeAndLandedFlag |= 128;
-            this.writeToNBT(this.datafile.datacompound);
+            this.updateNBT(resultRoid);
         }
-        result = result.clone();
+        BlockVec3 result = resultRoid.centre.clone();
         result.sideDoneBits = resultRoid.sizeAndLandedFlag & 127;
         return result;
     }
 
-    public ArrayList<BlockVec3> getClosestAsteroidsXZ(int x, int y, int z, int facing, int count)
+    public synchronized ArrayList<BlockVec3> getClosestAsteroidsXZ(int x, int y, int z, int facing, int count)
     {
         if (!this.checkHasAsteroids())
         {
             return null;
         }
 
-        TreeMap<Integer, BlockVec3> targets = new TreeMap<>();
-
-        for (AsteroidData roid : this.asteroids)
-        {
-            BlockVec3 test = roid.centre;
-            switch (facing)
-            {
-                case 2:
-                    if (z - 16 < test.z)
-                    {
-                        continue;
-                    }
-                    break;
-                case 3:
-                    if (z + 16 > test.z)
-                    {
-                        continue;
-                    }
-                    break;
-                case 4:
-                    if (x - 16 < test.x)
-                    {
-                        continue;
-                    }
-                    break;
-                case 5:
-                    if (x + 16 > test.x)
-                    {
-                        continue;
-                    }
-                    break;
-            }
-            int dx = x - test.x;
-            int dz = z - test.z;
-            int a = dx * dx + dz * dz;
-            if (a < 262144)
-            {
-                targets.put(a, test);
-            }
-        }
-
+        List<AsteroidData> targets = this.grid.findWithin(x, z, 512, facing);
         int max = Math.max(count, targets.size());
         if (max <= 0)
         {
@@ -374,8 +370,9 @@ public class WorldProviderAsteroids extends WorldProviderSpace implements ISolar
         ArrayList<BlockVec3> returnValues = new ArrayList<>();
         int i = 0;
         int offset = EntityAstroMiner.MINE_LENGTH_AST / 2;
-        for (BlockVec3 target : targets.values())
+        for (AsteroidData roid : targets)
         {
+            BlockVec3 target = roid.centre;
             BlockVec3 coords = target.clone();
             GalacticraftPlanets.logger.debug("Found nearby asteroid at " + target.toString());
             switch (facing)
@@ -433,6 +430,9 @@ public class WorldProviderAsteroids extends WorldProviderSpace implements ISolar
         protected BlockVec3 centre;
         protected int sizeAndLandedFlag = 15;
         protected int coreAndSpawnedFlag = -2;
+        // This asteroid's entry in the saved list
+        private NBTTagCompound tag;
+        private int listIndex;
 
         public AsteroidData(int x, int y, int z)
         {
@@ -512,6 +512,185 @@ public class WorldProviderAsteroids extends WorldProviderSpace implements ISolar
         }
     }
 
+    /**
+     * The asteroids in a flat grid of 64 x 64 block cells (by x and z only),
+     * so finding those near a point only looks at the cells around it
+     * instead of every asteroid in the world
+     */
+    private static class AsteroidGrid
+    {
+
+        private static final int CELL_SHIFT = 6;
+        private static final int CELL_SIZE = 1 << CELL_SHIFT;
+
+        private final Long2ObjectOpenHashMap<ArrayList<AsteroidData>> cells = new Long2ObjectOpenHashMap<>();
+        private int minCellX = Integer.MAX_VALUE;
+        private int minCellZ = Integer.MAX_VALUE;
+        private int maxCellX = Integer.MIN_VALUE;
+        private int maxCellZ = Integer.MIN_VALUE;
+
+        private static long key(int cellX, int cellZ)
+        {
+            return ChunkPos.asLong(cellX, cellZ);
+        }
+
+        private void add(AsteroidData roid)
+        {
+            int cellX = roid.centre.x >> CELL_SHIFT;
+            int cellZ = roid.centre.z >> CELL_SHIFT;
+            ArrayList<AsteroidData> cell = this.cells.get(key(cellX, cellZ));
+            if (cell == null)
+            {
+                cell = new ArrayList<>(2);
+                this.cells.put(key(cellX, cellZ), cell);
+            }
+            cell.add(roid);
+            this.minCellX = Math.min(this.minCellX, cellX);
+            this.minCellZ = Math.min(this.minCellZ, cellZ);
+            this.maxCellX = Math.max(this.maxCellX, cellX);
+            this.maxCellZ = Math.max(this.maxCellZ, cellZ);
+        }
+
+        private void remove(AsteroidData roid)
+        {
+            long key = key(roid.centre.x >> CELL_SHIFT, roid.centre.z >> CELL_SHIFT);
+            ArrayList<AsteroidData> cell = this.cells.get(key);
+            if (cell != null && cell.remove(roid) && cell.isEmpty())
+            {
+                this.cells.remove(key);
+            }
+        }
+
+        /**
+         * @param unlandedOnly skip asteroids a player has already landed on
+         * @return the asteroid closest to x, z - searching outwards ring by
+         *         ring of cells until no nearer asteroid can be found
+         */
+        private AsteroidData findClosest(int x, int z, boolean unlandedOnly)
+        {
+            if (this.cells.isEmpty())
+            {
+                return null;
+            }
+
+            int cellX = x >> CELL_SHIFT;
+            int cellZ = z >> CELL_SHIFT;
+            int maxRing = Math.max(Math.max(cellX - this.minCellX, this.maxCellX - cellX), Math.max(cellZ - this.minCellZ, this.maxCellZ - cellZ));
+            AsteroidData result = null;
+            long lowestDistance = Long.MAX_VALUE;
+
+            for (int ring = 0; ring <= maxRing; ring++)
+            {
+                for (int cx = cellX - ring; cx <= cellX + ring; cx++)
+                {
+                    // Only the edge of the square: the inside was done already
+                    int step = (cx == cellX - ring || cx == cellX + ring) ? 1 : Math.max(1, ring * 2);
+                    for (int cz = cellZ - ring; cz <= cellZ + ring; cz += step)
+                    {
+                        ArrayList<AsteroidData> cell = this.cells.get(key(cx, cz));
+                        if (cell == null)
+                        {
+                            continue;
+                        }
+                        for (AsteroidData test : cell)
+                        {
+                            if (unlandedOnly && (test.sizeAndLandedFlag & 128) > 0)
+                            {
+                                continue;
+                            }
+
+                            long dx = x - test.centre.x;
+                            long dz = z - test.centre.z;
+                            long a = dx * dx + dz * dz;
+                            if (a < lowestDistance)
+                            {
+                                lowestDistance = a;
+                                result = test;
+                            }
+                        }
+                    }
+                }
+
+                // Anything in the next ring out is at least this far away
+                long reach = (long) ring * CELL_SIZE;
+                if (result != null && lowestDistance <= reach * reach)
+                {
+                    break;
+                }
+            }
+
+            return result;
+        }
+
+        /**
+         * @param facing if 2 to 5, only asteroids at least 16 blocks away in
+         *               that direction
+         * @return the asteroids less than range blocks from x, z, nearest
+         *         first
+         */
+        private List<AsteroidData> findWithin(int x, int z, int range, int facing)
+        {
+            List<AsteroidData> found = new ArrayList<>();
+            long rangeSq = (long) range * range;
+            int minX = (x - range) >> CELL_SHIFT;
+            int maxX = (x + range) >> CELL_SHIFT;
+            int minZ = (z - range) >> CELL_SHIFT;
+            int maxZ = (z + range) >> CELL_SHIFT;
+            // Skip the cells wholly behind the miner
+            switch (facing)
+            {
+                case 2:
+                    maxZ = Math.min(maxZ, (z - 16) >> CELL_SHIFT);
+                    break;
+                case 3:
+                    minZ = Math.max(minZ, (z + 16) >> CELL_SHIFT);
+                    break;
+                case 4:
+                    maxX = Math.min(maxX, (x - 16) >> CELL_SHIFT);
+                    break;
+                case 5:
+                    minX = Math.max(minX, (x + 16) >> CELL_SHIFT);
+                    break;
+            }
+
+            for (int cx = minX; cx <= maxX; cx++)
+            {
+                for (int cz = minZ; cz <= maxZ; cz++)
+                {
+                    ArrayList<AsteroidData> cell = this.cells.get(key(cx, cz));
+                    if (cell == null)
+                    {
+                        continue;
+                    }
+                    for (AsteroidData roid : cell)
+                    {
+                        BlockVec3 test = roid.centre;
+                        if (facing == 2 && z - 16 < test.z || facing == 3 && z + 16 > test.z || facing == 4 && x - 16 < test.x || facing == 5 && x + 16 > test.x)
+                        {
+                            continue;
+                        }
+                        long dx = x - test.x;
+                        long dz = z - test.z;
+                        if (dx * dx + dz * dz < rangeSq)
+                        {
+                            found.add(roid);
+                        }
+                    }
+                }
+            }
+
+            found.sort(Comparator.comparingLong(roid -> distanceSq(roid, x, z)));
+            return found;
+        }
+
+        private static long distanceSq(AsteroidData roid, int x, int z)
+        {
+            long dx = x - roid.centre.x;
+            long dz = z - roid.centre.z;
+            return dx * dx + dz * dz;
+        }
+    }
+
     @Override
     public int getDungeonSpacing()
     {
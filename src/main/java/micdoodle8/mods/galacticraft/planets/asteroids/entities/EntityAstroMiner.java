@@ -9,8 +9,10 @@ package micdoodle8.mods.galacticraft.planets.asteroids.entities;
 
 import io.netty.buffer.ByteBuf;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import micdoodle8.mods.galacticraft.api.entity.IAntiGrav;
 import micdoodle8.mods.galacticraft.api.entity.IEntityNoisy;
@@ -169,10 +171,12 @@ public class EntityAstroMiner extends Entity implements IInventory, IPacketRecei
     private int inventoryDrops;
     public boolean stopForTurn;
 
-    private static ArrayList<Block> noMineList = new ArrayList<>();
+    private static Set<Block> noMineList = new HashSet<>();
     public static BlockTuple blockingBlock = new BlockTuple(Blocks.AIR, 0);
     private int givenFailMessage = 0;
     private BlockVec3 mineLast = null;
+    private final MinerNavigation navigation = new MinerNavigation();
+    private final BlockPos.MutableBlockPos probePos = new BlockPos.MutableBlockPos();
     private int mineCountDown = 0;
     private int pathBlockedCount = 0;
     public LinkedList<BlockVec3> laserBlocks = new LinkedList<>();
@@ -853,6 +857,7 @@ public class EntityAstroMiner extends Entity implements IInventory, IPacketRecei
         // Target is completely mined: change target
         this.posTarget = minerBase.findNextTarget();
         this.pathBlockedCount = 0;
+        this.navigation.reset();
 
         // No more mining targets, the whole area is mined
         if (this.posTarget == null)
@@ -1036,33 +1041,34 @@ public class EntityAstroMiner extends Entity implements IInventory, IPacketRecei
             this.mineCountDown--;
             return false;
         }
-        BlockVec3 inFront = new BlockVec3(MathHelper.floor(this.posX + 0.5D), MathHelper.floor(this.posY + 1.5D), MathHelper.floor(this.posZ + 0.5D));
+        int x = MathHelper.floor(this.posX + 0.5D);
+        int y = MathHelper.floor(this.posY + 1.5D);
+        int z = MathHelper.floor(this.posZ + 0.5D);
         if (dist == 2)
         {
-            inFront.translate(headings2[this.facingAI.getIndex()]);
+            BlockVec3 heading = headings2[this.facingAI.getIndex()];
+            x += heading.x;
+            y += heading.y;
+            z += heading.z;
         } else
         {
             if ((this.facingAI.getIndex() & 1) == EnumFacing.DOWN.getIndex())
             {
                 dist++;
             }
-            if (dist > 0)
-            {
-                inFront.translate(headings[this.facingAI.getIndex()].clone().scale(dist));
-            }
+            BlockVec3 heading = headings[this.facingAI.getIndex()];
+            x += heading.x * dist;
+            y += heading.y * dist;
+            z += heading.z * dist;
         }
 
-        if (!inFront.equals(this.mineLast) && this.AIstate != AISTATE_ATBASE)
+        if ((this.mineLast == null || this.mineLast.x != x || this.mineLast.y != y || this.mineLast.z != z) && this.AIstate != AISTATE_ATBASE)
         {
             this.mineCountDown = 3;
-            this.mineLast = inFront;
+            this.mineLast = new BlockVec3(x, y, z);
             return false;
         }
 
-        int x = inFront.x;
-        int y = inFront.y;
-        int z = inFront.z;
-
         // Test not trying to mine own dock!
         if (y == this.waypointBase.y && x == this.waypointBase.x - ((this.baseFacing == EnumFacing.EAST) ? 1 : 0) && z == this.waypointBase.z - ((this.baseFacing == EnumFacing.SOUTH) ? 1 : 0))
         {
@@ -1078,159 +1084,16 @@ public class EntityAstroMiner extends Entity implements IInventory, IPacketRecei
         // There are 12 blocks around ... and 12 in front. One block per tick?
         // (That means can move at 5/6 block per second when mining, and 1.67
         // bps when traveling)
-        BlockPos pos = new BlockPos(x, y, z);
-        switch (EnumFacing.byIndex(this.facingAI.getIndex() & 6))
+        // Blocks already known to be clear are not looked at again, see
+        // MinerNavigation
+        int[] offsets = MinerNavigation.FACE_OFFSETS[this.facingAI.getIndex() >> 1];
+        for (int i = 0; i < offsets.length; i += 3)
         {
-            case DOWN:
-                if (tryMineBlock(pos))
-                {
-                    wayBarred = true;
-                }
-                if (tryMineBlock(pos.add(1, 0, 0)))
-                {
-                    wayBarred = true;
-                }
-                if (tryMineBlock(pos.add(1, 0, -1)))
-                {
-                    wayBarred = true;
-                }
-                if (tryMineBlock(pos.add(0, 0, -1)))
-                {
-                    wayBarred = true;
-                }
-                if (tryMineBlock(pos.add(0, 0, -2)))
-                {
-                    wayBarred = true;
-                }
-                if (tryMineBlock(pos.add(-1, 0, -2)))
-                {
-                    wayBarred = true;
-                }
-                if (tryMineBlock(pos.add(-1, 0, -1)))
-                {
-                    wayBarred = true;
-                }
-                if (tryMineBlock(pos.add(-2, 0, -1)))
-                {
-                    wayBarred = true;
-                }
-                if (tryMineBlock(pos.add(-2, 0, 0)))
-                {
-                    wayBarred = true;
-                }
-                if (tryMineBlock(pos.add(-1, 0, 0)))
-                {
-                    wayBarred = true;
-                }
-                if (tryMineBlock(pos.add(-1, 0, 1)))
-                {
-                    wayBarred = true;
-                }
-                if (tryMineBlock(pos.add(0, 0, 1)))
-                {
-                    wayBarred = true;
-                }
-                break;
-            case NORTH:
-                if (tryMineBlock(pos.add(0, -2, 0)))
-                {
-                    wayBarred = true;
-                }
-                if (tryMineBlock(pos.add(-1, -2, 0)))
-                {
-                    wayBarred = true;
-                }
-                if (tryMineBlock(pos.add(0, -1, 0)))
-                {
-                    wayBarred = true;
-                }
-                if (tryMineBlock(pos.add(-1, -1, 0)))
-                {
-                    wayBarred = true;
-                }
-                if (tryMineBlock(pos.add(1, -1, 0)))
-                {
-                    wayBarred = true;
-                }
-                if (tryMineBlock(pos.add(-2, -1, 0)))
-                {
-                    wayBarred = true;
-                }
-                if (tryMineBlock(pos.add(1, 0, 0)))
-                {
-                    wayBarred = true;
-                }
-                if (tryMineBlock(pos.add(-2, 0, 0)))
-                {
-                    wayBarred = true;
-                }
-                if (tryMineBlock(pos))
-                {
-                    wayBarred = true;
-                }
-                if (tryMineBlock(pos.add(-1, 0, 0)))
-                {
-                    wayBarred = true;
-                }
-                if (tryMineBlock(pos.add(0, 1, 0)))
-                {
-                    wayBarred = true;
-                }
-                if (tryMineBlock(pos.add(-1, 1, 0)))
-                {
-                    wayBarred = true;
-                }
-                break;
-            case WEST:
-                if (tryMineBlock(pos.add(0, -2, -1)))
-                {
-                    wayBarred = true;
-                }
-                if (tryMineBlock(pos.add(0, -1, 0)))
-                {
-                    wayBarred = true;
-                }
-                if (tryMineBlock(pos.add(0, -1, -1)))
-                {
-                    wayBarred = true;
-                }
-                if (tryMineBlock(pos.add(0, -1, +1)))
-                {
-                    wayBarred = true;
-                }
-                if (tryMineBlock(pos.add(0, -1, -2)))
-                {
-                    wayBarred = true;
-                }
-                if (tryMineBlock(pos.add(0, 0, 1)))
-                {
-                    wayBarred = true;
-                }
-                if (tryMineBlock(pos.add(0, 0, -2)))
-                {
-                    wayBarred = true;
-                }
-                if (tryMineBlock(pos.add(0, 0, -1)))
-                {
-                    wayBarred = true;
-                }
-                if (tryMineBlock(pos.add(0, -2, 0)))
-                {
-                    wayBarred = true;
-                }
-                if (tryMineBlock(pos.add(0, 1, -1)))
-                {
-                    wayBarred = true;
-                }
-                if (tryMineBlock(pos))
-                {
-                    wayBarred = true;
-                }
-                if (tryMineBlock(pos.add(0, 1, 0)))
-                {
-                    wayBarred = true;
-                }
-                break;
+            this.probePos.setPos(x + offsets[i], y + offsets[i + 1], z + offsets[i + 2]);
+            if (!this.navigation.isClear(this.probePos.toLong(), this.ticksExisted) && this.tryMineBlock(this.probePos))
+            {
+                wayBarred = true;
+            }
         }
 
         // If it is obstructed, return to base, or stand still if that is
@@ -1492,6 +1355,7 @@ public class EntityAstroMiner extends Entity implements IInventory, IPacketRecei
         Block b = state.getBlock();
         if (b.getMaterial(state) == Material.AIR)
         {
+            this.navigation.markClear(pos.toLong(), this.ticksExisted);
             return false;
         }
         if (noMineList.contains(b))
@@ -1549,6 +1413,7 @@ public class EntityAstroMiner extends Entity implements IInventory, IPacketRecei
         {
             return false;
         }
+        pos = pos.toImmutable();
         int result = ForgeHooks.onBlockBreakEvent(this.world, this.playerMP.interactionManager.getGameType(), this.playerMP, pos);
         if (result < 0)
         {
@@ -1572,6 +1437,7 @@ public class EntityAstroMiner extends Entity implements IInventory, IPacketRecei
         }
 
         this.world.setBlockState(pos, Blocks.AIR.getDefaultState(), 3);
+        this.navigation.markClear(pos.toLong(), this.ticksExisted);
         return false;
     }
 
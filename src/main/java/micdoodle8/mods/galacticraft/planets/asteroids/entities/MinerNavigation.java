@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2023 Team Galacticraft
+ *
+ * Licensed under the MIT license.
+ * See LICENSE file in the project root for details.
+ */
+
+package micdoodle8.mods.galacticraft.planets.asteroids.entities;
+
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+
+/**
+ * What an Astro Miner knows about the blocks around its current mining
+ * target: the blocks it has mined or found clear, and when.
+ *
+ * EntityAstroMiner.prepareMove() looks at the same 12 blocks in front of the
+ * miner every tick until the miner has moved a whole block - and the blocks
+ * either side of a shaft are looked at again on the way back. Blocks known
+ * to be clear are skipped, until they have not been looked at for
+ * RECHECK_TICKS (so a block placed in a shaft is still noticed). This is
+ * started afresh for each new target.
+ */
+public class MinerNavigation
+{
+
+    private static final int RECHECK_TICKS = 200;
+    private static final int MAX_CELLS = 8192;
+
+    /**
+     * For each axis of travel (facing index / 2): the offsets (x, y, z) from
+     * the block in front of the miner of the 12 blocks to mine for it to move
+     * through, in the order they are mined
+     */
+    public static final int[][] FACE_OFFSETS =
+    {
+        // DOWN / UP
+        {0, 0, 0, 1, 0, 0, 1, 0, -1, 0, 0, -1, 0, 0, -2, -1, 0, -2, -1, 0, -1, -2, 0, -1, -2, 0, 0, -1, 0, 0, -1, 0, 1, 0, 0, 1},
+        // NORTH / SOUTH
+        {0, -2, 0, -1, -2, 0, 0, -1, 0, -1, -1, 0, 1, -1, 0, -2, -1, 0, 1, 0, 0, -2, 0, 0, 0, 0, 0, -1, 0, 0, 0, 1, 0, -1, 1, 0},
+        // WEST / EAST
+        {0, -2, -1, 0, -1, 0, 0, -1, -1, 0, -1, 1, 0, -1, -2, 0, 0, 1, 0, 0, -2, 0, 0, -1, 0, -2, 0, 0, 1, -1, 0, 0, 0, 0, 1, 0}
+    };
+
+    // Block position (BlockPos.toLong()) -> the tick it was last seen clear
+    private final Long2IntOpenHashMap clearedAt = new Long2IntOpenHashMap();
+
+    public MinerNavigation()
+    {
+        this.clearedAt.defaultReturnValue(Integer.MIN_VALUE);
+    }
+
+    public boolean isClear(long pos, int tick)
+    {
+        int seen = this.clearedAt.get(pos);
+        return seen != Integer.MIN_VALUE && tick - seen < RECHECK_TICKS;
+    }
+
+    public void markClear(long pos, int tick)
+    {
+        if (this.clearedAt.size() >= MAX_CELLS)
+        {
+            this.clearedAt.clear();
+        }
+        this.clearedAt.put(pos, tick);
+    }
+
+    /**
+     * Called when the miner is given a new target
+     */
+    public void reset()
+    {
+        this.clearedAt.clear();
+    }
+}
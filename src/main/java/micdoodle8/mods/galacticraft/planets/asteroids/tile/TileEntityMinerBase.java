@@ -9,10 +9,10 @@ package micdoodle8.mods.galacticraft.planets.asteroids.tile;
 
 import com.google.common.collect.Lists;
 import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -66,7 +66,7 @@ public class TileEntityMinerBase extends TileBaseElectricBlockWithInventory impl
     public boolean isMaster = false;
     public EnumFacing facing = EnumFacing.NORTH;
     private BlockPos mainBlockPosition;
-    private LinkedList<BlockVec3> targetPoints = new LinkedList<>();
+    private ArrayDeque<BlockVec3> targetPoints = new ArrayDeque<>();
     private WeakReference<TileEntityMinerBase> masterTile = null;
     public boolean updateClientFlag;
     public boolean findTargetPointsFlag;
@@ -410,9 +410,9 @@ public class TileEntityMinerBase extends TileBaseElectricBlockWithInventory impl
             nbt.setLong("LinkedUUIDLeast", this.linkedMinerID.getLeastSignificantBits());
         }
         NBTTagList mpList = new NBTTagList();
-        for (int j = 0; j < this.targetPoints.size(); j++)
+        for (BlockVec3 target : this.targetPoints)
         {
-            mpList.appendTag(this.targetPoints.get(j).writeToNBT(new NBTTagCompound()));
+            mpList.appendTag(target.writeToNBT(new NBTTagCompound()));
         }
         nbt.setTag("TargetPoints", mpList);
         return nbt;
@@ -959,10 +959,7 @@ public class TileEntityMinerBase extends TileBaseElectricBlockWithInventory impl
         {
             BlockVec3 pos = this.targetPoints.removeFirst();
             this.markDirty();
-            if (pos != null)
-            {
-                return pos.clone();
-            }
+            return pos.clone();
         }
 
         // No more mining targets, the whole area is mined
@@ -1021,10 +1018,10 @@ public class TileEntityMinerBase extends TileBaseElectricBlockWithInventory impl
             this.targetPoints.add(posnTarget.clone().modifyPositionFromSide(lateral, -13).modifyPositionFromSide(EnumFacing.UP, 22));
         }
 
-        int s = this.targetPoints.size();
-        for (int i = 0; i < s; i++)
+        BlockVec3[] firstRow = this.targetPoints.toArray(new BlockVec3[0]);
+        for (BlockVec3 target : firstRow)
         {
-            this.targetPoints.add(this.targetPoints.get(i).clone().modifyPositionFromSide(inLine, EntityAstroMiner.MINE_LENGTH + 6));
+            this.targetPoints.add(target.clone().modifyPositionFromSide(inLine, EntityAstroMiner.MINE_LENGTH + 6));
         }
 
         this.markDirty();
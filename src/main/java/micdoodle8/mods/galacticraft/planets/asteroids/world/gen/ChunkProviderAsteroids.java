@@ -7,9 +7,12 @@
 
 package micdoodle8.mods.galacticraft.planets.asteroids.world.gen;
 
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.longs.LongSets;
 import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Random;
 import micdoodle8.mods.galacticraft.api.prefab.world.gen.BiomeAdaptive;
@@ -78,9 +81,12 @@ public class ChunkProviderAsteroids extends ChunkProviderBase
 
     private final NoiseModule asteroidTurbulance;
 
-    private final NoiseModule asteroidSkewX;
-    private final NoiseModule asteroidSkewY;
-    private final NoiseModule asteroidSkewZ;
+    // The skew noise frequencies are changed for each asteroid, so each
+    // generating thread has its own copies
+    private final long asteroidSkewSeedX;
+    private final long asteroidSkewSeedY;
+    private final long asteroidSkewSeedZ;
+    private final ThreadLocal<NoiseModule[]> asteroidSkew;
 
     private final SpecialAsteroidBlockHandler coreHandler;
     private final SpecialAsteroidBlockHandler shellHandler;
@@ -133,11 +139,12 @@ public class ChunkProviderAsteroids extends ChunkProviderBase
     private static final int LAVA_CHANCE = 2;
     private static final int GLOWSTONE_CHANCE = 20;
 
-    private LinkedList<AsteroidData> largeAsteroids = new LinkedList<AsteroidData>();
-    private int largeCount = 0;
-    private static HashSet<BlockVec3> chunksDone = new HashSet<BlockVec3>();
-    private int largeAsteroidsLastChunkX;
-    private int largeAsteroidsLastChunkZ;
+    private static final int[] NO_CENTRES = new int[0];
+    private static final int CENTRE_CACHE_SIZE = 4096;
+
+    // Chunk -> the asteroid centres in it, least recently used first
+    private final Long2ObjectLinkedOpenHashMap<int[]> centreCache = new Long2ObjectLinkedOpenHashMap<>();
+    private static LongSet chunksDone = LongSets.synchronize(new LongOpenHashSet());
     private final MapGenAbandonedBase dungeonGenerator = new MapGenAbandonedBase();
 
     public ChunkProviderAsteroids(World par1World, long par2, boolean par4)
@@ -153,17 +160,10 @@ public class ChunkProviderAsteroids extends ChunkProviderBase
         this.asteroidTurbulance.setFrequency(.08F);
         this.asteroidTurbulance.amplitude = .5F;
 
-        this.asteroidSkewX = new Gradient(this.rand.nextLong(), 1, 1);
-        this.asteroidSkewX.amplitude = ChunkProviderAsteroids.MAX_ASTEROID_SKEW;
-        this.asteroidSkewX.frequencyX = 0.005F;
-
-        this.asteroidSkewY = new Gradient(this.rand.nextLong(), 1, 1);
-        this.asteroidSkewY.amplitude = ChunkProviderAsteroids.MAX_ASTEROID_SKEW;
-        this.asteroidSkewY.frequencyY = 0.005F;
-
-        this.asteroidSkewZ = new Gradient(this.rand.nextLong(), 1, 1);
-        this.asteroidSkewZ.amplitude = ChunkProviderAsteroids.MAX_ASTEROID_SKEW;
-        this.asteroidSkewZ.frequencyZ = 0.005F;
+        this.asteroidSkewSeedX = this.rand.nextLong();
+        this.asteroidSkewSeedY = this.rand.nextLong();
+        this.asteroidSkewSeedZ = this.rand.nextLong();
+        this.asteroidSkew = ThreadLocal.withInitial(this::createSkewNoise);
 
         this.coreHandler = new SpecialAsteroidBlockHandler();
         this.coreHandler.addBlock(new SpecialAsteroidBlock(this.ASTEROID_STONE, this.ASTEROID_STONE_META_2, 5, .3));
@@ -200,12 +200,38 @@ public class ChunkProviderAsteroids extends ChunkProviderBase
         this.shellHandler.addBlock(new SpecialAsteroidBlock(AsteroidBlocks.blockDenseIce, (byte) 0, 1, .15));
     }
 
-    public void generateTerrain(int chunkX, int chunkZ, ChunkPrimer primer, boolean flagDataOnly)
+    private NoiseModule[] createSkewNoise()
     {
-        this.largeAsteroids.clear();
-        this.largeCount = 0;
+        NoiseModule skewX = new Gradient(this.asteroidSkewSeedX, 1, 1);
+        skewX.amplitude = ChunkProviderAsteroids.MAX_ASTEROID_SKEW;
+        skewX.frequencyX = 0.005F;
+
+        NoiseModule skewY = new Gradient(this.asteroidSkewSeedY, 1, 1);
+        skewY.amplitude = ChunkProviderAsteroids.MAX_ASTEROID_SKEW;
+        skewY.frequencyY = 0.005F;
+
+        NoiseModule skewZ = new Gradient(this.asteroidSkewSeedZ, 1, 1);
+        skewZ.amplitude = ChunkProviderAsteroids.MAX_ASTEROID_SKEW;
+        skewZ.frequencyZ = 0.005F;
+
+        return new NoiseModule[] {skewX, skewY, skewZ};
+    }
+
+    /**
+     * Generates the parts of the nearby large asteroids which are in this
+     * chunk. This only uses local state and the thread's own skew noise, so
+     * chunks can be generated on several threads at once.
+     *
+     * @param chunkRand    for the glowstone in hollow asteroids (not used if
+     *                     flagDataOnly)
+     * @param flagDataOnly only find the asteroids, do not place any blocks
+     * @return the asteroids which have parts in this chunk
+     */
+    private List<AsteroidData> generateTerrain(int chunkX, int chunkZ, ChunkPrimer primer, Random chunkRand, boolean flagDataOnly)
+    {
+        List<AsteroidData> largeAsteroids = new ArrayList<>();
+        NoiseModule[] skew = this.asteroidSkew.get();
         final Random random = new Random();
-        final int asteroidChance = ChunkProviderAsteroids.ASTEROID_CHANCE;
         final int rangeY = ChunkProviderAsteroids.MAX_ASTEROID_Y - ChunkProviderAsteroids.MIN_ASTEROID_Y;
         final int rangeSize = ChunkProviderAsteroids.MAX_ASTEROID_RADIUS - ChunkProviderAsteroids.MIN_ASTEROID_RADIUS;
 
@@ -213,40 +239,82 @@ public class ChunkProviderAsteroids extends ChunkProviderBase
         // asteroid parts in this chunk
         for (int i = chunkX - 3; i < chunkX + 3; i++)
         {
-            int minX = i * 16;
-            int maxX = minX + ChunkProviderAsteroids.CHUNK_SIZE_X;
             for (int k = chunkZ - 3; k < chunkZ + 3; k++)
             {
-                int minZ = k * 16;
-                int maxZ = minZ + ChunkProviderAsteroids.CHUNK_SIZE_Z;
+                int[] centres = this.getAsteroidCentres(i, k);
+                for (int j = 0; j < centres.length; j += 2)
+                {
+                    int x = centres[j];
+                    int z = centres[j + 1];
+                    random.setSeed(x + z * 3067);
+                    int y = random.nextInt(rangeY) + ChunkProviderAsteroids.MIN_ASTEROID_Y;
+                    int size = random.nextInt(rangeSize) + ChunkProviderAsteroids.MIN_ASTEROID_RADIUS;
+
+                    // Generate the parts of the asteroid which are in this
+                    // chunk
+                    this.generateAsteroid(random, chunkRand, skew, x, y, z, chunkX << 4, chunkZ << 4, size, primer, flagDataOnly, largeAsteroids);
+                }
+            }
+        }
+
+        return largeAsteroids;
+    }
+
+    /**
+     * @return the x, z of each large asteroid centre in the chunk, in pairs.
+     *         Each chunk generated looks at the 36 chunks around it, so the
+     *         centres are worked out once per chunk and cached.
+     */
+    private int[] getAsteroidCentres(int chunkX, int chunkZ)
+    {
+        long key = ChunkPos.asLong(chunkX, chunkZ);
+        synchronized (this.centreCache)
+        {
+            int[] centres = this.centreCache.getAndMoveToLast(key);
+            if (centres != null)
+            {
+                return centres;
+            }
+        }
 
-                // NOTE: IF UPDATING THIS CODE also update addLargeAsteroids()
-                // which is the same algorithm
-                // ??? ^^ this now seems redundant
-                for (int x = minX; x < maxX; x += 2)
+        // Worked out outside the lock: if two threads both do it they find
+        // the same centres
+        IntArrayList found = null;
+        final int asteroidChance = ChunkProviderAsteroids.ASTEROID_CHANCE;
+        int minX = chunkX * 16;
+        int maxX = minX + ChunkProviderAsteroids.CHUNK_SIZE_X;
+        int minZ = chunkZ * 16;
+        int maxZ = minZ + ChunkProviderAsteroids.CHUNK_SIZE_Z;
+        for (int x = minX; x < maxX; x += 2)
+        {
+            for (int z = minZ; z < maxZ; z += 2)
+            {
+                // getNoise is a little slow
+                if (this.randFromPointPos(x, z) < (this.asteroidDensity.getNoise(x, z) + .4) / asteroidChance)
                 {
-                    for (int z = minZ; z < maxZ; z += 2)
+                    if (found == null)
                     {
-                        // The next line is called 3136 times per chunk
-                        // generated. getNoise is a little slow.
-                        if (this.randFromPointPos(x, z) < (this.asteroidDensity.getNoise(x, z) + .4) / asteroidChance)
-                        {
-                            random.setSeed(x + z * 3067);
-                            int y = random.nextInt(rangeY) + ChunkProviderAsteroids.MIN_ASTEROID_Y;
-                            int size = random.nextInt(rangeSize) + ChunkProviderAsteroids.MIN_ASTEROID_RADIUS;
-
-                            // Generate the parts of the asteroid which are in
-                            // this chunk
-                            this.generateAsteroid(random, x, y, z, chunkX << 4, chunkZ << 4, size, primer, flagDataOnly);
-                            this.largeCount++;
-                        }
+                        found = new IntArrayList(4);
                     }
+                    found.add(x);
+                    found.add(z);
                 }
             }
         }
+
+        int[] centres = found == null ? NO_CENTRES : found.toIntArray();
+        synchronized (this.centreCache)
+        {
+            this.centreCache.putAndMoveToLast(key, centres);
+            if (this.centreCache.size() > CENTRE_CACHE_SIZE)
+            {
+                this.centreCache.removeFirst();
+            }
+        }
+        return centres;
     }
 
-    private void generateAsteroid(Random rand, int asteroidX, int asteroidY, int asteroidZ, int chunkX, int chunkZ, int size, ChunkPrimer primer, boolean flagDataOnly)
+    private void generateAsteroid(Random rand, Random chunkRand, NoiseModule[] skew, int asteroidX, int asteroidY, int asteroidZ, int chunkX, int chunkZ, int size, ChunkPrimer primer, boolean flagDataOnly, List<AsteroidData> largeAsteroids)
     {
         SpecialAsteroidBlock core = this.coreHandler.getBlock(rand, size);
 
@@ -285,7 +353,7 @@ public class ChunkProviderAsteroids extends ChunkProviderBase
         final float noiseOffsetX = this.randFromPoint(asteroidX, asteroidY, asteroidZ) * ChunkProviderAsteroids.NOISE_OFFSET_SIZE + chunkX;
         final float noiseOffsetY = this.randFromPoint(asteroidX * 7, asteroidY * 11, asteroidZ * 13) * ChunkProviderAsteroids.NOISE_OFFSET_SIZE;
         final float noiseOffsetZ = this.randFromPoint(asteroidX * 17, asteroidY * 23, asteroidZ * 29) * ChunkProviderAsteroids.NOISE_OFFSET_SIZE + chunkZ;
-        this.setOtherAxisFrequency(1F / (size * 2F / 2F));
+        this.setOtherAxisFrequency(skew, 1F / (size * 2F / 2F));
 
         float[] sizeXArray = new float[ySize * zSize];
         float[] sizeZArray = new float[xSize * ySize];
@@ -297,14 +365,12 @@ public class ChunkProviderAsteroids extends ChunkProviderBase
             float xxx = x + noiseOffsetX;
             for (int z = 0; z < zSize; z++)
             {
-                sizeYArray[xx + z] = this.asteroidSkewY.getNoise(xxx, z + noiseOffsetZ);
+                sizeYArray[xx + z] = skew[1].getNoise(xxx, z + noiseOffsetZ);
             }
         }
 
         AsteroidData asteroidData = new AsteroidData(isHollow, sizeYArray, xMin, zMin, xMax, zMax, zSize, size, asteroidX, asteroidY, asteroidZ);
-        this.largeAsteroids.add(asteroidData);
-        this.largeAsteroidsLastChunkX = chunkX;
-        this.largeAsteroidsLastChunkZ = chunkZ;
+        largeAsteroids.add(asteroidData);
 
         if (flagDataOnly)
         {
@@ -317,7 +383,7 @@ public class ChunkProviderAsteroids extends ChunkProviderBase
             float yyy = y + noiseOffsetY;
             for (int z = 0; z < zSize; z++)
             {
-                sizeXArray[yy + z] = this.asteroidSkewX.getNoise(yyy, z + noiseOffsetZ);
+                sizeXArray[yy + z] = skew[0].getNoise(yyy, z + noiseOffsetZ);
             }
         }
 
@@ -327,7 +393,7 @@ public class ChunkProviderAsteroids extends ChunkProviderBase
             float xxx = x + noiseOffsetX;
             for (int y = 0; y < ySize; y++)
             {
-                sizeZArray[xx + y] = this.asteroidSkewZ.getNoise(xxx, y + noiseOffsetY);
+                sizeZArray[xx + y] = skew[2].getNoise(xxx, y + noiseOffsetY);
             }
         }
 
@@ -488,7 +554,7 @@ public class ChunkProviderAsteroids extends ChunkProviderBase
                             IBlockState stateAbove = primer.getBlockState(x, y + 1, z);
                             if (Blocks.AIR == stateAbove.getBlock() && (state.getBlock() == ASTEROID_STONE || state.getBlock() == GRASS))
                             {
-                                if (this.rand.nextInt(GLOWSTONE_CHANCE) == 0)
+                                if (chunkRand.nextInt(GLOWSTONE_CHANCE) == 0)
                                 {
                                     primer.setBlockState(x, y, z, this.LIGHT.getStateFromMeta(this.LIGHT_META));
 //                                    blockArray[index] = this.LIGHT;
@@ -502,16 +568,16 @@ public class ChunkProviderAsteroids extends ChunkProviderBase
         }
     }
 
-    private final void setOtherAxisFrequency(float frequency)
+    private final void setOtherAxisFrequency(NoiseModule[] skew, float frequency)
     {
-        this.asteroidSkewX.frequencyY = frequency;
-        this.asteroidSkewX.frequencyZ = frequency;
+        skew[0].frequencyY = frequency;
+        skew[0].frequencyZ = frequency;
 
-        this.asteroidSkewY.frequencyX = frequency;
-        this.asteroidSkewY.frequencyZ = frequency;
+        skew[1].frequencyX = frequency;
+        skew[1].frequencyZ = frequency;
 
-        this.asteroidSkewZ.frequencyX = frequency;
-        this.asteroidSkewZ.frequencyY = frequency;
+        skew[2].frequencyX = frequency;
+        skew[2].frequencyY = frequency;
     }
 
     private final int clamp(int x, int min, int max)
@@ -559,17 +625,22 @@ public class ChunkProviderAsteroids extends ChunkProviderBase
     {
         ChunkPrimer primer = new ChunkPrimer();
 //        long time1 = System.nanoTime();
-        this.rand.setSeed(par1 * 341873128712L + par2 * 132897987541L);
+        Random chunkRand = new Random(par1 * 341873128712L + par2 * 132897987541L);
 //        final Block[] ids = new Block[65536];
 //        final byte[] meta = new byte[65536];
-        this.generateTerrain(par1, par2, primer, false);
+        List<AsteroidData> largeAsteroids = this.generateTerrain(par1, par2, primer, chunkRand, false);
         // this.biomesForGeneration =
         // this.world.getWorldChunkManager().loadBlockGeneratorData(this.biomesForGeneration,
         // par1 * 16, par2 * 16, 16, 16);
 
         if (this.world.provider instanceof WorldProviderAsteroids && ((WorldProviderAsteroids) this.world.provider).checkHasAsteroids())
         {
-            this.dungeonGenerator.generate(this.world, par1, par2, primer);
+            // MapGenBase keeps the chunk being generated in its own fields, so
+            // every use of the dungeon generator takes its lock
+            synchronized (this.dungeonGenerator)
+            {
+                this.dungeonGenerator.generate(this.world, par1, par2, primer);
+            }
         }
 
 //        long time2 = System.nanoTime();
@@ -583,14 +654,11 @@ public class ChunkProviderAsteroids extends ChunkProviderBase
         }
 
 //        long time3 = System.nanoTime();
-        this.generateSkylightMap(var4, par1, par2);
+        this.generateSkylightMap(var4, par1, par2, largeAsteroids);
 //        long time4 = System.nanoTime();
 //        if (ConfigManagerCore.enableDebug)
 //        {       
-//	        BlockVec3 vec = new BlockVec3(par1, par2, 0);
-//	        if (chunksDone.contains(vec)) System.out.println("Done chunk already at "+par1+","+par2);
-//	        else chunksDone.add(vec);
-//        	System.out.println("Chunk gen: " + timeString(time1, time4) + " at "+par1+","+par2 + " - L"+this.largeCount+ " H"+this.largeAsteroids.size()+ " Terrain:"+timeString(time1, time2)+ " Biomes:"+timeString(time2,time3)+ " Light:"+timeString(time3, time4));
+//        	System.out.println("Chunk gen: " + timeString(time1, time4) + " at "+par1+","+par2 + " - H"+largeAsteroids.size()+ " Terrain:"+timeString(time1, time2)+ " Biomes:"+timeString(time2,time3)+ " Light:"+timeString(time3, time4));
 //        }
         return var4;
     }
@@ -632,12 +700,16 @@ public class ChunkProviderAsteroids extends ChunkProviderBase
         return 1.0F - n / 1073741824.0F;
     }
 
+    /**
+     * Unlike generateChunk(), this uses the shared this.rand, so must only be
+     * called from the server thread (as vanilla does)
+     */
     @Override
     public void populate(int chunkX, int chunkZ)
     {
         int x = chunkX << 4;
         int z = chunkZ << 4;
-        if (!ChunkProviderAsteroids.chunksDone.add(new BlockVec3(x, 0, z)))
+        if (!ChunkProviderAsteroids.chunksDone.add(ChunkPos.asLong(chunkX, chunkZ)))
         {
             return;
         }
@@ -722,17 +794,14 @@ public class ChunkProviderAsteroids extends ChunkProviderBase
             }
         }
 
-        if (this.largeAsteroidsLastChunkX != chunkX || this.largeAsteroidsLastChunkZ != chunkZ)
-        {
-            this.generateTerrain(chunkX, chunkZ, null, true);
-        }
+        List<AsteroidData> largeAsteroids = this.generateTerrain(chunkX, chunkZ, null, null, true);
 
         this.rand.setSeed(chunkX * var7 + chunkZ * var9 ^ this.world.getSeed());
 
         // Look for hollow asteroids to populate
-        if (!this.largeAsteroids.isEmpty())
+        if (!largeAsteroids.isEmpty())
         {
-            for (AsteroidData asteroidIndex : new ArrayList<AsteroidData>(this.largeAsteroids))
+            for (AsteroidData asteroidIndex : largeAsteroids)
             {
                 if (!asteroidIndex.isHollow)
                 {
@@ -815,16 +884,22 @@ public class ChunkProviderAsteroids extends ChunkProviderBase
             }
         }
 
-        this.dungeonGenerator.generateStructure(this.world, this.rand, new ChunkPos(chunkX, chunkZ));
+        synchronized (this.dungeonGenerator)
+        {
+            this.dungeonGenerator.generateStructure(this.world, this.rand, new ChunkPos(chunkX, chunkZ));
+        }
     }
 
     @Override
     public void recreateStructures(Chunk chunk, int x, int z)
     {
-        this.dungeonGenerator.generate(this.world, x, z, null);
+        synchronized (this.dungeonGenerator)
+        {
+            this.dungeonGenerator.generate(this.world, x, z, null);
+        }
     }
 
-    public void generateSkylightMap(Chunk chunk, int cx, int cz)
+    public void generateSkylightMap(Chunk chunk, int cx, int cz, List<AsteroidData> largeAsteroids)
     {
 //        World w = chunk.getWorld();
 //        boolean flagXChunk = w.getChunkProvider().chunkExists(cx - 1, cz);
@@ -878,7 +953,7 @@ public class ChunkProviderAsteroids extends ChunkProviderBase
             }
         }
 
-        for (AsteroidData a : this.largeAsteroids)
+        for (AsteroidData a : largeAsteroids)
         {
             int yMin = a.asteroidYArray - a.asteroidSizeArray;
             int yMax = a.asteroidYArray + a.asteroidSizeArray;
@@ -993,7 +1068,10 @@ public class ChunkProviderAsteroids extends ChunkProviderBase
 
     public void resetBase()
     {
-        this.dungeonGenerator.reset();
+        synchronized (this.dungeonGenerator)
+        {
+            this.dungeonGenerator.reset();
+        }
     }
 
     @Override
@@ -1076,7 +1154,8 @@ public class ChunkProviderAsteroids extends ChunkProviderBase
         chunksDone.clear();
     }
 
-    private class AsteroidData
+
+    private static class AsteroidData
     {
 
         public boolean isHollow;
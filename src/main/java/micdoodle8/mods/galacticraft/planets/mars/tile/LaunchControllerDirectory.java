@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2023 Team Galacticraft
+ *
+ * Licensed under the MIT license.
+ * See LICENSE file in the project root for details.
+ */
+
+package micdoodle8.mods.galacticraft.planets.mars.tile;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import micdoodle8.mods.galacticraft.core.blocks.BlockLandingPadFull;
+import micdoodle8.mods.galacticraft.core.util.GCCoreUtil;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+/**
+ * Every loaded server side Launch Controller, in every dimension, by its
+ * frequency - so a rocket (or another Launch Controller) can find the
+ * controller on a frequency without looking through every world.
+ *
+ * Controllers add themselves in onLoad() and whenever their frequency is set,
+ * and remove themselves in invalidate() and onChunkUnload(). Each entry also
+ * remembers the landing pad found next to its controller, which is checked
+ * (one block) rather than searched for again each time it is asked for.
+ *
+ * Only used from the server thread.
+ */
+public class LaunchControllerDirectory
+{
+
+    private static final Int2ObjectMap<List<Entry>> byFrequency = new Int2ObjectOpenHashMap<>();
+    private static final Map<TileEntityLaunchController, Entry> entries = new IdentityHashMap<>();
+
+    public static class Entry
+    {
+
+        private final TileEntityLaunchController controller;
+        private final int dimensionID;
+        private final BlockPos pos;
+        private int frequency;
+        private BlockPos landingPad;
+
+        private Entry(TileEntityLaunchController controller)
+        {
+            this.controller = controller;
+            this.dimensionID = GCCoreUtil.getDimensionID(controller.getWorld());
+            this.pos = controller.getPos();
+            this.frequency = controller.frequency;
+        }
+
+        public TileEntityLaunchController getController()
+        {
+            return this.controller;
+        }
+
+        public int getDimensionID()
+        {
+            return this.dimensionID;
+        }
+
+        public BlockPos getPos()
+        {
+            return this.pos;
+        }
+
+        /**
+         * @return the landing pad within 2 blocks of the controller, or null
+         *         if there is none
+         */
+        public BlockPos getLandingPad()
+        {
+            World world = this.controller.getWorld();
+            if (this.landingPad != null && world.getBlockState(this.landingPad).getBlock() instanceof BlockLandingPadFull)
+            {
+                return this.landingPad;
+            }
+
+            this.landingPad = null;
+            for (int x = -2; x <= 2; x++)
+            {
+                for (int z = -2; z <= 2; z++)
+                {
+                    BlockPos pos = this.pos.add(x, 0, z);
+                    if (world.getBlockState(pos).getBlock() instanceof BlockLandingPadFull)
+                    {
+                        this.landingPad = pos;
+                        return pos;
+                    }
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Adds the controller, or moves it to its current frequency
+     */
+    public static void update(TileEntityLaunchController controller)
+    {
+        if (controller.getWorld() == null || controller.getWorld().isRemote || controller.isInvalid())
+        {
+            return;
+        }
+
+        Entry entry = LaunchControllerDirectory.entries.get(controller);
+        if (entry != null)
+        {
+            if (entry.frequency == controller.frequency)
+            {
+                return;
+            }
+            LaunchControllerDirectory.removeFromFrequency(entry);
+            entry.frequency = controller.frequency;
+        } else
+        {
+            entry = new Entry(controller);
+            LaunchControllerDirectory.entries.put(controller, entry);
+        }
+
+        if (entry.frequency >= 0)
+        {
+            List<Entry> list = LaunchControllerDirectory.byFrequency.get(entry.frequency);
+            if (list == null)
+            {
+                list = new ArrayList<>(1);
+                LaunchControllerDirectory.byFrequency.put(entry.frequency, list);
+            }
+            list.add(entry);
+        }
+    }
+
+    public static void remove(TileEntityLaunchController controller)
+    {
+        Entry entry = LaunchControllerDirectory.entries.remove(controller);
+        if (entry != null)
+        {
+            LaunchControllerDirectory.removeFromFrequency(entry);
+        }
+    }
+
+    private static void removeFromFrequency(Entry entry)
+    {
+        List<Entry> list = LaunchControllerDirectory.byFrequency.get(entry.frequency);
+        if (list != null && list.remove(entry) && list.isEmpty())
+        {
+            LaunchControllerDirectory.byFrequency.remove(entry.frequency);
+        }
+    }
+
+    /**
+     * @return the first loaded controller on the frequency, or null if there
+     *         is none
+     */
+    public static Entry get(int frequency)
+    {
+        return LaunchControllerDirectory.getOther(frequency, null);
+    }
+
+    /**
+     * @return the first loaded controller on the frequency other than
+     *         exclude, or null if there is none
+     */
+    public static Entry getOther(int frequency, TileEntityLaunchController exclude)
+    {
+        List<Entry> list = LaunchControllerDirectory.byFrequency.get(frequency);
+        if (list != null)
+        {
+            for (Entry entry : list)
+            {
+                if (entry.controller != exclude && !entry.controller.isInvalid())
+                {
+                    return entry;
+                }
+            }
+        }
+        return null;
+    }
+
+    public static void clear()
+    {
+        LaunchControllerDirectory.byFrequency.clear();
+        LaunchControllerDirectory.entries.clear();
+    }
+}
@@ -23,6 +23,7 @@ import micdoodle8.mods.galacticraft.core.blocks.BlockLandingPadFull;
 import micdoodle8.mods.galacticraft.core.energy.item.ItemElectricBase;
 import micdoodle8.mods.galacticraft.core.energy.tile.TileBaseElectricBlockWithInventory;
 import micdoodle8.mods.galacticraft.core.tile.TileEntityLandingPad;
+import micdoodle8.mods.galacticraft.core.tile.TileEntityRegistry;
 import micdoodle8.mods.galacticraft.core.util.GCCoreUtil;
 import micdoodle8.mods.galacticraft.core.world.ChunkLoadingCallback;
 import micdoodle8.mods.galacticraft.core.world.IChunkLoader;
@@ -43,7 +44,6 @@ import net.minecraft.util.NonNullList;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.IBlockAccess;
-import net.minecraft.world.WorldServer;
 import net.minecraftforge.common.ForgeChunkManager;
 import net.minecraftforge.common.ForgeChunkManager.Ticket;
 import net.minecraftforge.fml.relauncher.Side;
@@ -77,6 +77,8 @@ public class TileEntityLaunchController extends TileBaseElectricBlockWithInvento
     public Object           attachedDock             = null;
     private boolean         frequencyCheckNeeded     = false;
 
+    public static final TileEntityRegistry<TileEntityLaunchController> registry = new TileEntityRegistry<>();
+
     public TileEntityLaunchController()
     {
         super("container.launchcontroller.name");
@@ -153,9 +155,26 @@ public class TileEntityLaunchController extends TileBaseElectricBlockWithInvento
         this.ownerName = ownerName;
     }
 
+    @Override
+    public void onLoad()
+    {
+        TileEntityLaunchController.registry.add(this);
+        LaunchControllerDirectory.update(this);
+    }
+
+    @Override
+    public void onChunkUnload()
+    {
+        TileEntityLaunchController.registry.remove(this);
+        LaunchControllerDirectory.remove(this);
+        super.onChunkUnload();
+    }
+
     @Override
     public void invalidate()
     {
+        TileEntityLaunchController.registry.remove(this);
+        LaunchControllerDirectory.remove(this);
         super.invalidate();
 
         if (this.chunkLoadTicket != null)
@@ -341,38 +360,18 @@ public class TileEntityLaunchController extends TileBaseElectricBlockWithInvento
     public void setFrequency(int frequency)
     {
         this.frequency = frequency;
+        LaunchControllerDirectory.update(this);
 
         if (this.frequency >= 0)
         {
             this.frequencyValid = true;
-            WorldServer[] servers = GCCoreUtil.getWorldServerList(this.world);
-
-            worldLoop: for (int i = 0; i < servers.length; i++)
+            if (!this.world.isRemote)
             {
-                WorldServer world = servers[i];
-
-                for (TileEntity tile2 : new ArrayList<TileEntity>(world.loadedTileEntityList))
+                LaunchControllerDirectory.Entry conflict = LaunchControllerDirectory.getOther(this.frequency, this);
+                if (conflict != null)
                 {
-                    if (this != tile2)
-                    {
-                        tile2 = world.getTileEntity(tile2.getPos());
-                        if (tile2 == null)
-                        {
-                            continue;
-                        }
-
-                        if (tile2 instanceof TileEntityLaunchController)
-                        {
-                            TileEntityLaunchController launchController2 = (TileEntityLaunchController) tile2;
-
-                            if (launchController2.frequency == this.frequency)
-                            {
-                                GalacticraftPlanets.logger.debug("Launch Controller frequency conflict at " + tile2.getPos() + " on dim: " + GCCoreUtil.getDimensionID(tile2));
-                                this.frequencyValid = false;
-                                break worldLoop;
-                            }
-                        }
-                    }
+                    GalacticraftPlanets.logger.debug("Launch Controller frequency conflict at " + conflict.getPos() + " on dim: " + conflict.getDimensionID());
+                    this.frequencyValid = false;
                 }
             }
         }
@@ -399,34 +398,7 @@ public class TileEntityLaunchController extends TileBaseElectricBlockWithInvento
             this.destFrequencyValid = false;
             if (this.destFrequency >= 0)
             {
-                WorldServer[] servers = GCCoreUtil.getWorldServerList(this.world);
-                for (int i = 0; i < servers.length; i++)
-                {
-                    WorldServer world = servers[i];
-
-                    for (TileEntity tile2 : new ArrayList<TileEntity>(world.loadedTileEntityList))
-                    {
-                        if (this != tile2)
-                        {
-                            tile2 = world.getTileEntity(tile2.getPos());
-                            if (tile2 == null)
-                            {
-                                continue;
-                            }
-
-                            if (tile2 instanceof TileEntityLaunchController)
-                            {
-                                TileEntityLaunchController launchController2 = (TileEntityLaunchController) tile2;
-
-                                if (launchController2.frequency == this.destFrequency)
-                                {
-                                    this.destFrequencyValid = true;
-                                    return;
-                                }
-                            }
-                        }
-                    }
-                }
+                this.destFrequencyValid = LaunchControllerDirectory.getOther(this.destFrequency, this) != null;
             }
         }
     }
@@ -16,7 +16,6 @@ import micdoodle8.mods.galacticraft.planets.venus.VenusModule;
 import micdoodle8.mods.galacticraft.planets.venus.tile.TileEntityLaserTurret;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityLivingBase;
-import net.minecraft.tileentity.TileEntity;
 import net.minecraftforge.event.entity.EntityJoinWorldEvent;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.common.gameevent.TickEvent;
@@ -62,12 +61,9 @@ public class EventHandlerVenus
     {
         if (event.getEntity() instanceof ILaserTrackableFast)
         {
-            for (TileEntity tile : event.getEntity().getEntityWorld().loadedTileEntityList)
+            for (TileEntityLaserTurret turret : TileEntityLaserTurret.registry.getAll(event.getEntity().getEntityWorld()))
             {
-                if (tile instanceof TileEntityLaserTurret)
-                {
-                    ((TileEntityLaserTurret) tile).trackEntity(event.getEntity());
-                }
+                turret.trackEntity(event.getEntity());
             }
         }
     }
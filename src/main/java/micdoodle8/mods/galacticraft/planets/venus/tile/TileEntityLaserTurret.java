@@ -31,6 +31,7 @@ import micdoodle8.mods.galacticraft.core.entities.EntityMeteor;
 import micdoodle8.mods.galacticraft.core.tile.IMachineSides;
 import micdoodle8.mods.galacticraft.core.tile.IMachineSidesProperties;
 import micdoodle8.mods.galacticraft.core.tile.IMultiBlock;
+import micdoodle8.mods.galacticraft.core.tile.TileEntityRegistry;
 import micdoodle8.mods.galacticraft.core.tile.TileEntityMulti;
 import micdoodle8.mods.galacticraft.core.util.DamageSourceGC;
 import micdoodle8.mods.galacticraft.core.util.RedstoneUtil;
@@ -79,6 +80,8 @@ public class TileEntityLaserTurret extends TileBaseElectricBlockWithInventory im
     private boolean initialisedMulti = false;
     private AxisAlignedBB renderAABB;
 
+    public static final TileEntityRegistry<TileEntityLaserTurret> registry = new TileEntityRegistry<>();
+
     @NetworkedField(targetSide = Side.CLIENT) public boolean active = false;
     @NetworkedField(targetSide = Side.CLIENT) public int targettedEntity = -1;
     @NetworkedField(targetSide = Side.CLIENT) public int chargeLevel = 0;
@@ -808,9 +811,24 @@ public class TileEntityLaserTurret extends TileBaseElectricBlockWithInventory im
     @Override
     public void onLoad()
     {
+        TileEntityLaserTurret.registry.add(this);
         this.clientOnLoad();
     }
 
+    @Override
+    public void onChunkUnload()
+    {
+        TileEntityLaserTurret.registry.remove(this);
+        super.onChunkUnload();
+    }
+
+    @Override
+    public void invalidate()
+    {
+        TileEntityLaserTurret.registry.remove(this);
+        super.invalidate();
+    }
+
     @Override
     public IMachineSidesProperties getConfigurationType()
     {
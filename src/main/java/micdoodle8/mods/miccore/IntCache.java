@@ -7,223 +7,173 @@
 
 package micdoodle8.mods.miccore;
 
-import com.google.common.collect.Lists;
-import java.util.List;
-import micdoodle8.mods.galacticraft.core.util.MapUtil;
+import java.util.Arrays;
 
+/**
+ * Replaces vanilla's IntCache (MicdoodleTransformer redirects the calls to
+ * it here) - with one arena of arrays per thread instead of one shared,
+ * synchronized pool.
+ *
+ * Arrays handed out are only re-used after resetIntCache() on the same
+ * thread, as in vanilla: but now world generation threads and the background
+ * mapping thread never wait on each other, and one thread's reset can never
+ * recycle arrays another thread is still using.
+ */
 public class IntCache
 {
-    private static int intCacheSize = 256;
-    private static List<int[]> freeSmallArrays = Lists.<int[]>newArrayList();
-    private static List<int[]> inUseSmallArrays = Lists.<int[]>newArrayList();
-    private static List<int[]> freeLargeArrays = Lists.<int[]>newArrayList();
-    private static List<int[]> inUseLargeArrays = Lists.<int[]>newArrayList();
-    private static int intCacheSize2 = 256;
-    private static List<int[]> freeSmallArrays2 = Lists.<int[]>newArrayList();
-    private static List<int[]> inUseSmallArrays2 = Lists.<int[]>newArrayList();
-    private static List<int[]> freeLargeArrays2 = Lists.<int[]>newArrayList();
-    private static List<int[]> inUseLargeArrays2 = Lists.<int[]>newArrayList();
-
-    public static int[] getIntCache(int p_76445_0_)
+
+    private static final ThreadLocal<Arena> arenas = ThreadLocal.withInitial(Arena::new);
+
+    private static class Arena
     {
-        if (MapUtil.backgroundMapping(Thread.currentThread()))
+
+        private int largeSize = 256;
+        private final Pool freeSmall = new Pool();
+        private final Pool inUseSmall = new Pool();
+        private final Pool freeLarge = new Pool();
+        private final Pool inUseLarge = new Pool();
+
+        private int[] get(int size)
         {
-            return getIntCacheGC(p_76445_0_);
+            if (size <= 256)
+            {
+                int[] array = this.freeSmall.isEmpty() ? new int[256] : this.freeSmall.pop();
+                this.inUseSmall.push(array);
+                return array;
+            }
+
+            if (size > this.largeSize)
+            {
+                this.largeSize = size;
+                this.freeLarge.clear();
+                this.inUseLarge.clear();
+            }
+            int[] array = this.freeLarge.isEmpty() ? new int[this.largeSize] : this.freeLarge.pop();
+            this.inUseLarge.push(array);
+            return array;
         }
-        return getIntCacheVanilla(p_76445_0_);
-    }
 
-    public static int[] func_76445_a(int p_76445_0_)
-    {
-        if (MapUtil.backgroundMapping(Thread.currentThread()))
+        private void reset()
         {
-            return getIntCacheGC(p_76445_0_);
+            // As vanilla: let one spare array of each size go each time, so
+            // the arena shrinks again after a burst
+            if (!this.freeLarge.isEmpty())
+            {
+                this.freeLarge.pop();
+            }
+
+            if (!this.freeSmall.isEmpty())
+            {
+                this.freeSmall.pop();
+            }
+
+            this.freeLarge.takeAll(this.inUseLarge);
+            this.freeSmall.takeAll(this.inUseSmall);
         }
-        return getIntCacheVanilla(p_76445_0_);
     }
 
-    // Obfuscated method name for use by vanilla, because this won't be
-    // processed by the deobfuscators
-    public static int[] a(int p_76445_0_)
+    /**
+     * A stack of arrays
+     */
+    private static class Pool
     {
-        if (MapUtil.backgroundMapping(Thread.currentThread()))
+
+        private int[][] arrays = new int[8][];
+        private int count;
+
+        private boolean isEmpty()
         {
-            return getIntCacheGC(p_76445_0_);
+            return this.count == 0;
         }
-        return getIntCacheVanilla(p_76445_0_);
-    }
 
-    // Vanilla method needs to be synchronized
-    public synchronized static int[] getIntCacheVanilla(int p_76445_0_)
-    {
-        if (p_76445_0_ <= 256)
+        private void push(int[] array)
         {
-            if (freeSmallArrays.isEmpty())
-            {
-                int[] aint4 = new int[256];
-                inUseSmallArrays.add(aint4);
-                return aint4;
-            } else
+            if (this.count == this.arrays.length)
             {
-                int[] aint3 = freeSmallArrays.remove(freeSmallArrays.size() - 1);
-                inUseSmallArrays.add(aint3);
-                return aint3;
+                this.arrays = Arrays.copyOf(this.arrays, this.count * 2);
             }
-        } else if (p_76445_0_ > intCacheSize)
-        {
-            intCacheSize = p_76445_0_;
-            freeLargeArrays.clear();
-            inUseLargeArrays.clear();
-            int[] aint2 = new int[intCacheSize];
-            inUseLargeArrays.add(aint2);
-            return aint2;
-        } else if (freeLargeArrays.isEmpty())
-        {
-            int[] aint1 = new int[intCacheSize];
-            inUseLargeArrays.add(aint1);
-            return aint1;
-        } else
+            this.arrays[this.count++] = array;
+        }
+
+        private int[] pop()
         {
-            int[] aint = freeLargeArrays.remove(freeLargeArrays.size() - 1);
-            inUseLargeArrays.add(aint);
-            return aint;
+            int[] array = this.arrays[--this.count];
+            this.arrays[this.count] = null;
+            return array;
         }
-    }
 
-    // GC version does not need to be synchonised because we've already tested
-    // that it is called from
-    // our own background mapping thread, and those are tightly controlled so
-    // only one can be running
-    public static int[] getIntCacheGC(int size)
-    {
-        if (size <= 256)
+        private void takeAll(Pool other)
         {
-            if (freeSmallArrays2.isEmpty())
+            for (int i = 0; i < other.count; i++)
             {
-                int[] aint4 = new int[256];
-                inUseSmallArrays2.add(aint4);
-                return aint4;
-            } else
-            {
-                int[] aint3 = freeSmallArrays2.remove(freeSmallArrays2.size() - 1);
-                inUseSmallArrays2.add(aint3);
-                return aint3;
+                this.push(other.arrays[i]);
             }
-        } else if (size > intCacheSize2)
-        {
-            intCacheSize2 = size;
-            freeLargeArrays2.clear();
-            inUseLargeArrays2.clear();
-            int[] aint2 = new int[intCacheSize2];
-            inUseLargeArrays2.add(aint2);
-            return aint2;
-        } else if (freeLargeArrays2.isEmpty())
-        {
-            int[] aint1 = new int[intCacheSize2];
-            inUseLargeArrays2.add(aint1);
-            return aint1;
-        } else
+            other.clear();
+        }
+
+        private void clear()
         {
-            int[] aint = freeLargeArrays2.remove(freeLargeArrays2.size() - 1);
-            inUseLargeArrays2.add(aint);
-            return aint;
+            Arrays.fill(this.arrays, 0, this.count, null);
+            this.count = 0;
         }
     }
 
-    public static void resetIntCache()
+    public static int[] getIntCache(int size)
     {
-        if (MapUtil.backgroundMapping(Thread.currentThread()))
-        {
-            resetIntCacheGC();
-            return;
-        }
-        resetIntCacheVanilla();
+        return arenas.get().get(size);
     }
 
-    public static void func_76446_a()
+    public static int[] func_76445_a(int size)
     {
-        if (MapUtil.backgroundMapping(Thread.currentThread()))
-        {
-            resetIntCacheGC();
-            return;
-        }
-        resetIntCacheVanilla();
+        return arenas.get().get(size);
     }
 
     // Obfuscated method name for use by vanilla, because this won't be
     // processed by the deobfuscators
-    public static void a()
+    public static int[] a(int size)
     {
-        if (MapUtil.backgroundMapping(Thread.currentThread()))
-        {
-            resetIntCacheGC();
-            return;
-        }
-        resetIntCacheVanilla();
+        return arenas.get().get(size);
     }
 
-    // Vanilla method needs to be synchronized
-    public synchronized static void resetIntCacheVanilla()
+    public static void resetIntCache()
     {
-        if (!freeLargeArrays.isEmpty())
-        {
-            freeLargeArrays.remove(freeLargeArrays.size() - 1);
-        }
-
-        if (!freeSmallArrays.isEmpty())
-        {
-            freeSmallArrays.remove(freeSmallArrays.size() - 1);
-        }
-
-        freeLargeArrays.addAll(inUseLargeArrays);
-        freeSmallArrays.addAll(inUseSmallArrays);
-        inUseLargeArrays.clear();
-        inUseSmallArrays.clear();
+        arenas.get().reset();
     }
 
-    // GC version does not need to be synchonised because we've already tested
-    // that it is called from
-    // our own background mapping thread, and those are tightly controlled so
-    // only one can be running
-    public static void resetIntCacheGC()
+    public static void func_76446_a()
     {
-        if (!freeLargeArrays2.isEmpty())
-        {
-            freeLargeArrays2.remove(freeLargeArrays2.size() - 1);
-        }
-
-        if (!freeSmallArrays2.isEmpty())
-        {
-            freeSmallArrays2.remove(freeSmallArrays2.size() - 1);
-        }
+        arenas.get().reset();
+    }
 
-        freeLargeArrays2.addAll(inUseLargeArrays2);
-        freeSmallArrays2.addAll(inUseSmallArrays2);
-        inUseLargeArrays2.clear();
-        inUseSmallArrays2.clear();
+    // Obfuscated method name for use by vanilla, because this won't be
+    // processed by the deobfuscators
+    public static void a()
+    {
+        arenas.get().reset();
     }
 
     public static String getCacheSizes()
     {
-        return getCacheSizesVanilla();
+        return getCacheSizesForThread();
     }
 
     public static String func_85144_b()
     {
-        return getCacheSizesVanilla();
+        return getCacheSizesForThread();
     }
 
     // Obfuscated method name for use by vanilla, because this won't be
     // processed by the deobfuscators
     public static String b()
     {
-        return getCacheSizesVanilla();
+        return getCacheSizesForThread();
     }
 
-    // No GC version of this, because we don't call it - note that vanilla
-    // CrashReport calls this
-    public synchronized static String getCacheSizesVanilla()
+    // Note that vanilla CrashReport calls this: it reports the arena of the
+    // crashing thread
+    private static String getCacheSizesForThread()
     {
-        return "cache: " + freeLargeArrays.size() + ", tcache: " + freeSmallArrays.size() + ", allocated: " + inUseLargeArrays.size() + ", tallocated: " + inUseSmallArrays.size();
+        Arena arena = arenas.get();
+        return "cache: " + arena.freeLarge.count + ", tcache: " + arena.freeSmall.count + ", allocated: " + arena.inUseLarge.count + ", tallocated: " + arena.inUseSmall.count;
     }
 }
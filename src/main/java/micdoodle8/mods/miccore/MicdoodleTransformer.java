@@ -1624,9 +1624,15 @@ public class MicdoodleTransformer implements net.minecraft.launchwrapper.IClassT
 
     public byte[] transformRefs(byte[] bytes)
     {
-        ClassNode node = this.startInjection(bytes);
         String intCache1 = this.getName(KEY_CLASS_INTCACHE);
         String intCache2 = this.getObfName(KEY_CLASS_INTCACHE);
+        if (!MicdoodleTransformer.containsName(bytes, intCache1) && !MicdoodleTransformer.containsName(bytes, intCache2))
+        {
+            // Most classes never use IntCache: skip reading and writing them
+            return bytes;
+        }
+
+        ClassNode node = this.startInjection(bytes);
         int invokeStatic = Opcodes.INVOKESTATIC;
 
         for (MethodNode m : node.methods)
@@ -1648,6 +1654,39 @@ public class MicdoodleTransformer implements net.minecraft.launchwrapper.IClassT
         return this.finishInjection(node, false);
     }
 
+    /**
+     * Whether the class file could refer to the named class: looks for the
+     * name's bytes anywhere in it (a constant pool entry is plain ASCII for
+     * these names)
+     */
+    private static boolean containsName(byte[] bytes, String name)
+    {
+        if (name == null || name.isEmpty())
+        {
+            return false;
+        }
+
+        int length = name.length();
+        byte first = (byte) name.charAt(0);
+        search:
+        for (int i = 0, end = bytes.length - length; i <= end; i++)
+        {
+            if (bytes[i] != first)
+            {
+                continue;
+            }
+            for (int j = 1; j < length; j++)
+            {
+                if (bytes[i + j] != (byte) name.charAt(j))
+                {
+                    continue search;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
     public static class ObfuscationEntry
     {
 